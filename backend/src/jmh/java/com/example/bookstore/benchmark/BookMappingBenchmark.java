@@ -0,0 +1,74 @@
+package com.example.bookstore.benchmark;
+
+import com.example.bookstore.dto.BookCreateRequest;
+import com.example.bookstore.dto.BookDTO;
+import com.example.bookstore.dto.BookMapper;
+import com.example.bookstore.model.Book;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.BeanUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request-to-entity and entity-to-DTO mapping: {@link BookMapper} against the
+ * {@code BeanUtils.copyProperties} calls it replaced. Run with {@code -prof gc} to compare
+ * allocation per operation as well as time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookMappingBenchmark {
+
+    private BookCreateRequest request;
+    private Book book;
+
+    @Setup
+    public void setUp() {
+        request = new BookCreateRequest("The Pragmatic Programmer", "Andrew Hunt", new BigDecimal("39.99"),
+                "978-0-201-61622-4", "From journeyman to master", "Software", "Addison-Wesley",
+                LocalDate.of(1999, 10, 20), 352, 12, "https://example.com/pragmatic.jpg");
+        book = BookMapper.toBook(request);
+        book.setId(42L);
+        book.setCreatedAt(LocalDateTime.of(2024, 1, 1, 9, 30));
+        book.setUpdatedAt(LocalDateTime.of(2024, 2, 1, 10, 45));
+    }
+
+    @Benchmark
+    public Book requestToBookWithBeanUtils() {
+        Book target = new Book();
+        BeanUtils.copyProperties(request, target);
+        return target;
+    }
+
+    @Benchmark
+    public Book requestToBookWithMapper() {
+        return BookMapper.toBook(request);
+    }
+
+    @Benchmark
+    public BookDTO bookToDtoWithBeanUtils() {
+        BookDTO target = new BookDTO();
+        BeanUtils.copyProperties(book, target);
+        return target;
+    }
+
+    @Benchmark
+    public BookDTO bookToDtoWithMapper() {
+        return BookMapper.toDto(book);
+    }
+}
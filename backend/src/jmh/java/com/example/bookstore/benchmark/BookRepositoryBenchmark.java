@@ -0,0 +1,136 @@
+package com.example.bookstore.benchmark;
+
+import com.example.bookstore.BookstoreBackendApplication;
+import com.example.bookstore.dto.BookDTO;
+import com.example.bookstore.model.Book;
+import com.example.bookstore.repository.BookRepository;
+import com.example.bookstore.seed.CatalogGenerator;
+import com.example.bookstore.seed.CatalogLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repository queries behind the read endpoints, against an embedded H2 database holding a
+ * catalog of {@code catalogSize} books from {@link CatalogGenerator}, so authors and categories
+ * are skewed like production's. The application context is started once per trial with the test
+ * profile, so the schema, pool and Hibernate settings are the ones the tests use.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookRepositoryBenchmark {
+
+    private static final int INSERT_CHUNK_SIZE = 1_000;
+    private static final int KEYS = 4_096;
+    // Head and tail categories and title words of the generated catalog
+    private static final String[] CATEGORIES = {"Fiction", "Science", "History", "Biography", "Children",
+            "Computers", "Business", "Travel", "Poetry", "Cooking", "Art", "Religion"};
+    private static final String[] WORDS = {"river", "shadow", "garden", "empire", "signal", "winter",
+            "machine", "harbor", "letters", "storm", "silver", "journey", "data", "kingdom", "night"};
+
+    @Param({"10000", "100000"})
+    private int catalogSize;
+
+    private ConfigurableApplicationContext context;
+    private BookRepository bookRepository;
+    private long[] ids;
+    private String[] isbns;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(BookstoreBackendApplication.class)
+                .profiles("test")
+                // Arguments rather than default properties, which the test profile would override
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.sql.init.mode=never",
+                        "--server.port=0",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.example.bookstore=WARN");
+        bookRepository = context.getBean(BookRepository.class);
+        seed(context.getBean(CatalogLoader.class), context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Book> findById() {
+        return bookRepository.findById(ids[next()]);
+    }
+
+    @Benchmark
+    public Optional<Book> findByIsbn() {
+        return bookRepository.findByIsbn(isbns[next()]);
+    }
+
+    @Benchmark
+    public Page<BookDTO> listSummaries() {
+        return bookRepository.findAllSummaries(PageRequest.of(next() % 50, 20, Sort.by("title")));
+    }
+
+    @Benchmark
+    public Page<Book> findByCategory() {
+        return bookRepository.findByCategoryIgnoreCase(CATEGORIES[next() % CATEGORIES.length], firstPage());
+    }
+
+    @Benchmark
+    public Page<Book> searchTitle() {
+        return bookRepository.findByTitleContainingIgnoreCase(WORDS[next() % WORDS.length], firstPage());
+    }
+
+    @Benchmark
+    public Page<BookDTO> inStockSummaries() {
+        return bookRepository.findSummariesInStock(firstPage());
+    }
+
+    private int next() {
+        return cursor = (cursor + 1) & (KEYS - 1);
+    }
+
+    private static Pageable firstPage() {
+        return PageRequest.of(0, 20, Sort.by("title"));
+    }
+
+    private void seed(CatalogLoader catalogLoader, JdbcTemplate jdbcTemplate) {
+        catalogLoader.load(new CatalogGenerator(42, catalogSize), catalogSize, INSERT_CHUNK_SIZE);
+
+        List<Long> allIds = jdbcTemplate.queryForList("SELECT id FROM books", Long.class);
+        List<String> allIsbns = jdbcTemplate.queryForList("SELECT isbn FROM books WHERE isbn IS NOT NULL", String.class);
+        Random random = new Random(42);
+        ids = new long[KEYS];
+        isbns = new String[KEYS];
+        for (int k = 0; k < KEYS; k++) {
+            ids[k] = allIds.get(random.nextInt(allIds.size()));
+            isbns[k] = allIsbns.get(random.nextInt(allIsbns.size()));
+        }
+    }
+}
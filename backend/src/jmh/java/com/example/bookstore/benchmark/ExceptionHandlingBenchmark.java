@@ -0,0 +1,72 @@
+package com.example.bookstore.benchmark;
+
+import com.example.bookstore.controller.BookController;
+import com.example.bookstore.dto.BookCreateRequest;
+import com.example.bookstore.dto.ErrorResponse;
+import com.example.bookstore.exception.BookNotFoundException;
+import com.example.bookstore.exception.GlobalExceptionHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the error paths: throwing the service's not-found exception (stack trace included)
+ * and turning it into an error response, and mapping a failed request validation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ExceptionHandlingBenchmark {
+
+    private GlobalExceptionHandler handler;
+    private WebRequest webRequest;
+    private MethodArgumentNotValidException validationException;
+    private long bookId;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        handler = new GlobalExceptionHandler();
+        webRequest = new ServletWebRequest(new MockHttpServletRequest("GET", "/api/v1/books/42"));
+
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(new BookCreateRequest(), "bookCreateRequest");
+        bindingResult.addError(new FieldError("bookCreateRequest", "title", "Title is required"));
+        bindingResult.addError(new FieldError("bookCreateRequest", "price", "Price must be greater than 0"));
+        MethodParameter parameter = new MethodParameter(
+                BookController.class.getMethod("createBook", BookCreateRequest.class), 0);
+        validationException = new MethodArgumentNotValidException(parameter, bindingResult);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> bookNotFound() {
+        try {
+            throw new BookNotFoundException(++bookId);
+        } catch (BookNotFoundException e) {
+            return handler.handleBookNotFoundException(e, webRequest);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> validationFailed() {
+        return handler.handleValidationException(validationException, webRequest);
+    }
+}
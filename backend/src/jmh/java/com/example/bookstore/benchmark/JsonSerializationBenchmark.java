@@ -0,0 +1,90 @@
+package com.example.bookstore.benchmark;
+
+import com.example.bookstore.model.Book;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response serialization as the controllers produce it: a single {@link Book} and a
+ * {@code Page<Book>} of the default and maximum list sizes, with an {@link ObjectMapper} built
+ * the way Spring Boot builds the application's.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private Book book;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        book = book(1L);
+    }
+
+    @Benchmark
+    public byte[] book() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(book);
+    }
+
+    @Benchmark
+    public byte[] pageOfBooks(PageState state) throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(state.page);
+    }
+
+    @State(Scope.Benchmark)
+    public static class PageState {
+
+        @Param({"10", "100"})
+        private int pageSize;
+
+        private Page<Book> page;
+
+        @Setup
+        public void setUp() {
+            List<Book> books = new ArrayList<>(pageSize);
+            for (int i = 0; i < pageSize; i++) {
+                books.add(book(i + 1L));
+            }
+            page = new PageImpl<>(books, PageRequest.of(3, pageSize, Sort.by("title")), 250_000);
+        }
+    }
+
+    private static Book book(long id) {
+        Book book = new Book("Designing Data-Intensive Applications, volume " + id, "Martin Kleppmann",
+                new BigDecimal("45.99"), "978-1-4493-" + (10000 + id), "The big ideas behind reliable, scalable " +
+                "and maintainable systems. ".repeat(8), "Computers", "O'Reilly Media",
+                LocalDate.of(2017, 3, 16), 616, (int) (id % 25), "https://example.com/covers/" + id + ".jpg");
+        book.setId(id);
+        book.setCreatedAt(LocalDateTime.of(2024, 1, 1, 9, 30));
+        book.setUpdatedAt(LocalDateTime.of(2024, 2, 1, 10, 45, 12, 345_678_000));
+        return book;
+    }
+}
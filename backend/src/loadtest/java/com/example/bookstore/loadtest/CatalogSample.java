@@ -0,0 +1,120 @@
+package com.example.bookstore.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Book IDs and search terms taken from random pages of the target's catalog, so the scenarios
+ * hit books that exist and search for words, authors and categories the catalog contains,
+ * with the same skew the catalog has.
+ */
+final class CatalogSample {
+
+    private static final int PAGE_SIZE = 100;
+    private static final int PAGES = 20;
+
+    private final long[] ids;
+    private final String[] titleWords;
+    private final String[] authors;
+    private final String[] categories;
+    private final long totalBooks;
+
+    private CatalogSample(List<Long> ids, List<String> titleWords, List<String> authors, List<String> categories,
+                          long totalBooks) {
+        this.ids = ids.stream().mapToLong(Long::longValue).toArray();
+        this.titleWords = titleWords.toArray(String[]::new);
+        this.authors = authors.toArray(String[]::new);
+        this.categories = categories.toArray(String[]::new);
+        this.totalBooks = totalBooks;
+    }
+
+    static CatalogSample fetch(HttpClient client, ObjectMapper objectMapper, URI target, SplittableRandom random)
+            throws IOException, InterruptedException {
+        JsonNode first = page(client, objectMapper, target, 0);
+        long totalBooks = first.path("totalElements").asLong();
+        int totalPages = first.path("totalPages").asInt();
+        if (totalBooks == 0) {
+            throw new IllegalStateException("The catalog at " + target + " is empty; load one with the seed profile first");
+        }
+
+        List<Long> ids = new ArrayList<>();
+        // Repeats are kept so that popular authors and categories are picked as often as they occur
+        List<String> titleWords = new ArrayList<>();
+        List<String> authors = new ArrayList<>();
+        List<String> categories = new ArrayList<>();
+        Set<Integer> pages = new LinkedHashSet<>();
+        pages.add(0);
+        while (pages.size() < Math.min(PAGES, totalPages)) {
+            pages.add(random.nextInt(totalPages));
+        }
+        for (int page : pages) {
+            JsonNode content = (page == 0 ? first : page(client, objectMapper, target, page)).path("content");
+            for (JsonNode book : content) {
+                ids.add(book.path("id").asLong());
+                for (String word : book.path("title").asText("").toLowerCase(Locale.ROOT).split("\\W+")) {
+                    if (word.length() > 3) {
+                        titleWords.add(word);
+                    }
+                }
+                authors.add(book.path("author").asText());
+                if (book.hasNonNull("category")) {
+                    categories.add(book.path("category").asText());
+                }
+            }
+        }
+        return new CatalogSample(ids, titleWords.isEmpty() ? List.of("book") : titleWords, authors,
+                categories.isEmpty() ? List.of("Fiction") : categories, totalBooks);
+    }
+
+    private static JsonNode page(HttpClient client, ObjectMapper objectMapper, URI target, int page)
+            throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(
+                        target.resolve("/api/v1/books?view=summary&size=" + PAGE_SIZE + "&page=" + page + "&sort=id"))
+                .timeout(Duration.ofSeconds(30))
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Listing books at " + request.uri() + " returned " + response.statusCode());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    long randomId(SplittableRandom random) {
+        return ids[random.nextInt(ids.length)];
+    }
+
+    String randomTitleWord(SplittableRandom random) {
+        return titleWords[random.nextInt(titleWords.length)];
+    }
+
+    String randomAuthor(SplittableRandom random) {
+        return authors[random.nextInt(authors.length)];
+    }
+
+    String randomCategory(SplittableRandom random) {
+        return categories[random.nextInt(categories.length)];
+    }
+
+    int size() {
+        return ids.length;
+    }
+
+    long getTotalBooks() {
+        return totalBooks;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.bookstore.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator: request {@code i} is due at {@code start + i / rate} whatever
+ * happened to earlier requests, and is sent asynchronously so a slow response never delays the
+ * schedule. If the generator falls behind (too many requests in flight, or the scheduling thread
+ * was descheduled) it sends the overdue requests immediately, and their latency is still measured
+ * from when they were due.
+ */
+final class LoadGenerator {
+
+    private final HttpClient client;
+    private final Workload workload;
+    private final double rate;
+    private final int maxInFlight;
+    private final SplittableRandom random;
+    private final AtomicLong maxSendLagNanos = new AtomicLong();
+
+    LoadGenerator(HttpClient client, Workload workload, double rate, int maxInFlight, long seed) {
+        this.client = client;
+        this.workload = workload;
+        this.rate = rate;
+        this.maxInFlight = maxInFlight;
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Run the warm-up and then the measured phase; only requests due in the measured phase are
+     * recorded. Returns once every request has completed or timed out.
+     */
+    Map<String, ScenarioStats> run(Duration warmup, Duration duration, Duration requestTimeout) throws InterruptedException {
+        Map<Scenario, ScenarioStats> stats = new LinkedHashMap<>();
+        for (Scenario scenario : workload.getScenarios()) {
+            stats.put(scenario, new ScenarioStats(scenario.getName()));
+        }
+
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        for (long i = 0; ; i++) {
+            long intendedStart = start + (long) (i * intervalNanos);
+            if (intendedStart >= end) {
+                break;
+            }
+            waitUntil(intendedStart);
+            inFlight.acquire();
+
+            Scenario scenario = workload.pick(random);
+            HttpRequest request = scenario.newRequest(random);
+            boolean measured = intendedStart >= measureFrom;
+            long sent = System.nanoTime();
+            if (measured) {
+                maxSendLagNanos.accumulateAndGet(sent - intendedStart, Math::max);
+            }
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> {
+                        long completed = System.nanoTime();
+                        inFlight.release();
+                        if (measured) {
+                            stats.get(scenario).record(intendedStart, sent, completed,
+                                    failure == null && Scenario.isSuccess(response.statusCode()));
+                        }
+                    });
+        }
+
+        // Requests time out on their own, so waiting a little longer than the timeout is enough
+        if (!inFlight.tryAcquire(maxInFlight, requestTimeout.toMillis() + 5_000, TimeUnit.MILLISECONDS)) {
+            throw new IllegalStateException("Requests still in flight " + requestTimeout + " after the run ended");
+        }
+
+        Map<String, ScenarioStats> byName = new LinkedHashMap<>();
+        stats.values().forEach(s -> byName.put(s.getName(), s));
+        return byName;
+    }
+
+    /**
+     * Largest delay between when a measured request was due and when it was sent. A large value
+     * means the generator, not the server, could not keep up with the rate.
+     */
+    Duration getMaxSendLag() {
+        return Duration.ofNanos(maxSendLagNanos.get());
+    }
+
+    private static void waitUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.bookstore.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Drives a running backend with the production traffic mix at a fixed arrival rate, prints
+ * per-scenario latency percentiles and throughput, writes them as JSON and compares them with
+ * the stored baseline. Exits with status 1 when the run regresses, so the Maven build fails.
+ * <p>
+ * Run with {@code mvn -Ploadtest test}; see TESTING.md for the settings.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()));
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(executor)
+                .build();
+
+        try {
+            SplittableRandom random = new SplittableRandom(config.getSeed());
+            CatalogSample catalog = CatalogSample.fetch(client, objectMapper, config.getTarget(), random);
+            System.out.printf("Target %s holds %d books; sampled %d. Running %.0f req/s for %s after %s warm-up%n",
+                    config.getTarget(), catalog.getTotalBooks(), catalog.size(), config.getRate(),
+                    config.getDuration(), config.getWarmup());
+
+            Workload workload = Workload.productionMix(config.getTarget(), catalog, config.getRequestTimeout());
+            LoadGenerator generator = new LoadGenerator(client, workload, config.getRate(), config.getMaxInFlight(),
+                    random.nextLong());
+            Instant startedAt = Instant.now();
+            Map<String, ScenarioStats> stats = generator.run(config.getWarmup(), config.getDuration(),
+                    config.getRequestTimeout());
+
+            LoadTestReport report = new LoadTestReport();
+            report.setTarget(config.getTarget().toString());
+            report.setRate(config.getRate());
+            report.setDurationSeconds(config.getDuration().toSeconds());
+            report.setCatalogSize(catalog.getTotalBooks());
+            report.setStartedAt(startedAt.toString());
+            report.setMaxSendLagMs(generator.getMaxSendLag().toNanos() / 1_000_000.0);
+            double seconds = config.getDuration().toNanos() / 1e9;
+            stats.forEach((name, s) -> report.getScenarios().put(name, s.toResult(seconds)));
+
+            write(objectMapper, report, config.getReport());
+            LoadTestReport baseline = Files.exists(config.getBaseline())
+                    ? objectMapper.readValue(config.getBaseline().toFile(), LoadTestReport.class)
+                    : null;
+
+            System.out.println();
+            System.out.print(report.format(baseline));
+            System.out.printf("Report written to %s%n", config.getReport());
+            if (generator.getMaxSendLag().compareTo(Duration.ofMillis(100)) > 0) {
+                System.out.printf("WARNING: requests were sent up to %s late; the generator or its in-flight limit "
+                        + "could not sustain the rate, latencies include that wait%n", generator.getMaxSendLag());
+            }
+
+            if (config.isUpdateBaseline()) {
+                write(objectMapper, report, config.getBaseline());
+                System.out.printf("Baseline updated: %s%n", config.getBaseline());
+                return;
+            }
+            if (baseline == null) {
+                System.out.printf("No baseline at %s; rerun with -Dloadtest.updateBaseline=true to record this run as one%n",
+                        config.getBaseline());
+                return;
+            }
+
+            List<String> regressions = report.regressionsAgainst(baseline, config.getTolerance(),
+                    config.getLatencySlackMs(), config.getMaxErrorRate());
+            if (regressions.isEmpty()) {
+                System.out.printf("PASS: within %.0f%% of the baseline recorded %s%n", config.getTolerance() * 100,
+                        baseline.getStartedAt());
+            } else {
+                System.out.printf("FAIL: %d regression(s) against the baseline recorded %s%n", regressions.size(),
+                        baseline.getStartedAt());
+                regressions.forEach(r -> System.out.println("  " + r));
+                System.exit(1);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void write(ObjectMapper objectMapper, LoadTestReport report, Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        objectMapper.writeValue(path.toFile(), report);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.bookstore.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Load test settings, read from {@code loadtest.*} system properties (the {@code loadtest} Maven
+ * profile passes them through from the command line).
+ */
+final class LoadTestConfig {
+
+    private final URI target;
+    private final double rate;
+    private final Duration warmup;
+    private final Duration duration;
+    private final Duration requestTimeout;
+    private final int maxInFlight;
+    private final long seed;
+    private final Path report;
+    private final Path baseline;
+    private final boolean updateBaseline;
+    private final double tolerance;
+    private final double latencySlackMs;
+    private final double maxErrorRate;
+
+    private LoadTestConfig() {
+        target = URI.create(stripTrailingSlash(property("target", "http://localhost:8080")));
+        rate = Double.parseDouble(property("rate", "200"));
+        warmup = Duration.parse(property("warmup", "PT15S"));
+        duration = Duration.parse(property("duration", "PT60S"));
+        requestTimeout = Duration.parse(property("timeout", "PT10S"));
+        maxInFlight = Integer.parseInt(property("maxInFlight", "512"));
+        seed = Long.parseLong(property("seed", "42"));
+        report = Path.of(property("report", "target/loadtest-report.json"));
+        baseline = Path.of(property("baseline", "src/loadtest/baseline.json"));
+        updateBaseline = Boolean.parseBoolean(property("updateBaseline", "false"));
+        tolerance = Double.parseDouble(property("tolerance", "0.2"));
+        latencySlackMs = Double.parseDouble(property("latencySlackMs", "2"));
+        maxErrorRate = Double.parseDouble(property("maxErrorRate", "0.01"));
+
+        if (rate <= 0) {
+            throw new IllegalArgumentException("loadtest.rate must be positive");
+        }
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("loadtest.maxInFlight must be positive");
+        }
+    }
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig();
+    }
+
+    private static String property(String name, String defaultValue) {
+        String value = System.getProperty("loadtest." + name);
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    private static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    /** Base URL of the running backend, without trailing slash */
+    URI getTarget() { return target; }
+
+    /** Requests per second across all scenarios */
+    double getRate() { return rate; }
+
+    Duration getWarmup() { return warmup; }
+    Duration getDuration() { return duration; }
+    Duration getRequestTimeout() { return requestTimeout; }
+    int getMaxInFlight() { return maxInFlight; }
+    long getSeed() { return seed; }
+    Path getReport() { return report; }
+    Path getBaseline() { return baseline; }
+    boolean isUpdateBaseline() { return updateBaseline; }
+
+    /** Allowed relative regression of latency percentiles and throughput */
+    double getTolerance() { return tolerance; }
+
+    /** Absolute latency allowance on top of the tolerance, so sub-millisecond noise never fails a run */
+    double getLatencySlackMs() { return latencySlackMs; }
+
+    double getMaxErrorRate() { return maxErrorRate; }
+}
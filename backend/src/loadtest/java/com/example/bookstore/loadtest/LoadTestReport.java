@@ -0,0 +1,114 @@
+package com.example.bookstore.loadtest;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Result of a load test run, serialized as the JSON report and, when promoted, the baseline
+ */
+public class LoadTestReport {
+
+    private String target;
+    private double rate;
+    private long durationSeconds;
+    private long catalogSize;
+    private String startedAt;
+    private double maxSendLagMs;
+    private Map<String, ScenarioResult> scenarios = new LinkedHashMap<>();
+
+    /**
+     * Compare with a baseline recorded at the same rate. A scenario regresses when its p99 or
+     * p99.9 exceeds the baseline's by more than {@code tolerance} (plus {@code latencySlackMs}),
+     * its throughput falls more than {@code tolerance} below the baseline's, or its error rate
+     * exceeds {@code maxErrorRate}.
+     *
+     * @return one message per regression; empty when the run passes
+     */
+    public List<String> regressionsAgainst(LoadTestReport baseline, double tolerance, double latencySlackMs,
+                                           double maxErrorRate) {
+        List<String> regressions = new ArrayList<>();
+        if (Math.abs(baseline.rate - rate) > 1e-9) {
+            regressions.add(String.format(Locale.ROOT, "baseline was recorded at %.0f req/s but this run used %.0f req/s",
+                    baseline.rate, rate));
+            return regressions;
+        }
+
+        for (Map.Entry<String, ScenarioResult> entry : baseline.scenarios.entrySet()) {
+            String name = entry.getKey();
+            ScenarioResult expected = entry.getValue();
+            ScenarioResult actual = scenarios.get(name);
+            if (actual == null) {
+                regressions.add(name + ": missing from this run");
+                continue;
+            }
+            checkLatency(regressions, name, "p99", actual.getP99Ms(), expected.getP99Ms(), tolerance, latencySlackMs);
+            checkLatency(regressions, name, "p99.9", actual.getP999Ms(), expected.getP999Ms(), tolerance, latencySlackMs);
+            double minThroughput = expected.getThroughput() * (1 - tolerance);
+            if (actual.getThroughput() < minThroughput) {
+                regressions.add(String.format(Locale.ROOT, "%s: throughput %.1f/s below %.1f/s (baseline %.1f/s)",
+                        name, actual.getThroughput(), minThroughput, expected.getThroughput()));
+            }
+        }
+        for (Map.Entry<String, ScenarioResult> entry : scenarios.entrySet()) {
+            if (entry.getValue().errorRate() > maxErrorRate) {
+                regressions.add(String.format(Locale.ROOT, "%s: error rate %.2f%% above %.2f%%",
+                        entry.getKey(), entry.getValue().errorRate() * 100, maxErrorRate * 100));
+            }
+        }
+        return regressions;
+    }
+
+    private static void checkLatency(List<String> regressions, String scenario, String percentile, double actual,
+                                     double baseline, double tolerance, double slackMs) {
+        double limit = baseline * (1 + tolerance) + slackMs;
+        if (actual > limit) {
+            regressions.add(String.format(Locale.ROOT, "%s: %s %.2f ms above %.2f ms (baseline %.2f ms)",
+                    scenario, percentile, actual, limit, baseline));
+        }
+    }
+
+    /**
+     * Plain-text table of the run, with the baseline's p99 alongside when there is one
+     */
+    public String format(LoadTestReport baseline) {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT, "%-10s %9s %7s %10s %9s %9s %9s %9s %11s %11s%n", "scenario", "requests",
+                "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "svc p99 ms", "base p99 ms"));
+        for (Map.Entry<String, ScenarioResult> entry : scenarios.entrySet()) {
+            ScenarioResult r = entry.getValue();
+            ScenarioResult base = baseline != null ? baseline.scenarios.get(entry.getKey()) : null;
+            out.append(String.format(Locale.ROOT, "%-10s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f %11.2f %11s%n",
+                    entry.getKey(), r.getRequests(), r.getErrors(), r.getThroughput(), r.getP50Ms(), r.getP99Ms(),
+                    r.getP999Ms(), r.getMaxMs(), r.getServiceP99Ms(),
+                    base != null ? String.format(Locale.ROOT, "%.2f", base.getP99Ms()) : "-"));
+        }
+        return out.toString();
+    }
+
+    public String getTarget() { return target; }
+    public void setTarget(String target) { this.target = target; }
+
+    /** Requests per second the run was scheduled at */
+    public double getRate() { return rate; }
+    public void setRate(double rate) { this.rate = rate; }
+
+    /** Length of the measured phase, excluding warm-up */
+    public long getDurationSeconds() { return durationSeconds; }
+    public void setDurationSeconds(long durationSeconds) { this.durationSeconds = durationSeconds; }
+
+    /** Number of books the target held when the run started */
+    public long getCatalogSize() { return catalogSize; }
+    public void setCatalogSize(long catalogSize) { this.catalogSize = catalogSize; }
+
+    public String getStartedAt() { return startedAt; }
+    public void setStartedAt(String startedAt) { this.startedAt = startedAt; }
+
+    public double getMaxSendLagMs() { return maxSendLagMs; }
+    public void setMaxSendLagMs(double maxSendLagMs) { this.maxSendLagMs = maxSendLagMs; }
+
+    public Map<String, ScenarioResult> getScenarios() { return scenarios; }
+    public void setScenarios(Map<String, ScenarioResult> scenarios) { this.scenarios = scenarios; }
+}
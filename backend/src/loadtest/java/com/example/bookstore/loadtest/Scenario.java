@@ -0,0 +1,43 @@
+package com.example.bookstore.loadtest;
+
+import java.net.http.HttpRequest;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+
+/**
+ * One kind of request in the workload, with its share of the traffic
+ */
+final class Scenario {
+
+    private final String name;
+    private final double weight;
+    private final Function<SplittableRandom, HttpRequest> requests;
+
+    Scenario(String name, double weight, Function<SplittableRandom, HttpRequest> requests) {
+        if (weight <= 0) {
+            throw new IllegalArgumentException("Scenario weight must be positive: " + name);
+        }
+        this.name = name;
+        this.weight = weight;
+        this.requests = requests;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    double getWeight() {
+        return weight;
+    }
+
+    HttpRequest newRequest(SplittableRandom random) {
+        return requests.apply(random);
+    }
+
+    /**
+     * 2xx responses succeed, as do 304s to conditional requests; anything else is an error
+     */
+    static boolean isSuccess(int status) {
+        return (status >= 200 && status < 300) || status == 304;
+    }
+}
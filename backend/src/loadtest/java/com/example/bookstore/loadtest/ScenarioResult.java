@@ -0,0 +1,50 @@
+package com.example.bookstore.loadtest;
+
+/**
+ * Measured outcome of one scenario, as written to the JSON report and baseline. Latencies are
+ * response times in milliseconds unless prefixed with {@code service}.
+ */
+public class ScenarioResult {
+
+    private long requests;
+    private long errors;
+    private double throughput;
+    private double p50Ms;
+    private double p99Ms;
+    private double p999Ms;
+    private double maxMs;
+    private double serviceP50Ms;
+    private double serviceP99Ms;
+
+    public double errorRate() {
+        return requests == 0 ? 0 : errors / (double) requests;
+    }
+
+    public long getRequests() { return requests; }
+    public void setRequests(long requests) { this.requests = requests; }
+
+    public long getErrors() { return errors; }
+    public void setErrors(long errors) { this.errors = errors; }
+
+    /** Completed requests per second */
+    public double getThroughput() { return throughput; }
+    public void setThroughput(double throughput) { this.throughput = throughput; }
+
+    public double getP50Ms() { return p50Ms; }
+    public void setP50Ms(double p50Ms) { this.p50Ms = p50Ms; }
+
+    public double getP99Ms() { return p99Ms; }
+    public void setP99Ms(double p99Ms) { this.p99Ms = p99Ms; }
+
+    public double getP999Ms() { return p999Ms; }
+    public void setP999Ms(double p999Ms) { this.p999Ms = p999Ms; }
+
+    public double getMaxMs() { return maxMs; }
+    public void setMaxMs(double maxMs) { this.maxMs = maxMs; }
+
+    public double getServiceP50Ms() { return serviceP50Ms; }
+    public void setServiceP50Ms(double serviceP50Ms) { this.serviceP50Ms = serviceP50Ms; }
+
+    public double getServiceP99Ms() { return serviceP99Ms; }
+    public void setServiceP99Ms(double serviceP99Ms) { this.serviceP99Ms = serviceP99Ms; }
+}
@@ -0,0 +1,65 @@
+package com.example.bookstore.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and outcomes of one scenario, recorded concurrently from response callbacks.
+ * <p>
+ * Two histograms are kept. The response time runs from when the request was due to be sent,
+ * which is what a user arriving at that moment would see, and is immune to coordinated
+ * omission: when the server stalls, requests queue up in the generator and their wait counts.
+ * The service time runs from when the request was actually sent, which is what a closed-loop
+ * tool would report; the gap between the two shows how much latency queueing hides.
+ */
+final class ScenarioStats {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final String name;
+    private final Histogram responseTime = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final Histogram serviceTime = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+
+    ScenarioStats(String name) {
+        this.name = name;
+    }
+
+    void record(long intendedStartNanos, long sentNanos, long completedNanos, boolean success) {
+        responseTime.recordValue(micros(completedNanos - intendedStartNanos));
+        serviceTime.recordValue(micros(completedNanos - sentNanos));
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    private static long micros(long nanos) {
+        return Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos)));
+    }
+
+    ScenarioResult toResult(double measuredSeconds) {
+        ScenarioResult result = new ScenarioResult();
+        long requests = responseTime.getTotalCount();
+        result.setRequests(requests);
+        result.setErrors(errors.sum());
+        result.setThroughput(requests / measuredSeconds);
+        result.setP50Ms(millis(responseTime.getValueAtPercentile(50)));
+        result.setP99Ms(millis(responseTime.getValueAtPercentile(99)));
+        result.setP999Ms(millis(responseTime.getValueAtPercentile(99.9)));
+        result.setMaxMs(millis(responseTime.getMaxValue()));
+        result.setServiceP50Ms(millis(serviceTime.getValueAtPercentile(50)));
+        result.setServiceP99Ms(millis(serviceTime.getValueAtPercentile(99)));
+        return result;
+    }
+
+    private static double millis(long micros) {
+        return Math.round(micros / 10.0) / 100.0;
+    }
+
+    String getName() {
+        return name;
+    }
+}
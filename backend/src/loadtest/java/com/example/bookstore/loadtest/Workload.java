@@ -0,0 +1,119 @@
+package com.example.bookstore.loadtest;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A weighted mix of scenarios; each request picks its scenario at random by weight.
+ */
+final class Workload {
+
+    private static final String BOOKS = "/api/v1/books";
+    private static final String MERGE_PATCH = "application/merge-patch+json";
+
+    private final List<Scenario> scenarios;
+    private final double[] cumulativeWeights;
+
+    Workload(List<Scenario> scenarios) {
+        if (scenarios.isEmpty()) {
+            throw new IllegalArgumentException("A workload needs at least one scenario");
+        }
+        this.scenarios = Collections.unmodifiableList(new ArrayList<>(scenarios));
+        this.cumulativeWeights = new double[scenarios.size()];
+        double sum = 0;
+        for (int i = 0; i < scenarios.size(); i++) {
+            sum += scenarios.get(i).getWeight();
+            cumulativeWeights[i] = sum;
+        }
+    }
+
+    /**
+     * Production traffic mix: 70% single-book reads, 20% searches, 5% listings and 5% writes
+     * (creates and stock changes).
+     */
+    static Workload productionMix(URI target, CatalogSample catalog, Duration timeout) {
+        AtomicLong created = new AtomicLong();
+        // Unique per run so repeated runs against one database never collide on ISBN
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+
+        return new Workload(List.of(
+                new Scenario("get-by-id", 70, random ->
+                        get(target, BOOKS + "/" + catalog.randomId(random), timeout)),
+
+                new Scenario("search", 20, random -> {
+                    String query = switch (random.nextInt(4)) {
+                        case 0 -> "q=" + encode(catalog.randomTitleWord(random));
+                        case 1 -> "title=" + encode(catalog.randomTitleWord(random));
+                        case 2 -> "author=" + encode(catalog.randomAuthor(random));
+                        default -> "category=" + encode(catalog.randomCategory(random));
+                    };
+                    return get(target, BOOKS + "/search?" + query + "&size=20", timeout);
+                }),
+
+                new Scenario("list", 5, random -> get(target, BOOKS + "?view=summary&size=20&page="
+                        + random.nextInt(50) + (random.nextBoolean() ? "&sort=title" : "&sort=price,desc"), timeout)),
+
+                new Scenario("create", 2, random -> {
+                    long n = created.incrementAndGet();
+                    String body = "{\"title\":\"Load test book " + n + "\",\"author\":\"" + quote(catalog.randomAuthor(random))
+                            + "\",\"price\":" + (5 + random.nextInt(45)) + ".99,\"isbn\":\"LT-" + runId + "-" + n
+                            + "\",\"category\":\"" + quote(catalog.randomCategory(random)) + "\",\"pages\":"
+                            + (50 + random.nextInt(600)) + ",\"stockQuantity\":" + random.nextInt(50) + "}";
+                    return HttpRequest.newBuilder(target.resolve(BOOKS))
+                            .timeout(timeout)
+                            .header("Content-Type", "application/json")
+                            .header("Accept", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(body))
+                            .build();
+                }),
+
+                new Scenario("patch", 3, random -> HttpRequest.newBuilder(
+                                target.resolve(BOOKS + "/" + catalog.randomId(random)))
+                        .timeout(timeout)
+                        .header("Content-Type", MERGE_PATCH)
+                        .header("Accept", "application/json")
+                        .method("PATCH", HttpRequest.BodyPublishers.ofString(
+                                "{\"stockQuantity\":" + random.nextInt(100) + "}"))
+                        .build())));
+    }
+
+    private static HttpRequest get(URI target, String path, Duration timeout) {
+        return HttpRequest.newBuilder(target.resolve(path))
+                .timeout(timeout)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+    }
+
+    private static String quote(String value) {
+        return new String(JsonStringEncoder.getInstance().quoteAsString(value));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    List<Scenario> getScenarios() {
+        return scenarios;
+    }
+
+    Scenario pick(SplittableRandom random) {
+        double point = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (point < cumulativeWeights[i]) {
+                return scenarios.get(i);
+            }
+        }
+        return scenarios.get(scenarios.size() - 1);
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.bookstore.cache;
+
+import com.example.bookstore.model.Book;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-process read-through cache for single book lookups.
+ * Books are stored by ID; ISBN lookups resolve through a secondary ISBN-to-ID
+ * index so both keys always point at the same cached entry.
+ */
+@Component
+public class BookCache {
+
+    private final Cache<Long, Book> booksById;
+    private final Cache<String, Long> idsByIsbn;
+
+    @Autowired
+    public BookCache(MeterRegistry meterRegistry,
+                     @Value("${app.cache.books.max-size:10000}") long maxSize,
+                     @Value("${app.cache.books.ttl:10m}") Duration ttl) {
+        this.booksById = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.idsByIsbn = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, booksById, "books.byId");
+        CaffeineCacheMetrics.monitor(meterRegistry, idsByIsbn, "books.byIsbn");
+    }
+
+    /**
+     * Get a book by ID, loading it on a miss. Concurrent misses for the same ID
+     * share a single load; absent books are not cached.
+     */
+    public Optional<Book> getById(Long id, Function<Long, Optional<Book>> loader) {
+        Book book = booksById.get(id, key -> loader.apply(key).orElse(null));
+        if (book != null && book.getIsbn() != null) {
+            idsByIsbn.put(book.getIsbn(), book.getId());
+        }
+        return Optional.ofNullable(book);
+    }
+
+    /**
+     * Get a book by ID only if it is already cached
+     */
+    public Optional<Book> getIfPresent(Long id) {
+        return Optional.ofNullable(booksById.getIfPresent(id));
+    }
+
+    /**
+     * Get a book by ISBN, loading it on a miss
+     */
+    public Optional<Book> getByIsbn(String isbn, Supplier<Optional<Book>> loader) {
+        Long id = idsByIsbn.getIfPresent(isbn);
+        if (id != null) {
+            Book cached = booksById.getIfPresent(id);
+            // The ISBN may have moved to another book since the mapping was recorded
+            if (cached != null && isbn.equals(cached.getIsbn())) {
+                return Optional.of(cached);
+            }
+            idsByIsbn.invalidate(isbn);
+        }
+
+        Optional<Book> loaded = loader.get();
+        loaded.ifPresent(this::put);
+        return loaded;
+    }
+
+    private void put(Book book) {
+        if (book.getId() == null) {
+            return;
+        }
+        booksById.put(book.getId(), book);
+        if (book.getIsbn() != null) {
+            idsByIsbn.put(book.getIsbn(), book.getId());
+        }
+    }
+
+    /**
+     * Invalidate a book and any of its ISBNs. When called inside a transaction the
+     * entries are dropped again once it completes, so a concurrent read that loaded
+     * the pre-commit row cannot leave a stale entry behind.
+     */
+    public void invalidate(Long id, String... isbns) {
+        evict(id, isbns);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(id, isbns);
+                }
+            });
+        }
+    }
+
+    /**
+     * Drop every cached book
+     */
+    public void invalidateAll() {
+        booksById.invalidateAll();
+        idsByIsbn.invalidateAll();
+    }
+
+    private void evict(Long id, String... isbns) {
+        if (id != null) {
+            booksById.invalidate(id);
+        }
+        for (String isbn : isbns) {
+            if (isbn != null) {
+                idsByIsbn.invalidate(isbn);
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.bookstore.coalescing;
+
+import com.example.bookstore.datasource.RoutingContext;
+import com.example.bookstore.service.BookService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single-flight coalescing for read-only {@link BookService} methods: while a call is in flight,
+ * identical calls (same method, equal arguments) wait for it and share its result or exception
+ * instead of running their own query.
+ * <p>
+ * Ordered inside the metrics aspect, so every caller is still timed, and outside the transaction
+ * advice, so a waiting caller never holds a pooled connection. Calls made from within an active
+ * transaction always run themselves: they may depend on that transaction's uncommitted writes.
+ * Calls pinned to the primary ({@link RoutingContext#onPrimary}) are only coalesced with each
+ * other, so a caller that must read its own writes never gets a replica's stale result.
+ * Results are shared between callers and must not be mutated.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ReadCoalescingAspect {
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final ConcurrentHashMap<CallKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Method, Counter> collapsedCounters = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ReadCoalescingAspect(MeterRegistry meterRegistry,
+                                @Value("${app.coalescing.enabled:true}") boolean enabled) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        Gauge.builder("bookstore.service.calls.inflight", inFlight, ConcurrentHashMap::size)
+                .description("Distinct read calls currently in flight")
+                .register(meterRegistry);
+    }
+
+    @Around("execution(public * com.example.bookstore.service.BookService.*(..)) && @annotation(transactional)")
+    public Object coalesce(ProceedingJoinPoint joinPoint, Transactional transactional) throws Throwable {
+        if (!enabled || !transactional.readOnly() || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        CallKey key = new CallKey(method, joinPoint.getArgs(), RoutingContext.isPrimaryRequired());
+        CompletableFuture<Object> call = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            collapsedCounter(method).increment();
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                throw e.getCause();
+            }
+        }
+
+        try {
+            Object result = joinPoint.proceed();
+            call.complete(result);
+            return result;
+        } catch (Throwable t) {
+            call.completeExceptionally(t);
+            throw t;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private Counter collapsedCounter(Method method) {
+        Counter counter = collapsedCounters.get(method);
+        if (counter == null) {
+            counter = collapsedCounters.computeIfAbsent(method, m -> Counter.builder("bookstore.service.calls.collapsed")
+                    .description("Read calls that shared the result of an identical in-flight call")
+                    .tag("operation", m.getName())
+                    .register(meterRegistry));
+        }
+        return counter;
+    }
+
+    /**
+     * Method plus arguments and where the call reads from; arguments are compared with equals
+     * (Pageable, String, Long, enum sets)
+     */
+    private static final class CallKey {
+        private final Method method;
+        private final Object[] args;
+        private final boolean primaryRequired;
+        private final int hash;
+
+        private CallKey(Method method, Object[] args, boolean primaryRequired) {
+            this.method = method;
+            this.args = args;
+            this.primaryRequired = primaryRequired;
+            this.hash = 31 * (31 * method.hashCode() + Arrays.hashCode(args)) + Boolean.hashCode(primaryRequired);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof CallKey other && method.equals(other.method) && primaryRequired == other.primaryRequired
+                    && Arrays.equals(args, other.args);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
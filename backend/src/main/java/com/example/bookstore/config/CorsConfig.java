@@ -23,13 +23,13 @@ public class CorsConfig implements WebMvcConfigurer {
     @Value("${app.cors.allowed-origins:http://localhost:3000,http://localhost:3001}")
     private String[] allowedOrigins;
     
-    @Value("${app.cors.allowed-methods:GET,POST,PUT,DELETE,OPTIONS}")
+    @Value("${app.cors.allowed-methods:GET,POST,PUT,PATCH,DELETE,OPTIONS}")
     private String[] allowedMethods;
     
-    @Value("${app.cors.allowed-headers:Origin,Content-Type,Accept,Authorization,X-Requested-With,Cache-Control}")
+    @Value("${app.cors.allowed-headers:Origin,Content-Type,Accept,Authorization,X-Requested-With,Cache-Control,If-None-Match,If-Modified-Since,If-Match,X-Read-After}")
     private String[] allowedHeaders;
     
-    @Value("${app.cors.exposed-headers:X-Total-Count,X-Page-Count}")
+    @Value("${app.cors.exposed-headers:X-Total-Count,X-Page-Count,ETag,Last-Modified,X-Read-After,Server-Timing}")
     private String[] exposedHeaders;
     
     @Value("${app.cors.allow-credentials:true}")
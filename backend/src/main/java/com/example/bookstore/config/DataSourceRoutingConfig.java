@@ -0,0 +1,120 @@
+package com.example.bookstore.config;
+
+import com.example.bookstore.datasource.ReadYourWritesFilter;
+import com.example.bookstore.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read/write splitting: read-only transactions go to {@code app.datasource.replicas}, everything
+ * else to {@code spring.datasource}. Every pool shares the {@code spring.datasource.hikari}
+ * settings. Disabled unless {@code app.datasource.routing.enabled=true}, in which case this
+ * replaces the auto-configured DataSource.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.routing.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    private final ReplicaRoutingDataSource routingDataSource;
+    private final int healthCheckTimeoutSeconds;
+
+    public DataSourceRoutingConfig(DataSourceProperties properties, Environment environment, MeterRegistry meterRegistry,
+                                   @Value("${app.datasource.routing.failure-threshold:3}") int failureThreshold,
+                                   @Value("${app.datasource.routing.health-check-timeout:PT2S}") Duration healthCheckTimeout) {
+        Binder binder = Binder.get(environment);
+        HikariDataSource primary = pool(properties.getUrl(), properties.determineUsername(),
+                properties.determinePassword(), properties.getDriverClassName(), "primary", binder, meterRegistry);
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (ReplicaSettings replica : binder.bind("app.datasource.replicas", Bindable.listOf(ReplicaSettings.class))
+                .orElse(List.of())) {
+            String name = replica.getName() != null ? replica.getName() : "replica-" + (replicas.size() + 1);
+            replicas.put(name, pool(replica.getUrl(),
+                    replica.getUsername() != null ? replica.getUsername() : properties.determineUsername(),
+                    replica.getPassword() != null ? replica.getPassword() : properties.determinePassword(),
+                    properties.getDriverClassName(), name, binder, meterRegistry));
+        }
+
+        this.routingDataSource = new ReplicaRoutingDataSource(primary, replicas, failureThreshold, meterRegistry);
+        this.healthCheckTimeoutSeconds = (int) Math.max(1, healthCheckTimeout.toSeconds());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource() {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource replicaRoutingDataSource() {
+        return routingDataSource;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(
+            @Value("${app.datasource.routing.read-your-writes-window:PT5S}") Duration window) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(new ReadYourWritesFilter(window));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.routing.health-check-interval:PT10S}")
+    public void checkReplicas() {
+        routingDataSource.checkReplicas(healthCheckTimeoutSeconds);
+    }
+
+    private static HikariDataSource pool(String url, String username, String password, String driverClassName,
+                                         String name, Binder binder, MeterRegistry meterRegistry) {
+        HikariDataSource pool = new HikariDataSource();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setJdbcUrl(url);
+        pool.setUsername(username);
+        pool.setPassword(password);
+        if (driverClassName != null) {
+            pool.setDriverClassName(driverClassName);
+        }
+        pool.setPoolName((pool.getPoolName() != null ? pool.getPoolName() : "BookstoreHikariCP") + "-" + name);
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return pool;
+    }
+
+    /**
+     * One entry of {@code app.datasource.replicas}; username and password default to the primary's
+     */
+    public static class ReplicaSettings {
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+        public String getUrl() { return url; }
+        public void setUrl(String url) { this.url = url; }
+        public String getUsername() { return username; }
+        public void setUsername(String username) { this.username = username; }
+        public String getPassword() { return password; }
+        public void setPassword(String password) { this.password = password; }
+    }
+}
@@ -1,18 +1,13 @@
 package com.example.bookstore.config;
 
+import com.example.bookstore.filter.HttpRequestMetricsFilter;
 import io.micrometer.core.instrument.MeterRegistry;
-import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import jakarta.servlet.FilterChain;
-import jakarta.servlet.ServletException;
-import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpServletResponse;
-import java.io.IOException;
-
 /**
  * Configuration for monitoring and metrics collection
  */
@@ -24,54 +19,11 @@ public class MonitoringConfig {
 
 
     /**
-     * Custom filter to track HTTP request metrics
+     * Custom filter to track HTTP request metrics, tagged by route template
      */
     @Bean
-    public OncePerRequestFilter httpRequestMetricsFilter() {
-        return new OncePerRequestFilter() {
-            @Override
-            protected void doFilterInternal(HttpServletRequest request, 
-                                          HttpServletResponse response, 
-                                          FilterChain filterChain) throws ServletException, IOException {
-                
-                String requestURI = request.getRequestURI();
-                String method = request.getMethod();
-                
-                // Skip actuator endpoints from custom metrics
-                if (requestURI.startsWith("/actuator")) {
-                    filterChain.doFilter(request, response);
-                    return;
-                }
-
-                Timer.Sample sample = Timer.start(meterRegistry);
-                
-                try {
-                    filterChain.doFilter(request, response);
-                } finally {
-                    // Record the request duration
-                    sample.stop(Timer.builder("http.server.requests.custom")
-                            .description("Custom HTTP request duration")
-                            .tag("method", method)
-                            .tag("uri", simplifyURI(requestURI))
-                            .tag("status", String.valueOf(response.getStatus()))
-                            .register(meterRegistry));
-                    
-                    // Count requests by endpoint
-                    meterRegistry.counter("bookstore.http.requests.total",
-                            "method", method,
-                            "endpoint", simplifyURI(requestURI),
-                            "status", String.valueOf(response.getStatus()))
-                            .increment();
-                }
-            }
-            
-            private String simplifyURI(String uri) {
-                // Simplify URIs with IDs to avoid metric explosion
-                if (uri.matches("/api/books/\\d+")) {
-                    return "/api/books/{id}";
-                }
-                return uri;
-            }
-        };
+    public OncePerRequestFilter httpRequestMetricsFilter(
+            @Value("${app.metrics.http.max-routes:200}") int maxRoutes) {
+        return new HttpRequestMetricsFilter(meterRegistry, maxRoutes);
     }
-}
\ No newline at end of file
+}
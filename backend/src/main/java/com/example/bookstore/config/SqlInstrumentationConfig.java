@@ -0,0 +1,81 @@
+package com.example.bookstore.config;
+
+import com.example.bookstore.filter.SqlStatsFilter;
+import com.example.bookstore.jdbc.InstrumentedDataSource;
+import com.example.bookstore.jdbc.QueryOriginAspect;
+import com.example.bookstore.jdbc.QueryStatistics;
+import com.example.bookstore.jdbc.SqlStats;
+import com.example.bookstore.jdbc.StatementListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SQL instrumentation. The {@code dataSource} bean (the pool, or the read/write routing proxy in
+ * front of the pools) is wrapped in an {@link InstrumentedDataSource}, which reports to
+ * {@link SqlStats}, attributed to requests by {@link SqlStatsFilter}, and to every
+ * {@link StatementListener} bean, such as the {@link QueryStatistics} behind
+ * {@code /actuator/sqlstats}. Enabled unless {@code app.sql.instrumentation.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.sql.instrumentation.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlInstrumentationConfig {
+
+    static final String DATA_SOURCE_BEAN = "dataSource";
+
+    /**
+     * Static so that it is registered before the DataSource is created; the listeners are
+     * looked up when it is
+     */
+    @Bean
+    public static BeanPostProcessor instrumentedDataSourcePostProcessor(ObjectProvider<StatementListener> listeners) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (DATA_SOURCE_BEAN.equals(beanName) && bean instanceof DataSource dataSource
+                        && !(bean instanceof InstrumentedDataSource)) {
+                    List<StatementListener> all = new ArrayList<>();
+                    all.add(SqlStats.listener());
+                    listeners.orderedStream().forEach(all::add);
+                    return new InstrumentedDataSource(dataSource, all);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public QueryStatistics queryStatistics(
+            @Value("${app.sql.statistics.max-fingerprints:500}") int maxFingerprints,
+            @Value("${app.sql.slow-query.threshold-ms:200}") long slowThresholdMillis) {
+        return new QueryStatistics(maxFingerprints, slowThresholdMillis);
+    }
+
+    @Bean
+    public QueryOriginAspect queryOriginAspect() {
+        return new QueryOriginAspect();
+    }
+
+    @Bean
+    public SqlStatsEndpoint sqlStatsEndpoint(QueryStatistics queryStatistics) {
+        return new SqlStatsEndpoint(queryStatistics);
+    }
+
+    @Bean
+    public OncePerRequestFilter sqlStatsFilter(MeterRegistry meterRegistry,
+            @Value("${app.metrics.http.max-routes:200}") int maxRoutes,
+            @Value("${app.sql.server-timing.enabled:false}") boolean serverTiming,
+            @Value("${app.sql.log.statement-threshold:20}") int statementThreshold,
+            @Value("${app.sql.log.time-threshold-ms:500}") long timeThresholdMillis) {
+        return new SqlStatsFilter(meterRegistry, maxRoutes, serverTiming, statementThreshold, timeThresholdMillis);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.bookstore.config;
+
+import com.example.bookstore.jdbc.QueryStatistics;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code /actuator/sqlstats}: the statement fingerprints with the most database time since
+ * startup or the last reset, from {@link QueryStatistics}. {@code ?limit=} sets how many
+ * (default 20); {@code DELETE} starts over.
+ */
+@Endpoint(id = "sqlstats")
+public class SqlStatsEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final QueryStatistics queryStatistics;
+
+    public SqlStatsEndpoint(QueryStatistics queryStatistics) {
+        this.queryStatistics = queryStatistics;
+    }
+
+    @ReadOperation
+    public Map<String, Object> sqlStats(@Nullable Integer limit) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("since", queryStatistics.getSince().toString());
+        response.put("fingerprints", queryStatistics.size());
+        response.put("statements", queryStatistics.top(limit != null && limit > 0 ? limit : DEFAULT_LIMIT));
+        return response;
+    }
+
+    @DeleteOperation
+    public void reset() {
+        queryStatistics.reset();
+    }
+}
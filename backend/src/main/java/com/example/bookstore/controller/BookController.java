@@ -1,10 +1,27 @@
 package com.example.bookstore.controller;
 
+import com.example.bookstore.dto.BookBatchResponse;
 import com.example.bookstore.dto.BookCreateRequest;
+import com.example.bookstore.dto.BookDTO;
+import com.example.bookstore.dto.BookMapper;
+import com.example.bookstore.dto.BookPatch;
+import com.example.bookstore.dto.BookSearchCriteria;
 import com.example.bookstore.dto.BookUpdateRequest;
+import com.example.bookstore.dto.CursorPage;
+import com.example.bookstore.dto.FacetedPage;
+import com.example.bookstore.dto.StockAdjustmentRequest;
+import com.example.bookstore.dto.StockAdjustmentResult;
+import com.example.bookstore.exception.BookModifiedException;
 import com.example.bookstore.exception.BookNotFoundException;
+import com.example.bookstore.export.BookExportService;
+import com.example.bookstore.export.ExportFormat;
 import com.example.bookstore.model.Book;
+import com.example.bookstore.repository.BookField;
+import com.example.bookstore.search.Facet;
+import com.example.bookstore.service.BookBatchService;
 import com.example.bookstore.service.BookService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -13,25 +30,53 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.BeanUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/v1/books")
 @Tag(name = "Books", description = "Book management APIs")
 public class BookController {
+
+    private static final Logger log = LoggerFactory.getLogger(BookController.class);
     
     private final BookService bookService;
+    private final BookExportService bookExportService;
+    private final BookBatchService bookBatchService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
     
     @Autowired
-    public BookController(BookService bookService) {
+    public BookController(BookService bookService, BookExportService bookExportService,
+                          BookBatchService bookBatchService, ObjectMapper objectMapper, Validator validator) {
         this.bookService = bookService;
+        this.bookExportService = bookExportService;
+        this.bookBatchService = bookBatchService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
     }
     
     @Operation(summary = "Get all books", description = "Retrieve a paginated list of all books")
@@ -39,6 +84,7 @@ public class BookController {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved books",
                     content = @Content(mediaType = "application/json", 
                     schema = @Schema(implementation = Page.class))),
+            @ApiResponse(responseCode = "304", description = "Page unchanged since the ETag sent in If-None-Match"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping
@@ -46,26 +92,144 @@ public class BookController {
             @PageableDefault(size = 10, sort = "title") 
             @Parameter(description = "Pagination parameters") Pageable pageable) {
         
-        System.out.println("GET /api/v1/books - Fetching all books with pagination: " + pageable);
+        log.debug("GET /api/v1/books - Fetching all books with pagination: {}", pageable);
         Page<Book> books = bookService.getAllBooks(pageable);
+        return conditional(books);
+    }
+    
+    @Operation(summary = "Get book summaries", description = "Retrieve a paginated list of all books with only the " +
+            "list fields (id, title, author, price, category, stockQuantity, imageUrl). Use GET /{id} for full details.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved book summaries",
+                    content = @Content(mediaType = "application/json", 
+                    schema = @Schema(implementation = Page.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(params = {"view=summary", "!after", "!fields"})
+    public ResponseEntity<Page<BookDTO>> getAllBookSummaries(
+            @PageableDefault(size = 10, sort = "title") 
+            @Parameter(description = "Pagination parameters") Pageable pageable) {
+        
+        log.debug("GET /api/v1/books?view=summary - Fetching book summaries with pagination: {}", pageable);
+        Page<BookDTO> books = bookService.getAllBookSummaries(pageable);
         return ResponseEntity.ok(books);
     }
     
+    @Operation(summary = "Get selected fields of all books", description = "Retrieve a paginated list of all books " +
+            "with only the requested fields. Only those columns are read from the database.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved books",
+                    content = @Content(mediaType = "application/json", 
+                    schema = @Schema(implementation = Page.class))),
+            @ApiResponse(responseCode = "400", description = "Unknown field"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(params = {"fields", "!after"})
+    public ResponseEntity<Page<Map<String, Object>>> getAllBookFields(
+            @RequestParam @Parameter(description = "Comma-separated fields to return, e.g. isbn,price,stockQuantity; id is always included") String fields,
+            @PageableDefault(size = 10, sort = "title") 
+            @Parameter(description = "Pagination parameters") Pageable pageable) {
+        
+        log.debug("GET /api/v1/books?fields={} - Fetching selected fields with pagination: {}", fields, pageable);
+        Page<Map<String, Object>> books = bookService.getAllBookFields(BookField.fromParameter(fields), pageable);
+        return ResponseEntity.ok(books);
+    }
+    
+    @Operation(summary = "Scroll all books", description = "Retrieve all books with keyset (cursor) pagination. " +
+            "Pass an empty 'after' for the first page, then the returned nextCursor. Page depth does not affect latency.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved books",
+                    content = @Content(mediaType = "application/json", 
+                    schema = @Schema(implementation = CursorPage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or unsupported sort"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPage<Book>> scrollAllBooks(
+            @RequestParam @Parameter(description = "Cursor returned by the previous page; empty for the first page") String after,
+            @PageableDefault(size = 10, sort = "title") 
+            @Parameter(description = "Page size and sort (title, author, price, createdAt, updatedAt, id)") Pageable pageable) {
+        
+        log.debug("GET /api/v1/books - Scrolling all books after cursor: {}", after);
+        CursorPage<Book> books = bookService.scrollAllBooks(after, pageable);
+        return ResponseEntity.ok(books);
+    }
+    
+    @Operation(summary = "Export books", description = "Stream the whole catalog (optionally filtered) as NDJSON or CSV " +
+            "in ID order. The response is written as rows are read, so memory use does not grow with catalog size.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export stream started"),
+            @ApiResponse(responseCode = "400", description = "Unsupported export format"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportBooks(
+            @RequestParam(defaultValue = "ndjson") @Parameter(description = "Export format: ndjson or csv") String format,
+            @RequestParam(required = false) @Parameter(description = "Only export books in this category") String category,
+            @RequestParam(defaultValue = "false") @Parameter(description = "Only export books in stock") boolean inStock) {
+        
+        log.debug("GET /api/v1/books/export - Exporting books as {}, category: {}, inStock: {}",
+                format, category, inStock);
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        
+        StreamingResponseBody body = out -> bookExportService.export(exportFormat, category, inStock, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("books." + exportFormat.getExtension())
+                        .build().toString())
+                .body(body);
+    }
+    
     @Operation(summary = "Get book by ID", description = "Retrieve a specific book by its ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved the book",
                     content = @Content(mediaType = "application/json", 
                     schema = @Schema(implementation = Book.class))),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag or date sent in If-None-Match / If-Modified-Since"),
             @ApiResponse(responseCode = "404", description = "Book not found"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping("/{id}")
     public ResponseEntity<Book> getBookById(
-            @PathVariable @Parameter(description = "Book ID") Long id) {
+            @PathVariable @Parameter(description = "Book ID") Long id,
+            WebRequest request) {
         
-        System.out.println("GET /api/v1/books/" + id + " - Fetching book by ID");
+        log.debug("GET /api/v1/books/{} - Fetching book by ID", id);
+        // A conditional request is validated against the update time alone, so an unchanged book
+        // is answered without loading it. checkNotModified also sets ETag and Last-Modified.
+        boolean conditional = request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+        if (conditional) {
+            Optional<LocalDateTime> updatedAt = bookService.getBookLastModified(id);
+            if (updatedAt.isPresent() && request.checkNotModified(
+                    BookETags.of(id, updatedAt.get()), BookETags.lastModified(updatedAt.get()))) {
+                return null;
+            }
+        }
         Book book = bookService.getBookById(id)
                 .orElseThrow(() -> new BookNotFoundException(id));
+        if (!conditional && book.getUpdatedAt() != null) {
+            request.checkNotModified(BookETags.of(id, book.getUpdatedAt()), BookETags.lastModified(book.getUpdatedAt()));
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(book);
+    }
+    
+    @Operation(summary = "Get selected fields of a book by ID", description = "Retrieve only the requested fields of a book")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the book"),
+            @ApiResponse(responseCode = "400", description = "Unknown field"),
+            @ApiResponse(responseCode = "404", description = "Book not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = "/{id}", params = "fields")
+    public ResponseEntity<Map<String, Object>> getBookFieldsById(
+            @PathVariable @Parameter(description = "Book ID") Long id,
+            @RequestParam @Parameter(description = "Comma-separated fields to return, e.g. isbn,price,stockQuantity; id is always included") String fields) {
+        
+        log.debug("GET /api/v1/books/{}?fields={} - Fetching selected fields of book", id, fields);
+        Map<String, Object> book = bookService.getBookFieldsById(id, BookField.fromParameter(fields))
+                .orElseThrow(() -> new BookNotFoundException(id));
         return ResponseEntity.ok(book);
     }
     
@@ -81,15 +245,30 @@ public class BookController {
     public ResponseEntity<Book> createBook(
             @Valid @RequestBody BookCreateRequest request) {
         
-        System.out.println("POST /api/v1/books - Creating new book: " + request.getTitle());
-        
-        Book book = new Book();
-        BeanUtils.copyProperties(request, book);
+        log.debug("POST /api/v1/books - Creating new book: {}", request.getTitle());
         
-        Book createdBook = bookService.createBook(book);
+        Book createdBook = bookService.createBook(BookMapper.toBook(request));
         return ResponseEntity.status(HttpStatus.CREATED).body(createdBook);
     }
     
+    @Operation(summary = "Create books in bulk", description = "Create up to app.batch.max-size books in one call. " +
+            "Items are validated individually; invalid items and duplicate ISBNs are reported per item while the rest are inserted.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed; see per-item results",
+                    content = @Content(mediaType = "application/json", 
+                    schema = @Schema(implementation = BookBatchResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Empty or oversized batch"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<BookBatchResponse> createBooks(
+            @RequestBody List<BookCreateRequest> requests) {
+        
+        log.debug("POST /api/v1/books/batch - Creating {} books", requests.size());
+        BookBatchResponse response = bookBatchService.createBooks(requests);
+        return ResponseEntity.ok(response);
+    }
+    
     @Operation(summary = "Update a book", description = "Update an existing book by its ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Book updated successfully",
@@ -104,15 +283,86 @@ public class BookController {
             @PathVariable @Parameter(description = "Book ID") Long id,
             @Valid @RequestBody BookUpdateRequest request) {
         
-        System.out.println("PUT /api/v1/books/" + id + " - Updating book");
-        
-        Book bookDetails = new Book();
-        BeanUtils.copyProperties(request, bookDetails);
+        log.debug("PUT /api/v1/books/{} - Updating book", id);
         
-        Book updatedBook = bookService.updateBook(id, bookDetails);
+        Book updatedBook = bookService.updateBook(id, BookMapper.toBook(request));
         return ResponseEntity.ok(updatedBook);
     }
     
+    @Operation(summary = "Patch a book", description = "Apply a JSON Merge Patch (RFC 7396): fields present in the body are set, " +
+            "null clears a field and absent fields are left as they are. Only columns whose values change are written; a patch " +
+            "that changes nothing writes nothing and keeps updatedAt. Send the book's ETag in If-Match to patch only that version.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Book patched (or already matched the patch)",
+                    content = @Content(mediaType = "application/json", 
+                    schema = @Schema(implementation = Book.class))),
+            @ApiResponse(responseCode = "400", description = "Unknown or read-only field, or invalid value"),
+            @ApiResponse(responseCode = "404", description = "Book not found"),
+            @ApiResponse(responseCode = "412", description = "Book no longer matches the ETag sent in If-Match"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PatchMapping(value = "/{id}", consumes = {BookPatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Book> patchBook(
+            @PathVariable @Parameter(description = "Book ID") Long id,
+            @RequestBody JsonNode document,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) 
+            @Parameter(description = "ETag of the version to patch, or *") String ifMatch) {
+        
+        log.debug("PATCH /api/v1/books/{} - Patching book", id);
+        
+        LocalDateTime expectedUpdatedAt = null;
+        if (ifMatch != null && !ifMatch.trim().equals("*")) {
+            expectedUpdatedAt = BookETags.updatedAt(id, ifMatch)
+                    .orElseThrow(() -> new BookModifiedException(id));
+        }
+        
+        Book book = bookService.patchBook(id, BookPatch.from(document, objectMapper, validator), expectedUpdatedAt);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (book.getUpdatedAt() != null) {
+            response.eTag(BookETags.of(book));
+        }
+        return response.body(book);
+    }
+    
+    @Operation(summary = "Adjust book stock", description = "Atomically add a positive or negative delta to a book's stock. " +
+            "Decrements that would take stock below zero are rejected without changing anything.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stock adjusted",
+                    content = @Content(mediaType = "application/json", 
+                    schema = @Schema(implementation = StockAdjustmentResult.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid delta"),
+            @ApiResponse(responseCode = "404", description = "Book not found"),
+            @ApiResponse(responseCode = "409", description = "Insufficient stock"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping("/{id}/stock")
+    public ResponseEntity<StockAdjustmentResult> adjustStock(
+            @PathVariable @Parameter(description = "Book ID") Long id,
+            @Valid @RequestBody StockAdjustmentRequest request) {
+        
+        log.debug("POST /api/v1/books/{}/stock - Adjusting stock by {}", id, request.getDelta());
+        int stockQuantity = bookService.adjustStock(id, request.getDelta());
+        return ResponseEntity.ok(new StockAdjustmentResult(id, request.getDelta(), 
+                StockAdjustmentResult.Status.APPLIED, stockQuantity));
+    }
+    
+    @Operation(summary = "Adjust stock in bulk", description = "Apply several stock deltas atomically per item. " +
+            "Each item is applied or rejected on its own; results are returned in request order. " +
+            "At most " + BookService.MAX_STOCK_ADJUSTMENTS + " items, each book at most once.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Adjustments processed; see per-item status"),
+            @ApiResponse(responseCode = "400", description = "Batch too large or a book listed more than once"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping("/stock")
+    public ResponseEntity<List<StockAdjustmentResult>> adjustStock(
+            @RequestBody List<StockAdjustmentRequest> requests) {
+        
+        log.debug("POST /api/v1/books/stock - Adjusting stock for {} books", requests.size());
+        List<StockAdjustmentResult> results = bookService.adjustStock(requests);
+        return ResponseEntity.ok(results);
+    }
+    
     @Operation(summary = "Delete a book", description = "Delete a book by its ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Book deleted successfully"),
@@ -123,44 +373,192 @@ public class BookController {
     public ResponseEntity<Void> deleteBook(
             @PathVariable @Parameter(description = "Book ID") Long id) {
         
-        System.out.println("DELETE /api/v1/books/" + id + " - Deleting book");
+        log.debug("DELETE /api/v1/books/{} - Deleting book", id);
         bookService.deleteBook(id);
         return ResponseEntity.noContent().build();
     }
     
-    @Operation(summary = "Search books by title", description = "Search for books containing the specified title")
+    @Operation(summary = "Search books", description = "Search for books by any combination of full-text query, " +
+            "title, author, category, publisher, price range, publication date range and stock status. Text alone " +
+            "is served from the in-memory search index and ranked by relevance; any other combination runs as one " +
+            "database query following the requested sort.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved matching books",
                     content = @Content(mediaType = "application/json", 
                     schema = @Schema(implementation = Page.class))),
+            @ApiResponse(responseCode = "304", description = "Page unchanged since the ETag sent in If-None-Match"),
             @ApiResponse(responseCode = "400", description = "Invalid search parameters"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping("/search")
     public ResponseEntity<Page<Book>> searchBooks(
+            @RequestParam(required = false) @Parameter(description = "Full-text query across title, author, category, publisher and description") String q,
             @RequestParam(required = false) @Parameter(description = "Title to search for") String title,
             @RequestParam(required = false) @Parameter(description = "Author to search for") String author,
-            @RequestParam(required = false) @Parameter(description = "Category to search for") String category,
+            @RequestParam(required = false) @Parameter(description = "Category to filter by") String category,
+            @RequestParam(required = false) @Parameter(description = "Publisher to filter by") String publisher,
+            @RequestParam(required = false) @Parameter(description = "Lowest price, inclusive") BigDecimal minPrice,
+            @RequestParam(required = false) @Parameter(description = "Highest price, inclusive") BigDecimal maxPrice,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "Earliest publication date (yyyy-MM-dd), inclusive") LocalDate publishedFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "Latest publication date (yyyy-MM-dd), inclusive") LocalDate publishedTo,
+            @RequestParam(required = false) @Parameter(description = "true for books in stock, false for sold out") Boolean inStock,
             @PageableDefault(size = 10, sort = "title") 
             @Parameter(description = "Pagination parameters") Pageable pageable) {
         
-        System.out.println("GET /api/v1/books/search - Searching books with title: " + title + 
-                ", author: " + author + ", category: " + category);
-        
-        Page<Book> books;
-        
-        if (title != null && author != null) {
-            books = bookService.searchBooks(title, author, pageable);
-        } else if (title != null) {
-            books = bookService.searchBooksByTitle(title, pageable);
-        } else if (author != null) {
-            books = bookService.searchBooksByAuthor(author, pageable);
-        } else if (category != null) {
-            books = bookService.searchBooksByCategory(category, pageable);
-        } else {
-            books = bookService.getAllBooks(pageable);
-        }
+        BookSearchCriteria criteria = new BookSearchCriteria(q, title, author, category, publisher,
+                minPrice, maxPrice, publishedFrom, publishedTo, inStock);
+        log.debug("GET /api/v1/books/search - Searching books with {}", criteria);
+        Page<Book> books = bookService.searchBooks(criteria, pageable);
+        return conditional(books);
+    }
+    
+    @Operation(summary = "Search book summaries", description = "Same search as GET /search, returning only the list fields")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved matching book summaries",
+                    content = @Content(mediaType = "application/json", 
+                    schema = @Schema(implementation = Page.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid search parameters"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = "/search", params = {"view=summary", "!after", "!fields"})
+    public ResponseEntity<Page<BookDTO>> searchBookSummaries(
+            @RequestParam(required = false) @Parameter(description = "Full-text query across title, author, category, publisher and description") String q,
+            @RequestParam(required = false) @Parameter(description = "Title to search for") String title,
+            @RequestParam(required = false) @Parameter(description = "Author to search for") String author,
+            @RequestParam(required = false) @Parameter(description = "Category to filter by") String category,
+            @RequestParam(required = false) @Parameter(description = "Publisher to filter by") String publisher,
+            @RequestParam(required = false) @Parameter(description = "Lowest price, inclusive") BigDecimal minPrice,
+            @RequestParam(required = false) @Parameter(description = "Highest price, inclusive") BigDecimal maxPrice,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "Earliest publication date (yyyy-MM-dd), inclusive") LocalDate publishedFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "Latest publication date (yyyy-MM-dd), inclusive") LocalDate publishedTo,
+            @RequestParam(required = false) @Parameter(description = "true for books in stock, false for sold out") Boolean inStock,
+            @PageableDefault(size = 10, sort = "title") 
+            @Parameter(description = "Pagination parameters") Pageable pageable) {
         
+        BookSearchCriteria criteria = new BookSearchCriteria(q, title, author, category, publisher,
+                minPrice, maxPrice, publishedFrom, publishedTo, inStock);
+        log.debug("GET /api/v1/books/search?view=summary - Searching book summaries with {}", criteria);
+        Page<BookDTO> books = bookService.searchBookSummaries(criteria, pageable);
+        return ResponseEntity.ok(books);
+    }
+    
+    @Operation(summary = "Faceted search", description = "Search books by full-text query, title and/or author, " +
+            "narrowed by any combination of category, publisher, inStock, price bucket and decade, with the count " +
+            "of each facet value among the matches. Results are ranked by relevance, or in ID order without a query.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved matching books and facet counts",
+                    content = @Content(mediaType = "application/json", 
+                    schema = @Schema(implementation = FacetedPage.class))),
+            @ApiResponse(responseCode = "400", description = "Unknown facet or invalid facet value"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = "/search", params = {"facets", "!after", "!fields", "!view"})
+    public ResponseEntity<FacetedPage<Book>> searchBooksFaceted(
+            @RequestParam(required = false) @Parameter(description = "Full-text query across title, author, category, publisher and description") String q,
+            @RequestParam(required = false) @Parameter(description = "Title to search for") String title,
+            @RequestParam(required = false) @Parameter(description = "Author to search for") String author,
+            @RequestParam(required = false) @Parameter(description = "Category to filter by") String category,
+            @RequestParam(required = false) @Parameter(description = "Publisher to filter by") String publisher,
+            @RequestParam(required = false) @Parameter(description = "true for books in stock, false for sold out") String inStock,
+            @RequestParam(required = false) @Parameter(description = "Price bucket: 0-10, 10-20, 20-30, 30-50 or 50+") String price,
+            @RequestParam(required = false) @Parameter(description = "Publication decade, e.g. 1990s") String decade,
+            @RequestParam @Parameter(description = "Comma-separated facets to count (category, publisher, inStock, price, decade); empty for all") String facets,
+            @PageableDefault(size = 10, sort = "title") 
+            @Parameter(description = "Pagination parameters") Pageable pageable) {
+        
+        log.debug("GET /api/v1/books/search?facets={} - Faceted search with q: {}, title: {}, author: {}, " +
+                "category: {}, publisher: {}, inStock: {}, price: {}, decade: {}",
+                facets, q, title, author, category, publisher, inStock, price, decade);
+        
+        Map<Facet, String> filters = new EnumMap<>(Facet.class);
+        addFacetFilter(filters, Facet.CATEGORY, category);
+        addFacetFilter(filters, Facet.PUBLISHER, publisher);
+        addFacetFilter(filters, Facet.IN_STOCK, inStock);
+        addFacetFilter(filters, Facet.PRICE, price);
+        addFacetFilter(filters, Facet.DECADE, decade);
+        
+        FacetedPage<Book> books = bookService.searchBooksFaceted(q, title, author, filters,
+                Facet.fromParameter(facets), pageable);
+        return ResponseEntity.ok(books);
+    }
+    
+    @Operation(summary = "Search books returning selected fields", description = "Search books with the same criteria " +
+            "as GET /search, returning only the requested fields")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved matching books",
+                    content = @Content(mediaType = "application/json", 
+                    schema = @Schema(implementation = Page.class))),
+            @ApiResponse(responseCode = "400", description = "Unknown field or invalid search parameters"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = "/search", params = {"fields", "!after"})
+    public ResponseEntity<Page<Map<String, Object>>> searchBookFields(
+            @RequestParam(required = false) @Parameter(description = "Full-text query across title, author, category, publisher and description") String q,
+            @RequestParam(required = false) @Parameter(description = "Title to search for") String title,
+            @RequestParam(required = false) @Parameter(description = "Author to search for") String author,
+            @RequestParam(required = false) @Parameter(description = "Category to filter by") String category,
+            @RequestParam(required = false) @Parameter(description = "Publisher to filter by") String publisher,
+            @RequestParam(required = false) @Parameter(description = "Lowest price, inclusive") BigDecimal minPrice,
+            @RequestParam(required = false) @Parameter(description = "Highest price, inclusive") BigDecimal maxPrice,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "Earliest publication date (yyyy-MM-dd), inclusive") LocalDate publishedFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "Latest publication date (yyyy-MM-dd), inclusive") LocalDate publishedTo,
+            @RequestParam(required = false) @Parameter(description = "true for books in stock, false for sold out") Boolean inStock,
+            @RequestParam @Parameter(description = "Comma-separated fields to return, e.g. isbn,price,stockQuantity; id is always included") String fields,
+            @PageableDefault(size = 10, sort = "title") 
+            @Parameter(description = "Pagination parameters") Pageable pageable) {
+        
+        BookSearchCriteria criteria = new BookSearchCriteria(q, title, author, category, publisher,
+                minPrice, maxPrice, publishedFrom, publishedTo, inStock);
+        log.debug("GET /api/v1/books/search?fields={} - Searching books with {}", fields, criteria);
+        Page<Map<String, Object>> books = bookService.searchBookFields(criteria, BookField.fromParameter(fields), pageable);
+        return ResponseEntity.ok(books);
+    }
+    
+    @Operation(summary = "Scroll search results", description = "Search books with keyset (cursor) pagination, " +
+            "taking the same filters as GET /search. Filters are applied in the database and results follow the " +
+            "requested sort instead of relevance, so the ranked full-text q is not accepted; titleOrAuthor matches " +
+            "a keyword in title or author instead.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved matching books",
+                    content = @Content(mediaType = "application/json", 
+                    schema = @Schema(implementation = CursorPage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor, search parameters or unsupported sort"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = "/search", params = "after")
+    public ResponseEntity<CursorPage<Book>> scrollSearchBooks(
+            @RequestParam(required = false) @Parameter(description = "Not supported when scrolling; use titleOrAuthor") String q,
+            @RequestParam(required = false) @Parameter(description = "Keyword to match in title or author") String titleOrAuthor,
+            @RequestParam(required = false) @Parameter(description = "Title to search for") String title,
+            @RequestParam(required = false) @Parameter(description = "Author to search for") String author,
+            @RequestParam(required = false) @Parameter(description = "Category to filter by") String category,
+            @RequestParam(required = false) @Parameter(description = "Publisher to filter by") String publisher,
+            @RequestParam(required = false) @Parameter(description = "Lowest price, inclusive") BigDecimal minPrice,
+            @RequestParam(required = false) @Parameter(description = "Highest price, inclusive") BigDecimal maxPrice,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "Earliest publication date (yyyy-MM-dd), inclusive") LocalDate publishedFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "Latest publication date (yyyy-MM-dd), inclusive") LocalDate publishedTo,
+            @RequestParam(required = false) @Parameter(description = "true for books in stock, false for sold out") Boolean inStock,
+            @RequestParam @Parameter(description = "Cursor returned by the previous page; empty for the first page") String after,
+            @PageableDefault(size = 10, sort = "title") 
+            @Parameter(description = "Page size and sort (title, author, price, createdAt, updatedAt, id)") Pageable pageable) {
+        
+        if (q != null && !q.isBlank()) {
+            throw new IllegalArgumentException("q is a ranked full-text query and cannot be scrolled; " +
+                    "use titleOrAuthor, or page through GET /search without after");
+        }
+        BookSearchCriteria criteria = new BookSearchCriteria(null, title, author, category, publisher,
+                minPrice, maxPrice, publishedFrom, publishedTo, inStock);
+        log.debug("GET /api/v1/books/search - Scrolling books with titleOrAuthor: {}, {} after cursor: {}",
+                titleOrAuthor, criteria, after);
+        CursorPage<Book> books = bookService.scrollSearchBooks(titleOrAuthor, criteria, after, pageable);
         return ResponseEntity.ok(books);
     }
     
@@ -169,6 +567,7 @@ public class BookController {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved books in stock",
                     content = @Content(mediaType = "application/json", 
                     schema = @Schema(implementation = Page.class))),
+            @ApiResponse(responseCode = "304", description = "Page unchanged since the ETag sent in If-None-Match"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping("/in-stock")
@@ -176,8 +575,63 @@ public class BookController {
             @PageableDefault(size = 10, sort = "title") 
             @Parameter(description = "Pagination parameters") Pageable pageable) {
         
-        System.out.println("GET /api/v1/books/in-stock - Fetching books in stock");
+        log.debug("GET /api/v1/books/in-stock - Fetching books in stock");
         Page<Book> books = bookService.getBooksInStock(pageable);
+        return conditional(books);
+    }
+    
+    @Operation(summary = "Get summaries of books in stock", description = "Retrieve books in stock with only the list fields")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved summaries of books in stock",
+                    content = @Content(mediaType = "application/json", 
+                    schema = @Schema(implementation = Page.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = "/in-stock", params = {"view=summary", "!after", "!fields"})
+    public ResponseEntity<Page<BookDTO>> getBookSummariesInStock(
+            @PageableDefault(size = 10, sort = "title") 
+            @Parameter(description = "Pagination parameters") Pageable pageable) {
+        
+        log.debug("GET /api/v1/books/in-stock?view=summary - Fetching summaries of books in stock");
+        Page<BookDTO> books = bookService.getBookSummariesInStock(pageable);
+        return ResponseEntity.ok(books);
+    }
+    
+    @Operation(summary = "Get selected fields of books in stock", description = "Retrieve books in stock with only the requested fields")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved books in stock",
+                    content = @Content(mediaType = "application/json", 
+                    schema = @Schema(implementation = Page.class))),
+            @ApiResponse(responseCode = "400", description = "Unknown field"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = "/in-stock", params = {"fields", "!after"})
+    public ResponseEntity<Page<Map<String, Object>>> getBookFieldsInStock(
+            @RequestParam @Parameter(description = "Comma-separated fields to return, e.g. isbn,price,stockQuantity; id is always included") String fields,
+            @PageableDefault(size = 10, sort = "title") 
+            @Parameter(description = "Pagination parameters") Pageable pageable) {
+        
+        log.debug("GET /api/v1/books/in-stock?fields={} - Fetching selected fields of books in stock", fields);
+        Page<Map<String, Object>> books = bookService.getBookFieldsInStock(BookField.fromParameter(fields), pageable);
+        return ResponseEntity.ok(books);
+    }
+    
+    @Operation(summary = "Scroll books in stock", description = "Retrieve books in stock with keyset (cursor) pagination")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved books in stock",
+                    content = @Content(mediaType = "application/json", 
+                    schema = @Schema(implementation = CursorPage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or unsupported sort"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = "/in-stock", params = "after")
+    public ResponseEntity<CursorPage<Book>> scrollBooksInStock(
+            @RequestParam @Parameter(description = "Cursor returned by the previous page; empty for the first page") String after,
+            @PageableDefault(size = 10, sort = "title") 
+            @Parameter(description = "Page size and sort (title, author, price, createdAt, updatedAt, id)") Pageable pageable) {
+        
+        log.debug("GET /api/v1/books/in-stock - Scrolling books in stock after cursor: {}", after);
+        CursorPage<Book> books = bookService.scrollBooksInStock(after, pageable);
         return ResponseEntity.ok(books);
     }
     
@@ -186,6 +640,7 @@ public class BookController {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved the book",
                     content = @Content(mediaType = "application/json", 
                     schema = @Schema(implementation = Book.class))),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag or date sent in If-None-Match / If-Modified-Since"),
             @ApiResponse(responseCode = "404", description = "Book not found"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
@@ -193,9 +648,51 @@ public class BookController {
     public ResponseEntity<Book> getBookByIsbn(
             @PathVariable @Parameter(description = "Book ISBN") String isbn) {
         
-        System.out.println("GET /api/v1/books/isbn/" + isbn + " - Fetching book by ISBN");
+        log.debug("GET /api/v1/books/isbn/{} - Fetching book by ISBN", isbn);
         Book book = bookService.getBookByIsbn(isbn)
                 .orElseThrow(() -> new BookNotFoundException("ISBN", isbn));
+        return conditional(book);
+    }
+    
+    @Operation(summary = "Get selected fields of a book by ISBN", description = "Retrieve only the requested fields of a book")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the book"),
+            @ApiResponse(responseCode = "400", description = "Unknown field"),
+            @ApiResponse(responseCode = "404", description = "Book not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = "/isbn/{isbn}", params = "fields")
+    public ResponseEntity<Map<String, Object>> getBookFieldsByIsbn(
+            @PathVariable @Parameter(description = "Book ISBN") String isbn,
+            @RequestParam @Parameter(description = "Comma-separated fields to return, e.g. isbn,price,stockQuantity; id is always included") String fields) {
+        
+        log.debug("GET /api/v1/books/isbn/{}?fields={} - Fetching selected fields of book", isbn, fields);
+        Map<String, Object> book = bookService.getBookFieldsByIsbn(isbn, BookField.fromParameter(fields))
+                .orElseThrow(() -> new BookNotFoundException("ISBN", isbn));
         return ResponseEntity.ok(book);
     }
-}
\ No newline at end of file
+    
+    /**
+     * 200 with validators; Spring answers a matching If-None-Match or If-Modified-Since with 304
+     */
+    private static ResponseEntity<Book> conditional(Book book) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(CacheControl.noCache());
+        if (book.getUpdatedAt() != null) {
+            response.eTag(BookETags.of(book)).lastModified(BookETags.lastModified(book.getUpdatedAt()));
+        }
+        return response.body(book);
+    }
+    
+    private static ResponseEntity<Page<Book>> conditional(Page<Book> books) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(BookETags.of(books))
+                .body(books);
+    }
+    
+    private static void addFacetFilter(Map<Facet, String> filters, Facet facet, String value) {
+        if (value != null) {
+            filters.put(facet, facet.filterKey(value));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.bookstore.controller;
+
+import com.example.bookstore.model.Book;
+import org.springframework.data.domain.Page;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+/**
+ * Validators for conditional requests, derived from {@code Book.updatedAt} rather than from the
+ * response body, so they can be checked before (or without) serializing anything.
+ */
+final class BookETags {
+
+    private BookETags() {
+    }
+
+    /**
+     * Strong ETag for a single book: its ID and last update time
+     */
+    static String of(Long id, LocalDateTime updatedAt) {
+        return "\"" + id + "-" + Long.toString(version(updatedAt), 36) + "\"";
+    }
+
+    static String of(Book book) {
+        return book.getUpdatedAt() != null ? of(book.getId(), book.getUpdatedAt()) : null;
+    }
+
+    /**
+     * Weak ETag for a page of books: a digest of the page position, sort and total, and the
+     * ID and update time of every book on it
+     */
+    static String of(Page<Book> page) {
+        StringBuilder versions = new StringBuilder()
+                .append(page.getNumber()).append('/').append(page.getSize()).append('/')
+                .append(page.getSort()).append('/').append(page.getTotalElements());
+        for (Book book : page.getContent()) {
+            versions.append(';').append(book.getId()).append(':')
+                    .append(book.getUpdatedAt() != null ? version(book.getUpdatedAt()) : 0);
+        }
+        return "W/\"" + DigestUtils.md5DigestAsHex(versions.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * The update time named by an If-Match header for this book: the first strong ETag in the
+     * list that {@link #of(Long, LocalDateTime)} could have produced for it
+     */
+    static Optional<LocalDateTime> updatedAt(Long id, String ifMatch) {
+        String prefix = "\"" + id + "-";
+        for (String tag : ifMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.length() > prefix.length() + 1 && candidate.startsWith(prefix) && candidate.endsWith("\"")) {
+                try {
+                    long version = Long.parseLong(candidate.substring(prefix.length(), candidate.length() - 1), 36);
+                    return Optional.of(LocalDateTime.ofEpochSecond(Math.floorDiv(version, 1_000_000L),
+                            (int) Math.floorMod(version, 1_000_000L) * 1_000, ZoneOffset.UTC));
+                } catch (NumberFormatException e) {
+                    // Not one of ours; try the next tag
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Last-Modified value in epoch milliseconds. {@code updatedAt} is written in the JVM's zone.
+     */
+    static long lastModified(LocalDateTime updatedAt) {
+        return updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static long version(LocalDateTime updatedAt) {
+        return updatedAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + updatedAt.getNano() / 1_000;
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.bookstore.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Opt-in read-your-writes for replica routing, without server-side session state.
+ * <p>
+ * Every write response carries {@value #HEADER}: the epoch millisecond until which reads may
+ * still miss that write on a replica. A client that echoes the header on later requests has
+ * them served from the primary until that time; clients that ignore it read from replicas.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String HEADER = "X-Read-After";
+
+    private final long windowMillis;
+
+    public ReadYourWritesFilter(Duration window) {
+        this.windowMillis = window.toMillis();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        boolean write = isWrite(request.getMethod());
+        if (write) {
+            // Set up front; the body may commit the response before the chain returns
+            response.setHeader(HEADER, String.valueOf(now + windowMillis));
+        }
+        if (!write && !withinWindow(request.getHeader(HEADER), now)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RoutingContext.requirePrimary();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RoutingContext.clear();
+        }
+    }
+
+    private boolean withinWindow(String readAfter, long now) {
+        if (readAfter == null) {
+            return false;
+        }
+        try {
+            long until = Long.parseLong(readAfter.trim());
+            // Ignore values further out than any window this server hands out
+            return until > now && until <= now + windowMillis;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static boolean isWrite(String method) {
+        return !("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method));
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.bookstore.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends connections for read-only transactions to a replica (round-robin over the healthy ones)
+ * and everything else to the primary.
+ * <p>
+ * The decision is made when the connection is opened, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the transaction
+ * manager asks for a connection before it publishes the read-only flag, and the proxy defers the
+ * real fetch until the first statement. A replica is ejected after {@code failureThreshold}
+ * consecutive connection or health check failures and readmitted by the next passing
+ * {@link #checkReplicas health check}; with no healthy replica, reads fall back to the primary.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final int failureThreshold;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter primaryConnections;
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                    int failureThreshold, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.failureThreshold = failureThreshold;
+        this.primaryConnections = connectionCounter(meterRegistry, PRIMARY);
+        replicas.forEach((name, dataSource) -> {
+            Replica replica = new Replica(name, dataSource, connectionCounter(meterRegistry, name));
+            Gauge.builder("bookstore.datasource.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .description("1 while the read replica receives traffic, 0 while ejected")
+                    .tag("replica", name)
+                    .register(meterRegistry);
+            this.replicas.add(replica);
+        });
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection route(ConnectionSource source) throws SQLException {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !RoutingContext.isPrimaryRequired()) {
+            Replica replica = nextHealthyReplica();
+            if (replica != null) {
+                try {
+                    Connection connection = source.open(replica.dataSource);
+                    replica.succeeded();
+                    replica.connections.increment();
+                    return connection;
+                } catch (SQLException e) {
+                    log.debug("Read replica {} refused a connection; using the primary", replica.name, e);
+                    replica.failed();
+                }
+            }
+        }
+        primaryConnections.increment();
+        return source.open(primary);
+    }
+
+    private Replica nextHealthyReplica() {
+        int size = replicas.size();
+        if (size == 0) {
+            return null;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Validate a connection to every replica, ejecting or readmitting as needed
+     */
+    public void checkReplicas(int timeoutSeconds) {
+        for (Replica replica : replicas) {
+            boolean valid;
+            try (Connection connection = replica.dataSource.getConnection()) {
+                valid = connection.isValid(timeoutSeconds);
+            } catch (SQLException e) {
+                valid = false;
+            }
+            if (valid) {
+                replica.succeeded();
+            } else {
+                replica.failed();
+            }
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection open(DataSource dataSource) throws SQLException;
+    }
+
+    private static Counter connectionCounter(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("bookstore.datasource.connections")
+                .description("Connections handed out, by routing target")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+
+    private final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private final Counter connections;
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private volatile boolean healthy = true;
+
+        private Replica(String name, DataSource dataSource, Counter connections) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.connections = connections;
+        }
+
+        private void succeeded() {
+            if (consecutiveFailures.get() != 0) {
+                consecutiveFailures.set(0);
+            }
+            if (!healthy) {
+                healthy = true;
+                log.info("Read replica {} passed its health check and is receiving reads again", name);
+            }
+        }
+
+        private void failed() {
+            if (consecutiveFailures.incrementAndGet() >= failureThreshold && healthy) {
+                healthy = false;
+                log.warn("Ejected read replica {} after {} consecutive failures; reads use the remaining replicas or the primary",
+                        name, failureThreshold);
+            }
+        }
+    }
+}
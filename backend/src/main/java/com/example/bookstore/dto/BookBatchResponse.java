@@ -0,0 +1,78 @@
+package com.example.bookstore.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk create: one entry per submitted book, in request order
+ */
+public class BookBatchResponse {
+
+    public enum Status { CREATED, REJECTED }
+
+    private int created;
+    private int rejected;
+    private List<ItemResult> results;
+
+    // Constructors
+    public BookBatchResponse() {}
+
+    public BookBatchResponse(List<ItemResult> results) {
+        this.results = results;
+        this.created = (int) results.stream().filter(r -> r.getStatus() == Status.CREATED).count();
+        this.rejected = results.size() - created;
+    }
+
+    // Getters and Setters
+    public int getCreated() { return created; }
+    public void setCreated(int created) { this.created = created; }
+
+    public int getRejected() { return rejected; }
+    public void setRejected(int rejected) { this.rejected = rejected; }
+
+    public List<ItemResult> getResults() { return results; }
+    public void setResults(List<ItemResult> results) { this.results = results; }
+
+    public static class ItemResult {
+
+        private int index;
+        private Status status;
+        private Long id;
+        private String isbn;
+        private List<String> errors;
+
+        // Constructors
+        public ItemResult() {}
+
+        public ItemResult(int index, Status status, Long id, String isbn, List<String> errors) {
+            this.index = index;
+            this.status = status;
+            this.id = id;
+            this.isbn = isbn;
+            this.errors = errors;
+        }
+
+        public static ItemResult created(int index, Long id, String isbn) {
+            return new ItemResult(index, Status.CREATED, id, isbn, List.of());
+        }
+
+        public static ItemResult rejected(int index, String isbn, List<String> errors) {
+            return new ItemResult(index, Status.REJECTED, null, isbn, errors);
+        }
+
+        // Getters and Setters
+        public int getIndex() { return index; }
+        public void setIndex(int index) { this.index = index; }
+
+        public Status getStatus() { return status; }
+        public void setStatus(Status status) { this.status = status; }
+
+        public Long getId() { return id; }
+        public void setId(Long id) { this.id = id; }
+
+        public String getIsbn() { return isbn; }
+        public void setIsbn(String isbn) { this.isbn = isbn; }
+
+        public List<String> getErrors() { return errors; }
+        public void setErrors(List<String> errors) { this.errors = errors; }
+    }
+}
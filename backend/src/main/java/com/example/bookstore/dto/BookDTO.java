@@ -1,6 +1,7 @@
 package com.example.bookstore.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -11,9 +12,11 @@ import java.time.LocalDateTime;
 
 /**
  * Data Transfer Object for Book entity
- * Used for API responses and general book data transfer
+ * Used for API responses and general book data transfer.
+ * List summaries fill only the catalog fields; unset fields are left out of the JSON.
  */
 @Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
 @NoArgsConstructor
 @AllArgsConstructor
 public class BookDTO {
@@ -39,4 +42,18 @@ public class BookDTO {
     
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
     private LocalDateTime updatedAt;
+    
+    /**
+     * Summary for catalog lists (used by the repository's constructor-expression queries)
+     */
+    public BookDTO(Long id, String title, String author, BigDecimal price,
+                   String category, Integer stockQuantity, String imageUrl) {
+        this.id = id;
+        this.title = title;
+        this.author = author;
+        this.price = price;
+        this.category = category;
+        this.stockQuantity = stockQuantity;
+        this.imageUrl = imageUrl;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.example.bookstore.dto;
+
+import com.example.bookstore.model.Book;
+
+/**
+ * Conversions between the book DTOs and the {@link Book} entity, written out field by field.
+ * <p>
+ * Replaces {@code BeanUtils.copyProperties}, which introspects both classes and copies each
+ * property through reflective getter/setter calls. A field added to {@link Book} or a request
+ * must be added here too; {@code BookMapperTest} compares every property to catch omissions.
+ */
+public final class BookMapper {
+
+    private BookMapper() {
+    }
+
+    /**
+     * New, unsaved book from a create request
+     */
+    public static Book toBook(BookCreateRequest request) {
+        return new Book(request.getTitle(), request.getAuthor(), request.getPrice(), request.getIsbn(),
+                request.getDescription(), request.getCategory(), request.getPublisher(), request.getPublicationDate(),
+                request.getPages(), request.getStockQuantity(), request.getImageUrl());
+    }
+
+    /**
+     * Replacement values for an existing book from an update request
+     */
+    public static Book toBook(BookUpdateRequest request) {
+        return new Book(request.getTitle(), request.getAuthor(), request.getPrice(), request.getIsbn(),
+                request.getDescription(), request.getCategory(), request.getPublisher(), request.getPublicationDate(),
+                request.getPages(), request.getStockQuantity(), request.getImageUrl());
+    }
+
+    /**
+     * Full DTO for a book, including its ID and timestamps
+     */
+    public static BookDTO toDto(Book book) {
+        return new BookDTO(book.getId(), book.getTitle(), book.getAuthor(), book.getPrice(), book.getIsbn(),
+                book.getDescription(), book.getCategory(), book.getPublisher(), book.getPublicationDate(),
+                book.getPages(), book.getStockQuantity(), book.getImageUrl(), book.getCreatedAt(), book.getUpdatedAt());
+    }
+}
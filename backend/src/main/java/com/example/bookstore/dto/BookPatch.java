@@ -0,0 +1,85 @@
+package com.example.bookstore.dto;
+
+import com.example.bookstore.model.Book;
+import com.example.bookstore.repository.BookField;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A JSON Merge Patch (RFC 7396) for a book: the members present in the document, converted to
+ * entity types and checked against the {@link Book} constraints. A member set to {@code null}
+ * clears the field and absent members are left unchanged. Book has no nested objects, so every
+ * member replaces its field outright.
+ */
+public final class BookPatch {
+
+    public static final String MEDIA_TYPE = "application/merge-patch+json";
+
+    private final Map<BookField, Object> changes;
+
+    private BookPatch(Map<BookField, Object> changes) {
+        this.changes = Collections.unmodifiableMap(changes);
+    }
+
+    /**
+     * Parse a merge patch document. Unknown or read-only members and values of the wrong type
+     * are rejected with {@link IllegalArgumentException}; values that break a constraint with
+     * {@link ConstraintViolationException} listing every violation.
+     */
+    public static BookPatch from(JsonNode document, ObjectMapper objectMapper, Validator validator) {
+        if (document == null || !document.isObject()) {
+            throw new IllegalArgumentException("Merge patch must be a JSON object");
+        }
+
+        Map<BookField, Object> changes = new EnumMap<>(BookField.class);
+        Set<ConstraintViolation<Book>> violations = new LinkedHashSet<>();
+        Iterator<Map.Entry<String, JsonNode>> members = document.fields();
+        while (members.hasNext()) {
+            Map.Entry<String, JsonNode> member = members.next();
+            BookField field = BookField.fromAttribute(member.getKey());
+            if (!field.isWritable()) {
+                throw new IllegalArgumentException("Field is read-only: " + field.getAttribute());
+            }
+            Object value = convert(field, member.getValue(), objectMapper);
+            violations.addAll(validator.validateValue(Book.class, field.getAttribute(), value));
+            changes.put(field, value);
+        }
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        return new BookPatch(changes);
+    }
+
+    private static Object convert(BookField field, JsonNode value, ObjectMapper objectMapper) {
+        if (value.isNull()) {
+            return null;
+        }
+        try {
+            return objectMapper.treeToValue(value, field.getType());
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid value for " + field.getAttribute() + ": " + value);
+        }
+    }
+
+    /**
+     * The fields to set, in {@link BookField} order; {@code null} values clear the field
+     */
+    public Map<BookField, Object> getChanges() {
+        return changes;
+    }
+
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.bookstore.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Criteria of a book search, all optional and combined with AND: a full-text query, title and
+ * author substrings, category and publisher (case-insensitive), an inclusive price range, an
+ * inclusive publication date range and stock status. Blank text is treated as absent.
+ * <p>
+ * Immutable with value equality, so identical concurrent searches can be coalesced.
+ */
+public final class BookSearchCriteria {
+
+    private final String q;
+    private final String title;
+    private final String author;
+    private final String category;
+    private final String publisher;
+    private final BigDecimal minPrice;
+    private final BigDecimal maxPrice;
+    private final LocalDate publishedFrom;
+    private final LocalDate publishedTo;
+    private final Boolean inStock;
+
+    /**
+     * @throws IllegalArgumentException if a range is inverted or a price is negative
+     */
+    public BookSearchCriteria(String q, String title, String author, String category, String publisher,
+                              BigDecimal minPrice, BigDecimal maxPrice, LocalDate publishedFrom,
+                              LocalDate publishedTo, Boolean inStock) {
+        if ((minPrice != null && minPrice.signum() < 0) || (maxPrice != null && maxPrice.signum() < 0)) {
+            throw new IllegalArgumentException("Price bounds must not be negative");
+        }
+        if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+            throw new IllegalArgumentException("minPrice must not be greater than maxPrice");
+        }
+        if (publishedFrom != null && publishedTo != null && publishedFrom.isAfter(publishedTo)) {
+            throw new IllegalArgumentException("publishedFrom must not be after publishedTo");
+        }
+        this.q = trimToNull(q);
+        this.title = trimToNull(title);
+        this.author = trimToNull(author);
+        this.category = trimToNull(category);
+        this.publisher = trimToNull(publisher);
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+        this.publishedFrom = publishedFrom;
+        this.publishedTo = publishedTo;
+        this.inStock = inStock;
+    }
+
+    /**
+     * Criteria with only text: a full-text query and/or title and author substrings
+     */
+    public static BookSearchCriteria text(String q, String title, String author) {
+        return new BookSearchCriteria(q, title, author, null, null, null, null, null, null, null);
+    }
+
+    /**
+     * Whether any criterion besides the text ones is set
+     */
+    public boolean hasFilters() {
+        return category != null || publisher != null || minPrice != null || maxPrice != null
+                || publishedFrom != null || publishedTo != null || inStock != null;
+    }
+
+    /**
+     * Whether no criterion at all is set
+     */
+    public boolean isEmpty() {
+        return q == null && title == null && author == null && !hasFilters();
+    }
+
+    // Getters
+    public String getQ() { return q; }
+
+    public String getTitle() { return title; }
+
+    public String getAuthor() { return author; }
+
+    public String getCategory() { return category; }
+
+    public String getPublisher() { return publisher; }
+
+    public BigDecimal getMinPrice() { return minPrice; }
+
+    public BigDecimal getMaxPrice() { return maxPrice; }
+
+    public LocalDate getPublishedFrom() { return publishedFrom; }
+
+    public LocalDate getPublishedTo() { return publishedTo; }
+
+    public Boolean getInStock() { return inStock; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof BookSearchCriteria that)) return false;
+        return Objects.equals(q, that.q)
+                && Objects.equals(title, that.title)
+                && Objects.equals(author, that.author)
+                && Objects.equals(category, that.category)
+                && Objects.equals(publisher, that.publisher)
+                && samePrice(minPrice, that.minPrice)
+                && samePrice(maxPrice, that.maxPrice)
+                && Objects.equals(publishedFrom, that.publishedFrom)
+                && Objects.equals(publishedTo, that.publishedTo)
+                && Objects.equals(inStock, that.inStock);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(q, title, author, category, publisher, priceKey(minPrice), priceKey(maxPrice),
+                publishedFrom, publishedTo, inStock);
+    }
+
+    @Override
+    public String toString() {
+        return "BookSearchCriteria{" +
+                "q='" + q + '\'' +
+                ", title='" + title + '\'' +
+                ", author='" + author + '\'' +
+                ", category='" + category + '\'' +
+                ", publisher='" + publisher + '\'' +
+                ", minPrice=" + minPrice +
+                ", maxPrice=" + maxPrice +
+                ", publishedFrom=" + publishedFrom +
+                ", publishedTo=" + publishedTo +
+                ", inStock=" + inStock +
+                '}';
+    }
+
+    private static String trimToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    /** Prices compare by value, not scale: 10 and 10.00 are the same bound */
+    private static boolean samePrice(BigDecimal a, BigDecimal b) {
+        return a == null ? b == null : b != null && a.compareTo(b) == 0;
+    }
+
+    private static BigDecimal priceKey(BigDecimal price) {
+        return price == null ? null : price.stripTrailingZeros();
+    }
+}
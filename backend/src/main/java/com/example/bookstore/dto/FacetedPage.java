@@ -0,0 +1,53 @@
+package com.example.bookstore.dto;
+
+import com.example.bookstore.search.FacetCount;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of a faceted search with, per requested facet (keyed by its parameter name), the
+ * counts of its values among all matching books. {@code facets} is empty while the facet index
+ * is still building.
+ */
+public class FacetedPage<T> {
+
+    private List<T> content;
+    private int number;
+    private int size;
+    private long totalElements;
+    private int totalPages;
+    private Map<String, List<FacetCount>> facets;
+
+    // Constructors
+    public FacetedPage() {}
+
+    public FacetedPage(Page<T> page, Map<String, List<FacetCount>> facets) {
+        this.content = page.getContent();
+        this.number = page.getNumber();
+        this.size = page.getSize();
+        this.totalElements = page.getTotalElements();
+        this.totalPages = page.getTotalPages();
+        this.facets = facets;
+    }
+
+    // Getters and Setters
+    public List<T> getContent() { return content; }
+    public void setContent(List<T> content) { this.content = content; }
+
+    public int getNumber() { return number; }
+    public void setNumber(int number) { this.number = number; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public long getTotalElements() { return totalElements; }
+    public void setTotalElements(long totalElements) { this.totalElements = totalElements; }
+
+    public int getTotalPages() { return totalPages; }
+    public void setTotalPages(int totalPages) { this.totalPages = totalPages; }
+
+    public Map<String, List<FacetCount>> getFacets() { return facets; }
+    public void setFacets(Map<String, List<FacetCount>> facets) { this.facets = facets; }
+}
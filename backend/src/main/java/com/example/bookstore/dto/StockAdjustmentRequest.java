@@ -0,0 +1,27 @@
+package com.example.bookstore.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+public class StockAdjustmentRequest {
+    
+    // Required for batch adjustments; taken from the path for single adjustments
+    private Long id;
+    
+    @NotNull(message = "Delta is required")
+    private Integer delta;
+    
+    // Constructors
+    public StockAdjustmentRequest() {}
+    
+    public StockAdjustmentRequest(Long id, Integer delta) {
+        this.id = id;
+        this.delta = delta;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Integer getDelta() { return delta; }
+    public void setDelta(Integer delta) { this.delta = delta; }
+}
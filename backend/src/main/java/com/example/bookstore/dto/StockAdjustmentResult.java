@@ -0,0 +1,34 @@
+package com.example.bookstore.dto;
+
+public class StockAdjustmentResult {
+    
+    public enum Status { APPLIED, INSUFFICIENT_STOCK, NOT_FOUND, INVALID }
+    
+    private Long id;
+    private Integer delta;
+    private Status status;
+    private Integer stockQuantity;
+    
+    // Constructors
+    public StockAdjustmentResult() {}
+    
+    public StockAdjustmentResult(Long id, Integer delta, Status status, Integer stockQuantity) {
+        this.id = id;
+        this.delta = delta;
+        this.status = status;
+        this.stockQuantity = stockQuantity;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Integer getDelta() { return delta; }
+    public void setDelta(Integer delta) { this.delta = delta; }
+    
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+    
+    public Integer getStockQuantity() { return stockQuantity; }
+    public void setStockQuantity(Integer stockQuantity) { this.stockQuantity = stockQuantity; }
+}
@@ -0,0 +1,43 @@
+package com.example.bookstore.event;
+
+import com.example.bookstore.model.Book;
+
+/**
+ * Application event published by the service layer whenever a book is written.
+ * Carries the state before and after the change; either side is null when it
+ * does not exist (create/delete).
+ */
+public class BookChangedEvent {
+
+    public enum ChangeType { CREATED, UPDATED, DELETED }
+
+    private final ChangeType type;
+    private final Long bookId;
+    private final BookSnapshot previous;
+    private final BookSnapshot current;
+
+    public BookChangedEvent(ChangeType type, Long bookId, BookSnapshot previous, BookSnapshot current) {
+        this.type = type;
+        this.bookId = bookId;
+        this.previous = previous;
+        this.current = current;
+    }
+
+    public static BookChangedEvent created(Book book) {
+        return new BookChangedEvent(ChangeType.CREATED, book.getId(), null, BookSnapshot.of(book));
+    }
+
+    public static BookChangedEvent updated(BookSnapshot previous, Book book) {
+        return new BookChangedEvent(ChangeType.UPDATED, book.getId(), previous, BookSnapshot.of(book));
+    }
+
+    public static BookChangedEvent deleted(Long bookId, BookSnapshot previous) {
+        return new BookChangedEvent(ChangeType.DELETED, bookId, previous, null);
+    }
+
+    // Getters
+    public ChangeType getType() { return type; }
+    public Long getBookId() { return bookId; }
+    public BookSnapshot getPrevious() { return previous; }
+    public BookSnapshot getCurrent() { return current; }
+}
@@ -0,0 +1,53 @@
+package com.example.bookstore.event;
+
+import com.example.bookstore.model.Book;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Immutable copy of a book's state at the time a change event was raised.
+ * Listeners run after commit, so they must not read from the (possibly reused) entity.
+ */
+public final class BookSnapshot {
+
+    private final Long id;
+    private final String title;
+    private final String author;
+    private final BigDecimal price;
+    private final String isbn;
+    private final String description;
+    private final String category;
+    private final String publisher;
+    private final LocalDate publicationDate;
+    private final Integer stockQuantity;
+
+    private BookSnapshot(Book book) {
+        this.id = book.getId();
+        this.title = book.getTitle();
+        this.author = book.getAuthor();
+        this.price = book.getPrice();
+        this.isbn = book.getIsbn();
+        this.description = book.getDescription();
+        this.category = book.getCategory();
+        this.publisher = book.getPublisher();
+        this.publicationDate = book.getPublicationDate();
+        this.stockQuantity = book.getStockQuantity();
+    }
+
+    public static BookSnapshot of(Book book) {
+        return book == null ? null : new BookSnapshot(book);
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public String getTitle() { return title; }
+    public String getAuthor() { return author; }
+    public BigDecimal getPrice() { return price; }
+    public String getIsbn() { return isbn; }
+    public String getDescription() { return description; }
+    public String getCategory() { return category; }
+    public String getPublisher() { return publisher; }
+    public LocalDate getPublicationDate() { return publicationDate; }
+    public Integer getStockQuantity() { return stockQuantity; }
+}
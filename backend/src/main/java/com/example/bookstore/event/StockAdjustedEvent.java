@@ -0,0 +1,33 @@
+package com.example.bookstore.event;
+
+import java.math.BigDecimal;
+
+/**
+ * Published when a book's stock is changed by an atomic delta rather than a full update.
+ * Only the stock columns change, so listeners that index other fields can ignore it. The
+ * book's category and price are included so aggregates can be adjusted without a lookup.
+ */
+public class StockAdjustedEvent {
+
+    private final Long bookId;
+    private final int delta;
+    private final int stockQuantity;
+    private final String category;
+    private final BigDecimal price;
+
+    public StockAdjustedEvent(Long bookId, int delta, int stockQuantity, String category, BigDecimal price) {
+        this.bookId = bookId;
+        this.delta = delta;
+        this.stockQuantity = stockQuantity;
+        this.category = category;
+        this.price = price;
+    }
+
+    // Getters
+    public Long getBookId() { return bookId; }
+    public int getDelta() { return delta; }
+    public int getStockQuantity() { return stockQuantity; }
+    public int getPreviousStockQuantity() { return stockQuantity - delta; }
+    public String getCategory() { return category; }
+    public BigDecimal getPrice() { return price; }
+}
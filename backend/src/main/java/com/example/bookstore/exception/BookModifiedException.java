@@ -0,0 +1,18 @@
+package com.example.bookstore.exception;
+
+/**
+ * Exception thrown when a conditional write names a version of a book that is no longer current
+ */
+public class BookModifiedException extends RuntimeException {
+    
+    private final Long bookId;
+    
+    public BookModifiedException(Long bookId) {
+        super("Book with ID: " + bookId + " has been modified since the version given in If-Match");
+        this.bookId = bookId;
+    }
+    
+    public Long getBookId() {
+        return bookId;
+    }
+}
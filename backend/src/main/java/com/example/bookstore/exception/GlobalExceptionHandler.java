@@ -1,6 +1,9 @@
 package com.example.bookstore.exception;
 
 import com.example.bookstore.dto.ErrorResponse;
+import jakarta.validation.ConstraintViolationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -16,12 +19,14 @@ import java.util.stream.Collectors;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
     
     @ExceptionHandler(BookNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleBookNotFoundException(
             BookNotFoundException ex, WebRequest request) {
         
-        System.out.println("Book not found: " + ex.getMessage());
+        log.debug("Book not found: {}", ex.getMessage());
         
         ErrorResponse errorResponse = new ErrorResponse(
                 LocalDateTime.now(),
@@ -35,11 +40,45 @@ public class GlobalExceptionHandler {
     }
     
     
+    @ExceptionHandler(InsufficientStockException.class)
+    public ResponseEntity<ErrorResponse> handleInsufficientStockException(
+            InsufficientStockException ex, WebRequest request) {
+        
+        log.debug("Insufficient stock: {}", ex.getMessage());
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.CONFLICT.value(),
+                "Conflict",
+                ex.getMessage(),
+                request.getDescription(false).replace("uri=", "")
+        );
+        
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+    
+    @ExceptionHandler(BookModifiedException.class)
+    public ResponseEntity<ErrorResponse> handleBookModifiedException(
+            BookModifiedException ex, WebRequest request) {
+        
+        log.debug("Precondition failed: {}", ex.getMessage());
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.PRECONDITION_FAILED.value(),
+                "Precondition Failed",
+                ex.getMessage(),
+                request.getDescription(false).replace("uri=", "")
+        );
+        
+        return new ResponseEntity<>(errorResponse, HttpStatus.PRECONDITION_FAILED);
+    }
+    
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ErrorResponse> handleIllegalArgumentException(
             IllegalArgumentException ex, WebRequest request) {
         
-        System.out.println("Illegal argument: " + ex.getMessage());
+        log.debug("Illegal argument: {}", ex.getMessage());
         
         ErrorResponse errorResponse = new ErrorResponse(
                 LocalDateTime.now(),
@@ -56,7 +95,8 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorResponse> handleValidationException(
             MethodArgumentNotValidException ex, WebRequest request) {
         
-        System.out.println("Validation failed: " + ex.getMessage());
+        // getMessage() renders every error; only the count is logged
+        log.debug("Validation failed with {} error(s)", ex.getErrorCount());
         
         List<String> validationErrors = ex.getBindingResult()
                 .getFieldErrors()
@@ -76,11 +116,35 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
     
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<ErrorResponse> handleConstraintViolationException(
+            ConstraintViolationException ex, WebRequest request) {
+        
+        log.debug("Validation failed with {} error(s)", ex.getConstraintViolations().size());
+        
+        List<String> validationErrors = ex.getConstraintViolations()
+                .stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.toList());
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.BAD_REQUEST.value(),
+                "Validation Failed",
+                "Invalid input data",
+                request.getDescription(false).replace("uri=", ""),
+                validationErrors
+        );
+        
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+    
     @ExceptionHandler(HttpMessageNotReadableException.class)
     public ResponseEntity<ErrorResponse> handleHttpMessageNotReadableException(
             HttpMessageNotReadableException ex, WebRequest request) {
         
-        System.out.println("Malformed JSON: " + ex.getMessage());
+        log.debug("Malformed JSON: {}", ex.getMessage());
         
         ErrorResponse errorResponse = new ErrorResponse(
                 LocalDateTime.now(),
@@ -97,7 +161,7 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorResponse> handleMethodArgumentTypeMismatchException(
             MethodArgumentTypeMismatchException ex, WebRequest request) {
         
-        System.out.println("Type mismatch: " + ex.getMessage());
+        log.debug("Type mismatch for parameter: {}", ex.getName());
         
         ErrorResponse errorResponse = new ErrorResponse(
                 LocalDateTime.now(),
@@ -114,7 +178,7 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorResponse> handleGenericException(
             Exception ex, WebRequest request) {
         
-        System.out.println("Unexpected error occurred: " + ex.getMessage());
+        log.error("Unexpected error occurred", ex);
         
         ErrorResponse errorResponse = new ErrorResponse(
                 LocalDateTime.now(),
@@ -0,0 +1,25 @@
+package com.example.bookstore.exception;
+
+/**
+ * Exception thrown when a stock decrement would take a book's stock below zero
+ */
+public class InsufficientStockException extends RuntimeException {
+    
+    private final Long bookId;
+    private final Integer availableStock;
+    
+    public InsufficientStockException(Long bookId, int delta, Integer availableStock) {
+        super("Insufficient stock for book with ID: " + bookId + " (requested " + delta + 
+                ", available " + availableStock + ")");
+        this.bookId = bookId;
+        this.availableStock = availableStock;
+    }
+    
+    public Long getBookId() {
+        return bookId;
+    }
+    
+    public Integer getAvailableStock() {
+        return availableStock;
+    }
+}
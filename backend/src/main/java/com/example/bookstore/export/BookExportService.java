@@ -0,0 +1,108 @@
+package com.example.bookstore.export;
+
+import com.example.bookstore.model.Book;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.Query;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Streams the catalog straight from a forward-only JDBC cursor. Rows are read through a
+ * {@link StatelessSession}, so nothing accumulates in a persistence context and memory use is
+ * independent of catalog size.
+ * <p>
+ * MySQL Connector/J ignores a positive fetch size unless {@code useCursorFetch} is set on the
+ * URL, which would make every statement in the application a server-side prepared statement.
+ * On MySQL the export therefore asks for a fetch size of {@link Integer#MIN_VALUE} instead,
+ * which streams just this result set row by row; other databases get the configured size.
+ */
+@Service
+public class BookExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(BookExportService.class);
+
+    private final SessionFactory sessionFactory;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+    private final int flushInterval;
+
+    @Autowired
+    public BookExportService(EntityManagerFactory entityManagerFactory,
+                             ObjectMapper objectMapper,
+                             @Value("${app.export.fetch-size:500}") int fetchSize,
+                             @Value("${app.export.flush-interval:1000}") int flushInterval) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.objectMapper = objectMapper;
+        this.fetchSize = isMySql(sessionFactory) ? Integer.MIN_VALUE : fetchSize;
+        this.flushInterval = flushInterval;
+    }
+
+    /**
+     * Write every book matching the filters to the stream in ID order
+     *
+     * @param category    exact category match (case-insensitive), or {@code null} for all
+     * @param inStockOnly only books with stock quantity greater than zero
+     * @return number of books written
+     */
+    public long export(ExportFormat format, String category, boolean inStockOnly, OutputStream out) throws IOException {
+        StringBuilder hql = new StringBuilder("FROM Book b WHERE 1 = 1");
+        if (category != null) {
+            hql.append(" AND LOWER(b.category) = :category");
+        }
+        if (inStockOnly) {
+            hql.append(" AND b.stockQuantity > 0");
+        }
+        hql.append(" ORDER BY b.id");
+
+        long started = System.nanoTime();
+        long count = 0;
+        try (StatelessSession session = sessionFactory.openStatelessSession();
+             BookRowWriter writer = format.newWriter(out, objectMapper)) {
+            Transaction transaction = session.beginTransaction();
+            try {
+                Query<Book> query = session.createQuery(hql.toString(), Book.class)
+                        .setReadOnly(true)
+                        .setFetchSize(fetchSize);
+                if (category != null) {
+                    query.setParameter("category", category.toLowerCase());
+                }
+
+                try (ScrollableResults<Book> rows = query.scroll(ScrollMode.FORWARD_ONLY)) {
+                    while (rows.next()) {
+                        writer.write(rows.get());
+                        if (++count % flushInterval == 0) {
+                            writer.flush();
+                        }
+                    }
+                }
+                transaction.commit();
+            } catch (RuntimeException | IOException e) {
+                transaction.rollback();
+                throw e;
+            }
+        }
+
+        log.info("Exported {} books as {} in {} ms", count, format,
+                (System.nanoTime() - started) / 1_000_000);
+        return count;
+    }
+
+    private static boolean isMySql(SessionFactory sessionFactory) {
+        return sessionFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect()
+                instanceof MySQLDialect;
+    }
+}
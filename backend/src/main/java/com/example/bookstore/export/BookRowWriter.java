@@ -0,0 +1,17 @@
+package com.example.bookstore.export;
+
+import com.example.bookstore.model.Book;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Writes books to an export stream one row at a time. {@link #close()} flushes buffered
+ * output but leaves the underlying stream open for the servlet container to finish.
+ */
+interface BookRowWriter extends Closeable {
+
+    void write(Book book) throws IOException;
+
+    void flush() throws IOException;
+}
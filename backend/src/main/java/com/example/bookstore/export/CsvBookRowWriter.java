@@ -0,0 +1,80 @@
+package com.example.bookstore.export;
+
+import com.example.bookstore.model.Book;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * RFC 4180 CSV with a header row. Fields containing separators, quotes or line breaks are
+ * quoted; null values are written as empty fields.
+ */
+class CsvBookRowWriter implements BookRowWriter {
+
+    static final String HEADER = "id,title,author,price,isbn,description,category,publisher," +
+            "publicationDate,pages,stockQuantity,imageUrl,createdAt,updatedAt";
+
+    private final Writer writer;
+    private boolean headerWritten;
+
+    CsvBookRowWriter(OutputStream out) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void write(Book book) throws IOException {
+        if (!headerWritten) {
+            writeHeader();
+        }
+        Object[] fields = {
+                book.getId(), book.getTitle(), book.getAuthor(), book.getPrice(), book.getIsbn(),
+                book.getDescription(), book.getCategory(), book.getPublisher(), book.getPublicationDate(),
+                book.getPages(), book.getStockQuantity(), book.getImageUrl(), book.getCreatedAt(), book.getUpdatedAt()
+        };
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeField(fields[i]);
+        }
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        // An empty export still gets its header row
+        if (!headerWritten) {
+            writeHeader();
+        }
+        writer.flush();
+    }
+
+    private void writeHeader() throws IOException {
+        writer.write(HEADER);
+        writer.write("\r\n");
+        headerWritten = true;
+    }
+
+    private void writeField(Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.bookstore.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+
+/**
+ * Supported catalog export formats
+ */
+public enum ExportFormat {
+
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson") {
+        @Override
+        BookRowWriter newWriter(OutputStream out, ObjectMapper objectMapper) throws IOException {
+            return new NdjsonBookRowWriter(out, objectMapper);
+        }
+    },
+    CSV(MediaType.parseMediaType("text/csv;charset=UTF-8"), "csv") {
+        @Override
+        BookRowWriter newWriter(OutputStream out, ObjectMapper objectMapper) {
+            return new CsvBookRowWriter(out);
+        }
+    };
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    abstract BookRowWriter newWriter(OutputStream out, ObjectMapper objectMapper) throws IOException;
+
+    /**
+     * Resolve a format from a request parameter such as {@code ndjson} or {@code csv}
+     */
+    public static ExportFormat fromParameter(String value) {
+        for (ExportFormat format : values()) {
+            if (format.extension.equals(value.toLowerCase(Locale.ROOT))) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported export format: " + value + " (expected ndjson or csv)");
+    }
+}
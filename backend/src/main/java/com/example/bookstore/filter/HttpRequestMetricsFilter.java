@@ -0,0 +1,143 @@
+package com.example.bookstore.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Records {@code http.server.requests.custom} and {@code bookstore.http.requests.total} per
+ * route template, method and status.
+ * <p>
+ * The route is the handler mapping's best matching pattern (e.g. {@code /api/v1/books/{id}}),
+ * so path variables never become label values. Meter handles are created once per
+ * (route, method, status) and cached in fixed slots; a steady-state request does one map
+ * lookup by the (shared) pattern string and one array read, with no registry lookups, tag
+ * allocation or regex matching. Distinct routes are capped, with any excess recorded under
+ * {@value #OVERFLOW_ROUTE}.
+ */
+public class HttpRequestMetricsFilter extends OncePerRequestFilter {
+
+    static final String OVERFLOW_ROUTE = "OVERFLOW";
+
+    static final String[] METHODS = {"GET", "POST", "PUT", "PATCH", "DELETE", "HEAD", "OPTIONS", "OTHER"};
+    private static final int MIN_STATUS = 100;
+    private static final int STATUS_SLOTS = 500;
+
+    private final MeterRegistry meterRegistry;
+    private final int maxRoutes;
+    private final ConcurrentHashMap<String, RouteMeters> routes = new ConcurrentHashMap<>();
+
+    public HttpRequestMetricsFilter(MeterRegistry meterRegistry, int maxRoutes) {
+        this.meterRegistry = meterRegistry;
+        this.maxRoutes = maxRoutes;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int status = response.getStatus();
+            String route = route(request, status);
+            // Actuator traffic is covered by the standard http.server.requests metric
+            if (!route.startsWith("/actuator")) {
+                meters(route, request.getMethod(), status).record(System.nanoTime() - start);
+            }
+        }
+    }
+
+    static String route(HttpServletRequest request, int status) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern instanceof String route) {
+            return route;
+        }
+        if (status == 404) {
+            return "NOT_FOUND";
+        }
+        if (status >= 300 && status < 400) {
+            return "REDIRECTION";
+        }
+        return "UNKNOWN";
+    }
+
+    private Meters meters(String route, String method, int status) {
+        RouteMeters routeMeters = routes.get(route);
+        if (routeMeters == null) {
+            routeMeters = routes.size() < maxRoutes
+                    ? routes.computeIfAbsent(route, RouteMeters::new)
+                    : routes.computeIfAbsent(OVERFLOW_ROUTE, RouteMeters::new);
+        }
+        return routeMeters.get(methodIndex(method), status);
+    }
+
+    static int methodIndex(String method) {
+        for (int i = 0; i < METHODS.length - 1; i++) {
+            if (METHODS[i].equals(method)) {
+                return i;
+            }
+        }
+        return METHODS.length - 1;
+    }
+
+    private final class RouteMeters {
+
+        private final String route;
+        private final AtomicReferenceArray<Meters> slots = new AtomicReferenceArray<>(METHODS.length * (STATUS_SLOTS + 1));
+
+        private RouteMeters(String route) {
+            this.route = route;
+        }
+
+        private Meters get(int methodIndex, int status) {
+            // Out-of-range status codes share the last slot of each method
+            int statusSlot = status >= MIN_STATUS && status < MIN_STATUS + STATUS_SLOTS ? status - MIN_STATUS : STATUS_SLOTS;
+            int slot = methodIndex * (STATUS_SLOTS + 1) + statusSlot;
+            Meters meters = slots.get(slot);
+            if (meters == null) {
+                String statusTag = statusSlot == STATUS_SLOTS ? "UNKNOWN" : String.valueOf(status);
+                slots.compareAndSet(slot, null, new Meters(route, METHODS[methodIndex], statusTag));
+                meters = slots.get(slot);
+            }
+            return meters;
+        }
+    }
+
+    private final class Meters {
+
+        private final Timer timer;
+        private final Counter counter;
+
+        private Meters(String route, String method, String status) {
+            this.timer = Timer.builder("http.server.requests.custom")
+                    .description("Custom HTTP request duration")
+                    .tag("method", method)
+                    .tag("uri", route)
+                    .tag("status", status)
+                    .register(meterRegistry);
+            this.counter = Counter.builder("bookstore.http.requests.total")
+                    .tag("method", method)
+                    .tag("endpoint", route)
+                    .tag("status", status)
+                    .register(meterRegistry);
+        }
+
+        private void record(long nanos) {
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+            counter.increment();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.bookstore.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes one structured line per request to the {@value #LOGGER_NAME} logger: method, URI, status
+ * and duration, as message arguments and as key/value pairs for the JSON encoder.
+ * <p>
+ * Successful, fast GET and HEAD requests are sampled at {@code app.logging.requests.sample-rate}
+ * and carry a {@code sampleRate} field so counts can be re-weighted. Writes, errors and requests
+ * slower than {@code app.logging.requests.slow-threshold-ms} are always logged. When the logger is
+ * below INFO the filter does no work beyond the level check.
+ */
+@Component
+@Order(1)
+public class RequestLoggingFilter extends OncePerRequestFilter {
+
+    static final String LOGGER_NAME = "com.example.bookstore.requests";
+
+    private static final Logger log = LoggerFactory.getLogger(LOGGER_NAME);
+
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+
+    public RequestLoggingFilter(@Value("${app.logging.requests.sample-rate:0.1}") double sampleRate,
+                                @Value("${app.logging.requests.slow-threshold-ms:1000}") long slowThresholdMillis) {
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (!log.isInfoEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            String method = request.getMethod();
+            int status = response.getStatus();
+            boolean sampled = isRead(method) && status < 400 && elapsed < slowThresholdNanos;
+            if (!sampled || ThreadLocalRandom.current().nextDouble() < sampleRate) {
+                long durationMs = TimeUnit.NANOSECONDS.toMillis(elapsed);
+                log.atInfo()
+                        .setMessage("{} {} {} {}ms")
+                        .addArgument(method)
+                        .addArgument(request.getRequestURI())
+                        .addArgument(status)
+                        .addArgument(durationMs)
+                        .addKeyValue("method", method)
+                        .addKeyValue("uri", request.getRequestURI())
+                        .addKeyValue("status", status)
+                        .addKeyValue("durationMs", durationMs)
+                        .addKeyValue("sampleRate", sampled ? sampleRate : 1.0)
+                        .log();
+            }
+        }
+    }
+
+    private static boolean isRead(String method) {
+        return "GET".equals(method) || "HEAD".equals(method);
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.bookstore.filter;
+
+import com.example.bookstore.jdbc.SqlStats;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Attributes SQL work to HTTP requests: opens a {@link SqlStats} scope around the request and
+ * records its statement count ({@code bookstore.http.sql.statements}), database time
+ * ({@code bookstore.http.sql.time}) and rows fetched ({@code bookstore.http.sql.rows}) per route
+ * template and method, so a route that starts issuing one query per row shows up as a jump in its
+ * statements per request.
+ * <p>
+ * Requests that run more than {@code statementThreshold} statements or spend more than
+ * {@code timeThresholdMillis} in the database are logged to {@value #LOGGER_NAME}. With
+ * {@code serverTiming} the response carries
+ * {@code Server-Timing: db;dur=<ms>;desc="<n> statements, <n> rows"}, added just before it is
+ * committed so it covers everything the request ran until then. Only the request thread is
+ * counted; the streaming part of an asynchronous export is not.
+ */
+public class SqlStatsFilter extends OncePerRequestFilter {
+
+    static final String LOGGER_NAME = "com.example.bookstore.sql";
+    static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private static final Logger log = LoggerFactory.getLogger(LOGGER_NAME);
+
+    private final MeterRegistry meterRegistry;
+    private final int maxRoutes;
+    private final boolean serverTiming;
+    private final int statementThreshold;
+    private final long timeThresholdNanos;
+    private final ConcurrentHashMap<String, AtomicReferenceArray<Meters>> routes = new ConcurrentHashMap<>();
+
+    public SqlStatsFilter(MeterRegistry meterRegistry, int maxRoutes, boolean serverTiming,
+                          int statementThreshold, long timeThresholdMillis) {
+        this.meterRegistry = meterRegistry;
+        this.maxRoutes = maxRoutes;
+        this.serverTiming = serverTiming;
+        this.statementThreshold = statementThreshold;
+        this.timeThresholdNanos = TimeUnit.MILLISECONDS.toNanos(timeThresholdMillis);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        SqlStats stats = SqlStats.open();
+        try {
+            filterChain.doFilter(request, serverTiming ? new ServerTimingResponse(response, stats) : response);
+        } finally {
+            stats.close();
+            if (serverTiming && !response.isCommitted()) {
+                response.setHeader(SERVER_TIMING_HEADER, serverTimingValue(stats));
+            }
+
+            int status = response.getStatus();
+            String route = HttpRequestMetricsFilter.route(request, status);
+            if (!route.startsWith("/actuator")) {
+                String method = request.getMethod();
+                meters(route, method).record(stats);
+                if (stats.getStatements() > statementThreshold || stats.getTimeNanos() > timeThresholdNanos) {
+                    logHeavyRequest(request, method, route, status, stats);
+                }
+            }
+        }
+    }
+
+    static String serverTimingValue(SqlStats stats) {
+        return String.format(Locale.ROOT, "db;dur=%.2f;desc=\"%d statements, %d rows\"",
+                stats.getTimeMillis(), stats.getStatements(), stats.getRows());
+    }
+
+    private static void logHeavyRequest(HttpServletRequest request, String method, String route, int status,
+                                        SqlStats stats) {
+        double dbTimeMs = Math.round(stats.getTimeMillis() * 100) / 100.0;
+        log.atWarn()
+                .setMessage("{} {} ran {} SQL statements in {}ms fetching {} rows")
+                .addArgument(method)
+                .addArgument(request.getRequestURI())
+                .addArgument(stats.getStatements())
+                .addArgument(dbTimeMs)
+                .addArgument(stats.getRows())
+                .addKeyValue("method", method)
+                .addKeyValue("uri", request.getRequestURI())
+                .addKeyValue("route", route)
+                .addKeyValue("status", status)
+                .addKeyValue("sqlStatements", stats.getStatements())
+                .addKeyValue("sqlTimeMs", dbTimeMs)
+                .addKeyValue("sqlRows", stats.getRows())
+                .log();
+    }
+
+    private Meters meters(String route, String method) {
+        AtomicReferenceArray<Meters> byMethod = routes.get(route);
+        if (byMethod == null) {
+            if (routes.size() >= maxRoutes) {
+                route = HttpRequestMetricsFilter.OVERFLOW_ROUTE;
+            }
+            byMethod = routes.computeIfAbsent(route, r -> new AtomicReferenceArray<>(HttpRequestMetricsFilter.METHODS.length));
+        }
+        int methodIndex = HttpRequestMetricsFilter.methodIndex(method);
+        Meters meters = byMethod.get(methodIndex);
+        if (meters == null) {
+            byMethod.compareAndSet(methodIndex, null, new Meters(route, HttpRequestMetricsFilter.METHODS[methodIndex]));
+            meters = byMethod.get(methodIndex);
+        }
+        return meters;
+    }
+
+    private final class Meters {
+
+        private final DistributionSummary statements;
+        private final Timer time;
+        private final DistributionSummary rows;
+
+        private Meters(String route, String method) {
+            this.statements = DistributionSummary.builder("bookstore.http.sql.statements")
+                    .description("SQL statements executed per HTTP request")
+                    .baseUnit("statements")
+                    .tag("method", method)
+                    .tag("uri", route)
+                    .register(meterRegistry);
+            this.time = Timer.builder("bookstore.http.sql.time")
+                    .description("Time per HTTP request spent executing SQL and fetching rows")
+                    .tag("method", method)
+                    .tag("uri", route)
+                    .register(meterRegistry);
+            this.rows = DistributionSummary.builder("bookstore.http.sql.rows")
+                    .description("Rows fetched from the database per HTTP request")
+                    .baseUnit("rows")
+                    .tag("method", method)
+                    .tag("uri", route)
+                    .register(meterRegistry);
+        }
+
+        private void record(SqlStats stats) {
+            statements.record(stats.getStatements());
+            time.record(stats.getTimeNanos(), TimeUnit.NANOSECONDS);
+            rows.record(stats.getRows());
+        }
+    }
+
+    private static final class ServerTimingResponse extends OnCommittedResponseWrapper {
+
+        private final SqlStats stats;
+
+        private ServerTimingResponse(HttpServletResponse response, SqlStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            setHeader(SERVER_TIMING_HEADER, serverTimingValue(stats));
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.bookstore.jdbc;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * DataSource whose connections report every statement execution and fetched row to
+ * {@link StatementListener}s.
+ * <p>
+ * Connections, statements and result sets are wrapped in JDK proxies that forward every call to
+ * the driver's objects and time only {@code Statement.execute*} and {@code ResultSet.next()}.
+ * A JDBC batch is one execution. Objects reached through {@code unwrap} are the driver's own and
+ * are not instrumented. Spring Boot still finds the pool behind this for its metrics and health
+ * checks, as it unwraps {@link DelegatingDataSource}s.
+ */
+public class InstrumentedDataSource extends DelegatingDataSource {
+
+    private final StatementListener[] listeners;
+
+    public InstrumentedDataSource(DataSource target, List<StatementListener> listeners) {
+        super(target);
+        this.listeners = listeners.toArray(new StatementListener[0]);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connection(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connection(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection connection(Connection target) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                new ConnectionHandler(target));
+    }
+
+    private void statementExecuted(String sql, long elapsedNanos) {
+        for (StatementListener listener : listeners) {
+            listener.statementExecuted(sql, elapsedNanos);
+        }
+    }
+
+    private void resultSetAdvanced(String sql, boolean hasRow, long elapsedNanos) {
+        for (StatementListener listener : listeners) {
+            listener.resultSetAdvanced(sql, hasRow, elapsedNanos);
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+
+    /**
+     * Handles the {@code Object} methods on the proxy itself, so that a proxy equals only itself
+     * as Spring's transaction synchronization expects; returns {@code null} for anything else
+     */
+    private static Object identity(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "equals" -> method.getParameterCount() == 1 ? proxy == args[0] : null;
+            case "hashCode" -> method.getParameterCount() == 0 ? System.identityHashCode(proxy) : null;
+            default -> null;
+        };
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        private ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object identity = identity(proxy, method, args);
+            if (identity != null) {
+                return identity;
+            }
+            Object result = InstrumentedDataSource.invoke(target, method, args);
+            return switch (method.getName()) {
+                case "createStatement" -> statement(result, Statement.class, null, proxy);
+                case "prepareStatement" -> statement(result, PreparedStatement.class, (String) args[0], proxy);
+                case "prepareCall" -> statement(result, CallableStatement.class, (String) args[0], proxy);
+                default -> result;
+            };
+        }
+
+        private Object statement(Object target, Class<?> type, String sql, Object connection) {
+            return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type},
+                    new StatementHandler((Statement) target, sql, connection));
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final String sql;
+        private final Object connection;
+        private String executed;
+
+        private StatementHandler(Statement target, String sql, Object connection) {
+            this.target = target;
+            this.sql = sql;
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object identity = identity(proxy, method, args);
+            if (identity != null) {
+                return identity;
+            }
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                long start = System.nanoTime();
+                Object result;
+                try {
+                    result = InstrumentedDataSource.invoke(target, method, args);
+                } finally {
+                    executed = args != null && args.length > 0 && args[0] instanceof String text ? text : sql;
+                    statementExecuted(executed, System.nanoTime() - start);
+                }
+                return result instanceof ResultSet resultSet ? resultSet(resultSet, proxy) : result;
+            }
+
+            Object result = InstrumentedDataSource.invoke(target, method, args);
+            return switch (name) {
+                case "getResultSet", "getGeneratedKeys" -> result instanceof ResultSet resultSet
+                        ? resultSet(resultSet, proxy) : result;
+                case "getConnection" -> connection;
+                default -> result;
+            };
+        }
+
+        private Object resultSet(ResultSet target, Object statement) {
+            return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{ResultSet.class},
+                    new ResultSetHandler(target, statement, executed));
+        }
+    }
+
+    private final class ResultSetHandler implements InvocationHandler {
+
+        private final ResultSet target;
+        private final Object statement;
+        private final String sql;
+
+        private ResultSetHandler(ResultSet target, Object statement, String sql) {
+            this.target = target;
+            this.statement = statement;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object identity = identity(proxy, method, args);
+            if (identity != null) {
+                return identity;
+            }
+            String name = method.getName();
+            if ("next".equals(name)) {
+                long start = System.nanoTime();
+                boolean hasRow = target.next();
+                resultSetAdvanced(sql, hasRow, System.nanoTime() - start);
+                return hasRow;
+            }
+            if ("getStatement".equals(name)) {
+                return statement;
+            }
+            return InstrumentedDataSource.invoke(target, method, args);
+        }
+    }
+}
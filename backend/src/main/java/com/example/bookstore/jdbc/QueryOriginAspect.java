@@ -0,0 +1,65 @@
+package com.example.bookstore.jdbc;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which repository method the current thread is in, e.g.
+ * {@code BookRepository.findByCategoryIgnoreCase}, so that {@link QueryStatistics} can say which
+ * method issued a statement. Inherited Spring Data methods are named after the application's
+ * repository interface rather than {@code CrudRepository}. When one repository method calls
+ * another, the outer one is the origin.
+ */
+@Aspect
+public class QueryOriginAspect {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private final ConcurrentHashMap<Method, ConcurrentHashMap<Class<?>, String>> names = new ConcurrentHashMap<>();
+
+    /**
+     * The repository method the current thread is running, or {@code null} outside one
+     */
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    @Around("target(org.springframework.data.repository.Repository) "
+            + "|| within(com.example.bookstore.repository..*)")
+    public Object track(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (CURRENT.get() != null) {
+            return joinPoint.proceed();
+        }
+        CURRENT.set(name(((MethodSignature) joinPoint.getSignature()).getMethod(), joinPoint.getTarget()));
+        try {
+            return joinPoint.proceed();
+        } finally {
+            CURRENT.remove();
+        }
+    }
+
+    private String name(Method method, Object target) {
+        // A Spring Data repository is a JDK proxy implementing the application's interface
+        Class<?> targetClass = target != null ? target.getClass() : method.getDeclaringClass();
+        return names.computeIfAbsent(method, m -> new ConcurrentHashMap<>())
+                .computeIfAbsent(targetClass, type -> owner(type).getSimpleName() + "." + method.getName());
+    }
+
+    /**
+     * The application interface a Spring Data proxy implements, or the class itself
+     */
+    private static Class<?> owner(Class<?> type) {
+        for (Class<?> candidate : ClassUtils.getAllInterfacesForClassAsSet(type)) {
+            if (candidate.getName().startsWith("com.example.bookstore.")) {
+                return candidate;
+            }
+        }
+        return type;
+    }
+}
@@ -0,0 +1,294 @@
+package com.example.bookstore.jdbc;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregates statement executions by {@link SqlFingerprint}: count, execution time (total, max
+ * and percentiles), rows fetched and time spent fetching them, and the repository methods that
+ * issued them ({@link QueryOriginAspect}). Statements slower than the threshold are logged to
+ * {@value #SLOW_LOGGER_NAME} with their fingerprint.
+ * <p>
+ * Memory is fixed: at most {@code maxFingerprints} fingerprints are tracked, later ones are
+ * counted under {@value #OTHER}, and each keeps a log-linear histogram of
+ * {@value #BUCKETS} counters (percentiles within about 12%) and at most
+ * {@value #MAX_ORIGINS} origins. Recording is lock-free; a statement's text is fingerprinted
+ * once and the result looked up by the text afterwards, which Hibernate and the batch inserter
+ * reuse.
+ */
+public class QueryStatistics implements StatementListener {
+
+    static final String SLOW_LOGGER_NAME = "com.example.bookstore.sql.slow";
+    static final String OTHER = "OTHER";
+    static final String UNPREPARED_BATCH = "<batch>";
+    static final int BUCKETS = 320;
+    static final int MAX_ORIGINS = 8;
+
+    private static final Logger log = LoggerFactory.getLogger(SLOW_LOGGER_NAME);
+
+    private final int maxFingerprints;
+    private final long slowThresholdNanos;
+    private final ConcurrentHashMap<String, Fingerprint> bySql = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Fingerprint> byFingerprint = new ConcurrentHashMap<>();
+    private volatile Instant since = Instant.now();
+
+    public QueryStatistics(int maxFingerprints, long slowThresholdMillis) {
+        this.maxFingerprints = maxFingerprints;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+    }
+
+    @Override
+    public void statementExecuted(String sql, long elapsedNanos) {
+        Fingerprint fingerprint = fingerprint(sql);
+        String origin = QueryOriginAspect.current();
+        fingerprint.recordExecution(elapsedNanos, origin);
+        if (elapsedNanos >= slowThresholdNanos && log.isWarnEnabled()) {
+            double durationMs = Math.round(elapsedNanos / 10_000.0) / 100.0;
+            log.atWarn()
+                    .setMessage("Slow SQL ({}ms) from {}: {}")
+                    .addArgument(durationMs)
+                    .addArgument(origin)
+                    .addArgument(fingerprint.text)
+                    .addKeyValue("durationMs", durationMs)
+                    .addKeyValue("origin", origin)
+                    .addKeyValue("fingerprint", fingerprint.text)
+                    .log();
+        }
+    }
+
+    @Override
+    public void resultSetAdvanced(String sql, boolean hasRow, long elapsedNanos) {
+        fingerprint(sql).recordFetch(hasRow, elapsedNanos);
+    }
+
+    /**
+     * The {@code limit} fingerprints with the most total time (execution plus fetching), most first
+     */
+    public List<FingerprintStats> top(int limit) {
+        List<FingerprintStats> all = new ArrayList<>(byFingerprint.size());
+        byFingerprint.values().forEach(fingerprint -> all.add(fingerprint.snapshot()));
+        all.sort(Comparator.comparingDouble(FingerprintStats::getTotalMs).reversed());
+        return all.size() > limit ? new ArrayList<>(all.subList(0, limit)) : all;
+    }
+
+    /** Number of fingerprints tracked, including {@value #OTHER} */
+    public int size() {
+        return byFingerprint.size();
+    }
+
+    /** When recording started, or was last {@link #reset()} */
+    public Instant getSince() {
+        return since;
+    }
+
+    public void reset() {
+        bySql.clear();
+        byFingerprint.clear();
+        since = Instant.now();
+    }
+
+    private Fingerprint fingerprint(String sql) {
+        String key = sql != null ? sql : UNPREPARED_BATCH;
+        Fingerprint fingerprint = bySql.get(key);
+        if (fingerprint != null) {
+            return fingerprint;
+        }
+
+        String text = sql != null ? SqlFingerprint.of(sql) : UNPREPARED_BATCH;
+        fingerprint = byFingerprint.get(text);
+        if (fingerprint == null) {
+            fingerprint = byFingerprint.size() < maxFingerprints
+                    ? byFingerprint.computeIfAbsent(text, Fingerprint::new)
+                    : byFingerprint.computeIfAbsent(OTHER, Fingerprint::new);
+        }
+        // Statements that only differ in literals map to one fingerprint; keep the text cache
+        // proportionate so unprepared statements cannot grow it without bound
+        if (bySql.size() < maxFingerprints * 4) {
+            bySql.put(key, fingerprint);
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Histogram bucket of a duration: exact below 16 µs, then eight buckets per power of two
+     */
+    static int bucket(long micros) {
+        if (micros < 16) {
+            return (int) Math.max(micros, 0);
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        int index = 16 + (exponent - 4) * 8 + (int) ((micros >>> (exponent - 3)) & 7);
+        return Math.min(index, BUCKETS - 1);
+    }
+
+    /** Upper bound, in microseconds, of the durations counted in a bucket */
+    static long bucketUpperBound(int bucket) {
+        if (bucket < 16) {
+            return bucket;
+        }
+        int exponent = (bucket - 16) / 8 + 4;
+        long sub = (bucket - 16) % 8;
+        return ((8 + sub + 1) << (exponent - 3)) - 1;
+    }
+
+    private static final class Fingerprint {
+
+        private final String text;
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder executionNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder fetchNanos = new LongAdder();
+        private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+        private final ConcurrentHashMap<String, LongAdder> origins = new ConcurrentHashMap<>();
+
+        private Fingerprint(String text) {
+            this.text = text;
+        }
+
+        private void recordExecution(long nanos, String origin) {
+            executions.increment();
+            executionNanos.add(nanos);
+            if (nanos > maxNanos.get()) {
+                maxNanos.accumulateAndGet(nanos, Math::max);
+            }
+            histogram.incrementAndGet(bucket(TimeUnit.NANOSECONDS.toMicros(nanos)));
+            if (origin != null) {
+                LongAdder count = origins.get(origin);
+                if (count == null && origins.size() < MAX_ORIGINS) {
+                    count = origins.computeIfAbsent(origin, o -> new LongAdder());
+                }
+                if (count != null) {
+                    count.increment();
+                }
+            }
+        }
+
+        private void recordFetch(boolean hasRow, long nanos) {
+            if (hasRow) {
+                rows.increment();
+            }
+            fetchNanos.add(nanos);
+        }
+
+        private FingerprintStats snapshot() {
+            long[] counts = new long[BUCKETS];
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = histogram.get(i);
+                total += counts[i];
+            }
+
+            FingerprintStats stats = new FingerprintStats();
+            stats.setFingerprint(text);
+            stats.setCount(executions.sum());
+            stats.setExecutionMs(millis(executionNanos.sum()));
+            stats.setFetchMs(millis(fetchNanos.sum()));
+            stats.setTotalMs(stats.getExecutionMs() + stats.getFetchMs());
+            stats.setMeanMs(stats.getCount() == 0 ? 0 : stats.getExecutionMs() / stats.getCount());
+            stats.setMaxMs(millis(maxNanos.get()));
+            stats.setP50Ms(percentile(counts, total, 0.50));
+            stats.setP95Ms(percentile(counts, total, 0.95));
+            stats.setP99Ms(percentile(counts, total, 0.99));
+            stats.setRows(rows.sum());
+            Map<String, Long> byOrigin = new LinkedHashMap<>();
+            origins.entrySet().stream()
+                    .sorted(Map.Entry.<String, LongAdder>comparingByValue(Comparator.comparingLong(LongAdder::sum)).reversed())
+                    .forEach(e -> byOrigin.put(e.getKey(), e.getValue().sum()));
+            stats.setOrigins(byOrigin);
+            return stats;
+        }
+
+        private double percentile(long[] counts, long total, double quantile) {
+            if (total == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(quantile * total);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    // The top bucket is open-ended; the maximum is a tighter bound for it
+                    return Math.min(bucketUpperBound(i) / 1000.0, millis(maxNanos.get()));
+                }
+            }
+            return millis(maxNanos.get());
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+
+    /**
+     * Aggregates of one fingerprint, as served by the {@code sqlstats} actuator endpoint
+     */
+    public static class FingerprintStats {
+
+        private String fingerprint;
+        private long count;
+        private double totalMs;
+        private double executionMs;
+        private double fetchMs;
+        private double meanMs;
+        private double maxMs;
+        private double p50Ms;
+        private double p95Ms;
+        private double p99Ms;
+        private long rows;
+        private Map<String, Long> origins;
+
+        public String getFingerprint() { return fingerprint; }
+        public void setFingerprint(String fingerprint) { this.fingerprint = fingerprint; }
+
+        /** Executions; a JDBC batch counts once */
+        public long getCount() { return count; }
+        public void setCount(long count) { this.count = count; }
+
+        /** Execution plus fetch time */
+        public double getTotalMs() { return totalMs; }
+        public void setTotalMs(double totalMs) { this.totalMs = totalMs; }
+
+        public double getExecutionMs() { return executionMs; }
+        public void setExecutionMs(double executionMs) { this.executionMs = executionMs; }
+
+        /** Time spent in {@code ResultSet.next()} */
+        public double getFetchMs() { return fetchMs; }
+        public void setFetchMs(double fetchMs) { this.fetchMs = fetchMs; }
+
+        /** Mean, maximum and percentiles of the execution time of one statement */
+        public double getMeanMs() { return meanMs; }
+        public void setMeanMs(double meanMs) { this.meanMs = meanMs; }
+
+        public double getMaxMs() { return maxMs; }
+        public void setMaxMs(double maxMs) { this.maxMs = maxMs; }
+
+        public double getP50Ms() { return p50Ms; }
+        public void setP50Ms(double p50Ms) { this.p50Ms = p50Ms; }
+
+        public double getP95Ms() { return p95Ms; }
+        public void setP95Ms(double p95Ms) { this.p95Ms = p95Ms; }
+
+        public double getP99Ms() { return p99Ms; }
+        public void setP99Ms(double p99Ms) { this.p99Ms = p99Ms; }
+
+        public long getRows() { return rows; }
+        public void setRows(long rows) { this.rows = rows; }
+
+        /** Executions per repository method, most first; statements issued outside one are not listed */
+        public Map<String, Long> getOrigins() { return origins; }
+        public void setOrigins(Map<String, Long> origins) { this.origins = origins; }
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.bookstore.jdbc;
+
+/**
+ * Normalizes SQL so that statements differing only in literal values, comments, whitespace or
+ * the length of an {@code IN} list share one fingerprint.
+ * <p>
+ * String and numeric literals become {@code ?}, comments are dropped, whitespace runs collapse
+ * to one space, text outside quoted identifiers is lower-cased and an {@code IN} list of
+ * placeholders becomes {@code in (?+)}. A fingerprint never contains a literal value, so it is
+ * safe to log and to expose.
+ */
+public final class SqlFingerprint {
+
+    private SqlFingerprint() {
+    }
+
+    public static String of(String sql) {
+        StringBuilder out = new StringBuilder(sql.length());
+        int length = sql.length();
+        int i = 0;
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                i = skipQuoted(sql, i, '\'');
+                out.append('?');
+            } else if (c == '"' || c == '`') {
+                int end = skipQuoted(sql, i, c);
+                out.append(sql, i, end);
+                i = end;
+            } else if (c == '-' && i + 1 < length && sql.charAt(i + 1) == '-') {
+                int end = sql.indexOf('\n', i);
+                i = end < 0 ? length : end;
+                appendSpace(out);
+            } else if (c == '/' && i + 1 < length && sql.charAt(i + 1) == '*') {
+                int end = sql.indexOf("*/", i + 2);
+                i = end < 0 ? length : end + 2;
+                appendSpace(out);
+            } else if (Character.isWhitespace(c)) {
+                appendSpace(out);
+                i++;
+            } else if (isDigit(c) && !endsWithIdentifier(out)) {
+                while (i < length && (isDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+                    i++;
+                }
+                out.append('?');
+            } else if (c == '(' && endsWithKeyword(out, "in")) {
+                int end = placeholderListEnd(sql, i);
+                if (end > 0) {
+                    out.append("(?+)");
+                    i = end;
+                } else {
+                    out.append(c);
+                    i++;
+                }
+            } else {
+                out.append(Character.toLowerCase(c));
+                i++;
+            }
+        }
+        int end = out.length();
+        while (end > 0 && out.charAt(end - 1) == ' ') {
+            end--;
+        }
+        out.setLength(end);
+        return out.toString();
+    }
+
+    /** Index just past the closing quote; a doubled quote is an escaped one */
+    private static int skipQuoted(String sql, int start, char quote) {
+        int i = start + 1;
+        while (i < sql.length()) {
+            if (sql.charAt(i) == quote) {
+                if (i + 1 < sql.length() && sql.charAt(i + 1) == quote) {
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            if (sql.charAt(i) == '\\' && quote == '\'') {
+                i++;
+            }
+            i++;
+        }
+        return sql.length();
+    }
+
+    /**
+     * If {@code (} at {@code start} opens a list of placeholders and literals only, the index just
+     * past its {@code )}; otherwise -1 (a subquery, for instance)
+     */
+    private static int placeholderListEnd(String sql, int start) {
+        boolean any = false;
+        int i = start + 1;
+        while (i < sql.length()) {
+            char c = sql.charAt(i);
+            if (c == ')') {
+                return any ? i + 1 : -1;
+            }
+            if (c == '\'') {
+                i = skipQuoted(sql, i, '\'');
+                any = true;
+                continue;
+            }
+            if (c == '?' || isDigit(c) || c == '.' || c == '-') {
+                any = true;
+            } else if (c != ',' && !Character.isWhitespace(c)) {
+                return -1;
+            }
+            i++;
+        }
+        return -1;
+    }
+
+    private static void appendSpace(StringBuilder out) {
+        if (out.length() > 0 && out.charAt(out.length() - 1) != ' ') {
+            out.append(' ');
+        }
+    }
+
+    private static boolean endsWithIdentifier(StringBuilder out) {
+        if (out.length() == 0) {
+            return false;
+        }
+        char last = out.charAt(out.length() - 1);
+        return Character.isLetterOrDigit(last) || last == '_' || last == '$';
+    }
+
+    private static boolean endsWithKeyword(StringBuilder out, String keyword) {
+        int end = out.length();
+        if (end > 0 && out.charAt(end - 1) == ' ') {
+            end--;
+        }
+        int start = end - keyword.length();
+        if (start < 0 || !out.substring(start, end).equals(keyword)) {
+            return false;
+        }
+        return start == 0 || !Character.isLetterOrDigit(out.charAt(start - 1)) && out.charAt(start - 1) != '_';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
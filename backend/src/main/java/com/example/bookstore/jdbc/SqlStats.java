@@ -0,0 +1,127 @@
+package com.example.bookstore.jdbc;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Statement count, database time and rows fetched by the current thread while a scope is open.
+ * <p>
+ * {@link #open()} binds a new scope to the thread; everything the thread runs through an
+ * {@link InstrumentedDataSource} until {@link #close()} is added to it. Scopes nest: closing one
+ * adds its totals to the scope that was current when it was opened, so a test can count the
+ * statements of a request that the web layer counts as well:
+ * <pre>{@code
+ * try (SqlStats sql = SqlStats.open()) {
+ *     mockMvc.perform(get("/api/v1/books/{id}", id));
+ *     assertThat(sql.getStatements()).isEqualTo(1);
+ * }
+ * }</pre>
+ * Work done on other threads (asynchronous exports, a coalesced read another request is running)
+ * is not attributed. A scope must be opened and closed on the same thread and is not thread-safe.
+ */
+public final class SqlStats implements AutoCloseable {
+
+    private static final ThreadLocal<SqlStats> CURRENT = new ThreadLocal<>();
+
+    private static final StatementListener LISTENER = new StatementListener() {
+        @Override
+        public void statementExecuted(String sql, long elapsedNanos) {
+            SqlStats stats = CURRENT.get();
+            if (stats != null) {
+                stats.statements++;
+                stats.timeNanos += elapsedNanos;
+            }
+        }
+
+        @Override
+        public void resultSetAdvanced(String sql, boolean hasRow, long elapsedNanos) {
+            SqlStats stats = CURRENT.get();
+            if (stats != null) {
+                if (hasRow) {
+                    stats.rows++;
+                }
+                stats.timeNanos += elapsedNanos;
+            }
+        }
+    };
+
+    private final SqlStats parent;
+    private boolean closed;
+    private int statements;
+    private long timeNanos;
+    private long rows;
+
+    private SqlStats(SqlStats parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Open a scope on the current thread; close it on the same thread
+     */
+    public static SqlStats open() {
+        SqlStats stats = new SqlStats(CURRENT.get());
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * The innermost open scope of the current thread, or {@code null}
+     */
+    public static SqlStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Listener that records into the current thread's scope, for an {@link InstrumentedDataSource}
+     */
+    public static StatementListener listener() {
+        return LISTENER;
+    }
+
+    /**
+     * Stop recording into this scope and add its totals to the enclosing one. Idempotent.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (CURRENT.get() == this) {
+            if (parent != null) {
+                CURRENT.set(parent);
+            } else {
+                CURRENT.remove();
+            }
+        }
+        if (parent != null) {
+            parent.statements += statements;
+            parent.timeNanos += timeNanos;
+            parent.rows += rows;
+        }
+    }
+
+    /** Statements executed; a JDBC batch counts once */
+    public int getStatements() {
+        return statements;
+    }
+
+    /** Time spent executing statements and fetching their rows */
+    public long getTimeNanos() {
+        return timeNanos;
+    }
+
+    public double getTimeMillis() {
+        return timeNanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /** Rows read from result sets */
+    public long getRows() {
+        return rows;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%d statements, %d rows, %.2f ms", statements, rows, getTimeMillis());
+    }
+}
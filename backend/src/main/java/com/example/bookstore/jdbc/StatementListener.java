@@ -0,0 +1,27 @@
+package com.example.bookstore.jdbc;
+
+/**
+ * Callback for the JDBC work done through an {@link InstrumentedDataSource}. Invoked on the
+ * thread that ran the statement, inline with it, so implementations must be cheap and must not
+ * throw.
+ */
+public interface StatementListener {
+
+    /**
+     * A statement was executed (successfully or not)
+     *
+     * @param sql the statement text; {@code null} for batches of plain (unprepared) statements
+     * @param elapsedNanos time spent in the {@code execute*} call
+     */
+    void statementExecuted(String sql, long elapsedNanos);
+
+    /**
+     * {@link java.sql.ResultSet#next()} was called on a result of an instrumented statement
+     *
+     * @param sql the text of the statement that produced the result set, as passed to
+     *            {@link #statementExecuted}
+     * @param hasRow whether it moved to a row, i.e. whether a row was fetched
+     * @param elapsedNanos time spent in the call, which includes fetching the next block of rows
+     */
+    void resultSetAdvanced(String sql, boolean hasRow, long elapsedNanos);
+}
@@ -0,0 +1,51 @@
+package com.example.bookstore.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Publishes the queue depth and drop count of every {@link DropCountingAsyncAppender}
+ * configured in {@code logback-spring.xml}
+ */
+@Component
+public class AsyncLoggingMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return;
+        }
+
+        Map<String, DropCountingAsyncAppender> appenders = new LinkedHashMap<>();
+        for (Logger logger : context.getLoggerList()) {
+            for (Iterator<Appender<ILoggingEvent>> it = logger.iteratorForAppenders(); it.hasNext(); ) {
+                if (it.next() instanceof DropCountingAsyncAppender appender) {
+                    appenders.putIfAbsent(appender.getName(), appender);
+                }
+            }
+        }
+
+        appenders.forEach((name, appender) -> {
+            FunctionCounter.builder("bookstore.logging.events.dropped", appender, DropCountingAsyncAppender::getDroppedCount)
+                    .description("Log events dropped because the async appender queue was full")
+                    .tag("appender", name)
+                    .register(registry);
+            Gauge.builder("bookstore.logging.queue.size", appender, DropCountingAsyncAppender::getNumberOfElementsInQueue)
+                    .description("Log events waiting in the async appender queue")
+                    .tag("appender", name)
+                    .register(registry);
+        });
+    }
+}
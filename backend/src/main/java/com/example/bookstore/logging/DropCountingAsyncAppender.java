@@ -0,0 +1,34 @@
+package com.example.bookstore.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link AsyncAppender} that counts the events it drops instead of discarding them silently.
+ * <p>
+ * An event is dropped when it is discardable (INFO and below) and the queue has less free space
+ * than the discarding threshold, or when {@code neverBlock} is set and the queue is full. The
+ * check runs before the event is handed to {@link AsyncAppender}, which applies the same rules,
+ * so the count can miss a drop only when the queue fills between the two checks.
+ */
+public class DropCountingAsyncAppender extends AsyncAppender {
+
+    private final LongAdder droppedEvents = new LongAdder();
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        int remainingCapacity = getRemainingCapacity();
+        if ((remainingCapacity < getDiscardingThreshold() && isDiscardable(event))
+                || (isNeverBlock() && remainingCapacity == 0)) {
+            droppedEvents.increment();
+            return;
+        }
+        super.append(event);
+    }
+
+    public long getDroppedCount() {
+        return droppedEvents.sum();
+    }
+}
@@ -1,13 +1,19 @@
 package com.example.bookstore.metrics;
 
+import com.example.bookstore.event.BookChangedEvent;
+import com.example.bookstore.repository.BookRepository;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import jakarta.annotation.PostConstruct;
+import java.time.Duration;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
@@ -16,7 +22,36 @@ import java.util.concurrent.atomic.AtomicLong;
 @Component
 public class BookMetricsCollector {
 
+    /**
+     * Timer families; each maps to one {@code bookstore.books.<name>.duration} timer name
+     */
+    public enum OperationType {
+        CREATE("create", "Time taken to create a book"),
+        UPDATE("update", "Time taken to update a book"),
+        DELETE("delete", "Time taken to delete a book"),
+        SEARCH("search", "Time taken to search books"),
+        FETCH("fetch", "Time taken to fetch books");
+
+        private final String metricName;
+        private final String description;
+
+        OperationType(String metricName, String description) {
+            this.metricName = metricName;
+            this.description = description;
+        }
+    }
+
+    /**
+     * How an operation ended; used as the {@code outcome} tag
+     */
+    public enum Outcome {
+        SUCCESS, NOT_FOUND, REJECTED, ERROR;
+
+        private final String tagValue = name().toLowerCase();
+    }
+
     private final MeterRegistry meterRegistry;
+    private final BookRepository bookRepository;
     
     // Counters for tracking operations
     private Counter bookCreatedCounter;
@@ -25,20 +60,14 @@ public class BookMetricsCollector {
     private Counter bookViewedCounter;
     private Counter bookSearchCounter;
     
-    // Timers for tracking response times
-    private Timer bookCreateTimer;
-    private Timer bookUpdateTimer;
-    private Timer bookDeleteTimer;
-    private Timer bookSearchTimer;
-    private Timer bookFetchTimer;
-    
     // Gauges for real-time metrics
     private AtomicLong activeBookOperations = new AtomicLong(0);
     private AtomicLong totalBooksInSystem = new AtomicLong(0);
 
     @Autowired
-    public BookMetricsCollector(MeterRegistry meterRegistry) {
+    public BookMetricsCollector(MeterRegistry meterRegistry, BookRepository bookRepository) {
         this.meterRegistry = meterRegistry;
+        this.bookRepository = bookRepository;
     }
 
     @PostConstruct
@@ -64,27 +93,6 @@ public class BookMetricsCollector {
                 .description("Number of book searches performed")
                 .register(meterRegistry);
 
-        // Initialize timers
-        bookCreateTimer = Timer.builder("bookstore.books.create.duration")
-                .description("Time taken to create a book")
-                .register(meterRegistry);
-                
-        bookUpdateTimer = Timer.builder("bookstore.books.update.duration")
-                .description("Time taken to update a book")
-                .register(meterRegistry);
-                
-        bookDeleteTimer = Timer.builder("bookstore.books.delete.duration")
-                .description("Time taken to delete a book")
-                .register(meterRegistry);
-                
-        bookSearchTimer = Timer.builder("bookstore.books.search.duration")
-                .description("Time taken to search books")
-                .register(meterRegistry);
-                
-        bookFetchTimer = Timer.builder("bookstore.books.fetch.duration")
-                .description("Time taken to fetch books")
-                .register(meterRegistry);
-
         // Initialize gauges
         Gauge.builder("bookstore.books.active.operations", activeBookOperations, AtomicLong::get)
                 .description("Number of active book operations")
@@ -95,6 +103,21 @@ public class BookMetricsCollector {
                 .register(meterRegistry);
     }
 
+    /**
+     * Register the timer for one outcome of an operation; registering it again returns the
+     * same timer. Callers keep it so that recording on the hot path is a plain lookup.
+     */
+    public Timer registerOperationTimer(OperationType type, String operation, Outcome outcome) {
+        return Timer.builder("bookstore.books." + type.metricName + ".duration")
+                .description(type.description)
+                .tag("operation", operation)
+                .tag("outcome", outcome.tagValue)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(meterRegistry);
+    }
+
     // Counter increment methods
     public void incrementBookCreated() {
         bookCreatedCounter.increment();
@@ -116,56 +139,35 @@ public class BookMetricsCollector {
         bookSearchCounter.increment();
     }
 
-    // Timer methods
-    public Timer.Sample startBookCreateTimer() {
+    // Active operation tracking
+    public void operationStarted() {
         activeBookOperations.incrementAndGet();
-        return Timer.start(meterRegistry);
     }
 
-    public void stopBookCreateTimer(Timer.Sample sample) {
-        sample.stop(bookCreateTimer);
+    public void operationFinished() {
         activeBookOperations.decrementAndGet();
     }
 
-    public Timer.Sample startBookUpdateTimer() {
-        activeBookOperations.incrementAndGet();
-        return Timer.start(meterRegistry);
-    }
-
-    public void stopBookUpdateTimer(Timer.Sample sample) {
-        sample.stop(bookUpdateTimer);
-        activeBookOperations.decrementAndGet();
-    }
-
-    public Timer.Sample startBookDeleteTimer() {
-        activeBookOperations.incrementAndGet();
-        return Timer.start(meterRegistry);
-    }
-
-    public void stopBookDeleteTimer(Timer.Sample sample) {
-        sample.stop(bookDeleteTimer);
-        activeBookOperations.decrementAndGet();
-    }
-
-    public Timer.Sample startBookSearchTimer() {
-        return Timer.start(meterRegistry);
-    }
-
-    public void stopBookSearchTimer(Timer.Sample sample) {
-        sample.stop(bookSearchTimer);
-    }
-
-    public Timer.Sample startBookFetchTimer() {
-        return Timer.start(meterRegistry);
+    // Gauge update methods
+    public void updateTotalBooksCount(long count) {
+        totalBooksInSystem.set(count);
     }
 
-    public void stopBookFetchTimer(Timer.Sample sample) {
-        sample.stop(bookFetchTimer);
+    /**
+     * Seed the total book count once; afterwards it follows committed write events
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeTotalBooksCount() {
+        updateTotalBooksCount(bookRepository.count());
     }
 
-    // Gauge update methods
-    public void updateTotalBooksCount(long count) {
-        totalBooksInSystem.set(count);
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        switch (event.getType()) {
+            case CREATED -> totalBooksInSystem.incrementAndGet();
+            case DELETED -> totalBooksInSystem.decrementAndGet();
+            default -> { }
+        }
     }
 
     public void recordCustomMetric(String metricName, String description, double value) {
@@ -0,0 +1,143 @@
+package com.example.bookstore.metrics;
+
+import com.example.bookstore.exception.BookNotFoundException;
+import com.example.bookstore.exception.InsufficientStockException;
+import com.example.bookstore.metrics.BookMetricsCollector.OperationType;
+import com.example.bookstore.metrics.BookMetricsCollector.Outcome;
+import com.example.bookstore.service.BookService;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.time.temporal.Temporal;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Times every public {@link BookService} method and feeds {@link BookMetricsCollector}.
+ * <p>
+ * Each (operation, outcome) timer is registered the first time that outcome occurs, so only
+ * series that record are published, and then cached per {@link Method}: a call records with
+ * {@link System#nanoTime()} and an array index, with no tag lists, {@code Timer.Sample}s or
+ * registry lookups on the hot path. The aspect runs outside the transaction advice so
+ * durations include commit time.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class BookServiceMetricsAspect {
+
+    private final BookMetricsCollector metricsCollector;
+    private final ConcurrentHashMap<Method, OperationMetrics> operations = new ConcurrentHashMap<>();
+
+    @Autowired
+    public BookServiceMetricsAspect(BookMetricsCollector metricsCollector) {
+        this.metricsCollector = metricsCollector;
+    }
+
+    @Around("execution(public * com.example.bookstore.service.BookService.*(..))")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        OperationMetrics metrics = operations.get(method);
+        if (metrics == null) {
+            metrics = operations.computeIfAbsent(method, this::createMetrics);
+        }
+
+        metricsCollector.operationStarted();
+        long start = System.nanoTime();
+        Outcome outcome = Outcome.ERROR;
+        try {
+            Object result = joinPoint.proceed();
+            outcome = result instanceof Optional<?> optional && optional.isEmpty()
+                    ? Outcome.NOT_FOUND
+                    : Outcome.SUCCESS;
+            if (outcome == Outcome.SUCCESS) {
+                countSuccess(metrics);
+            }
+            return result;
+        } catch (BookNotFoundException e) {
+            outcome = Outcome.NOT_FOUND;
+            throw e;
+        } catch (IllegalArgumentException | InsufficientStockException e) {
+            outcome = Outcome.REJECTED;
+            throw e;
+        } finally {
+            metrics.timer(outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            metricsCollector.operationFinished();
+        }
+    }
+
+    private void countSuccess(OperationMetrics metrics) {
+        switch (metrics.type) {
+            case CREATE -> metricsCollector.incrementBookCreated();
+            case UPDATE -> metricsCollector.incrementBookUpdated();
+            case DELETE -> metricsCollector.incrementBookDeleted();
+            case SEARCH -> metricsCollector.incrementBookSearched();
+            case FETCH -> {
+                if (metrics.singleBook) {
+                    metricsCollector.incrementBookViewed();
+                }
+            }
+        }
+    }
+
+    private OperationMetrics createMetrics(Method method) {
+        OperationType type = operationType(method.getName());
+        // Version lookups for conditional requests return Optional<LocalDateTime> and are not views
+        boolean singleBook = Optional.class.equals(method.getReturnType())
+                && !Temporal.class.isAssignableFrom(ResolvableType.forMethodReturnType(method).getGeneric(0).toClass());
+        return new OperationMetrics(type, singleBook, method.getName());
+    }
+
+    static OperationType operationType(String methodName) {
+        if (methodName.startsWith("create")) {
+            return OperationType.CREATE;
+        }
+        if (methodName.startsWith("update") || methodName.startsWith("patch") || methodName.startsWith("adjust")) {
+            return OperationType.UPDATE;
+        }
+        if (methodName.startsWith("delete")) {
+            return OperationType.DELETE;
+        }
+        if (methodName.startsWith("search") || methodName.startsWith("scrollSearch")) {
+            return OperationType.SEARCH;
+        }
+        return OperationType.FETCH;
+    }
+
+    private final class OperationMetrics {
+        private final OperationType type;
+        private final boolean singleBook;
+        private final String operation;
+        private final AtomicReferenceArray<Timer> timers = new AtomicReferenceArray<>(Outcome.values().length);
+
+        private OperationMetrics(OperationType type, boolean singleBook, String operation) {
+            this.type = type;
+            this.singleBook = singleBook;
+            this.operation = operation;
+        }
+
+        /**
+         * The timer for an outcome, registered on first use. Racing callers register the same
+         * meter, so whichever write wins is equivalent.
+         */
+        private Timer timer(Outcome outcome) {
+            Timer timer = timers.get(outcome.ordinal());
+            if (timer == null) {
+                timer = metricsCollector.registerOperationTimer(type, operation, outcome);
+                timers.set(outcome.ordinal(), timer);
+            }
+            return timer;
+        }
+    }
+}
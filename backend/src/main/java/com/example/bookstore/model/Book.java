@@ -3,6 +3,7 @@ package com.example.bookstore.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
@@ -10,7 +11,8 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "books")
+@Table(name = "books", uniqueConstraints = @UniqueConstraint(name = "uk_books_isbn", columnNames = "isbn"))
+@DynamicUpdate
 public class Book {
     
     @Id
@@ -33,7 +35,6 @@ public class Book {
     private BigDecimal price;
     
     @Size(max = 20, message = "ISBN cannot exceed 20 characters")
-    @Column(unique = true)
     private String isbn;
     
     @Column(columnDefinition = "TEXT")
@@ -0,0 +1,147 @@
+package com.example.bookstore.pagination;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.function.Function;
+
+/**
+ * Opaque keyset cursor for scrolling through books. A cursor carries the sort order it was
+ * issued for together with the sort-key values and ID of the last book returned, so the next
+ * page is fetched with a {@code WHERE (key, id) > (:key, :id)} seek instead of an OFFSET.
+ * <p>
+ * Only non-null columns can be used as keyset sort keys; the book ID is always appended as
+ * the final tie-breaker so the ordering is total.
+ */
+public final class BookCursor {
+
+    private static final String VERSION = "v1";
+    private static final String ID = "id";
+
+    private static final Map<String, Function<String, Object>> SORT_KEYS = Map.of(
+            "title", value -> value,
+            "author", value -> value,
+            "price", BigDecimal::new,
+            "createdAt", LocalDateTime::parse,
+            "updatedAt", LocalDateTime::parse,
+            ID, Long::valueOf);
+
+    private final Sort sort;
+    private final KeysetScrollPosition position;
+
+    private BookCursor(Sort sort, KeysetScrollPosition position) {
+        this.sort = sort;
+        this.position = position;
+    }
+
+    /**
+     * Cursor for the first page in the given order
+     */
+    public static BookCursor first(Sort sort) {
+        return new BookCursor(keysetSort(sort), ScrollPosition.keyset());
+    }
+
+    /**
+     * Decode a cursor previously returned as {@code nextCursor}; a blank token starts from the
+     * first page in the given order
+     */
+    public static BookCursor decode(String token, Sort fallbackSort) {
+        if (token == null || token.isBlank()) {
+            return first(fallbackSort);
+        }
+
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = decoded.split(";");
+            if (parts.length < 2 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+
+            Sort sort = Sort.unsorted();
+            Map<String, Object> keys = new LinkedHashMap<>();
+            for (int i = 1; i < parts.length; i++) {
+                // Each part is "<property>.<asc|desc>=<url-encoded value>"
+                int dot = parts[i].indexOf('.');
+                int eq = parts[i].indexOf('=');
+                if (dot < 0 || eq < dot) {
+                    throw new IllegalArgumentException("Invalid cursor");
+                }
+                String property = parts[i].substring(0, dot);
+                Sort.Direction direction = Sort.Direction.fromString(parts[i].substring(dot + 1, eq));
+                String value = URLDecoder.decode(parts[i].substring(eq + 1), StandardCharsets.UTF_8);
+
+                sort = sort.and(Sort.by(direction, property));
+                keys.put(property, parseKey(property, value));
+            }
+
+            if (!keys.containsKey(ID)) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new BookCursor(sort, ScrollPosition.forward(keys));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    /**
+     * Encode the keyset position of the last book on a page
+     */
+    public static String encode(Sort sort, KeysetScrollPosition position) {
+        StringJoiner joiner = new StringJoiner(";");
+        joiner.add(VERSION);
+        for (Sort.Order order : sort) {
+            Object value = position.getKeys().get(order.getProperty());
+            joiner.add(order.getProperty() + "." + order.getDirection().name().toLowerCase() + "="
+                    + URLEncoder.encode(String.valueOf(value), StandardCharsets.UTF_8));
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(joiner.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Sort getSort() {
+        return sort;
+    }
+
+    public KeysetScrollPosition getPosition() {
+        return position;
+    }
+
+    private static Sort keysetSort(Sort requested) {
+        Sort sort = Sort.unsorted();
+        Sort.Direction idDirection = Sort.Direction.ASC;
+        for (Sort.Order order : requested) {
+            if (!SORT_KEYS.containsKey(order.getProperty())) {
+                throw new IllegalArgumentException("Cursor pagination cannot sort by '" + order.getProperty()
+                        + "'; supported properties are " + SORT_KEYS.keySet());
+            }
+            if (ID.equals(order.getProperty())) {
+                idDirection = order.getDirection();
+                break;
+            }
+            if (sort.isUnsorted()) {
+                idDirection = order.getDirection();
+            }
+            sort = sort.and(Sort.by(order.getDirection(), order.getProperty()));
+        }
+        return sort.and(Sort.by(idDirection, ID));
+    }
+
+    private static Object parseKey(String property, String value) {
+        Function<String, Object> parser = SORT_KEYS.get(property);
+        if (parser == null) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return parser.apply(value);
+    }
+}
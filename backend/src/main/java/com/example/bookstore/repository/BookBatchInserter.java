@@ -0,0 +1,114 @@
+package com.example.bookstore.repository;
+
+import com.example.bookstore.model.Book;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inserts books with JDBC batching. {@code Book} uses IDENTITY ids, which stops Hibernate from
+ * batching inserts because it needs each generated key right away. This inserter sends
+ * the whole batch in one round trip instead (MySQL rewrites it into a multi-row INSERT when
+ * {@code rewriteBatchedStatements=true}) and reads every generated key back in a single pass.
+ */
+@Repository
+public class BookBatchInserter {
+
+    private static final String INSERT_SQL = "INSERT INTO books (title, author, price, isbn, description, " +
+            "category, publisher, publication_date, pages, stock_quantity, image_url, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public BookBatchInserter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Insert the books as one JDBC batch, assigning generated IDs and timestamps to them.
+     * Must be called inside a transaction so that a failing batch is rolled back as a whole.
+     */
+    public void insertAll(List<Book> books) {
+        if (books.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SQL, new String[] {"id"}),
+                setter(books, now),
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if (keys.size() != books.size()) {
+            throw new IllegalStateException("Expected " + books.size() + " generated keys but got " + keys.size());
+        }
+        for (int i = 0; i < books.size(); i++) {
+            Book book = books.get(i);
+            // Key column naming differs by driver (ID, GENERATED_KEY, ...), so take the only value
+            book.setId(((Number) keys.get(i).values().iterator().next()).longValue());
+            if (book.getStockQuantity() == null) {
+                book.setStockQuantity(0);
+            }
+            if (book.getCreatedAt() == null) {
+                book.setCreatedAt(now);
+            }
+            if (book.getUpdatedAt() == null) {
+                book.setUpdatedAt(now);
+            }
+        }
+    }
+
+    /**
+     * Insert the books as one JDBC batch without reading generated keys back, for bulk loads
+     * that never use the entities again. The books are left unchanged; timestamps they already
+     * carry are kept. Must be called inside a transaction like {@link #insertAll(List)}.
+     */
+    public void bulkInsert(List<Book> books) {
+        if (books.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, setter(books, LocalDateTime.now()));
+    }
+
+    private static BatchPreparedStatementSetter setter(List<Book> books, LocalDateTime now) {
+        return new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Book book = books.get(i);
+                ps.setString(1, book.getTitle());
+                ps.setString(2, book.getAuthor());
+                ps.setBigDecimal(3, book.getPrice());
+                ps.setString(4, book.getIsbn());
+                ps.setString(5, book.getDescription());
+                ps.setString(6, book.getCategory());
+                ps.setString(7, book.getPublisher());
+                ps.setObject(8, book.getPublicationDate() != null ? Date.valueOf(book.getPublicationDate()) : null, Types.DATE);
+                ps.setObject(9, book.getPages(), Types.INTEGER);
+                ps.setObject(10, book.getStockQuantity() != null ? book.getStockQuantity() : 0, Types.INTEGER);
+                ps.setString(11, book.getImageUrl());
+                ps.setTimestamp(12, Timestamp.valueOf(book.getCreatedAt() != null ? book.getCreatedAt() : now));
+                ps.setTimestamp(13, Timestamp.valueOf(book.getUpdatedAt() != null ? book.getUpdatedAt() : now));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return books.size();
+            }
+        };
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.bookstore.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Book attributes a client can select with the {@code fields} parameter or set with a merge
+ * patch. The API name is the entity attribute name, so a selection maps directly onto the JPA
+ * select list and a patch onto the SET clause.
+ */
+public enum BookField {
+    ID("id", Long.class, false),
+    TITLE("title", String.class, true),
+    AUTHOR("author", String.class, true),
+    PRICE("price", BigDecimal.class, true),
+    ISBN("isbn", String.class, true),
+    DESCRIPTION("description", String.class, true),
+    CATEGORY("category", String.class, true),
+    PUBLISHER("publisher", String.class, true),
+    PUBLICATION_DATE("publicationDate", LocalDate.class, true),
+    PAGES("pages", Integer.class, true),
+    STOCK_QUANTITY("stockQuantity", Integer.class, true),
+    IMAGE_URL("imageUrl", String.class, true),
+    CREATED_AT("createdAt", LocalDateTime.class, false),
+    UPDATED_AT("updatedAt", LocalDateTime.class, false);
+
+    private final String attribute;
+    private final Class<?> type;
+    private final boolean writable;
+
+    BookField(String attribute, Class<?> type, boolean writable) {
+        this.attribute = attribute;
+        this.type = type;
+        this.writable = writable;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Whether clients may set the field; the ID and timestamps are managed by the server
+     */
+    public boolean isWritable() {
+        return writable;
+    }
+
+    /**
+     * Parse a comma-separated field list such as {@code isbn,price,stockQuantity}.
+     * {@code id} is always included so results can be addressed and ordered.
+     */
+    public static Set<BookField> fromParameter(String value) {
+        Set<BookField> fields = EnumSet.of(ID);
+        for (String name : value.split(",")) {
+            String trimmed = name.trim();
+            if (!trimmed.isEmpty()) {
+                fields.add(fromAttribute(trimmed));
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * The field with the given API name
+     */
+    public static BookField fromAttribute(String name) {
+        for (BookField field : values()) {
+            if (field.attribute.equals(name)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown field: " + name + " (expected any of " +
+                Arrays.stream(values()).map(BookField::getAttribute).collect(Collectors.joining(", ")) + ")");
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.bookstore.repository;
+
+import com.example.bookstore.dto.BookDTO;
+import com.example.bookstore.model.Book;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Queries that read or write only a caller-chosen set of {@link BookField}s. Rows are returned
+ * as field-name to value maps in {@link BookField} order, ready to serialize as-is. Also list
+ * summaries for a specification, which a derived or {@code @Query} method cannot take.
+ */
+public interface BookFieldsRepository {
+
+    /**
+     * Page of books matching the specification ({@code null} for all), selecting only the given fields
+     */
+    Page<Map<String, Object>> findFields(Specification<Book> spec, Set<BookField> fields, Pageable pageable);
+
+    /**
+     * Page of summaries of books matching the specification ({@code null} for all), selecting
+     * the same columns as {@link BookRepository#SUMMARY_SELECT}
+     */
+    Page<BookDTO> findSummaries(Specification<Book> spec, Pageable pageable);
+
+    /**
+     * The given books, in no particular order, selecting only the given fields
+     */
+    List<Map<String, Object>> findFieldsByIdIn(Collection<Long> ids, Set<BookField> fields);
+
+    /**
+     * Set the given fields and {@code updatedAt} on one book with a single UPDATE that names
+     * only those columns. When {@code expectedUpdatedAt} is non-null the row is only written if
+     * it still has that update time. Flushes before and clears the persistence context after,
+     * like a {@code @Modifying} query. Returns the number of rows updated (0 or 1).
+     */
+    int updateFields(Long id, Map<BookField, Object> values, LocalDateTime updatedAt, LocalDateTime expectedUpdatedAt);
+}
@@ -0,0 +1,154 @@
+package com.example.bookstore.repository;
+
+import com.example.bookstore.dto.BookDTO;
+import com.example.bookstore.model.Book;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Builds a Criteria tuple query whose select list is exactly the requested fields, so columns
+ * the client did not ask for (typically the TEXT description) are never read, and a Criteria
+ * update whose SET clause is exactly the changed fields.
+ */
+public class BookFieldsRepositoryImpl implements BookFieldsRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<Map<String, Object>> findFields(Specification<Book> spec, Set<BookField> fields, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Book> root = query.from(Book.class);
+        List<BookField> selected = select(query, root, fields);
+        where(query, root, cb, spec);
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        List<Map<String, Object>> content = toRows(page(entityManager.createQuery(query), pageable).getResultList(), selected);
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+    }
+
+    @Override
+    public Page<BookDTO> findSummaries(Specification<Book> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookDTO> query = cb.createQuery(BookDTO.class);
+        Root<Book> root = query.from(Book.class);
+        query.select(cb.construct(BookDTO.class, root.get("id"), root.get("title"), root.get("author"),
+                root.get("price"), root.get("category"), root.get("stockQuantity"), root.get("imageUrl")));
+        where(query, root, cb, spec);
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        List<BookDTO> content = page(entityManager.createQuery(query), pageable).getResultList();
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+    }
+
+    @Override
+    public List<Map<String, Object>> findFieldsByIdIn(Collection<Long> ids, Set<BookField> fields) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Book> root = query.from(Book.class);
+        List<BookField> selected = select(query, root, fields);
+        query.where(root.get("id").in(ids));
+        return toRows(entityManager.createQuery(query).getResultList(), selected);
+    }
+
+    @Override
+    public int updateFields(Long id, Map<BookField, Object> values, LocalDateTime updatedAt, LocalDateTime expectedUpdatedAt) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Book> update = cb.createCriteriaUpdate(Book.class);
+        Root<Book> root = update.from(Book.class);
+        values.forEach((field, value) -> {
+            if (!field.isWritable()) {
+                throw new IllegalArgumentException("Field is read-only: " + field.getAttribute());
+            }
+            Path<Object> path = root.get(field.getAttribute());
+            if (value != null) {
+                update.<Object, Object>set(path, value);
+            } else {
+                update.<Object>set(path, cb.nullLiteral(field.getType()));
+            }
+        });
+        update.set(root.<LocalDateTime>get("updatedAt"), updatedAt);
+
+        Predicate byId = cb.equal(root.get("id"), id);
+        update.where(expectedUpdatedAt != null ? cb.and(byId, cb.equal(root.get("updatedAt"), expectedUpdatedAt)) : byId);
+
+        entityManager.flush();
+        int updated = entityManager.createQuery(update).executeUpdate();
+        entityManager.clear();
+        return updated;
+    }
+
+    private long count(Specification<Book> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Book> root = query.from(Book.class);
+        query.select(cb.count(root));
+        where(query, root, cb, spec);
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static <T> TypedQuery<T> page(TypedQuery<T> query, Pageable pageable) {
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return query;
+    }
+
+    private static List<BookField> select(CriteriaQuery<Tuple> query, Root<Book> root, Set<BookField> fields) {
+        List<BookField> selected = new ArrayList<>(fields);
+        List<Selection<?>> selections = new ArrayList<>(selected.size());
+        for (BookField field : selected) {
+            selections.add(root.get(field.getAttribute()).alias(field.getAttribute()));
+        }
+        query.multiselect(selections);
+        return selected;
+    }
+
+    private static void where(CriteriaQuery<?> query, Root<Book> root, CriteriaBuilder cb, Specification<Book> spec) {
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+    }
+
+    private static List<Map<String, Object>> toRows(List<Tuple> tuples, List<BookField> selected) {
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int i = 0; i < selected.size(); i++) {
+                row.put(selected.get(i).getAttribute(), tuple.get(i));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+}
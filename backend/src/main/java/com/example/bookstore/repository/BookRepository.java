@@ -1,9 +1,14 @@
 package com.example.bookstore.repository;
 
+import com.example.bookstore.dto.BookDTO;
 import com.example.bookstore.model.Book;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -11,7 +16,15 @@ import org.springframework.stereotype.Repository;
 import java.util.Optional;
 
 @Repository
-public interface BookRepository extends JpaRepository<Book, Long> {
+public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificationExecutor<Book>,
+        BookFieldsRepository {
+    
+    /**
+     * Select clause for list summaries: only the columns a catalog page shows, so the
+     * TEXT description is never read
+     */
+    String SUMMARY_SELECT = "SELECT new com.example.bookstore.dto.BookDTO(b.id, b.title, b.author, b.price, " +
+            "b.category, b.stockQuantity, b.imageUrl) FROM Book b";
     
     /**
      * Find books by title containing the given text (case-insensitive)
@@ -38,6 +51,12 @@ public interface BookRepository extends JpaRepository<Book, Long> {
      */
     Optional<Book> findByIsbn(String isbn);
     
+    /**
+     * Return which of the given ISBNs already exist (single set-based lookup)
+     */
+    @Query("SELECT b.isbn FROM Book b WHERE b.isbn IN :isbns")
+    java.util.List<String> findExistingIsbns(@Param("isbns") java.util.Collection<String> isbns);
+    
     /**
      * Find books by title and author (case-insensitive)
      */
@@ -94,6 +113,49 @@ public interface BookRepository extends JpaRepository<Book, Long> {
            "LOWER(b.author) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     Page<Book> searchByTitleOrAuthorWithPagination(@Param("keyword") String keyword, Pageable pageable);
     
+    /**
+     * Find the next batch of books after the given ID, in ID order (keyset batching without COUNT)
+     */
+    java.util.List<Book> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    
+    /**
+     * Atomically add a (possibly negative) delta to a book's stock, only if the result stays
+     * non-negative. Returns the number of rows updated: 0 means not found or insufficient stock.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Book b SET b.stockQuantity = COALESCE(b.stockQuantity, 0) + :delta, b.updatedAt = :updatedAt " +
+           "WHERE b.id = :id AND COALESCE(b.stockQuantity, 0) + :delta >= 0")
+    int adjustStock(@Param("id") Long id, @Param("delta") int delta, 
+                    @Param("updatedAt") java.time.LocalDateTime updatedAt);
+    
+    /**
+     * Load a book with its row locked (SELECT ... FOR UPDATE) until the transaction ends, so the
+     * state read is exactly the state a following UPDATE or DELETE replaces
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Book b WHERE b.id = :id")
+    Optional<Book> findByIdForUpdate(@Param("id") Long id);
+    
+    /**
+     * Delete a book with one statement; returns the number of rows deleted
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Book b WHERE b.id = :id")
+    int deleteBookById(@Param("id") Long id);
+    
+    /**
+     * Read just the stock quantity of a book, with the category and price that stock is valued in
+     */
+    @Query("SELECT COALESCE(b.stockQuantity, 0) AS stockQuantity, b.category AS category, b.price AS price " +
+           "FROM Book b WHERE b.id = :id")
+    Optional<StockLevel> findStockLevelById(@Param("id") Long id);
+    
+    /**
+     * Read just the last update time of a book, for conditional requests
+     */
+    @Query("SELECT b.updatedAt FROM Book b WHERE b.id = :id")
+    Optional<java.time.LocalDateTime> findUpdatedAtById(@Param("id") Long id);
+    
     /**
      * Check if a book exists with the given title and author (case-insensitive)
      */
@@ -107,4 +169,23 @@ public interface BookRepository extends JpaRepository<Book, Long> {
     boolean existsByTitleAndAuthorExcludingId(@Param("title") String title, 
                                               @Param("author") String author, 
                                               @Param("excludeId") Long excludeId);
-}
\ No newline at end of file
+    
+    /**
+     * Summaries of all books
+     */
+    @Query(value = SUMMARY_SELECT, countQuery = "SELECT COUNT(b) FROM Book b")
+    Page<BookDTO> findAllSummaries(Pageable pageable);
+    
+    /**
+     * Summaries of the given books, in no particular order
+     */
+    @Query(SUMMARY_SELECT + " WHERE b.id IN :ids")
+    java.util.List<BookDTO> findSummariesByIdIn(@Param("ids") java.util.Collection<Long> ids);
+    
+    /**
+     * Summaries of books with stock greater than zero
+     */
+    @Query(value = SUMMARY_SELECT + " WHERE b.stockQuantity > 0",
+           countQuery = "SELECT COUNT(b) FROM Book b WHERE b.stockQuantity > 0")
+    Page<BookDTO> findSummariesInStock(Pageable pageable);
+}
@@ -0,0 +1,155 @@
+package com.example.bookstore.repository;
+
+import com.example.bookstore.dto.BookSearchCriteria;
+import com.example.bookstore.model.Book;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Reusable query predicates for {@link Book}, composable via {@link Specification#and}.
+ * Each factory returns {@code null} for a {@code null} argument so optional filters can be
+ * chained without branching; Spring Data ignores {@code null} specifications.
+ */
+public final class BookSpecifications {
+
+    private BookSpecifications() {
+    }
+
+    /**
+     * Title contains the given text (case-insensitive)
+     */
+    public static Specification<Book> titleContains(String title) {
+        return title == null ? null : (root, query, cb) ->
+                cb.like(cb.lower(root.get("title")), containsPattern(title));
+    }
+
+    /**
+     * Author contains the given text (case-insensitive)
+     */
+    public static Specification<Book> authorContains(String author) {
+        return author == null ? null : (root, query, cb) ->
+                cb.like(cb.lower(root.get("author")), containsPattern(author));
+    }
+
+    /**
+     * Title or author contains the given text (case-insensitive)
+     */
+    public static Specification<Book> titleOrAuthorContains(String keyword) {
+        return keyword == null ? null : (root, query, cb) -> cb.or(
+                cb.like(cb.lower(root.get("title")), containsPattern(keyword)),
+                cb.like(cb.lower(root.get("author")), containsPattern(keyword)));
+    }
+
+    /**
+     * Category equals the given value (case-insensitive)
+     */
+    public static Specification<Book> categoryEquals(String category) {
+        return category == null ? null : (root, query, cb) ->
+                cb.equal(cb.lower(root.get("category")), category.toLowerCase());
+    }
+
+    /**
+     * Publisher equals the given value (case-insensitive)
+     */
+    public static Specification<Book> publisherEquals(String publisher) {
+        return publisher == null ? null : (root, query, cb) ->
+                cb.equal(cb.lower(root.get("publisher")), publisher.toLowerCase());
+    }
+
+    /**
+     * Price within a price facet bucket: at least {@code min} and below {@code max}, so adjacent
+     * buckets never share a price; either bound may be {@code null} for an open-ended bucket
+     */
+    public static Specification<Book> priceInBucket(BigDecimal min, BigDecimal max) {
+        if (min == null && max == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.and(
+                min == null ? cb.conjunction() : cb.greaterThanOrEqualTo(root.get("price"), min),
+                max == null ? cb.conjunction() : cb.lessThan(root.get("price"), max));
+    }
+
+    /**
+     * Published in the decade starting with the given year, e.g. 1990 for 1990 to 1999
+     */
+    public static Specification<Book> publishedInDecade(int decadeStart) {
+        LocalDate from = LocalDate.of(decadeStart, 1, 1);
+        LocalDate until = from.plusYears(10);
+        return (root, query, cb) -> cb.and(
+                cb.greaterThanOrEqualTo(root.get("publicationDate"), from),
+                cb.lessThan(root.get("publicationDate"), until));
+    }
+
+    /**
+     * Price between {@code min} and {@code max} inclusive; either bound may be {@code null}
+     */
+    public static Specification<Book> priceBetween(BigDecimal min, BigDecimal max) {
+        if (min == null && max == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.and(
+                min == null ? cb.conjunction() : cb.greaterThanOrEqualTo(root.get("price"), min),
+                max == null ? cb.conjunction() : cb.lessThanOrEqualTo(root.get("price"), max));
+    }
+
+    /**
+     * Published between {@code from} and {@code to} inclusive; either bound may be {@code null}
+     */
+    public static Specification<Book> publishedWithin(LocalDate from, LocalDate to) {
+        if (from == null && to == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.and(
+                from == null ? cb.conjunction() : cb.greaterThanOrEqualTo(root.get("publicationDate"), from),
+                to == null ? cb.conjunction() : cb.lessThanOrEqualTo(root.get("publicationDate"), to));
+    }
+
+    /**
+     * ISBN equals the given value
+     */
+    public static Specification<Book> isbnEquals(String isbn) {
+        return isbn == null ? null : (root, query, cb) -> cb.equal(root.get("isbn"), isbn);
+    }
+
+    /**
+     * Stock quantity greater than zero
+     */
+    public static Specification<Book> inStock() {
+        return (root, query, cb) -> cb.greaterThan(root.get("stockQuantity"), 0);
+    }
+
+    /**
+     * Stock quantity zero or less
+     */
+    public static Specification<Book> outOfStock() {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("stockQuantity"), 0);
+    }
+
+    /**
+     * In stock for {@code true}, sold out for {@code false}
+     */
+    public static Specification<Book> stockStatus(Boolean inStock) {
+        return inStock == null ? null : inStock ? inStock() : outOfStock();
+    }
+
+    /**
+     * Every criterion of a search, as one conjunction. The equality and range predicates line up
+     * with the composite indexes of {@code V3__Search_composite_indexes.sql}.
+     */
+    public static Specification<Book> matching(BookSearchCriteria criteria) {
+        return Specification.where(titleOrAuthorContains(criteria.getQ()))
+                .and(titleContains(criteria.getTitle()))
+                .and(authorContains(criteria.getAuthor()))
+                .and(categoryEquals(criteria.getCategory()))
+                .and(publisherEquals(criteria.getPublisher()))
+                .and(priceBetween(criteria.getMinPrice(), criteria.getMaxPrice()))
+                .and(publishedWithin(criteria.getPublishedFrom(), criteria.getPublishedTo()))
+                .and(stockStatus(criteria.getInStock()));
+    }
+
+    private static String containsPattern(String text) {
+        return "%" + text.toLowerCase() + "%";
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.bookstore.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * A book's stock quantity together with the category and price that stock is counted and
+ * valued in, read back after an atomic stock adjustment
+ */
+public interface StockLevel {
+
+    Integer getStockQuantity();
+
+    String getCategory();
+
+    BigDecimal getPrice();
+}
@@ -0,0 +1,328 @@
+package com.example.bookstore.search;
+
+import com.example.bookstore.event.BookChangedEvent;
+import com.example.bookstore.event.BookSnapshot;
+import com.example.bookstore.event.StockAdjustedEvent;
+import com.example.bookstore.repository.BookRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Per-value bitmaps of book IDs for every {@link Facet}, so facet counts and filters over a
+ * search result are bitmap intersections rather than {@code GROUP BY} queries. Built from the
+ * repository at startup and kept current from committed book change and stock events.
+ * <p>
+ * Counts follow the usual multi-select convention: a facet's counts apply every filter except
+ * the one on that facet, so the values a client could switch to are still listed.
+ */
+@Component
+public class BookFacetIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(BookFacetIndex.class);
+
+    private static final BookIdBitmap NONE = new BookIdBitmap();
+
+    /**
+     * Count by looking up each matching book rather than intersecting every value's bitmap when
+     * there are fewer than this many matches per value of the facet
+     */
+    private static final int SCAN_FACTOR = 4;
+
+    private final BookIndexLoader loader;
+    private final boolean enabled;
+    private final int maxValues;
+
+    // Guarded by lock
+    private final Map<Facet, Map<String, FacetValue>> values = new EnumMap<>(Facet.class);
+    private final Map<Long, String[]> documentKeys = new HashMap<>();
+    private final BookIdBitmap all = new BookIdBitmap();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    @Autowired
+    public BookFacetIndex(BookRepository bookRepository,
+                          @Value("${app.search.facets.enabled:true}") boolean enabled,
+                          @Value("${app.search.index.batch-size:1000}") int batchSize,
+                          @Value("${app.search.facets.max-values:20}") int maxValues) {
+        this.loader = new BookIndexLoader(bookRepository, batchSize);
+        this.enabled = enabled;
+        this.maxValues = maxValues;
+        for (Facet facet : Facet.values()) {
+            values.put(facet, new HashMap<>());
+        }
+    }
+
+    /**
+     * Build the bitmaps in the background once the application is up.
+     * Faceted searches fall back to the database, without counts, until the build completes.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        Thread builder = new Thread(this::rebuild, "book-facet-index-builder");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    /**
+     * (Re)index every book, streaming the catalog in ID order. Changes committed meanwhile,
+     * including stock adjustments to books not read yet, are replayed afterwards and books no
+     * longer in the catalog are dropped.
+     */
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        int indexed = loader.load(this::index, this::retain);
+        ready = true;
+        log.info("Book facet index built: {} books in {} ms", indexed, System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (event.getCurrent() != null) {
+            loader.apply(() -> index(event.getCurrent()));
+        } else {
+            loader.apply(() -> remove(event.getBookId()));
+        }
+    }
+
+    /**
+     * Stock adjustments only move a book between the in-stock values
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockAdjusted(StockAdjustedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        loader.apply(() -> adjustStock(event.getBookId(), event.getStockQuantity()));
+    }
+
+    private void adjustStock(Long bookId, int stockQuantity) {
+        String key = String.valueOf(stockQuantity > 0);
+        int slot = Facet.IN_STOCK.ordinal();
+
+        lock.writeLock().lock();
+        try {
+            String[] keys = documentKeys.get(bookId);
+            if (keys == null || key.equals(keys[slot])) {
+                return;
+            }
+            removeValue(Facet.IN_STOCK, keys[slot], bookId);
+            addValue(Facet.IN_STOCK, key, key, bookId);
+            keys[slot] = key;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * Add or replace a book in the index
+     */
+    public void index(BookSnapshot book) {
+        Facet[] facets = Facet.values();
+        String[] labels = new String[facets.length];
+        for (Facet facet : facets) {
+            labels[facet.ordinal()] = facet.valueOf(book);
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeDocument(book.getId());
+
+            String[] keys = new String[facets.length];
+            for (Facet facet : facets) {
+                String label = labels[facet.ordinal()];
+                if (label != null) {
+                    keys[facet.ordinal()] = addValue(facet, Facet.key(label), label, book.getId());
+                }
+            }
+            documentKeys.put(book.getId(), keys);
+            all.add(book.getId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a book from the index
+     */
+    public void remove(Long bookId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Filter hits by facet values and count the values of the requested facets among them.
+     * Returns empty when the index is disabled or still building, in which case callers should
+     * fall back to the database.
+     *
+     * @param hits    search hits to facet, or {@code null} for the whole catalog (the resulting
+     *                hits are then unranked, i.e. in ID order)
+     * @param filters value keys to keep, at most one per facet, as returned by {@link Facet#filterKey}
+     * @param facets  facets to count
+     */
+    public Optional<FacetedHits> facet(SearchHits hits, Map<Facet, String> filters, Set<Facet> facets) {
+        if (!isReady()) {
+            return Optional.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            // Hits may include books the search index saw before this one
+            BookIdBitmap scope = hits == null ? all : hits.toBitmap().and(all);
+            Map<Facet, BookIdBitmap> selected = new EnumMap<>(Facet.class);
+            for (Map.Entry<Facet, String> filter : filters.entrySet()) {
+                FacetValue value = values.get(filter.getKey()).get(filter.getValue());
+                selected.put(filter.getKey(), value != null ? value.ids : NONE);
+            }
+
+            BookIdBitmap matching = intersect(scope, selected, null);
+            Map<Facet, List<FacetCount>> counts = new LinkedHashMap<>();
+            for (Facet facet : facets) {
+                BookIdBitmap counted = selected.containsKey(facet) ? intersect(scope, selected, facet) : matching;
+                counts.put(facet, count(facet, counted));
+            }
+
+            SearchHits filtered = hits == null ? SearchHits.unranked(matching.toArray()) : hits.retain(matching);
+            return Optional.of(new FacetedHits(filtered, counts));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static BookIdBitmap intersect(BookIdBitmap scope, Map<Facet, BookIdBitmap> selected, Facet except) {
+        BookIdBitmap result = scope;
+        for (Map.Entry<Facet, BookIdBitmap> filter : selected.entrySet()) {
+            if (filter.getKey() != except) {
+                result = result.and(filter.getValue());
+            }
+        }
+        return result;
+    }
+
+    private List<FacetCount> count(Facet facet, BookIdBitmap books) {
+        Map<String, FacetValue> facetValues = values.get(facet);
+        long matches = books.cardinality();
+        List<FacetCount> counts = new ArrayList<>();
+        if (matches == 0) {
+            return counts;
+        }
+
+        if (matches < (long) facetValues.size() * SCAN_FACTOR) {
+            Map<String, Long> tally = new HashMap<>();
+            for (long bookId : books.toArray()) {
+                String key = documentKeys.get(bookId)[facet.ordinal()];
+                if (key != null) {
+                    tally.merge(key, 1L, Long::sum);
+                }
+            }
+            tally.forEach((key, count) -> counts.add(new FacetCount(facetValues.get(key).label, count)));
+        } else {
+            for (FacetValue value : facetValues.values()) {
+                long count = books.andCardinality(value.ids);
+                if (count > 0) {
+                    counts.add(new FacetCount(value.label, count));
+                }
+            }
+        }
+
+        if (!facet.isRanked()) {
+            counts.sort(Comparator.comparing(FacetCount::getValue, facet.naturalOrder()));
+            return counts;
+        }
+        counts.sort(Comparator.comparingLong(FacetCount::getCount).reversed()
+                .thenComparing(FacetCount::getValue));
+        return counts.size() > maxValues ? new ArrayList<>(counts.subList(0, maxValues)) : counts;
+    }
+
+    /**
+     * Add a book to a value's bitmap; returns the value's key
+     */
+    private String addValue(Facet facet, String key, String label, long bookId) {
+        values.get(facet).computeIfAbsent(key, k -> new FacetValue(label)).ids.add(bookId);
+        return key;
+    }
+
+    private void removeValue(Facet facet, String key, long bookId) {
+        if (key == null) {
+            return;
+        }
+        Map<String, FacetValue> facetValues = values.get(facet);
+        FacetValue value = facetValues.get(key);
+        if (value != null) {
+            value.ids.remove(bookId);
+            if (value.ids.isEmpty()) {
+                facetValues.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Drop every book not in {@code ids}
+     */
+    private void retain(BookIdBitmap ids) {
+        lock.writeLock().lock();
+        try {
+            for (long bookId : all.toArray()) {
+                if (!ids.contains(bookId)) {
+                    removeDocument(bookId);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeDocument(Long bookId) {
+        String[] keys = documentKeys.remove(bookId);
+        if (keys == null) {
+            return;
+        }
+        all.remove(bookId);
+        for (Facet facet : Facet.values()) {
+            removeValue(facet, keys[facet.ordinal()], bookId);
+        }
+    }
+
+    /**
+     * Books with one value of a facet, under the spelling first indexed
+     */
+    private static final class FacetValue {
+        private final String label;
+        private final BookIdBitmap ids = new BookIdBitmap();
+
+        FacetValue(String label) {
+            this.label = label;
+        }
+    }
+}
@@ -0,0 +1,425 @@
+package com.example.bookstore.search;
+
+import java.util.Arrays;
+
+/**
+ * Compressed set of book IDs. IDs are split into chunks of 65,536 by their high bits; a chunk
+ * holds a sorted {@code char[]} of its low bits while it has at most {@value #ARRAY_MAX} members
+ * and an 8 KB bitset beyond that, so sparse values (a publisher with three books) and dense ones
+ * (in stock) both stay small. Intersections work chunk by chunk without expanding either side.
+ * <p>
+ * Not thread-safe; {@link BookFacetIndex} guards its bitmaps with a read/write lock.
+ */
+final class BookIdBitmap {
+
+    static final int ARRAY_MAX = 4096;
+
+    private static final int WORDS = 1024;
+
+    private long[] keys = new long[0];
+    private Chunk[] chunks = new Chunk[0];
+    private int size;
+
+    /**
+     * Bitmap of the given IDs, which must be distinct and in ascending order
+     */
+    static BookIdBitmap ofSorted(long[] ids) {
+        BookIdBitmap bitmap = new BookIdBitmap();
+        int start = 0;
+        while (start < ids.length) {
+            long key = ids[start] >>> 16;
+            int end = start;
+            while (end < ids.length && ids[end] >>> 16 == key) {
+                end++;
+            }
+            Chunk chunk;
+            if (end - start <= ARRAY_MAX) {
+                char[] values = new char[end - start];
+                for (int i = start; i < end; i++) {
+                    values[i - start] = (char) ids[i];
+                }
+                chunk = new ArrayChunk(values, values.length);
+            } else {
+                BitsetChunk bits = new BitsetChunk();
+                for (int i = start; i < end; i++) {
+                    bits.add((char) ids[i]);
+                }
+                chunk = bits;
+            }
+            bitmap.append(key, chunk);
+            start = end;
+        }
+        return bitmap;
+    }
+
+    /**
+     * Add an ID; returns whether it was absent
+     */
+    boolean add(long id) {
+        long key = id >>> 16;
+        int index = Arrays.binarySearch(keys, 0, size, key);
+        if (index < 0) {
+            insert(-index - 1, key, new ArrayChunk(new char[]{(char) id}, 1));
+            return true;
+        }
+        Chunk chunk = chunks[index];
+        int before = chunk.cardinality();
+        chunks[index] = chunk.add((char) id);
+        return chunks[index].cardinality() > before;
+    }
+
+    /**
+     * Remove an ID; returns whether it was present
+     */
+    boolean remove(long id) {
+        int index = Arrays.binarySearch(keys, 0, size, id >>> 16);
+        if (index < 0) {
+            return false;
+        }
+        Chunk chunk = chunks[index];
+        int before = chunk.cardinality();
+        Chunk after = chunk.remove((char) id);
+        if (after.cardinality() == 0) {
+            System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+            System.arraycopy(chunks, index + 1, chunks, index, size - index - 1);
+            chunks[--size] = null;
+        } else {
+            chunks[index] = after;
+        }
+        return after.cardinality() < before;
+    }
+
+    boolean contains(long id) {
+        int index = Arrays.binarySearch(keys, 0, size, id >>> 16);
+        return index >= 0 && chunks[index].contains((char) id);
+    }
+
+    long cardinality() {
+        long cardinality = 0;
+        for (int i = 0; i < size; i++) {
+            cardinality += chunks[i].cardinality();
+        }
+        return cardinality;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * IDs present in both bitmaps, as a new bitmap
+     */
+    BookIdBitmap and(BookIdBitmap other) {
+        BookIdBitmap result = new BookIdBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                Chunk chunk = chunks[i].and(other.chunks[j]);
+                if (chunk.cardinality() > 0) {
+                    result.append(keys[i], chunk);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Number of IDs present in both bitmaps, without materializing the intersection
+     */
+    long andCardinality(BookIdBitmap other) {
+        long cardinality = 0;
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                cardinality += chunks[i].andCardinality(other.chunks[j]);
+                i++;
+                j++;
+            }
+        }
+        return cardinality;
+    }
+
+    /**
+     * All IDs in ascending order
+     */
+    long[] toArray() {
+        long[] ids = new long[(int) cardinality()];
+        int offset = 0;
+        for (int i = 0; i < size; i++) {
+            offset = chunks[i].copyTo(keys[i] << 16, ids, offset);
+        }
+        return ids;
+    }
+
+    private void append(long key, Chunk chunk) {
+        insert(size, key, chunk);
+    }
+
+    private void insert(int index, long key, Chunk chunk) {
+        if (size == keys.length) {
+            int capacity = size + (size >> 1) + 1;
+            keys = Arrays.copyOf(keys, capacity);
+            chunks = Arrays.copyOf(chunks, capacity);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(chunks, index, chunks, index + 1, size - index);
+        keys[index] = key;
+        chunks[index] = chunk;
+        size++;
+    }
+
+    /**
+     * Members of one 65,536-ID range, by their low 16 bits. Mutators return the chunk to keep,
+     * which changes representation when it crosses {@link #ARRAY_MAX}.
+     */
+    private abstract static class Chunk {
+
+        abstract Chunk add(char value);
+
+        abstract Chunk remove(char value);
+
+        abstract boolean contains(char value);
+
+        abstract int cardinality();
+
+        abstract Chunk and(Chunk other);
+
+        abstract int andCardinality(Chunk other);
+
+        /** Write the members, offset by {@code base}, into {@code ids}; returns the next offset */
+        abstract int copyTo(long base, long[] ids, int offset);
+    }
+
+    private static final class ArrayChunk extends Chunk {
+
+        private char[] values;
+        private int cardinality;
+
+        ArrayChunk(char[] values, int cardinality) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        Chunk add(char value) {
+            int index = Arrays.binarySearch(values, 0, cardinality, value);
+            if (index >= 0) {
+                return this;
+            }
+            if (cardinality == ARRAY_MAX) {
+                BitsetChunk bits = new BitsetChunk();
+                for (int i = 0; i < cardinality; i++) {
+                    bits.add(values[i]);
+                }
+                return bits.add(value);
+            }
+            int insertAt = -index - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_MAX, cardinality + (cardinality >> 1) + 1));
+            }
+            System.arraycopy(values, insertAt, values, insertAt + 1, cardinality - insertAt);
+            values[insertAt] = value;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        Chunk remove(char value) {
+            int index = Arrays.binarySearch(values, 0, cardinality, value);
+            if (index >= 0) {
+                System.arraycopy(values, index + 1, values, index, cardinality - index - 1);
+                cardinality--;
+            }
+            return this;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        Chunk and(Chunk other) {
+            char[] common = new char[Math.min(cardinality, other.cardinality())];
+            int count = 0;
+            if (other instanceof ArrayChunk array) {
+                int i = 0;
+                int j = 0;
+                while (i < cardinality && j < array.cardinality) {
+                    if (values[i] < array.values[j]) {
+                        i++;
+                    } else if (values[i] > array.values[j]) {
+                        j++;
+                    } else {
+                        common[count++] = values[i];
+                        i++;
+                        j++;
+                    }
+                }
+            } else {
+                for (int i = 0; i < cardinality; i++) {
+                    if (other.contains(values[i])) {
+                        common[count++] = values[i];
+                    }
+                }
+            }
+            return new ArrayChunk(common, count);
+        }
+
+        @Override
+        int andCardinality(Chunk other) {
+            int count = 0;
+            if (other instanceof ArrayChunk array) {
+                int i = 0;
+                int j = 0;
+                while (i < cardinality && j < array.cardinality) {
+                    if (values[i] < array.values[j]) {
+                        i++;
+                    } else if (values[i] > array.values[j]) {
+                        j++;
+                    } else {
+                        count++;
+                        i++;
+                        j++;
+                    }
+                }
+            } else {
+                for (int i = 0; i < cardinality; i++) {
+                    if (other.contains(values[i])) {
+                        count++;
+                    }
+                }
+            }
+            return count;
+        }
+
+        @Override
+        int copyTo(long base, long[] ids, int offset) {
+            for (int i = 0; i < cardinality; i++) {
+                ids[offset++] = base | values[i];
+            }
+            return offset;
+        }
+    }
+
+    private static final class BitsetChunk extends Chunk {
+
+        private final long[] words;
+        private int cardinality;
+
+        BitsetChunk() {
+            this(new long[WORDS], 0);
+        }
+
+        private BitsetChunk(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        Chunk add(char value) {
+            long bit = 1L << value;
+            int word = value >>> 6;
+            if ((words[word] & bit) == 0) {
+                words[word] |= bit;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        Chunk remove(char value) {
+            long bit = 1L << value;
+            int word = value >>> 6;
+            if ((words[word] & bit) != 0) {
+                words[word] &= ~bit;
+                cardinality--;
+                if (cardinality <= ARRAY_MAX / 2) {
+                    return toArrayChunk();
+                }
+            }
+            return this;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        Chunk and(Chunk other) {
+            if (other instanceof ArrayChunk) {
+                return other.and(this);
+            }
+            BitsetChunk bits = (BitsetChunk) other;
+            long[] common = new long[WORDS];
+            int count = 0;
+            for (int i = 0; i < WORDS; i++) {
+                common[i] = words[i] & bits.words[i];
+                count += Long.bitCount(common[i]);
+            }
+            BitsetChunk result = new BitsetChunk(common, count);
+            return count > ARRAY_MAX ? result : result.toArrayChunk();
+        }
+
+        @Override
+        int andCardinality(Chunk other) {
+            if (other instanceof ArrayChunk) {
+                return other.andCardinality(this);
+            }
+            BitsetChunk bits = (BitsetChunk) other;
+            int count = 0;
+            for (int i = 0; i < WORDS; i++) {
+                count += Long.bitCount(words[i] & bits.words[i]);
+            }
+            return count;
+        }
+
+        @Override
+        int copyTo(long base, long[] ids, int offset) {
+            for (int i = 0; i < WORDS; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    ids[offset++] = base | ((long) i << 6) | Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                }
+            }
+            return offset;
+        }
+
+        private ArrayChunk toArrayChunk() {
+            char[] values = new char[cardinality];
+            int count = 0;
+            for (int i = 0; i < WORDS; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    values[count++] = (char) ((i << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return new ArrayChunk(values, count);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.bookstore.search;
+
+import com.example.bookstore.event.BookSnapshot;
+import com.example.bookstore.model.Book;
+import com.example.bookstore.repository.BookRepository;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Loads the whole catalog into an in-memory index while committed changes keep arriving.
+ * <p>
+ * A batch can be read before a book in it is updated or deleted and indexed after that change
+ * has been applied, which would leave the stale row (or a deleted book) in the index. So while
+ * a load runs, changes passed to {@link #apply} are queued and replayed in order once every
+ * batch is indexed; the last change to a book then always wins. Books the load did not read
+ * are swept before the replay, so reloading also drops books deleted in the meantime.
+ */
+final class BookIndexLoader {
+
+    private final BookRepository bookRepository;
+    private final int batchSize;
+
+    // Guarded by this; non-null while a load runs
+    private List<Runnable> pending;
+
+    BookIndexLoader(BookRepository bookRepository, int batchSize) {
+        this.bookRepository = bookRepository;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Apply a committed change now, or after the running load
+     */
+    void apply(Runnable change) {
+        synchronized (this) {
+            if (pending != null) {
+                pending.add(change);
+                return;
+            }
+        }
+        change.run();
+    }
+
+    /**
+     * Stream every book in ID order into {@code index}, then pass the IDs read to {@code retain}
+     * so the index can drop everything else, then replay the changes queued meanwhile
+     *
+     * @return the number of books read
+     * @throws IllegalStateException if a load is already running
+     */
+    int load(Consumer<BookSnapshot> index, Consumer<BookIdBitmap> retain) {
+        synchronized (this) {
+            if (pending != null) {
+                throw new IllegalStateException("Index load already running");
+            }
+            pending = new ArrayList<>();
+        }
+
+        try {
+            BookIdBitmap loaded = new BookIdBitmap();
+            long lastId = 0;
+            int count = 0;
+
+            List<Book> batch;
+            do {
+                batch = bookRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, batchSize));
+                for (Book book : batch) {
+                    index.accept(BookSnapshot.of(book));
+                    loaded.add(book.getId());
+                    lastId = book.getId();
+                }
+                count += batch.size();
+            } while (batch.size() == batchSize);
+
+            retain.accept(loaded);
+            return count;
+        } finally {
+            replay();
+        }
+    }
+
+    private void replay() {
+        while (true) {
+            List<Runnable> changes;
+            synchronized (this) {
+                if (pending.isEmpty()) {
+                    pending = null;
+                    return;
+                }
+                changes = pending;
+                pending = new ArrayList<>();
+            }
+            changes.forEach(Runnable::run);
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package com.example.bookstore.search;
+
+import com.example.bookstore.event.BookChangedEvent;
+import com.example.bookstore.event.BookSnapshot;
+import com.example.bookstore.repository.BookRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over book title, author, category, publisher and description.
+ * Built from the repository at startup and kept current from committed book change events.
+ * Queries match every term (the final term also as a prefix) and rank by boosted TF-IDF.
+ */
+@Component
+public class BookSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(BookSearchIndex.class);
+
+    /** Score factor for terms matched only through prefix expansion */
+    private static final float PREFIX_MATCH_FACTOR = 0.5f;
+
+    private final BookIndexLoader loader;
+    private final boolean enabled;
+    private final int maxPrefixExpansions;
+
+    private final Map<SearchField, NavigableMap<String, PostingList>> postings = new EnumMap<>(SearchField.class);
+    private final Map<Long, String[][]> documentTerms = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    @Autowired
+    public BookSearchIndex(BookRepository bookRepository,
+                           @Value("${app.search.index.enabled:true}") boolean enabled,
+                           @Value("${app.search.index.batch-size:1000}") int batchSize,
+                           @Value("${app.search.index.max-prefix-expansions:64}") int maxPrefixExpansions) {
+        this.loader = new BookIndexLoader(bookRepository, batchSize);
+        this.enabled = enabled;
+        this.maxPrefixExpansions = maxPrefixExpansions;
+        for (SearchField field : SearchField.values()) {
+            postings.put(field, new TreeMap<>());
+        }
+    }
+
+    /**
+     * Build the index in the background once the application is up.
+     * Searches fall back to the database until the build completes.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        Thread builder = new Thread(this::rebuild, "book-search-index-builder");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    /**
+     * (Re)index every book, streaming the catalog in ID order. Changes committed meanwhile are
+     * replayed afterwards and books no longer in the catalog are dropped.
+     */
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        int indexed = loader.load(this::index, this::retain);
+        ready = true;
+        log.info("Book search index built: {} books in {} ms", indexed, System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (event.getCurrent() != null) {
+            loader.apply(() -> index(event.getCurrent()));
+        } else {
+            loader.apply(() -> remove(event.getBookId()));
+        }
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * Add or replace a book in the index
+     */
+    public void index(BookSnapshot book) {
+        SearchField[] fields = SearchField.values();
+        List<Map<String, Integer>> frequencies = new ArrayList<>(fields.length);
+        for (SearchField field : fields) {
+            Map<String, Integer> termFrequencies = new HashMap<>();
+            for (String token : Tokenizer.tokenize(field.valueOf(book))) {
+                termFrequencies.merge(token, 1, Integer::sum);
+            }
+            frequencies.add(termFrequencies);
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeDocument(book.getId());
+
+            String[][] terms = new String[fields.length][];
+            for (SearchField field : fields) {
+                NavigableMap<String, PostingList> dictionary = postings.get(field);
+                Map<String, Integer> termFrequencies = frequencies.get(field.ordinal());
+                String[] fieldTerms = new String[termFrequencies.size()];
+                int i = 0;
+                for (Map.Entry<String, Integer> entry : termFrequencies.entrySet()) {
+                    String term = canonical(dictionary, entry.getKey());
+                    dictionary.computeIfAbsent(term, key -> new PostingList()).put(book.getId(), entry.getValue());
+                    fieldTerms[i++] = term;
+                }
+                terms[field.ordinal()] = fieldTerms;
+            }
+            documentTerms.put(book.getId(), terms);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a book from the index
+     */
+    public void remove(Long bookId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Search the given fields. Returns empty when the index is disabled or still building,
+     * in which case callers should fall back to the database.
+     */
+    public Optional<SearchHits> search(String query, Set<SearchField> fields) {
+        if (!isReady()) {
+            return Optional.empty();
+        }
+
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(Tokenizer.tokenize(query)));
+        if (terms.isEmpty()) {
+            return Optional.of(SearchHits.empty());
+        }
+
+        lock.readLock().lock();
+        try {
+            List<List<WeightedPostings>> resolved = new ArrayList<>(terms.size());
+            for (int i = 0; i < terms.size(); i++) {
+                List<WeightedPostings> matches = resolve(terms.get(i), fields, i == terms.size() - 1);
+                if (matches.isEmpty()) {
+                    return Optional.of(SearchHits.empty());
+                }
+                resolved.add(matches);
+            }
+            // Seed candidates from the rarest term, then probe the others
+            resolved.sort(Comparator.comparingLong(BookSearchIndex::postingCount));
+
+            Map<Long, Float> scores = new HashMap<>();
+            for (WeightedPostings match : resolved.get(0)) {
+                for (int i = 0; i < match.postings.size(); i++) {
+                    scores.merge(match.postings.bookIdAt(i), match.score(match.postings.frequencyAt(i)), Float::sum);
+                }
+            }
+
+            for (int t = 1; t < resolved.size() && !scores.isEmpty(); t++) {
+                Iterator<Map.Entry<Long, Float>> candidates = scores.entrySet().iterator();
+                while (candidates.hasNext()) {
+                    Map.Entry<Long, Float> candidate = candidates.next();
+                    float termScore = 0;
+                    for (WeightedPostings match : resolved.get(t)) {
+                        int frequency = match.postings.frequency(candidate.getKey());
+                        if (frequency > 0) {
+                            termScore += match.score(frequency);
+                        }
+                    }
+                    if (termScore == 0) {
+                        candidates.remove();
+                    } else {
+                        candidate.setValue(candidate.getValue() + termScore);
+                    }
+                }
+            }
+            return Optional.of(SearchHits.of(scores));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Posting lists matching a query term in the given fields; the final query term
+     * also matches longer terms sharing its prefix.
+     */
+    private List<WeightedPostings> resolve(String term, Set<SearchField> fields, boolean prefix) {
+        List<WeightedPostings> matches = new ArrayList<>();
+        int documentCount = documentTerms.size();
+
+        for (SearchField field : fields) {
+            NavigableMap<String, PostingList> dictionary = postings.get(field);
+            if (!prefix) {
+                PostingList exact = dictionary.get(term);
+                if (exact != null) {
+                    matches.add(new WeightedPostings(exact, field.getBoost(), documentCount));
+                }
+                continue;
+            }
+
+            int expansions = 0;
+            for (Map.Entry<String, PostingList> entry
+                    : dictionary.subMap(term, true, term + Character.MAX_VALUE, false).entrySet()) {
+                if (expansions++ >= maxPrefixExpansions) {
+                    break;
+                }
+                float boost = entry.getKey().equals(term) ? field.getBoost() : field.getBoost() * PREFIX_MATCH_FACTOR;
+                matches.add(new WeightedPostings(entry.getValue(), boost, documentCount));
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Drop every book not in {@code ids}
+     */
+    private void retain(BookIdBitmap ids) {
+        lock.writeLock().lock();
+        try {
+            List<Long> stale = documentTerms.keySet().stream().filter(id -> !ids.contains(id)).toList();
+            stale.forEach(this::removeDocument);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeDocument(Long bookId) {
+        String[][] terms = documentTerms.remove(bookId);
+        if (terms == null) {
+            return;
+        }
+        for (SearchField field : SearchField.values()) {
+            NavigableMap<String, PostingList> dictionary = postings.get(field);
+            for (String term : terms[field.ordinal()]) {
+                PostingList list = dictionary.get(term);
+                if (list != null) {
+                    list.remove(bookId);
+                    if (list.isEmpty()) {
+                        dictionary.remove(term);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Reuse the dictionary's key instance so each distinct term is stored once
+     */
+    private static String canonical(NavigableMap<String, PostingList> dictionary, String term) {
+        String existing = dictionary.ceilingKey(term);
+        return term.equals(existing) ? existing : term;
+    }
+
+    private static long postingCount(List<WeightedPostings> matches) {
+        long count = 0;
+        for (WeightedPostings match : matches) {
+            count += match.postings.size();
+        }
+        return count;
+    }
+
+    private static final class WeightedPostings {
+        private final PostingList postings;
+        private final float weight;
+
+        WeightedPostings(PostingList postings, float boost, int documentCount) {
+            this.postings = postings;
+            this.weight = boost * (float) Math.log(1.0 + (double) documentCount / postings.size());
+        }
+
+        float score(int frequency) {
+            return weight * (1.0f + (float) Math.log(frequency));
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.bookstore.search;
+
+import com.example.bookstore.event.BookSnapshot;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Book attributes counted and filtered by {@link BookFacetIndex}. Each book has at most one
+ * value per facet: its category, publisher, {@code true}/{@code false} for in stock, a price
+ * bucket such as {@code 10-20} or {@code 50+} (lower bound inclusive), or a publication decade
+ * such as {@code 1990s}.
+ */
+public enum Facet {
+
+    CATEGORY("category", true, BookSnapshot::getCategory),
+    PUBLISHER("publisher", true, BookSnapshot::getPublisher),
+    IN_STOCK("inStock", false, book -> book.getStockQuantity() == null ? null
+            : String.valueOf(book.getStockQuantity() > 0)),
+    PRICE("price", false, book -> priceBucket(book.getPrice())),
+    DECADE("decade", false, book -> book.getPublicationDate() == null ? null
+            : decade(book.getPublicationDate().getYear()));
+
+    /** Lower bounds of the price buckets; the last bucket is open-ended */
+    static final int[] PRICE_BOUNDS = {0, 10, 20, 30, 50};
+
+    private static final Pattern DECADE_PATTERN = Pattern.compile("\\d{3}0s");
+
+    private final String parameter;
+    private final boolean ranked;
+    private final Function<BookSnapshot, String> extractor;
+
+    Facet(String parameter, boolean ranked, Function<BookSnapshot, String> extractor) {
+        this.parameter = parameter;
+        this.ranked = ranked;
+        this.extractor = extractor;
+    }
+
+    /**
+     * Name of the facet in requests and responses
+     */
+    public String getParameter() { return parameter; }
+
+    /**
+     * Whether values are listed by descending count and truncated (open-ended facets), rather
+     * than all listed in their natural order (buckets)
+     */
+    boolean isRanked() { return ranked; }
+
+    /**
+     * The book's value for this facet as it should be displayed, or {@code null} when it has none
+     */
+    String valueOf(BookSnapshot book) {
+        String value = extractor.apply(book);
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    /**
+     * Key under which a value is indexed and looked up; values differing only in case share one
+     */
+    static String key(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Check a filter value from a request and return its key
+     *
+     * @throws IllegalArgumentException if the value can never match this facet
+     */
+    public String filterKey(String value) {
+        String key = key(value);
+        boolean valid = switch (this) {
+            case IN_STOCK -> key.equals("true") || key.equals("false");
+            case PRICE -> Arrays.stream(PRICE_BOUNDS).anyMatch(bound -> priceLabel(bound).equals(key));
+            case DECADE -> DECADE_PATTERN.matcher(key).matches();
+            default -> !key.isEmpty();
+        };
+        if (!valid) {
+            throw new IllegalArgumentException("Invalid " + parameter + " value: " + value);
+        }
+        return key;
+    }
+
+    /**
+     * Order of values in a response when they are not ranked by count
+     */
+    Comparator<String> naturalOrder() {
+        if (this == PRICE) {
+            return Comparator.comparingInt(Facet::priceBucketIndex);
+        }
+        return Comparator.naturalOrder();
+    }
+
+    /**
+     * Inclusive lower and exclusive upper bound of a price bucket key; the upper bound of the
+     * last bucket is {@code null}
+     */
+    public static BigDecimal[] priceRange(String key) {
+        int index = priceBucketIndex(key);
+        return new BigDecimal[]{
+                BigDecimal.valueOf(PRICE_BOUNDS[index]),
+                index + 1 < PRICE_BOUNDS.length ? BigDecimal.valueOf(PRICE_BOUNDS[index + 1]) : null};
+    }
+
+    /**
+     * First year of a decade key such as {@code 1990s}
+     */
+    public static int decadeStart(String key) {
+        return Integer.parseInt(key.substring(0, 4));
+    }
+
+    /**
+     * The facets named in a comma-separated request parameter; all of them when it names none
+     */
+    public static Set<Facet> fromParameter(String value) {
+        Set<Facet> facets = EnumSet.noneOf(Facet.class);
+        for (String name : value.split(",")) {
+            String trimmed = name.trim();
+            if (!trimmed.isEmpty()) {
+                facets.add(fromName(trimmed));
+            }
+        }
+        return facets.isEmpty() ? EnumSet.allOf(Facet.class) : facets;
+    }
+
+    private static Facet fromName(String name) {
+        for (Facet facet : values()) {
+            if (facet.parameter.equals(name)) {
+                return facet;
+            }
+        }
+        throw new IllegalArgumentException("Unknown facet: " + name + " (expected any of " +
+                Arrays.stream(values()).map(Facet::getParameter).collect(Collectors.joining(", ")) + ")");
+    }
+
+    private static String priceBucket(BigDecimal price) {
+        if (price == null) {
+            return null;
+        }
+        int bound = PRICE_BOUNDS[0];
+        for (int candidate : PRICE_BOUNDS) {
+            if (price.compareTo(BigDecimal.valueOf(candidate)) >= 0) {
+                bound = candidate;
+            }
+        }
+        return priceLabel(bound);
+    }
+
+    private static String priceLabel(int lowerBound) {
+        int index = Arrays.binarySearch(PRICE_BOUNDS, lowerBound);
+        return index + 1 < PRICE_BOUNDS.length
+                ? lowerBound + "-" + PRICE_BOUNDS[index + 1]
+                : lowerBound + "+";
+    }
+
+    private static int priceBucketIndex(String key) {
+        for (int i = 0; i < PRICE_BOUNDS.length; i++) {
+            if (priceLabel(PRICE_BOUNDS[i]).equals(key)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Invalid price value: " + key);
+    }
+
+    private static String decade(int year) {
+        return Math.floorDiv(year, 10) * 10 + "s";
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.bookstore.search;
+
+/**
+ * Number of matching books having one value of a facet
+ */
+public class FacetCount {
+
+    private final String value;
+    private final long count;
+
+    public FacetCount(String value, long count) {
+        this.value = value;
+        this.count = count;
+    }
+
+    // Getters
+    public String getValue() { return value; }
+    public long getCount() { return count; }
+}
@@ -0,0 +1,26 @@
+package com.example.bookstore.search;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of {@link BookFacetIndex#facet}: the hits that pass every facet filter, and for each
+ * requested facet the counts of its values among the hits passing the other filters
+ */
+public final class FacetedHits {
+
+    private final SearchHits hits;
+    private final Map<Facet, List<FacetCount>> counts;
+
+    FacetedHits(SearchHits hits, Map<Facet, List<FacetCount>> counts) {
+        this.hits = hits;
+        this.counts = counts;
+    }
+
+    public SearchHits getHits() { return hits; }
+
+    /**
+     * Counts per requested facet, in {@link Facet} order
+     */
+    public Map<Facet, List<FacetCount>> getCounts() { return counts; }
+}
@@ -0,0 +1,60 @@
+package com.example.bookstore.search;
+
+import java.util.Arrays;
+
+/**
+ * Sorted list of (book ID, term frequency) pairs for a single term in a single field.
+ * Stored as parallel primitive arrays to keep the per-posting footprint small.
+ */
+final class PostingList {
+
+    private long[] bookIds = new long[2];
+    private int[] frequencies = new int[2];
+    private int size;
+
+    void put(long bookId, int frequency) {
+        int index = Arrays.binarySearch(bookIds, 0, size, bookId);
+        if (index >= 0) {
+            frequencies[index] = frequency;
+            return;
+        }
+
+        int insertAt = -index - 1;
+        if (size == bookIds.length) {
+            int capacity = size + (size >> 1) + 1;
+            bookIds = Arrays.copyOf(bookIds, capacity);
+            frequencies = Arrays.copyOf(frequencies, capacity);
+        }
+        System.arraycopy(bookIds, insertAt, bookIds, insertAt + 1, size - insertAt);
+        System.arraycopy(frequencies, insertAt, frequencies, insertAt + 1, size - insertAt);
+        bookIds[insertAt] = bookId;
+        frequencies[insertAt] = frequency;
+        size++;
+    }
+
+    void remove(long bookId) {
+        int index = Arrays.binarySearch(bookIds, 0, size, bookId);
+        if (index < 0) {
+            return;
+        }
+        System.arraycopy(bookIds, index + 1, bookIds, index, size - index - 1);
+        System.arraycopy(frequencies, index + 1, frequencies, index, size - index - 1);
+        size--;
+    }
+
+    /**
+     * Term frequency for the book, or 0 when the book does not contain the term
+     */
+    int frequency(long bookId) {
+        int index = Arrays.binarySearch(bookIds, 0, size, bookId);
+        return index >= 0 ? frequencies[index] : 0;
+    }
+
+    int size() { return size; }
+
+    boolean isEmpty() { return size == 0; }
+
+    long bookIdAt(int index) { return bookIds[index]; }
+
+    int frequencyAt(int index) { return frequencies[index]; }
+}
@@ -0,0 +1,31 @@
+package com.example.bookstore.search;
+
+import com.example.bookstore.event.BookSnapshot;
+
+import java.util.function.Function;
+
+/**
+ * Book fields covered by the full-text index, with their ranking boosts
+ */
+public enum SearchField {
+
+    TITLE(3.0f, BookSnapshot::getTitle),
+    AUTHOR(2.0f, BookSnapshot::getAuthor),
+    CATEGORY(1.5f, BookSnapshot::getCategory),
+    PUBLISHER(1.0f, BookSnapshot::getPublisher),
+    DESCRIPTION(0.5f, BookSnapshot::getDescription);
+
+    private final float boost;
+    private final Function<BookSnapshot, String> extractor;
+
+    SearchField(float boost, Function<BookSnapshot, String> extractor) {
+        this.boost = boost;
+        this.extractor = extractor;
+    }
+
+    public float getBoost() { return boost; }
+
+    String valueOf(BookSnapshot book) {
+        return extractor.apply(book);
+    }
+}
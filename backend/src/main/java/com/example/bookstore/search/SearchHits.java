@@ -0,0 +1,147 @@
+package com.example.bookstore.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Set of matching book IDs (kept in ascending ID order) with relevance scores.
+ * Ranking is deferred until a page is requested, and only the top
+ * {@code offset + limit} hits are ever ordered.
+ */
+public final class SearchHits {
+
+    private static final SearchHits EMPTY = new SearchHits(new long[0], new float[0]);
+
+    private final long[] bookIds;
+    private final float[] scores;
+
+    private SearchHits(long[] bookIds, float[] scores) {
+        this.bookIds = bookIds;
+        this.scores = scores;
+    }
+
+    static SearchHits of(Map<Long, Float> scoresByBookId) {
+        long[] ids = new long[scoresByBookId.size()];
+        int i = 0;
+        for (Long id : scoresByBookId.keySet()) {
+            ids[i++] = id;
+        }
+        Arrays.sort(ids);
+
+        float[] scores = new float[ids.length];
+        for (i = 0; i < ids.length; i++) {
+            scores[i] = scoresByBookId.get(ids[i]);
+        }
+        return new SearchHits(ids, scores);
+    }
+
+    /**
+     * Hits with equal scores, so pages are in ascending ID order
+     */
+    static SearchHits unranked(long[] sortedBookIds) {
+        return new SearchHits(sortedBookIds, new float[sortedBookIds.length]);
+    }
+
+    public static SearchHits empty() {
+        return EMPTY;
+    }
+
+    public int getTotal() {
+        return bookIds.length;
+    }
+
+    /**
+     * Matching book IDs in ascending order
+     */
+    public long[] getBookIds() {
+        return Arrays.copyOf(bookIds, bookIds.length);
+    }
+
+    /**
+     * Book IDs for the requested page, ordered by descending score then ascending ID
+     */
+    public List<Long> page(long offset, int limit) {
+        if (offset >= bookIds.length || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        int wanted = (int) Math.min(bookIds.length, offset + limit);
+        Comparator<Integer> byRank = (a, b) -> {
+            int cmp = Float.compare(scores[b], scores[a]);
+            return cmp != 0 ? cmp : Long.compare(bookIds[a], bookIds[b]);
+        };
+
+        // Min-heap (by rank) holding the best `wanted` hits seen so far
+        PriorityQueue<Integer> best = new PriorityQueue<>(wanted, byRank.reversed());
+        for (int i = 0; i < bookIds.length; i++) {
+            if (best.size() < wanted) {
+                best.add(i);
+            } else if (byRank.compare(i, best.peek()) < 0) {
+                best.poll();
+                best.add(i);
+            }
+        }
+
+        List<Integer> ranked = new ArrayList<>(best);
+        ranked.sort(byRank);
+
+        List<Long> page = new ArrayList<>(limit);
+        for (int i = (int) offset; i < ranked.size(); i++) {
+            page.add(bookIds[ranked.get(i)]);
+        }
+        return page;
+    }
+
+    /**
+     * Hits present in both sets, with scores summed
+     */
+    public SearchHits intersect(SearchHits other) {
+        int capacity = Math.min(getTotal(), other.getTotal());
+        long[] ids = new long[capacity];
+        float[] combined = new float[capacity];
+        int count = 0;
+
+        int i = 0;
+        int j = 0;
+        while (i < bookIds.length && j < other.bookIds.length) {
+            if (bookIds[i] < other.bookIds[j]) {
+                i++;
+            } else if (bookIds[i] > other.bookIds[j]) {
+                j++;
+            } else {
+                ids[count] = bookIds[i];
+                combined[count] = scores[i] + other.scores[j];
+                count++;
+                i++;
+                j++;
+            }
+        }
+        return new SearchHits(Arrays.copyOf(ids, count), Arrays.copyOf(combined, count));
+    }
+
+    /**
+     * Hits whose book is in the bitmap, with their scores
+     */
+    SearchHits retain(BookIdBitmap ids) {
+        long[] kept = new long[bookIds.length];
+        float[] keptScores = new float[bookIds.length];
+        int count = 0;
+        for (int i = 0; i < bookIds.length; i++) {
+            if (ids.contains(bookIds[i])) {
+                kept[count] = bookIds[i];
+                keptScores[count] = scores[i];
+                count++;
+            }
+        }
+        return new SearchHits(Arrays.copyOf(kept, count), Arrays.copyOf(keptScores, count));
+    }
+
+    BookIdBitmap toBitmap() {
+        return BookIdBitmap.ofSorted(bookIds);
+    }
+}
@@ -0,0 +1,255 @@
+package com.example.bookstore.seed;
+
+import com.example.bookstore.model.Book;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic generator of a production-shaped catalog: the same seed and catalog size always
+ * produce the same books in the same order.
+ * <p>
+ * Authors, categories, publishers and title words are Zipf distributed, so a few authors and
+ * categories own most of the catalog while the rest form a long tail. Description lengths are
+ * log-normal (most are a paragraph, a few run to thousands of words), prices and page counts
+ * are log-normal around typical values, publication dates lean towards recent years, and a share
+ * of books has no ISBN, no description, no cover or no stock. Creation timestamps grow with the
+ * position in the catalog, as they would for books added over the years.
+ * <p>
+ * Not thread-safe; use one generator per loading thread.
+ */
+public class CatalogGenerator {
+
+    /** Share of books without an ISBN */
+    static final double NULL_ISBN_SHARE = 0.08;
+    /** Share of books with no stock */
+    static final double OUT_OF_STOCK_SHARE = 0.15;
+    /** Share of books without a description */
+    static final double NULL_DESCRIPTION_SHARE = 0.05;
+    /** Share of books without a cover image */
+    static final double NULL_IMAGE_SHARE = 0.20;
+    /** Average number of books per author */
+    static final int BOOKS_PER_AUTHOR = 8;
+
+    static final LocalDateTime CATALOG_END = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final LocalDateTime CATALOG_START = CATALOG_END.minusYears(6);
+    private static final int MAX_DESCRIPTION_WORDS = 5_000;
+
+    static final String[] CATEGORIES = {
+            "Fiction", "Mystery", "Romance", "Science Fiction", "Fantasy", "Thriller", "Biography",
+            "History", "Children", "Young Adult", "Self-Help", "Business", "Computers", "Science",
+            "Cooking", "Travel", "Religion", "Poetry", "Art", "Health", "Psychology", "Philosophy",
+            "Politics", "Sports", "Music", "Education", "Reference", "Law", "Medicine", "Comics",
+            "Horror", "Gardening"};
+
+    private static final String[] FIRST_NAMES = {
+            "James", "Mary", "John", "Patricia", "Robert", "Jennifer", "Michael", "Linda", "William",
+            "Elizabeth", "David", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah",
+            "Charles", "Karen", "Daniel", "Nancy", "Matthew", "Lisa", "Anthony", "Margaret", "Mark",
+            "Sandra", "Paul", "Ashley", "Steven", "Emily", "Andrew", "Donna", "Kenneth", "Michelle",
+            "Haruki", "Chimamanda", "Olga", "Mateo", "Ingrid", "Ravi", "Amara", "Lucia", "Tomasz",
+            "Yuki", "Santiago", "Noor"};
+
+    private static final String[] LAST_NAMES = {
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez",
+            "Martinez", "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor",
+            "Moore", "Jackson", "Martin", "Lee", "Perez", "Thompson", "White", "Harris", "Sanchez",
+            "Clark", "Ramirez", "Lewis", "Robinson", "Walker", "Young", "Allen", "King", "Wright",
+            "Scott", "Torres", "Nguyen", "Hill", "Flores", "Green", "Adams", "Nelson", "Baker", "Hall",
+            "Rivera", "Campbell", "Mitchell", "Carter", "Roberts", "Tanaka", "Okafor", "Kowalski",
+            "Novak", "Lindqvist", "Sharma", "Haddad", "Rossi", "Schmidt", "Dubois"};
+
+    private static final String[] PUBLISHER_STEMS = {
+            "Penguin", "Harbor", "Northwind", "Silverline", "Oakridge", "Bluebird", "Lantern", "Meridian",
+            "Granite", "Riverbend", "Summit", "Foxglove", "Ironwood", "Beacon", "Cobalt", "Willow",
+            "Sterling", "Aurora", "Redwood", "Compass", "Atlas", "Juniper", "Kestrel", "Marlow"};
+
+    private static final String[] PUBLISHER_SUFFIXES = {"Press", "Books", "House", "Publishing", "Editions"};
+
+    /** Title and description vocabulary, roughly in order of how common the word should be */
+    static final String[] WORDS = {
+            "the", "of", "and", "a", "in", "to", "life", "world", "love", "history", "house", "night",
+            "time", "guide", "story", "secret", "last", "new", "war", "city", "dark", "light", "man",
+            "woman", "girl", "boy", "heart", "day", "art", "book", "home", "water", "fire", "king",
+            "queen", "garden", "river", "road", "sea", "star", "shadow", "dream", "game", "blood",
+            "stone", "winter", "summer", "empire", "island", "kingdom", "journey", "lost", "hidden",
+            "silent", "golden", "broken", "wild", "little", "great", "first", "second", "final", "long",
+            "modern", "complete", "practical", "essential", "introduction", "handbook", "principles",
+            "design", "data", "systems", "science", "mind", "power", "money", "business", "leadership",
+            "habits", "kitchen", "recipes", "travels", "letters", "memoir", "family", "children",
+            "mountain", "forest", "ocean", "machine", "code", "storm", "silver", "harbor", "signal",
+            "empress", "witness", "orchard", "lighthouse", "cartographer", "alchemy", "algorithm",
+            "architecture", "revolution", "republic", "philosophy", "psychology", "economics", "music",
+            "painting", "poems", "songs", "tales", "legends", "chronicles", "voyage", "escape",
+            "promise", "betrayal", "inheritance", "midnight", "morning", "evening", "autumn", "spring",
+            "thunder", "glass", "paper", "iron", "salt", "bones", "feathers", "wolves", "ravens",
+            "tigers", "horses", "bridges", "towers", "streets", "rooms", "windows", "doors", "maps",
+            "clocks", "mirrors", "echoes", "whispers", "ghosts", "saints", "strangers", "neighbors",
+            "sisters", "brothers", "daughters", "sons", "mothers", "fathers", "friends", "enemies"};
+
+    private final SplittableRandom random;
+    private final ZipfDistribution authors;
+    private final ZipfDistribution categories;
+    private final ZipfDistribution publishers;
+    private final ZipfDistribution words;
+    private final long creationStepMicros;
+    private int generated;
+
+    /**
+     * @param seed        random seed; equal seeds produce equal catalogs
+     * @param catalogSize number of books the catalog will hold, which sizes the author pool and
+     *                    spreads creation timestamps over the catalog's lifetime
+     */
+    public CatalogGenerator(long seed, int catalogSize) {
+        if (catalogSize < 1) {
+            throw new IllegalArgumentException("Catalog size must be positive");
+        }
+        this.random = new SplittableRandom(seed);
+        this.authors = new ZipfDistribution(Math.max(1, catalogSize / BOOKS_PER_AUTHOR), 1.0);
+        this.categories = new ZipfDistribution(CATEGORIES.length, 1.1);
+        this.publishers = new ZipfDistribution(PUBLISHER_STEMS.length * PUBLISHER_SUFFIXES.length, 1.2);
+        this.words = new ZipfDistribution(WORDS.length, 0.9);
+        this.creationStepMicros = Math.max(1, ChronoUnit.MICROS.between(CATALOG_START, CATALOG_END) / catalogSize);
+    }
+
+    /**
+     * Number of books generated so far
+     */
+    public int generated() {
+        return generated;
+    }
+
+    /**
+     * Generate the next book of the catalog
+     */
+    public Book next() {
+        int index = generated++;
+
+        String isbn = random.nextDouble() < NULL_ISBN_SHARE ? null : isbn(index);
+        Book book = new Book(title(), authorName(authors.sample(random)), price(), isbn, description(),
+                CATEGORIES[categories.sample(random)], publisherName(publishers.sample(random)),
+                publicationDate(), pages(), stockQuantity(),
+                random.nextDouble() < NULL_IMAGE_SHARE ? null : "https://covers.example.com/" + (index + 1) + ".jpg");
+
+        LocalDateTime createdAt = CATALOG_START.plus(index * creationStepMicros + random.nextLong(creationStepMicros),
+                ChronoUnit.MICROS);
+        book.setCreatedAt(createdAt);
+        book.setUpdatedAt(random.nextInt(10) < 7 ? createdAt
+                : createdAt.plus(random.nextLong(ChronoUnit.MICROS.between(createdAt, CATALOG_END) + 1), ChronoUnit.MICROS));
+        return book;
+    }
+
+    /**
+     * Generate the next {@code count} books of the catalog
+     */
+    public List<Book> next(int count) {
+        List<Book> books = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            books.add(next());
+        }
+        return books;
+    }
+
+    /**
+     * ISBN-13 with the 979 prefix, unique per catalog position and with a valid check digit
+     */
+    static String isbn(int index) {
+        String digits = String.format("979%09d", index);
+        int sum = 0;
+        for (int i = 0; i < digits.length(); i++) {
+            sum += (digits.charAt(i) - '0') * (i % 2 == 0 ? 1 : 3);
+        }
+        int check = (10 - sum % 10) % 10;
+        return "979-" + digits.substring(3) + "-" + check;
+    }
+
+    /**
+     * Author name for a popularity rank. The first {@code first x last} ranks get plain names;
+     * later ranks add a middle initial and then a numeric suffix, so every rank is distinct.
+     */
+    static String authorName(int rank) {
+        int plainNames = FIRST_NAMES.length * LAST_NAMES.length;
+        int first = rank % FIRST_NAMES.length;
+        int last = (rank % plainNames / FIRST_NAMES.length + first) % LAST_NAMES.length;
+        int variant = rank / plainNames;
+        if (variant == 0) {
+            return FIRST_NAMES[first] + " " + LAST_NAMES[last];
+        }
+        char initial = (char) ('A' + (variant - 1) % 26);
+        int generation = (variant - 1) / 26;
+        return FIRST_NAMES[first] + " " + initial + ". " + LAST_NAMES[last] + (generation > 0 ? " " + (generation + 1) : "");
+    }
+
+    private static String publisherName(int rank) {
+        return PUBLISHER_STEMS[rank % PUBLISHER_STEMS.length] + " "
+                + PUBLISHER_SUFFIXES[rank / PUBLISHER_STEMS.length];
+    }
+
+    private String title() {
+        int length = 1 + Math.min(5, (int) Math.round(Math.abs(random.nextDouble() + random.nextDouble() - 1) * 5));
+        StringBuilder title = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            String word = WORDS[words.sample(random)];
+            if (i > 0) {
+                title.append(' ');
+            }
+            title.append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length());
+        }
+        return title.toString();
+    }
+
+    private String description() {
+        if (random.nextDouble() < NULL_DESCRIPTION_SHARE) {
+            return null;
+        }
+        // Median of about 40 words with a long tail of essay-length blurbs
+        int length = (int) Math.min(MAX_DESCRIPTION_WORDS, Math.max(1, logNormal(Math.log(40), 1.0)));
+        StringBuilder description = new StringBuilder(length * 7);
+        for (int i = 0; i < length; i++) {
+            if (i > 0) {
+                description.append(i % 12 == 0 ? ". " : " ");
+            }
+            description.append(WORDS[words.sample(random)]);
+        }
+        return description.append('.').toString();
+    }
+
+    private BigDecimal price() {
+        double price = Math.min(499.99, Math.max(0.99, Math.round(logNormal(Math.log(15), 0.6)) - 0.01));
+        return BigDecimal.valueOf(price).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private LocalDate publicationDate() {
+        // Exponential age with a mean of ten years: most books are recent, a few are classics
+        long ageDays = (long) (-Math.log(1 - random.nextDouble()) * 3_650);
+        LocalDate date = CATALOG_END.toLocalDate().minusDays(1 + ageDays);
+        return date.getYear() < 1800 ? LocalDate.of(1800, 1, 1).plusDays(random.nextInt(365)) : date;
+    }
+
+    private int pages() {
+        return (int) Math.min(2_000, Math.max(24, logNormal(Math.log(300), 0.45)));
+    }
+
+    private int stockQuantity() {
+        if (random.nextDouble() < OUT_OF_STOCK_SHARE) {
+            return 0;
+        }
+        return (int) Math.min(1_000, Math.max(1, logNormal(Math.log(12), 1.0)));
+    }
+
+    private double logNormal(double mu, double sigma) {
+        return Math.exp(mu + sigma * gaussian());
+    }
+
+    private double gaussian() {
+        // Box-Muller; SplittableRandom has no nextGaussian on Java 17
+        double u = 1 - random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.bookstore.seed;
+
+import com.example.bookstore.model.Book;
+import com.example.bookstore.repository.BookBatchInserter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Bulk-loads a generated catalog with JDBC batches, one transaction per batch so a
+ * multi-million-book load neither holds one huge transaction nor loses everything on failure.
+ * Generated keys are not read back; on MySQL {@code rewriteBatchedStatements=true} turns each
+ * batch into a multi-row INSERT. Inside an existing transaction (a {@code @Transactional} test)
+ * every batch joins it and is rolled back with it.
+ */
+@Component
+public class CatalogLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogLoader.class);
+
+    private static final int PROGRESS_INTERVAL = 100_000;
+
+    private final BookBatchInserter bookBatchInserter;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public CatalogLoader(BookBatchInserter bookBatchInserter, TransactionTemplate transactionTemplate) {
+        this.bookBatchInserter = bookBatchInserter;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Generate and insert {@code count} books.
+     *
+     * @return number of books inserted
+     */
+    public int load(CatalogGenerator generator, int count, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+
+        long start = System.currentTimeMillis();
+        int loaded = 0;
+        while (loaded < count) {
+            List<Book> batch = generator.next(Math.min(batchSize, count - loaded));
+            transactionTemplate.executeWithoutResult(status -> bookBatchInserter.bulkInsert(batch));
+            int before = loaded;
+            loaded += batch.size();
+            if (loaded / PROGRESS_INTERVAL > before / PROGRESS_INTERVAL) {
+                log.info("Loaded {} of {} books", loaded, count);
+            }
+        }
+
+        long elapsed = Math.max(1, System.currentTimeMillis() - start);
+        log.info("Loaded {} books in {} ms ({} books/s)", loaded, elapsed, loaded * 1000L / elapsed);
+        return loaded;
+    }
+}
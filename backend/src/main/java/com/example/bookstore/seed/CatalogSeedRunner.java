@@ -0,0 +1,61 @@
+package com.example.bookstore.seed;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Command-line catalog seeding, active with the {@code seed} profile: loads
+ * {@code app.seed.books} generated books into the configured database and exits. An empty
+ * {@code books} table is required, since a second run with the same seed would repeat ISBNs.
+ * The search index and catalog statistics pick the books up when the application next starts.
+ */
+@Component
+@Profile("seed")
+public class CatalogSeedRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogSeedRunner.class);
+
+    private final CatalogLoader catalogLoader;
+    private final JdbcTemplate jdbcTemplate;
+    private final ConfigurableApplicationContext context;
+    private final int books;
+    private final long randomSeed;
+    private final int batchSize;
+
+    @Autowired
+    public CatalogSeedRunner(CatalogLoader catalogLoader,
+                             JdbcTemplate jdbcTemplate,
+                             ConfigurableApplicationContext context,
+                             @Value("${app.seed.books:1000000}") int books,
+                             @Value("${app.seed.random-seed:42}") long randomSeed,
+                             @Value("${app.seed.batch-size:1000}") int batchSize) {
+        this.catalogLoader = catalogLoader;
+        this.jdbcTemplate = jdbcTemplate;
+        this.context = context;
+        this.books = books;
+        this.randomSeed = randomSeed;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM books", Long.class);
+        if (existing != null && existing > 0) {
+            log.warn("Not seeding: the books table already holds {} books", existing);
+        } else {
+            log.info("Seeding {} books (seed {}, batch size {})", books, randomSeed, batchSize);
+            catalogLoader.load(new CatalogGenerator(randomSeed, books), books, batchSize);
+        }
+        // Scheduled tasks would keep a finished seed run alive
+        System.exit(SpringApplication.exit(context));
+    }
+}
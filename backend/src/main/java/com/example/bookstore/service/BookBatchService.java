@@ -0,0 +1,158 @@
+package com.example.bookstore.service;
+
+import com.example.bookstore.dto.BookBatchResponse;
+import com.example.bookstore.dto.BookBatchResponse.ItemResult;
+import com.example.bookstore.dto.BookCreateRequest;
+import com.example.bookstore.dto.BookMapper;
+import com.example.bookstore.event.BookChangedEvent;
+import com.example.bookstore.model.Book;
+import com.example.bookstore.repository.BookBatchInserter;
+import com.example.bookstore.repository.BookRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk book creation. Each item is validated on its own and rejected items are reported
+ * rather than failing the request. Accepted items are checked against existing ISBNs with
+ * set-based lookups and inserted with JDBC batching, all in one transaction.
+ */
+@Service
+@Transactional
+public class BookBatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(BookBatchService.class);
+
+    private static final int ISBN_LOOKUP_CHUNK_SIZE = 1000;
+
+    private final BookRepository bookRepository;
+    private final BookBatchInserter bookBatchInserter;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maxBatchSize;
+    private final int insertChunkSize;
+
+    @Autowired
+    public BookBatchService(BookRepository bookRepository,
+                            BookBatchInserter bookBatchInserter,
+                            Validator validator,
+                            ApplicationEventPublisher eventPublisher,
+                            @Value("${app.batch.max-size:5000}") int maxBatchSize,
+                            @Value("${app.batch.insert-chunk-size:500}") int insertChunkSize) {
+        this.bookRepository = bookRepository;
+        this.bookBatchInserter = bookBatchInserter;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.maxBatchSize = maxBatchSize;
+        this.insertChunkSize = insertChunkSize;
+    }
+
+    /**
+     * Create many books at once, returning a per-item result in request order
+     */
+    public BookBatchResponse createBooks(List<BookCreateRequest> requests) {
+        log.debug("Bulk creating {} books", requests.size());
+
+        if (requests.isEmpty()) {
+            throw new IllegalArgumentException("Batch must contain at least one book");
+        }
+        if (requests.size() > maxBatchSize) {
+            throw new IllegalArgumentException("Batch size " + requests.size() + " exceeds the maximum of " + maxBatchSize);
+        }
+
+        ItemResult[] results = new ItemResult[requests.size()];
+        List<Integer> candidates = new ArrayList<>();
+        Map<String, Integer> firstIndexByIsbn = new HashMap<>();
+
+        // Bean validation and in-batch ISBN duplicates
+        for (int i = 0; i < requests.size(); i++) {
+            BookCreateRequest request = requests.get(i);
+            if (request == null) {
+                results[i] = ItemResult.rejected(i, null, List.of("Book is required"));
+                continue;
+            }
+
+            List<String> errors = validate(request);
+            if (errors.isEmpty() && request.getIsbn() != null) {
+                Integer first = firstIndexByIsbn.putIfAbsent(request.getIsbn(), i);
+                if (first != null) {
+                    errors = List.of("isbn: duplicates the ISBN of item " + first);
+                }
+            }
+
+            if (errors.isEmpty()) {
+                candidates.add(i);
+            } else {
+                results[i] = ItemResult.rejected(i, request.getIsbn(), errors);
+            }
+        }
+
+        Set<String> existingIsbns = findExistingIsbns(firstIndexByIsbn.keySet());
+
+        List<Book> books = new ArrayList<>();
+        List<Integer> bookIndexes = new ArrayList<>();
+        for (int i : candidates) {
+            BookCreateRequest request = requests.get(i);
+            if (request.getIsbn() != null && existingIsbns.contains(request.getIsbn())) {
+                results[i] = ItemResult.rejected(i, request.getIsbn(),
+                        List.of("Book with ISBN " + request.getIsbn() + " already exists"));
+                continue;
+            }
+            books.add(BookMapper.toBook(request));
+            bookIndexes.add(i);
+        }
+
+        try {
+            for (int from = 0; from < books.size(); from += insertChunkSize) {
+                bookBatchInserter.insertAll(books.subList(from, Math.min(from + insertChunkSize, books.size())));
+            }
+        } catch (DuplicateKeyException e) {
+            // Another request inserted one of these ISBNs after our lookup; the whole batch rolls back
+            throw new IllegalArgumentException("A book with one of the submitted ISBNs was created concurrently; " +
+                    "please retry the batch", e);
+        }
+
+        for (int j = 0; j < books.size(); j++) {
+            Book book = books.get(j);
+            results[bookIndexes.get(j)] = ItemResult.created(bookIndexes.get(j), book.getId(), book.getIsbn());
+            eventPublisher.publishEvent(BookChangedEvent.created(book));
+        }
+
+        return new BookBatchResponse(Arrays.asList(results));
+    }
+
+    private List<String> validate(BookCreateRequest request) {
+        Set<ConstraintViolation<BookCreateRequest>> violations = validator.validate(request);
+        List<String> errors = new ArrayList<>();
+        for (ConstraintViolation<BookCreateRequest> violation : violations) {
+            errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        errors.sort(null);
+        return errors;
+    }
+
+    private Set<String> findExistingIsbns(Set<String> isbns) {
+        Set<String> existing = new HashSet<>();
+        List<String> all = new ArrayList<>(isbns);
+        for (int from = 0; from < all.size(); from += ISBN_LOOKUP_CHUNK_SIZE) {
+            existing.addAll(bookRepository.findExistingIsbns(
+                    all.subList(from, Math.min(from + ISBN_LOOKUP_CHUNK_SIZE, all.size()))));
+        }
+        return existing;
+    }
+}
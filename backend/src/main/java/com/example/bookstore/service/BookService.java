@@ -1,25 +1,95 @@
 package com.example.bookstore.service;
 
+import com.example.bookstore.cache.BookCache;
+import com.example.bookstore.datasource.RoutingContext;
+import com.example.bookstore.dto.BookDTO;
+import com.example.bookstore.dto.BookPatch;
+import com.example.bookstore.dto.BookSearchCriteria;
+import com.example.bookstore.dto.CursorPage;
+import com.example.bookstore.dto.FacetedPage;
+import com.example.bookstore.dto.StockAdjustmentRequest;
+import com.example.bookstore.dto.StockAdjustmentResult;
+import com.example.bookstore.event.BookChangedEvent;
+import com.example.bookstore.event.BookSnapshot;
+import com.example.bookstore.event.StockAdjustedEvent;
+import com.example.bookstore.exception.BookModifiedException;
 import com.example.bookstore.exception.BookNotFoundException;
+import com.example.bookstore.exception.InsufficientStockException;
 import com.example.bookstore.model.Book;
+import com.example.bookstore.pagination.BookCursor;
+import com.example.bookstore.repository.BookField;
 import com.example.bookstore.repository.BookRepository;
+import com.example.bookstore.repository.BookSpecifications;
+import com.example.bookstore.repository.StockLevel;
+import com.example.bookstore.search.BookFacetIndex;
+import com.example.bookstore.search.BookSearchIndex;
+import com.example.bookstore.search.Facet;
+import com.example.bookstore.search.FacetCount;
+import com.example.bookstore.search.FacetedHits;
+import com.example.bookstore.search.SearchField;
+import com.example.bookstore.search.SearchHits;
+import org.hibernate.exception.ConstraintViolationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class BookService {
+
+    private static final Logger log = LoggerFactory.getLogger(BookService.class);
+    
+    /**
+     * Most stock adjustments accepted in one batch; each holds its row lock until the batch commits
+     */
+    public static final int MAX_STOCK_ADJUSTMENTS = 1000;
     
     private final BookRepository bookRepository;
+    private final BookCache bookCache;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookFacetIndex bookFacetIndex;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Autowired
-    public BookService(BookRepository bookRepository) {
+    public BookService(BookRepository bookRepository, BookCache bookCache, BookSearchIndex bookSearchIndex,
+                       BookFacetIndex bookFacetIndex, ApplicationEventPublisher eventPublisher) {
         this.bookRepository = bookRepository;
+        this.bookCache = bookCache;
+        this.bookSearchIndex = bookSearchIndex;
+        this.bookFacetIndex = bookFacetIndex;
+        this.eventPublisher = eventPublisher;
     }
     
     /**
@@ -27,56 +97,69 @@ public class BookService {
      */
     @Transactional(readOnly = true)
     public Page<Book> getAllBooks(Pageable pageable) {
-        System.out.println("Fetching all books with pagination: " + pageable);
+        log.debug("Fetching all books with pagination: {}", pageable);
         return bookRepository.findAll(pageable);
     }
     
     /**
-     * Get book by ID
+     * Get book by ID. Served from the book cache when possible; only a cache miss
+     * opens a (repository-level) read-only transaction. Misses read the primary, so a
+     * lagging replica cannot leave a stale book in the cache.
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public Optional<Book> getBookById(Long id) {
-        System.out.println("Fetching book with ID: " + id);
-        return bookRepository.findById(id);
+        log.debug("Fetching book with ID: {}", id);
+        return bookCache.getById(id, key -> RoutingContext.onPrimary(() -> bookRepository.findById(key)));
     }
     
     /**
-     * Get book by ISBN
+     * Get the last update time of a book, for conditional requests. Read from the book cache
+     * when present, otherwise with a single-column lookup on the primary, so it agrees with
+     * the book the same request then serves; the full row is never loaded.
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public Optional<LocalDateTime> getBookLastModified(Long id) {
+        Optional<Book> cached = bookCache.getIfPresent(id);
+        if (cached.isPresent()) {
+            return Optional.ofNullable(cached.get().getUpdatedAt());
+        }
+        return RoutingContext.onPrimary(() -> bookRepository.findUpdatedAtById(id));
+    }
+    
+    /**
+     * Get book by ISBN. Served from the book cache when possible.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public Optional<Book> getBookByIsbn(String isbn) {
-        System.out.println("Fetching book with ISBN: " + isbn);
-        return bookRepository.findByIsbn(isbn);
+        log.debug("Fetching book with ISBN: {}", isbn);
+        return bookCache.getByIsbn(isbn, () -> RoutingContext.onPrimary(() -> bookRepository.findByIsbn(isbn)));
     }
     
     /**
-     * Create a new book
+     * Create a new book. ISBN uniqueness is enforced by the unique constraint in the same
+     * round trip as the insert, not by a prior lookup that a concurrent insert could race.
      */
     public Book createBook(Book book) {
-        System.out.println("Creating new book: " + book.getTitle());
+        log.debug("Creating new book: {}", book.getTitle());
         
-        // Check if ISBN already exists
-        if (book.getIsbn() != null && bookRepository.findByIsbn(book.getIsbn()).isPresent()) {
-            throw new IllegalArgumentException("Book with ISBN " + book.getIsbn() + " already exists");
-        }
-        
-        return bookRepository.save(book);
+        Book savedBook = saveAndFlush(book);
+        bookCache.invalidate(savedBook.getId(), savedBook.getIsbn());
+        eventPublisher.publishEvent(BookChangedEvent.created(savedBook));
+        return savedBook;
     }
     
     /**
-     * Update an existing book
+     * Update an existing book. Only columns whose values changed are written (see
+     * {@code @DynamicUpdate} on {@link Book}); an update that changes nothing issues no UPDATE.
+     * The row is read locked, so the event's previous state is what the update replaced.
      */
     public Book updateBook(Long id, Book bookDetails) {
-        System.out.println("Updating book with ID: " + id);
+        log.debug("Updating book with ID: {}", id);
         
-        return bookRepository.findById(id)
+        return bookRepository.findByIdForUpdate(id)
                 .map(existingBook -> {
-                    // Check if ISBN is being changed and if new ISBN already exists
-                    if (bookDetails.getIsbn() != null && 
-                        !bookDetails.getIsbn().equals(existingBook.getIsbn()) &&
-                        bookRepository.findByIsbn(bookDetails.getIsbn()).isPresent()) {
-                        throw new IllegalArgumentException("Book with ISBN " + bookDetails.getIsbn() + " already exists");
-                    }
+                    bookCache.invalidate(existingBook.getId(), existingBook.getIsbn(), bookDetails.getIsbn());
+                    BookSnapshot previous = BookSnapshot.of(existingBook);
                     
                     // Update fields
                     existingBook.setTitle(bookDetails.getTitle());
@@ -91,22 +174,181 @@ public class BookService {
                     existingBook.setStockQuantity(bookDetails.getStockQuantity());
                     existingBook.setImageUrl(bookDetails.getImageUrl());
                     
-                    return bookRepository.save(existingBook);
+                    Book savedBook = saveAndFlush(existingBook);
+                    eventPublisher.publishEvent(BookChangedEvent.updated(previous, savedBook));
+                    return savedBook;
                 })
                 .orElseThrow(() -> new BookNotFoundException(id));
     }
     
     /**
-     * Delete a book
+     * Apply a merge patch with one UPDATE that names only the fields whose values change.
+     * A patch that changes nothing writes nothing: {@code updatedAt} is not bumped, cached
+     * entries stay valid and no event is published. With {@code expectedUpdatedAt} (from
+     * If-Match) the UPDATE only matches while the row still has that update time. The row is
+     * read locked, so the event's previous state is what the UPDATE replaced.
      */
-    public void deleteBook(Long id) {
-        System.out.println("Deleting book with ID: " + id);
+    public Book patchBook(Long id, BookPatch patch, LocalDateTime expectedUpdatedAt) {
+        log.debug("Patching fields {} of book with ID: {}", patch.getChanges().keySet(), id);
+        
+        Book book = bookRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new BookNotFoundException(id));
+        if (expectedUpdatedAt != null && !expectedUpdatedAt.equals(book.getUpdatedAt())) {
+            throw new BookModifiedException(id);
+        }
+        
+        BeanWrapper properties = PropertyAccessorFactory.forBeanPropertyAccess(book);
+        Map<BookField, Object> changed = new EnumMap<>(BookField.class);
+        patch.getChanges().forEach((field, value) -> {
+            if (!sameValue(properties.getPropertyValue(field.getAttribute()), value)) {
+                changed.put(field, value);
+            }
+        });
+        if (changed.isEmpty()) {
+            return book;
+        }
         
-        if (!bookRepository.existsById(id)) {
+        BookSnapshot previous = BookSnapshot.of(book);
+        String previousIsbn = book.getIsbn();
+        LocalDateTime updatedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        int updated;
+        try {
+            updated = bookRepository.updateFields(id, changed, updatedAt, expectedUpdatedAt);
+        } catch (DataIntegrityViolationException e) {
+            if (isIsbnConflict(e)) {
+                throw new IllegalArgumentException("Book with ISBN " + changed.get(BookField.ISBN) + " already exists");
+            }
+            throw e;
+        }
+        if (updated == 0) {
+            if (expectedUpdatedAt != null) {
+                throw new BookModifiedException(id);
+            }
             throw new BookNotFoundException(id);
         }
         
-        bookRepository.deleteById(id);
+        // The update cleared the persistence context, so this no longer writes through
+        changed.forEach((field, value) -> properties.setPropertyValue(field.getAttribute(), value));
+        book.setUpdatedAt(updatedAt);
+        bookCache.invalidate(id, previousIsbn, book.getIsbn());
+        eventPublisher.publishEvent(BookChangedEvent.updated(previous, book));
+        return book;
+    }
+    
+    /**
+     * Delete a book. The row is read locked first, in the same transaction, so the event
+     * carries exactly the state the DELETE removed.
+     */
+    public void deleteBook(Long id) {
+        log.debug("Deleting book with ID: {}", id);
+        
+        BookSnapshot previous = bookRepository.findByIdForUpdate(id)
+                .map(BookSnapshot::of)
+                .orElseThrow(() -> new BookNotFoundException(id));
+        bookRepository.deleteBookById(id);
+        
+        bookCache.invalidate(id);
+        eventPublisher.publishEvent(BookChangedEvent.deleted(id, previous));
+    }
+    
+    /**
+     * Write a book now, so a duplicate ISBN surfaces here as the usual 400 rather than at commit
+     */
+    private Book saveAndFlush(Book book) {
+        try {
+            return bookRepository.saveAndFlush(book);
+        } catch (DataIntegrityViolationException e) {
+            if (isIsbnConflict(e)) {
+                throw new IllegalArgumentException("Book with ISBN " + book.getIsbn() + " already exists");
+            }
+            throw e;
+        }
+    }
+    
+    /**
+     * Atomically add a delta to a book's stock with a single conditional UPDATE, so concurrent
+     * adjustments never lose updates and the row lock is held only for the statement.
+     * Returns the new stock quantity.
+     */
+    public int adjustStock(Long id, int delta) {
+        log.debug("Adjusting stock of book with ID: {} by {}", id, delta);
+        
+        if (delta == 0) {
+            throw new IllegalArgumentException("Stock delta must not be zero");
+        }
+        
+        int updated = bookRepository.adjustStock(id, delta, LocalDateTime.now());
+        StockLevel stock = bookRepository.findStockLevelById(id)
+                .orElseThrow(() -> new BookNotFoundException(id));
+        if (updated == 0) {
+            throw new InsufficientStockException(id, delta, stock.getStockQuantity());
+        }
+        
+        bookCache.invalidate(id);
+        eventPublisher.publishEvent(new StockAdjustedEvent(id, delta, stock.getStockQuantity(),
+                stock.getCategory(), stock.getPrice()));
+        return stock.getStockQuantity();
+    }
+    
+    /**
+     * Apply several stock adjustments in one transaction. Each item succeeds or is rejected on
+     * its own; rows are updated in ID order so concurrent batches cannot deadlock.
+     * Results are returned in request order. A batch larger than {@link #MAX_STOCK_ADJUSTMENTS}
+     * or naming a book more than once is rejected as a whole.
+     */
+    public List<StockAdjustmentResult> adjustStock(List<StockAdjustmentRequest> adjustments) {
+        log.debug("Adjusting stock for {} books", adjustments.size());
+        
+        if (adjustments.size() > MAX_STOCK_ADJUSTMENTS) {
+            throw new IllegalArgumentException("Batch size " + adjustments.size() + " exceeds the maximum of "
+                    + MAX_STOCK_ADJUSTMENTS);
+        }
+        
+        StockAdjustmentResult[] results = new StockAdjustmentResult[adjustments.size()];
+        List<Integer> order = new ArrayList<>();
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < adjustments.size(); i++) {
+            StockAdjustmentRequest adjustment = adjustments.get(i);
+            if (adjustment == null || adjustment.getId() == null || adjustment.getDelta() == null || adjustment.getDelta() == 0) {
+                results[i] = new StockAdjustmentResult(adjustment != null ? adjustment.getId() : null,
+                        adjustment != null ? adjustment.getDelta() : null, StockAdjustmentResult.Status.INVALID, null);
+            } else if (!ids.add(adjustment.getId())) {
+                throw new IllegalArgumentException("Book ID " + adjustment.getId()
+                        + " appears more than once in the batch; combine its deltas into one item");
+            } else {
+                order.add(i);
+            }
+        }
+        order.sort(Comparator.comparing(i -> adjustments.get(i).getId()));
+        
+        for (int i : order) {
+            StockAdjustmentRequest adjustment = adjustments.get(i);
+            try {
+                int stockQuantity = adjustStock(adjustment.getId(), adjustment.getDelta());
+                results[i] = new StockAdjustmentResult(adjustment.getId(), adjustment.getDelta(),
+                        StockAdjustmentResult.Status.APPLIED, stockQuantity);
+            } catch (InsufficientStockException e) {
+                results[i] = new StockAdjustmentResult(adjustment.getId(), adjustment.getDelta(),
+                        StockAdjustmentResult.Status.INSUFFICIENT_STOCK, e.getAvailableStock());
+            } catch (BookNotFoundException e) {
+                results[i] = new StockAdjustmentResult(adjustment.getId(), adjustment.getDelta(),
+                        StockAdjustmentResult.Status.NOT_FOUND, null);
+            }
+        }
+        
+        return List.of(results);
+    }
+    
+    /**
+     * Full-text search across title, author, category, publisher and description.
+     * Falls back to a title/author LIKE query while the search index is unavailable.
+     */
+    @Transactional(readOnly = true)
+    public Page<Book> searchBooksFullText(String query, Pageable pageable) {
+        log.debug("Full-text searching books: {}", query);
+        return bookSearchIndex.search(query, EnumSet.allOf(SearchField.class))
+                .map(hits -> loadRankedPage(hits, pageable))
+                .orElseGet(() -> bookRepository.searchByTitleOrAuthorWithPagination(query, pageable));
     }
     
     /**
@@ -114,8 +356,10 @@ public class BookService {
      */
     @Transactional(readOnly = true)
     public Page<Book> searchBooksByTitle(String title, Pageable pageable) {
-        System.out.println("Searching books by title: " + title);
-        return bookRepository.findByTitleContainingIgnoreCase(title, pageable);
+        log.debug("Searching books by title: {}", title);
+        return bookSearchIndex.search(title, EnumSet.of(SearchField.TITLE))
+                .map(hits -> loadRankedPage(hits, pageable))
+                .orElseGet(() -> bookRepository.findByTitleContainingIgnoreCase(title, pageable));
     }
     
     /**
@@ -123,8 +367,10 @@ public class BookService {
      */
     @Transactional(readOnly = true)
     public Page<Book> searchBooksByAuthor(String author, Pageable pageable) {
-        System.out.println("Searching books by author: " + author);
-        return bookRepository.findByAuthorContainingIgnoreCase(author, pageable);
+        log.debug("Searching books by author: {}", author);
+        return bookSearchIndex.search(author, EnumSet.of(SearchField.AUTHOR))
+                .map(hits -> loadRankedPage(hits, pageable))
+                .orElseGet(() -> bookRepository.findByAuthorContainingIgnoreCase(author, pageable));
     }
     
     /**
@@ -132,7 +378,7 @@ public class BookService {
      */
     @Transactional(readOnly = true)
     public Page<Book> searchBooksByCategory(String category, Pageable pageable) {
-        System.out.println("Searching books by category: " + category);
+        log.debug("Searching books by category: {}", category);
         return bookRepository.findByCategoryIgnoreCase(category, pageable);
     }
     
@@ -141,16 +387,305 @@ public class BookService {
      */
     @Transactional(readOnly = true)
     public Page<Book> searchBooks(String title, String author, Pageable pageable) {
-        System.out.println("Searching books by title: " + title + " and author: " + author);
+        log.debug("Searching books by title: {} and author: {}", title, author);
+        if (title != null && author != null) {
+            Optional<SearchHits> titleHits = bookSearchIndex.search(title, EnumSet.of(SearchField.TITLE));
+            Optional<SearchHits> authorHits = bookSearchIndex.search(author, EnumSet.of(SearchField.AUTHOR));
+            if (titleHits.isPresent() && authorHits.isPresent()) {
+                return loadRankedPage(titleHits.get().intersect(authorHits.get()), pageable);
+            }
+        }
         return bookRepository.findByTitleAndAuthor(title, author, pageable);
     }
     
+    /**
+     * Search by any combination of criteria. Text alone (a full-text query, or title and/or
+     * author) is served from the search index and ranked by relevance. Any other combination,
+     * or text while the index is unavailable, runs as one database query with every criterion
+     * in its WHERE clause, ordered by the requested sort.
+     */
+    @Transactional(readOnly = true)
+    public Page<Book> searchBooks(BookSearchCriteria criteria, Pageable pageable) {
+        log.debug("Searching books with {}", criteria);
+        if (criteria.isEmpty()) {
+            return bookRepository.findAll(pageable);
+        }
+        return rankedHits(criteria)
+                .map(hits -> loadRankedPage(hits, pageable))
+                .orElseGet(() -> bookRepository.findAll(BookSpecifications.matching(criteria), pageable));
+    }
+    
     /**
      * Get books in stock
      */
     @Transactional(readOnly = true)
     public Page<Book> getBooksInStock(Pageable pageable) {
-        System.out.println("Fetching books in stock");
+        log.debug("Fetching books in stock");
         return bookRepository.findByStockQuantityGreaterThan(0, pageable);
     }
-}
\ No newline at end of file
+    
+    /**
+     * Get summaries of all books (list columns only, no description)
+     */
+    @Transactional(readOnly = true)
+    public Page<BookDTO> getAllBookSummaries(Pageable pageable) {
+        log.debug("Fetching all book summaries with pagination: {}", pageable);
+        return bookRepository.findAllSummaries(pageable);
+    }
+    
+    /**
+     * Get summaries of books in stock
+     */
+    @Transactional(readOnly = true)
+    public Page<BookDTO> getBookSummariesInStock(Pageable pageable) {
+        log.debug("Fetching summaries of books in stock");
+        return bookRepository.findSummariesInStock(pageable);
+    }
+    
+    /**
+     * Search returning summaries, with the same criteria, ranking and fallback as
+     * {@link #searchBooks(BookSearchCriteria, Pageable)}
+     */
+    @Transactional(readOnly = true)
+    public Page<BookDTO> searchBookSummaries(BookSearchCriteria criteria, Pageable pageable) {
+        log.debug("Searching book summaries with {}", criteria);
+        return rankedHits(criteria)
+                .map(hits -> loadRankedSummaries(hits, pageable))
+                .orElseGet(() -> bookRepository.findSummaries(BookSpecifications.matching(criteria), pageable));
+    }
+    
+    /**
+     * Search with facet filters and counts. A full-text query or title and/or author select the
+     * hits from the search index, or the whole catalog when none is given (then in
+     * ID order); the facet index filters them and counts facet values by bitmap intersection.
+     * While either index is unavailable, the filters are applied in the database and no counts
+     * are returned.
+     *
+     * @param filters value keys from {@link Facet#filterKey}, at most one per facet
+     */
+    @Transactional(readOnly = true)
+    public FacetedPage<Book> searchBooksFaceted(String q, String title, String author, Map<Facet, String> filters,
+                                                Set<Facet> facets, Pageable pageable) {
+        log.debug("Faceted search with q: {}, title: {}, author: {}, filters: {}, facets: {}",
+                q, title, author, filters, facets);
+        if (bookFacetIndex.isReady()) {
+            Optional<FacetedHits> faceted = q == null && title == null && author == null
+                    ? bookFacetIndex.facet(null, filters, facets)
+                    : indexHits(q, title, author).flatMap(hits -> bookFacetIndex.facet(hits, filters, facets));
+            if (faceted.isPresent()) {
+                Map<String, List<FacetCount>> counts = new LinkedHashMap<>();
+                faceted.get().getCounts().forEach((facet, values) -> counts.put(facet.getParameter(), values));
+                return new FacetedPage<>(loadRankedPage(faceted.get().getHits(), pageable), counts);
+            }
+        }
+        
+        Specification<Book> filter = Specification.where(BookSpecifications.titleOrAuthorContains(q))
+                .and(BookSpecifications.titleContains(title))
+                .and(BookSpecifications.authorContains(author));
+        for (Map.Entry<Facet, String> facetFilter : filters.entrySet()) {
+            filter = filter.and(facetFilter(facetFilter.getKey(), facetFilter.getValue()));
+        }
+        return new FacetedPage<>(bookRepository.findAll(filter, pageable), Map.of());
+    }
+    
+    /**
+     * Get a book with only the requested fields
+     */
+    @Transactional(readOnly = true)
+    public Optional<Map<String, Object>> getBookFieldsById(Long id, Set<BookField> fields) {
+        log.debug("Fetching fields {} of book with ID: {}", fields, id);
+        return bookRepository.findFieldsByIdIn(List.of(id), fields).stream().findFirst();
+    }
+    
+    /**
+     * Get a book by ISBN with only the requested fields
+     */
+    @Transactional(readOnly = true)
+    public Optional<Map<String, Object>> getBookFieldsByIsbn(String isbn, Set<BookField> fields) {
+        log.debug("Fetching fields {} of book with ISBN: {}", fields, isbn);
+        return bookRepository.findFields(BookSpecifications.isbnEquals(isbn), fields, PageRequest.of(0, 1))
+                .stream()
+                .findFirst();
+    }
+    
+    /**
+     * Get all books with only the requested fields
+     */
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> getAllBookFields(Set<BookField> fields, Pageable pageable) {
+        log.debug("Fetching fields {} of all books with pagination: {}", fields, pageable);
+        return bookRepository.findFields(null, fields, pageable);
+    }
+    
+    /**
+     * Get books in stock with only the requested fields
+     */
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> getBookFieldsInStock(Set<BookField> fields, Pageable pageable) {
+        log.debug("Fetching fields {} of books in stock", fields);
+        return bookRepository.findFields(BookSpecifications.inStock(), fields, pageable);
+    }
+    
+    /**
+     * Search returning only the requested fields, with the same criteria, ranking and fallback
+     * as {@link #searchBooks(BookSearchCriteria, Pageable)}
+     */
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> searchBookFields(BookSearchCriteria criteria, Set<BookField> fields,
+                                                      Pageable pageable) {
+        log.debug("Searching fields {} with {}", fields, criteria);
+        return rankedHits(criteria)
+                .map(hits -> loadRankedPage(hits, pageable,
+                        ids -> bookRepository.findFieldsByIdIn(ids, fields),
+                        row -> (Long) row.get(BookField.ID.getAttribute())))
+                .orElseGet(() -> bookRepository.findFields(BookSpecifications.matching(criteria), fields, pageable));
+    }
+    
+    /**
+     * Scroll through all books with a keyset cursor (no OFFSET, no COUNT)
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Book> scrollAllBooks(String after, Pageable pageable) {
+        log.debug("Scrolling all books after cursor: {}", after);
+        return scroll(null, after, pageable);
+    }
+    
+    /**
+     * Scroll through books in stock with a keyset cursor
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Book> scrollBooksInStock(String after, Pageable pageable) {
+        log.debug("Scrolling books in stock after cursor: {}", after);
+        return scroll(BookSpecifications.inStock(), after, pageable);
+    }
+    
+    /**
+     * Scroll through search results with a keyset cursor. Results are filtered in the database
+     * and ordered by the requested sort rather than by relevance, so every page is a stable seek.
+     * {@code titleOrAuthor} is a plain substring match on title or author, not the ranked
+     * full-text query.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Book> scrollSearchBooks(String titleOrAuthor, BookSearchCriteria criteria, String after,
+                                              Pageable pageable) {
+        log.debug("Scrolling books with titleOrAuthor: {}, {} after cursor: {}", titleOrAuthor, criteria, after);
+        String keyword = titleOrAuthor == null || titleOrAuthor.isBlank() ? null : titleOrAuthor.trim();
+        return scroll(Specification.where(BookSpecifications.titleOrAuthorContains(keyword))
+                .and(BookSpecifications.matching(criteria)), after, pageable);
+    }
+    
+    private CursorPage<Book> scroll(Specification<Book> filter, String after, Pageable pageable) {
+        BookCursor cursor = BookCursor.decode(after, pageable.getSort());
+        int size = pageable.getPageSize();
+        
+        Window<Book> window = bookRepository.findBy(Specification.where(filter), query -> query
+                .sortBy(cursor.getSort())
+                .limit(size)
+                .scroll(cursor.getPosition()));
+        
+        String nextCursor = window.hasNext() && !window.isEmpty()
+                ? BookCursor.encode(cursor.getSort(), (KeysetScrollPosition) window.positionAt(window.size() - 1))
+                : null;
+        return new CursorPage<>(window.getContent(), size, nextCursor);
+    }
+    
+    /**
+     * Database equivalent of a facet filter, for when the facet index is unavailable
+     */
+    private static Specification<Book> facetFilter(Facet facet, String key) {
+        return switch (facet) {
+            case CATEGORY -> BookSpecifications.categoryEquals(key);
+            case PUBLISHER -> BookSpecifications.publisherEquals(key);
+            case IN_STOCK -> Boolean.parseBoolean(key) ? BookSpecifications.inStock() : BookSpecifications.outOfStock();
+            case PRICE -> {
+                BigDecimal[] range = Facet.priceRange(key);
+                yield BookSpecifications.priceInBucket(range[0], range[1]);
+            }
+            case DECADE -> BookSpecifications.publishedInDecade(Facet.decadeStart(key));
+        };
+    }
+    
+    /**
+     * Whether a patch value differs from the current one; prices compare by value, not scale
+     */
+    private static boolean sameValue(Object current, Object value) {
+        if (current instanceof BigDecimal currentDecimal && value instanceof BigDecimal decimal) {
+            return currentDecimal.compareTo(decimal) == 0;
+        }
+        return Objects.equals(current, value);
+    }
+    
+    /**
+     * Whether a write failed on the ISBN unique constraint ({@code uk_books_isbn}; Flyway-created
+     * MySQL schemas name it {@code isbn}). Dialects report no name for NOT NULL and similar.
+     */
+    private static boolean isIsbnConflict(DataIntegrityViolationException e) {
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                return violation.getConstraintName() != null
+                        && violation.getConstraintName().toLowerCase(Locale.ROOT).contains("isbn");
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Ranked index hits when the criteria are text alone. Empty when they need the database
+     * (filters, no text at all) or the index is unavailable.
+     */
+    private Optional<SearchHits> rankedHits(BookSearchCriteria criteria) {
+        // indexHits ranks by q alone, so q combined with title or author needs the database
+        boolean rankable = !criteria.isEmpty() && !criteria.hasFilters()
+                && (criteria.getQ() == null || (criteria.getTitle() == null && criteria.getAuthor() == null));
+        return rankable
+                ? indexHits(criteria.getQ(), criteria.getTitle(), criteria.getAuthor())
+                : Optional.empty();
+    }
+    
+    /**
+     * Index hits for a full-text query, or for title and/or author (intersected when both are
+     * given). Empty when the index is unavailable and the caller should query the database.
+     */
+    private Optional<SearchHits> indexHits(String q, String title, String author) {
+        if (q != null) {
+            return bookSearchIndex.search(q, EnumSet.allOf(SearchField.class));
+        }
+        if (title != null && author != null) {
+            Optional<SearchHits> titleHits = bookSearchIndex.search(title, EnumSet.of(SearchField.TITLE));
+            Optional<SearchHits> authorHits = bookSearchIndex.search(author, EnumSet.of(SearchField.AUTHOR));
+            return titleHits.isPresent() && authorHits.isPresent()
+                    ? Optional.of(titleHits.get().intersect(authorHits.get()))
+                    : Optional.empty();
+        }
+        return title != null
+                ? bookSearchIndex.search(title, EnumSet.of(SearchField.TITLE))
+                : bookSearchIndex.search(author, EnumSet.of(SearchField.AUTHOR));
+    }
+    
+    /**
+     * Load one page of index hits in rank order with a single IN query
+     */
+    private Page<Book> loadRankedPage(SearchHits hits, Pageable pageable) {
+        return loadRankedPage(hits, pageable, bookRepository::findAllById, Book::getId);
+    }
+    
+    private Page<BookDTO> loadRankedSummaries(SearchHits hits, Pageable pageable) {
+        return loadRankedPage(hits, pageable, bookRepository::findSummariesByIdIn, BookDTO::getId);
+    }
+    
+    private <T> Page<T> loadRankedPage(SearchHits hits, Pageable pageable,
+                                       Function<List<Long>, List<T>> loader, Function<T, Long> idOf) {
+        List<Long> ids = pageable.isPaged()
+                ? hits.page(pageable.getOffset(), pageable.getPageSize())
+                : hits.page(0, hits.getTotal());
+        
+        Map<Long, T> rowsById = loader.apply(ids).stream()
+                .collect(Collectors.toMap(idOf, Function.identity()));
+        List<T> content = ids.stream()
+                .map(rowsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        
+        return new PageImpl<>(content, pageable, hits.getTotal());
+    }
+}
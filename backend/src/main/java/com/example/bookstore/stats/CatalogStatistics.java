@@ -0,0 +1,311 @@
+package com.example.bookstore.stats;
+
+import com.example.bookstore.datasource.RoutingContext;
+import com.example.bookstore.event.BookChangedEvent;
+import com.example.bookstore.event.BookSnapshot;
+import com.example.bookstore.event.StockAdjustedEvent;
+import com.example.bookstore.stats.CatalogStatsSnapshot.CategoryStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Catalog counts, per-category counts and inventory value, maintained in memory.
+ * <p>
+ * Only the aggregates are kept. Committed book change and stock events carry the book's state
+ * before and after the write, so each one subtracts the old contribution and adds the new, and
+ * an immutable {@link CatalogStatsSnapshot} is published after each change so reads are a
+ * single volatile load. The service reads that previous state with the row locked, in the
+ * transaction that writes it, so it is never a stale or missing cache copy. The periodic
+ * reconcile streams the three columns and rebuilds the aggregates, correcting drift from
+ * writes that bypass the service (imports, manual SQL).
+ * <p>
+ * An event delivered while the scan runs may describe a write the scan already saw, so it
+ * cannot simply be replayed on top. Instead the latest state of each book changed during the
+ * reconcile is kept by id. The scan and a second read of just those rows run in one
+ * REPEATABLE READ transaction on the primary, so the second read returns exactly what the scan
+ * counted for them; that is subtracted and the latest state added, whichever side of the scan
+ * each write landed on.
+ */
+@Component
+public class CatalogStatistics {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogStatistics.class);
+
+    static final String UNCATEGORIZED = "uncategorized";
+
+    private static final String SCAN_SQL = "SELECT category, price, stock_quantity FROM books";
+
+    private static final String CHANGED_ROWS_SQL = "SELECT id, category, price, stock_quantity FROM books WHERE id IN (%s)";
+
+    private static final int CHANGED_ROWS_CHUNK = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate scanTransaction;
+    private final int fetchSize;
+
+    // Guarded by lock
+    private final Object lock = new Object();
+    private Aggregates aggregates = new Aggregates();
+    // Book id -> latest state (null once deleted), while a reconcile runs
+    private Map<Long, BookFacts> changesDuringReconcile;
+    private Instant reconciledAt;
+
+    private volatile CatalogStatsSnapshot snapshot = CatalogStatsSnapshot.EMPTY;
+
+    @Autowired
+    public CatalogStatistics(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                             @Value("${app.stats.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.scanTransaction = new TransactionTemplate(transactionManager);
+        this.scanTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.scanTransaction.setReadOnly(true);
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Latest statistics; never blocks and never touches the database
+     */
+    public CatalogStatsSnapshot current() {
+        return snapshot;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        if (event.getType() != BookChangedEvent.ChangeType.CREATED && event.getPrevious() == null) {
+            log.warn("Catalog statistics cannot attribute {} of book {} without its previous state; left to the next reconcile",
+                    event.getType(), event.getBookId());
+            return;
+        }
+        apply(event.getBookId(), new Change(BookFacts.of(event.getPrevious()), BookFacts.of(event.getCurrent())));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockAdjusted(StockAdjustedEvent event) {
+        apply(event.getBookId(), new Change(
+                new BookFacts(event.getCategory(), event.getPrice(), event.getPreviousStockQuantity()),
+                new BookFacts(event.getCategory(), event.getPrice(), event.getStockQuantity())));
+    }
+
+    /**
+     * Rebuild the statistics from the database. Runs at startup and then on a fixed delay.
+     */
+    @Scheduled(fixedDelayString = "${app.stats.reconcile-interval:PT10M}")
+    public void reconcile() {
+        synchronized (lock) {
+            if (changesDuringReconcile != null) {
+                return;
+            }
+            changesDuringReconcile = new HashMap<>();
+        }
+
+        long start = System.currentTimeMillis();
+        CategoryStats after;
+        try {
+            after = RoutingContext.onPrimary(() -> scanTransaction.execute(status -> rebuild()));
+        } catch (DataAccessException | TransactionException e) {
+            synchronized (lock) {
+                changesDuringReconcile = null;
+            }
+            log.warn("Catalog statistics reconcile failed; keeping incrementally maintained values", e);
+            return;
+        }
+        log.debug("Catalog statistics reconciled: {} books in {} ms", after.getTotalBooks(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Scan, then swap in the scanned aggregates with the books changed meanwhile set to their
+     * latest state. Runs in the scan transaction; returns the totals it published.
+     */
+    private CategoryStats rebuild() {
+        Aggregates scanned = new Aggregates();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SCAN_SQL);
+            statement.setFetchSize(isMySql(connection) ? Integer.MIN_VALUE : fetchSize);
+            return statement;
+        }, rs -> {
+            scanned.add(new BookFacts(rs.getString(1), rs.getBigDecimal(2), rs.getObject(3, Integer.class)), 1);
+        });
+
+        // Most changed rows are read back outside the lock; only those changed since wait on it
+        List<Long> changed;
+        synchronized (lock) {
+            changed = new ArrayList<>(changesDuringReconcile.keySet());
+        }
+        subtractScanned(scanned, changed);
+
+        CategoryStats before;
+        CategoryStats after;
+        synchronized (lock) {
+            List<Long> late = new ArrayList<>(changesDuringReconcile.keySet());
+            late.removeAll(changed);
+            subtractScanned(scanned, late);
+
+            before = snapshot.getTotals();
+            aggregates = scanned;
+            changesDuringReconcile.values().forEach(latest -> {
+                if (latest != null) {
+                    aggregates.add(latest, 1);
+                }
+            });
+            changesDuringReconcile = null;
+            reconciledAt = Instant.now();
+            publish();
+            after = snapshot.getTotals();
+        }
+
+        if (before != CatalogStatsSnapshot.EMPTY.getTotals() && (before.getTotalBooks() != after.getTotalBooks()
+                || before.getBooksInStock() != after.getBooksInStock()
+                || before.getInventoryValue().compareTo(after.getInventoryValue()) != 0)) {
+            log.info("Catalog statistics corrected by reconcile: totalBooks {} -> {}, booksInStock {} -> {}, inventoryValue {} -> {}",
+                    before.getTotalBooks(), after.getTotalBooks(), before.getBooksInStock(), after.getBooksInStock(),
+                    before.getInventoryValue(), after.getInventoryValue());
+        }
+        return after;
+    }
+
+    /**
+     * Remove the scan's contribution for the given books, read back from the scan's snapshot
+     */
+    private void subtractScanned(Aggregates scanned, List<Long> bookIds) {
+        for (int from = 0; from < bookIds.size(); from += CHANGED_ROWS_CHUNK) {
+            List<Long> chunk = bookIds.subList(from, Math.min(from + CHANGED_ROWS_CHUNK, bookIds.size()));
+            String sql = String.format(CHANGED_ROWS_SQL, String.join(", ", Collections.nCopies(chunk.size(), "?")));
+            jdbcTemplate.query(sql, statement -> {
+                for (int i = 0; i < chunk.size(); i++) {
+                    statement.setLong(i + 1, chunk.get(i));
+                }
+            }, rs -> {
+                scanned.add(new BookFacts(rs.getString(2), rs.getBigDecimal(3), rs.getObject(4, Integer.class)), -1);
+            });
+        }
+    }
+
+    private void apply(Long bookId, Change change) {
+        synchronized (lock) {
+            if (changesDuringReconcile != null) {
+                changesDuringReconcile.put(bookId, change.current);
+            }
+            aggregates.apply(change);
+            publish();
+        }
+    }
+
+    /**
+     * MySQL Connector/J only streams a result set when asked for a fetch size of
+     * {@link Integer#MIN_VALUE}; otherwise it buffers all rows in memory
+     */
+    private static boolean isMySql(Connection connection) throws SQLException {
+        String product = connection.getMetaData().getDatabaseProductName();
+        return "MySQL".equalsIgnoreCase(product) || "MariaDB".equalsIgnoreCase(product);
+    }
+
+    private void publish() {
+        Map<String, CategoryStats> byCategory = new TreeMap<>();
+        aggregates.categories.forEach((category, categoryTotals) -> byCategory.put(category, categoryTotals.toStats()));
+        snapshot = new CatalogStatsSnapshot(aggregates.totals.toStats(), byCategory, reconciledAt);
+    }
+
+    /**
+     * The columns the statistics depend on, for one book
+     */
+    private static final class BookFacts {
+        private final String category;
+        private final BigDecimal price;
+        private final int stockQuantity;
+
+        private BookFacts(String category, BigDecimal price, Integer stockQuantity) {
+            this.category = category != null ? category : UNCATEGORIZED;
+            this.price = price != null ? price : BigDecimal.ZERO;
+            this.stockQuantity = stockQuantity != null ? stockQuantity : 0;
+        }
+
+        private static BookFacts of(BookSnapshot book) {
+            return book == null ? null : new BookFacts(book.getCategory(), book.getPrice(), book.getStockQuantity());
+        }
+
+        private BigDecimal value() {
+            return stockQuantity > 0 ? price.multiply(BigDecimal.valueOf(stockQuantity)) : BigDecimal.ZERO;
+        }
+    }
+
+    /**
+     * Catalog-wide and per-category totals
+     */
+    private static final class Aggregates {
+        private final Map<String, Totals> categories = new TreeMap<>();
+        private final Totals totals = new Totals();
+
+        private void apply(Change change) {
+            if (change.previous != null) {
+                add(change.previous, -1);
+            }
+            if (change.current != null) {
+                add(change.current, 1);
+            }
+        }
+
+        private void add(BookFacts facts, int sign) {
+            totals.add(facts, sign);
+            Totals category = categories.computeIfAbsent(facts.category, key -> new Totals());
+            category.add(facts, sign);
+            if (category.books == 0) {
+                categories.remove(facts.category);
+            }
+        }
+    }
+
+    private static final class Totals {
+        private long books;
+        private long inStock;
+        private BigDecimal inventoryValue = BigDecimal.ZERO;
+
+        private void add(BookFacts facts, int sign) {
+            books += sign;
+            if (facts.stockQuantity > 0) {
+                inStock += sign;
+            }
+            BigDecimal value = facts.value();
+            inventoryValue = sign > 0 ? inventoryValue.add(value) : inventoryValue.subtract(value);
+        }
+
+        private CategoryStats toStats() {
+            return new CategoryStats(books, inStock, inventoryValue);
+        }
+    }
+
+    /**
+     * A committed write: the book's facts before (null when created) and after (null when deleted)
+     */
+    private static final class Change {
+        private final BookFacts previous;
+        private final BookFacts current;
+
+        private Change(BookFacts previous, BookFacts current) {
+            this.previous = previous;
+            this.current = current;
+        }
+    }
+}
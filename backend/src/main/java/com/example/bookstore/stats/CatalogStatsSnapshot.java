@@ -0,0 +1,84 @@
+package com.example.bookstore.stats;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable view of the catalog statistics at one point in time. The response body for
+ * {@code /actuator/bookstats} is built once here, so serving it does no counting or formatting.
+ */
+public final class CatalogStatsSnapshot {
+
+    static final CatalogStatsSnapshot EMPTY = new CatalogStatsSnapshot(
+            new CategoryStats(0, 0, BigDecimal.ZERO), Map.of(), null);
+
+    private final CategoryStats totals;
+    private final Map<String, CategoryStats> categories;
+    private final Instant reconciledAt;
+    private final Map<String, Object> response;
+
+    CatalogStatsSnapshot(CategoryStats totals, Map<String, CategoryStats> categories, Instant reconciledAt) {
+        this.totals = totals;
+        this.categories = Collections.unmodifiableMap(categories);
+        this.reconciledAt = reconciledAt;
+        this.response = Collections.unmodifiableMap(buildResponse());
+    }
+
+    private Map<String, Object> buildResponse() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("totalBooks", totals.getTotalBooks());
+        stats.put("booksInStock", totals.getBooksInStock());
+        stats.put("booksOutOfStock", totals.getBooksOutOfStock());
+        if (totals.getTotalBooks() > 0) {
+            double inStockPercentage = (double) totals.getBooksInStock() / totals.getTotalBooks() * 100;
+            stats.put("inStockPercentage", String.format("%.2f%%", inStockPercentage));
+            stats.put("outOfStockPercentage", String.format("%.2f%%", 100 - inStockPercentage));
+        }
+        stats.put("inventoryValue", totals.getInventoryValue());
+
+        Map<String, Object> byCategory = new LinkedHashMap<>();
+        categories.forEach((category, categoryStats) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("totalBooks", categoryStats.getTotalBooks());
+            entry.put("booksInStock", categoryStats.getBooksInStock());
+            entry.put("booksOutOfStock", categoryStats.getBooksOutOfStock());
+            entry.put("inventoryValue", categoryStats.getInventoryValue());
+            byCategory.put(category, entry);
+        });
+        stats.put("categories", byCategory);
+        stats.put("lastReconciledAt", reconciledAt);
+        stats.put("status", reconciledAt != null ? "healthy" : "initializing");
+        return stats;
+    }
+
+    // Getters
+    public CategoryStats getTotals() { return totals; }
+    public Map<String, CategoryStats> getCategories() { return categories; }
+    public Instant getReconciledAt() { return reconciledAt; }
+    public Map<String, Object> toResponse() { return response; }
+
+    /**
+     * Counts and inventory value (sum of price x stock) for a set of books
+     */
+    public static final class CategoryStats {
+
+        private final long totalBooks;
+        private final long booksInStock;
+        private final BigDecimal inventoryValue;
+
+        CategoryStats(long totalBooks, long booksInStock, BigDecimal inventoryValue) {
+            this.totalBooks = totalBooks;
+            this.booksInStock = booksInStock;
+            this.inventoryValue = inventoryValue;
+        }
+
+        // Getters
+        public long getTotalBooks() { return totalBooks; }
+        public long getBooksInStock() { return booksInStock; }
+        public long getBooksOutOfStock() { return totalBooks - booksInStock; }
+        public BigDecimal getInventoryValue() { return inventoryValue; }
+    }
+}
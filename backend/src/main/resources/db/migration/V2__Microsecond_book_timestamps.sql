@@ -0,0 +1,5 @@
+-- Store book timestamps with microsecond precision. updated_at backs the ETag and
+-- Last-Modified validators, so two updates within the same second must not share a value.
+ALTER TABLE books
+    MODIFY created_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6),
+    MODIFY updated_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6);
@@ -0,0 +1,13 @@
+-- Composite indexes for combined searches (BookSpecifications.matching): the equality
+-- predicate leads and the range predicate follows, so e.g. category + price range is one
+-- index range scan instead of a category scan filtered row by row.
+--
+-- Category and publisher are matched case-insensitively as LOWER(column) = ?, which a plain
+-- column index cannot serve; the functional key parts (MySQL 8.0.13+) index that expression.
+-- Stock status is a range on stock_quantity that matches most of the catalog, so it is left
+-- as a residual filter rather than leading an index.
+CREATE INDEX idx_books_category_price ON books ((LOWER(category)), price);
+CREATE INDEX idx_books_category_publication_date ON books ((LOWER(category)), publication_date);
+CREATE INDEX idx_books_publisher_price ON books ((LOWER(publisher)), price);
+CREATE INDEX idx_books_publisher_publication_date ON books ((LOWER(publisher)), publication_date);
+CREATE INDEX idx_books_publication_date_price ON books (publication_date, price);
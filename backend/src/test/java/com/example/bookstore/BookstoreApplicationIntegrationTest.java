@@ -2,10 +2,15 @@ package com.example.bookstore;
 
 import com.example.bookstore.dto.BookCreateRequest;
 import com.example.bookstore.dto.BookUpdateRequest;
+import com.example.bookstore.jdbc.QueryStatistics;
+import com.example.bookstore.jdbc.SqlStats;
 import com.example.bookstore.model.Book;
 import com.example.bookstore.repository.BookRepository;
+import com.example.bookstore.repository.StockLevel;
 import com.example.bookstore.util.TestDataBuilder;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -13,14 +18,18 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -44,6 +53,12 @@ class BookstoreApplicationIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private QueryStatistics queryStatistics;
+
+    @Autowired
+    private EntityManager entityManager;
+
 
     @Nested
     @DisplayName("Full CRUD Integration Tests")
@@ -193,6 +208,28 @@ class BookstoreApplicationIntegrationTest {
                     .andExpect(jsonPath("$.content[*].category", everyItem(is("Fiction"))));
         }
 
+        @Test
+        @DisplayName("Should combine category, price, date and stock criteria")
+        void shouldCombineCategoryPriceDateAndStockCriteria() throws Exception {
+            mockMvc.perform(get("/api/v1/books/search")
+                            .param("category", "fiction")
+                            .param("maxPrice", "15.00")
+                            .param("publishedFrom", "1950-01-01")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", hasSize(1)))
+                    .andExpect(jsonPath("$.content[0].title", is("To Kill a Mockingbird")));
+
+            mockMvc.perform(get("/api/v1/books/search")
+                            .param("category", "Fiction")
+                            .param("inStock", "false")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", hasSize(1)))
+                    .andExpect(jsonPath("$.content[0].title", is("The Catcher in the Rye")));
+        }
+
         @Test
         @DisplayName("Should get books in stock only")
         void shouldGetBooksInStockOnly() throws Exception {
@@ -204,6 +241,108 @@ class BookstoreApplicationIntegrationTest {
                     .andExpect(jsonPath("$.content[*].stockQuantity", everyItem(greaterThan(0))));
         }
 
+        @Test
+        @DisplayName("Should list book summaries without detail fields")
+        void shouldListBookSummariesWithoutDetailFields() throws Exception {
+            mockMvc.perform(get("/api/v1/books")
+                            .param("view", "summary")
+                            .param("sort", "title")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", hasSize(greaterThan(0))))
+                    .andExpect(jsonPath("$.content[0].id").exists())
+                    .andExpect(jsonPath("$.content[0].title").exists())
+                    .andExpect(jsonPath("$.content[0].price").exists())
+                    .andExpect(jsonPath("$.content[0].description").doesNotExist())
+                    .andExpect(jsonPath("$.content[0].isbn").doesNotExist())
+                    .andExpect(jsonPath("$.totalElements", greaterThan(0)));
+        }
+
+        @Test
+        @DisplayName("Should search and filter book summaries")
+        void shouldSearchAndFilterBookSummaries() throws Exception {
+            mockMvc.perform(get("/api/v1/books/search")
+                            .param("category", "Fiction")
+                            .param("view", "summary")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", hasSize(greaterThan(0))))
+                    .andExpect(jsonPath("$.content[*].category", everyItem(is("Fiction"))))
+                    .andExpect(jsonPath("$.content[0].description").doesNotExist());
+
+            mockMvc.perform(get("/api/v1/books/search")
+                            .param("category", "Fiction")
+                            .param("maxPrice", "13")
+                            .param("inStock", "true")
+                            .param("view", "summary")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", hasSize(greaterThan(0))))
+                    .andExpect(jsonPath("$.content[*].category", everyItem(is("Fiction"))))
+                    .andExpect(jsonPath("$.content[*].price", everyItem(lessThanOrEqualTo(13.0))))
+                    .andExpect(jsonPath("$.content[*].stockQuantity", everyItem(greaterThan(0))));
+
+            mockMvc.perform(get("/api/v1/books/in-stock")
+                            .param("view", "summary")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", hasSize(greaterThan(0))))
+                    .andExpect(jsonPath("$.content[*].stockQuantity", everyItem(greaterThan(0))))
+                    .andExpect(jsonPath("$.content[0].description").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("Should return only the requested fields")
+        void shouldReturnOnlyRequestedFields() throws Exception {
+            mockMvc.perform(get("/api/v1/books")
+                            .param("fields", "isbn,price,stockQuantity")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", hasSize(greaterThan(0))))
+                    .andExpect(jsonPath("$.content[0].id").exists())
+                    .andExpect(jsonPath("$.content[0].isbn").exists())
+                    .andExpect(jsonPath("$.content[0].price").exists())
+                    .andExpect(jsonPath("$.content[0].stockQuantity").exists())
+                    .andExpect(jsonPath("$.content[0].title").doesNotExist())
+                    .andExpect(jsonPath("$.content[0].description").doesNotExist())
+                    .andExpect(jsonPath("$.totalElements", greaterThan(0)));
+
+            mockMvc.perform(get("/api/v1/books/isbn/{isbn}", "978-0-7432-7356-5")
+                            .param("fields", "title")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.title", is("The Great Gatsby")))
+                    .andExpect(jsonPath("$.isbn").doesNotExist());
+
+            mockMvc.perform(get("/api/v1/books/search")
+                            .param("category", "Fiction")
+                            .param("fields", "category")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[*].category", everyItem(is("Fiction"))))
+                    .andExpect(jsonPath("$.content[0].author").doesNotExist());
+
+            mockMvc.perform(get("/api/v1/books/search")
+                            .param("category", "Fiction")
+                            .param("minPrice", "13")
+                            .param("fields", "category,price")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", hasSize(greaterThan(0))))
+                    .andExpect(jsonPath("$.content[*].category", everyItem(is("Fiction"))))
+                    .andExpect(jsonPath("$.content[*].price", everyItem(greaterThanOrEqualTo(13.0))));
+        }
+
+        @Test
+        @DisplayName("Should reject unknown fields")
+        void shouldRejectUnknownFields() throws Exception {
+            mockMvc.perform(get("/api/v1/books")
+                            .param("fields", "isbn,secret")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isBadRequest());
+        }
+
         @Test
         @DisplayName("Should get book by ISBN")
         void shouldGetBookByIsbn() throws Exception {
@@ -244,12 +383,183 @@ class BookstoreApplicationIntegrationTest {
                     .andExpect(jsonPath("$.number", is(1)))
                     .andExpect(jsonPath("$.size", is(2)));
         }
+
+        @Test
+        @DisplayName("Should scroll through all books with cursor pagination")
+        void shouldScrollThroughAllBooksWithCursorPagination() throws Exception {
+            List<String> titles = new ArrayList<>();
+            String after = "";
+
+            // Follow nextCursor until exhausted
+            do {
+                String response = mockMvc.perform(get("/api/v1/books")
+                                .param("after", after)
+                                .param("size", "2")
+                                .param("sort", "price,desc")
+                                .contentType(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.content", hasSize(lessThanOrEqualTo(2))))
+                        .andReturn().getResponse().getContentAsString();
+
+                JsonNode page = objectMapper.readTree(response);
+                page.get("content").forEach(book -> titles.add(book.get("title").asText()));
+                after = page.get("hasNext").asBoolean() ? page.get("nextCursor").asText() : null;
+            } while (after != null);
+
+            List<String> expected = bookRepository.findAll(Sort.by(Sort.Direction.DESC, "price", "id"))
+                    .stream().map(Book::getTitle).toList();
+            assertThat(titles).isEqualTo(expected);
+        }
+
+        @Test
+        @DisplayName("Should scroll search results with cursor pagination")
+        void shouldScrollSearchResultsWithCursorPagination() throws Exception {
+            mockMvc.perform(get("/api/v1/books/search")
+                            .param("category", "fiction")
+                            .param("after", "")
+                            .param("size", "100")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", hasSize(greaterThan(0))))
+                    .andExpect(jsonPath("$.content[*].category", everyItem(is("Fiction"))))
+                    .andExpect(jsonPath("$.hasNext", is(false)));
+        }
+
+        @Test
+        @DisplayName("Should scroll search results by title or author keyword")
+        void shouldScrollSearchResultsByTitleOrAuthorKeyword() throws Exception {
+            mockMvc.perform(get("/api/v1/books/search")
+                            .param("titleOrAuthor", "gatsby")
+                            .param("after", "")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[*].title", hasItem("The Great Gatsby")))
+                    .andExpect(jsonPath("$.content[*].title", everyItem(containsStringIgnoringCase("gatsby"))));
+        }
+
+        @Test
+        @DisplayName("Should reject a full-text query when scrolling search results")
+        void shouldRejectFullTextQueryWhenScrolling() throws Exception {
+            mockMvc.perform(get("/api/v1/books/search")
+                            .param("q", "gatsby")
+                            .param("after", "")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("Should reject malformed cursor")
+        void shouldRejectMalformedCursor() throws Exception {
+            mockMvc.perform(get("/api/v1/books/in-stock")
+                            .param("after", "not-a-cursor")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("Should reject cursor pagination on nullable sort property")
+        void shouldRejectCursorPaginationOnNullableSortProperty() throws Exception {
+            mockMvc.perform(get("/api/v1/books")
+                            .param("after", "")
+                            .param("sort", "publicationDate")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isBadRequest());
+        }
     }
 
     @Nested
     @DisplayName("Business Logic Integration Tests")
     class BusinessLogicIntegrationTests {
 
+        @Test
+        @DisplayName("Should bulk create books with per-item results")
+        void shouldBulkCreateBooksWithPerItemResults() throws Exception {
+            // Given - one pre-existing ISBN
+            bookRepository.save(TestDataBuilder.aBook().withIsbn("978-0-batch-0000").build());
+
+            List<BookCreateRequest> requests = new ArrayList<>();
+            for (int i = 1; i <= 30; i++) {
+                requests.add(TestDataBuilder.aBookCreateRequest()
+                        .withTitle("Batch Book " + i)
+                        .withIsbn(String.format("978-0-batch-%04d", i))
+                        .build());
+            }
+            requests.add(TestDataBuilder.aBookCreateRequest().withIsbn("978-0-batch-0000").build());
+            requests.add(TestDataBuilder.aBookCreateRequest().withIsbn("978-0-batch-0001").build());
+            requests.add(TestDataBuilder.aBookCreateRequest().withTitle("").withIsbn("978-0-batch-9999").build());
+
+            // When & Then
+            mockMvc.perform(post("/api/v1/books/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(requests)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.created", is(30)))
+                    .andExpect(jsonPath("$.rejected", is(3)))
+                    .andExpect(jsonPath("$.results", hasSize(33)))
+                    .andExpect(jsonPath("$.results[0].status", is("CREATED")))
+                    .andExpect(jsonPath("$.results[0].id").isNumber())
+                    .andExpect(jsonPath("$.results[30].status", is("REJECTED")))
+                    .andExpect(jsonPath("$.results[30].errors[0]", containsString("already exists")))
+                    .andExpect(jsonPath("$.results[31].errors[0]", containsString("item 0")))
+                    .andExpect(jsonPath("$.results[32].errors[0]", startsWith("title:")));
+
+            Book stored = bookRepository.findByIsbn("978-0-batch-0030").orElseThrow();
+            assertThat(stored.getTitle()).isEqualTo("Batch Book 30");
+            assertThat(stored.getCreatedAt()).isNotNull();
+            assertThat(bookRepository.findByIsbn("978-0-batch-9999")).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should adjust stock atomically and reject oversell")
+        void shouldAdjustStockAtomicallyAndRejectOversell() throws Exception {
+            // Given
+            Book book = bookRepository.save(TestDataBuilder.aBook()
+                    .withIsbn("978-0-stock-0001")
+                    .withStockQuantity(5)
+                    .build());
+
+            // When & Then - decrement within stock
+            mockMvc.perform(post("/api/v1/books/{id}/stock", book.getId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"delta\": -3}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.status", is("APPLIED")))
+                    .andExpect(jsonPath("$.stockQuantity", is(2)));
+
+            // Oversell is rejected and leaves stock untouched
+            mockMvc.perform(post("/api/v1/books/{id}/stock", book.getId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"delta\": -3}"))
+                    .andExpect(status().isConflict());
+
+            // Batch with an unknown book
+            mockMvc.perform(post("/api/v1/books/stock")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("[{\"id\": " + book.getId() + ", \"delta\": 10}, {\"id\": 999999, \"delta\": -1}]"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].status", is("APPLIED")))
+                    .andExpect(jsonPath("$[0].stockQuantity", is(12)))
+                    .andExpect(jsonPath("$[1].status", is("NOT_FOUND")));
+
+            // Batch naming the same book twice is rejected as a whole
+            mockMvc.perform(post("/api/v1/books/stock")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("[{\"id\": " + book.getId() + ", \"delta\": -1}, {\"id\": " + book.getId() + ", \"delta\": -1}]"))
+                    .andExpect(status().isBadRequest());
+
+            assertThat(bookRepository.findStockLevelById(book.getId())).map(StockLevel::getStockQuantity).contains(12);
+        }
+
+        @Test
+        @DisplayName("Should reject empty bulk create")
+        void shouldRejectEmptyBulkCreate() throws Exception {
+            mockMvc.perform(post("/api/v1/books/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("[]"))
+                    .andExpect(status().isBadRequest());
+        }
+
         @Test
         @DisplayName("Should prevent duplicate ISBN creation")
         void shouldPreventDuplicateIsbnCreation() throws Exception {
@@ -321,6 +631,135 @@ class BookstoreApplicationIntegrationTest {
                     .andExpect(jsonPath("$.title", is("Book Without ISBN")))
                     .andExpect(jsonPath("$.isbn").doesNotExist());
         }
+
+        @Test
+        @DisplayName("Should answer conditional book GETs with 304 until the book changes")
+        void shouldAnswerConditionalBookGetsWithNotModified() throws Exception {
+            // Given
+            Book book = bookRepository.save(TestDataBuilder.aBook()
+                    .withIsbn("978-0-etag-0001")
+                    .build());
+            MvcResult first = mockMvc.perform(get("/api/v1/books/{id}", book.getId()))
+                    .andExpect(status().isOk())
+                    .andExpect(header().exists("ETag"))
+                    .andExpect(header().exists("Last-Modified"))
+                    .andReturn();
+            String etag = first.getResponse().getHeader("ETag");
+            String lastModified = first.getResponse().getHeader("Last-Modified");
+
+            // When & Then - unchanged book
+            mockMvc.perform(get("/api/v1/books/{id}", book.getId()).header("If-None-Match", etag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string("ETag", etag))
+                    .andExpect(content().string(""));
+            mockMvc.perform(get("/api/v1/books/{id}", book.getId()).header("If-Modified-Since", lastModified))
+                    .andExpect(status().isNotModified());
+            mockMvc.perform(get("/api/v1/books/isbn/{isbn}", "978-0-etag-0001").header("If-None-Match", etag))
+                    .andExpect(status().isNotModified());
+
+            // Changed book
+            Thread.sleep(5);
+            mockMvc.perform(put("/api/v1/books/{id}", book.getId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(TestDataBuilder.aBookUpdateRequest()
+                                    .withTitle("Revised Title")
+                                    .build())))
+                    .andExpect(status().isOk());
+            mockMvc.perform(get("/api/v1/books/{id}", book.getId()).header("If-None-Match", etag))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", not(etag)))
+                    .andExpect(jsonPath("$.title", is("Revised Title")));
+        }
+
+        @Test
+        @DisplayName("Should answer conditional list GETs with 304 while the page is unchanged")
+        void shouldAnswerConditionalListGetsWithNotModified() throws Exception {
+            // Given
+            bookRepository.save(TestDataBuilder.aBook().withIsbn("978-0-etag-0002").build());
+            String etag = mockMvc.perform(get("/api/v1/books").param("size", "5"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", startsWith("W/")))
+                    .andReturn().getResponse().getHeader("ETag");
+
+            // When & Then
+            mockMvc.perform(get("/api/v1/books").param("size", "5").header("If-None-Match", etag))
+                    .andExpect(status().isNotModified());
+            mockMvc.perform(get("/api/v1/books").param("size", "4").header("If-None-Match", etag))
+                    .andExpect(status().isOk());
+        }
+
+        @Test
+        @DisplayName("Should merge-patch only the supplied fields and skip no-op patches")
+        void shouldMergePatchOnlySuppliedFieldsAndSkipNoOpPatches() throws Exception {
+            // Given
+            Book book = bookRepository.save(TestDataBuilder.aBook()
+                    .withTitle("Patch Target")
+                    .withPrice("19.99")
+                    .withIsbn("978-0-patch-001")
+                    .build());
+            String etag = mockMvc.perform(get("/api/v1/books/{id}", book.getId()))
+                    .andReturn().getResponse().getHeader("ETag");
+
+            // When & Then - no-op patch keeps the version
+            mockMvc.perform(patch("/api/v1/books/{id}", book.getId())
+                            .contentType("application/merge-patch+json")
+                            .content("{\"price\": 19.990, \"title\": \"Patch Target\"}"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", etag));
+
+            // Single-field patch
+            Thread.sleep(5);
+            String patchedEtag = mockMvc.perform(patch("/api/v1/books/{id}", book.getId())
+                            .contentType("application/merge-patch+json")
+                            .header("If-Match", etag)
+                            .content("{\"price\": 24.50, \"description\": null}"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", not(etag)))
+                    .andExpect(jsonPath("$.price", is(24.5)))
+                    .andExpect(jsonPath("$.title", is("Patch Target")))
+                    .andExpect(jsonPath("$.description").doesNotExist())
+                    .andReturn().getResponse().getHeader("ETag");
+            mockMvc.perform(get("/api/v1/books/{id}", book.getId()))
+                    .andExpect(header().string("ETag", patchedEtag))
+                    .andExpect(jsonPath("$.price", is(24.5)))
+                    .andExpect(jsonPath("$.isbn", is("978-0-patch-001")));
+        }
+
+        @Test
+        @DisplayName("Should reject merge patches with a stale If-Match or invalid members")
+        void shouldRejectStaleOrInvalidMergePatches() throws Exception {
+            // Given
+            Book book = bookRepository.save(TestDataBuilder.aBook().withIsbn("978-0-patch-002").build());
+            String etag = mockMvc.perform(get("/api/v1/books/{id}", book.getId()))
+                    .andReturn().getResponse().getHeader("ETag");
+            Thread.sleep(5);
+            mockMvc.perform(patch("/api/v1/books/{id}", book.getId())
+                            .contentType("application/merge-patch+json")
+                            .content("{\"stockQuantity\": 42}"))
+                    .andExpect(status().isOk());
+
+            // When & Then
+            mockMvc.perform(patch("/api/v1/books/{id}", book.getId())
+                            .contentType("application/merge-patch+json")
+                            .header("If-Match", etag)
+                            .content("{\"stockQuantity\": 7}"))
+                    .andExpect(status().isPreconditionFailed());
+            mockMvc.perform(patch("/api/v1/books/{id}", book.getId())
+                            .contentType("application/merge-patch+json")
+                            .content("{\"title\": null, \"price\": -1}"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.validationErrors", hasSize(2)));
+            mockMvc.perform(patch("/api/v1/books/{id}", book.getId())
+                            .contentType("application/merge-patch+json")
+                            .content("{\"updatedAt\": \"2020-01-01T00:00:00\"}"))
+                    .andExpect(status().isBadRequest());
+            mockMvc.perform(patch("/api/v1/books/{id}", 999999L)
+                            .contentType("application/merge-patch+json")
+                            .content("{\"stockQuantity\": 7}"))
+                    .andExpect(status().isNotFound());
+            mockMvc.perform(get("/api/v1/books/{id}", book.getId()))
+                    .andExpect(jsonPath("$.stockQuantity", is(42)));
+        }
     }
 
     @Nested
@@ -461,4 +900,116 @@ class BookstoreApplicationIntegrationTest {
             assertThat(updatedBook.getUpdatedAt()).isAfterOrEqualTo(book.getUpdatedAt());
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("SQL Statement Count Tests")
+    class SqlStatementCountTests {
+
+        @Test
+        @DisplayName("Should fetch a book once and then serve it from the cache")
+        void shouldFetchBookOnceAndThenServeItFromCache() throws Exception {
+            // Given
+            Book book = bookRepository.saveAndFlush(TestDataBuilder.aBook().withIsbn("978-0-sql-0001").build());
+            entityManager.clear();
+
+            // When
+            SqlStats first;
+            try (SqlStats sql = SqlStats.open()) {
+                mockMvc.perform(get("/api/v1/books/{id}", book.getId()))
+                        .andExpect(status().isOk());
+                first = sql;
+            }
+            SqlStats second;
+            try (SqlStats sql = SqlStats.open()) {
+                mockMvc.perform(get("/api/v1/books/{id}", book.getId()))
+                        .andExpect(status().isOk());
+                second = sql;
+            }
+
+            // Then
+            assertThat(first.getStatements()).isEqualTo(1);
+            assertThat(first.getRows()).isEqualTo(1);
+            assertThat(second.getStatements()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should list a page with one query for the rows and one for the total")
+        void shouldListPageWithOneQueryForRowsAndOneForTotal() throws Exception {
+            // Given
+            bookRepository.deleteAll();
+            for (int i = 0; i < 12; i++) {
+                bookRepository.save(TestDataBuilder.aBook().withIsbn(String.format("978-0-sql-page-%02d", i)).build());
+            }
+            bookRepository.flush();
+
+            // When / Then
+            try (SqlStats sql = SqlStats.open()) {
+                mockMvc.perform(get("/api/v1/books").param("size", "5"))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.content", hasSize(5)));
+
+                assertThat(sql.getStatements()).isEqualTo(2);
+                assertThat(sql.getRows()).isEqualTo(6);
+            }
+        }
+
+        @Test
+        @DisplayName("Should not issue a statement per book when creating a batch")
+        void shouldNotIssueStatementPerBookWhenCreatingBatch() throws Exception {
+            // When
+            int smallBatch = batchCreateStatements(10);
+            int largeBatch = batchCreateStatements(50);
+
+            // Then - one ISBN lookup and one JDBC batch, whatever the size
+            assertThat(smallBatch).isEqualTo(2);
+            assertThat(largeBatch).isEqualTo(smallBatch);
+        }
+
+        private int batchCreateStatements(int size) throws Exception {
+            List<BookCreateRequest> requests = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                requests.add(TestDataBuilder.aBookCreateRequest()
+                        .withIsbn(String.format("978-1-sql-%02d-%04d", size, i))
+                        .build());
+            }
+            try (SqlStats sql = SqlStats.open()) {
+                mockMvc.perform(post("/api/v1/books/batch")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(requests)))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.created", is(size)));
+                return sql.getStatements();
+            }
+        }
+
+        @Test
+        @DisplayName("Should aggregate statements by fingerprint and repository method")
+        void shouldAggregateStatementsByFingerprintAndRepositoryMethod() throws Exception {
+            // Given
+            bookRepository.saveAndFlush(TestDataBuilder.aBook().withIsbn("978-0-sql-0002").build());
+            queryStatistics.reset();
+
+            // When
+            mockMvc.perform(get("/api/v1/books/isbn/{isbn}", "978-0-sql-0002"))
+                    .andExpect(status().isOk());
+
+            // Then
+            assertThat(queryStatistics.top(10))
+                    .anySatisfy(stats -> {
+                        assertThat(stats.getFingerprint()).startsWith("select").doesNotContain("978-0-sql-0002");
+                        assertThat(stats.getCount()).isEqualTo(1);
+                        assertThat(stats.getRows()).isEqualTo(1);
+                        assertThat(stats.getOrigins()).containsKey("BookRepository.findByIsbn");
+                    });
+        }
+
+        @Test
+        @DisplayName("Should report database time in the Server-Timing header")
+        void shouldReportDatabaseTimeInServerTimingHeader() throws Exception {
+            mockMvc.perform(get("/api/v1/books").param("size", "5"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Server-Timing",
+                            matchesPattern("db;dur=\\d+\\.\\d{2};desc=\"\\d+ statements, \\d+ rows\"")));
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.bookstore.coalescing;
+
+import com.example.bookstore.cache.BookCache;
+import com.example.bookstore.datasource.RoutingContext;
+import com.example.bookstore.model.Book;
+import com.example.bookstore.repository.BookRepository;
+import com.example.bookstore.search.BookFacetIndex;
+import com.example.bookstore.search.BookSearchIndex;
+import com.example.bookstore.service.BookService;
+import com.example.bookstore.util.TestDataBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Read Coalescing Aspect Tests")
+class ReadCoalescingAspectTest {
+
+    private static final int CALLERS = 8;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private BookSearchIndex bookSearchIndex;
+
+    @Mock
+    private BookFacetIndex bookFacetIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
+    private BookService bookService;
+    private ExecutorService executor;
+    private final Pageable pageable = PageRequest.of(0, 10);
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        BookService target = new BookService(bookRepository,
+                new BookCache(meterRegistry, 100, Duration.ofMinutes(5)), bookSearchIndex, bookFacetIndex, eventPublisher);
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new ReadCoalescingAspect(meterRegistry, true));
+        bookService = factory.getProxy();
+        executor = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @Test
+    @DisplayName("Should share one query between identical concurrent reads")
+    void shouldShareOneQueryBetweenIdenticalConcurrentReads() throws Exception {
+        // Given - the query blocks until every other caller is waiting on it
+        CountDownLatch release = new CountDownLatch(1);
+        Page<Book> page = new PageImpl<>(List.of(TestDataBuilder.aBook().withId(1L).build()));
+        given(bookRepository.findByCategoryIgnoreCase("Fiction", pageable)).willAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return page;
+        });
+
+        // When
+        List<Future<Page<Book>>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> bookService.searchBooksByCategory("Fiction", pageable)));
+        }
+        awaitCollapsed(CALLERS - 1);
+        release.countDown();
+
+        // Then
+        for (Future<Page<Book>> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isSameAs(page);
+        }
+        verify(bookRepository, times(1)).findByCategoryIgnoreCase("Fiction", pageable);
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should propagate the shared call's exception to every caller")
+    void shouldPropagateSharedExceptionToEveryCaller() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        given(bookRepository.findByCategoryIgnoreCase("Broken", pageable)).willAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            throw new IllegalStateException("database unavailable");
+        });
+
+        // When
+        List<Future<Page<Book>>> results = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            results.add(executor.submit(() -> bookService.searchBooksByCategory("Broken", pageable)));
+        }
+        awaitCollapsed(1);
+        release.countDown();
+
+        // Then
+        for (Future<Page<Book>> result : results) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(IllegalStateException.class);
+        }
+        verify(bookRepository, times(1)).findByCategoryIgnoreCase("Broken", pageable);
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should run sequential and differing reads separately")
+    void shouldRunSequentialAndDifferingReadsSeparately() {
+        // Given
+        given(bookRepository.findByCategoryIgnoreCase("Fiction", pageable)).willReturn(Page.empty());
+        given(bookRepository.findByCategoryIgnoreCase("Fantasy", pageable)).willReturn(Page.empty());
+
+        // When
+        bookService.searchBooksByCategory("Fiction", pageable);
+        bookService.searchBooksByCategory("Fiction", pageable);
+        bookService.searchBooksByCategory("Fantasy", pageable);
+
+        // Then
+        verify(bookRepository, times(2)).findByCategoryIgnoreCase("Fiction", pageable);
+        verify(bookRepository, times(1)).findByCategoryIgnoreCase("Fantasy", pageable);
+        assertThat(collapsed()).isZero();
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should not let a read pinned to the primary join an unpinned in-flight read")
+    void shouldNotLetPinnedReadJoinUnpinnedInFlightRead() throws Exception {
+        // Given - the unpinned read blocks in the query; the pinned one returns at once
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Page<Book> replicaPage = Page.empty();
+        Page<Book> primaryPage = new PageImpl<>(List.of(TestDataBuilder.aBook().withId(1L).build()));
+        given(bookRepository.findByCategoryIgnoreCase("Fiction", pageable)).willAnswer(invocation -> {
+            if (RoutingContext.isPrimaryRequired()) {
+                return primaryPage;
+            }
+            entered.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return replicaPage;
+        });
+        Future<Page<Book>> unpinned = executor.submit(() -> bookService.searchBooksByCategory("Fiction", pageable));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        Page<Book> pinned = RoutingContext.onPrimary(() -> bookService.searchBooksByCategory("Fiction", pageable));
+        release.countDown();
+
+        // Then
+        assertThat(pinned).isSameAs(primaryPage);
+        assertThat(unpinned.get(5, TimeUnit.SECONDS)).isSameAs(replicaPage);
+        verify(bookRepository, times(2)).findByCategoryIgnoreCase("Fiction", pageable);
+        assertThat(collapsed()).isZero();
+        executor.shutdown();
+    }
+
+    private void awaitCollapsed(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (collapsed() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(collapsed()).isEqualTo(expected);
+    }
+
+    private double collapsed() {
+        return meterRegistry.find("bookstore.service.calls.collapsed").counters().stream()
+                .mapToDouble(counter -> counter.count())
+                .sum();
+    }
+}
@@ -1,9 +1,20 @@
 package com.example.bookstore.controller;
 
+import com.example.bookstore.dto.BookBatchResponse;
 import com.example.bookstore.dto.BookCreateRequest;
+import com.example.bookstore.dto.BookDTO;
+import com.example.bookstore.dto.BookSearchCriteria;
 import com.example.bookstore.dto.BookUpdateRequest;
+import com.example.bookstore.dto.CursorPage;
+import com.example.bookstore.dto.FacetedPage;
 import com.example.bookstore.exception.BookNotFoundException;
+import com.example.bookstore.export.BookExportService;
+import com.example.bookstore.export.ExportFormat;
 import com.example.bookstore.model.Book;
+import com.example.bookstore.repository.BookField;
+import com.example.bookstore.search.Facet;
+import com.example.bookstore.search.FacetCount;
+import com.example.bookstore.service.BookBatchService;
 import com.example.bookstore.service.BookService;
 import com.example.bookstore.util.TestDataBuilder;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -21,11 +32,16 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.hamcrest.Matchers.*;
@@ -50,6 +66,12 @@ class BookControllerTest {
     @MockBean
     private BookService bookService;
 
+    @MockBean
+    private BookExportService bookExportService;
+
+    @MockBean
+    private BookBatchService bookBatchService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -147,6 +169,29 @@ class BookControllerTest {
 
             verify(bookService).getAllBooks(any(Pageable.class));
         }
+
+        @Test
+        @DisplayName("Should return cursor page when after parameter provided")
+        void shouldReturnCursorPageWhenAfterParameterProvided() throws Exception {
+            // Given
+            CursorPage<Book> cursorPage = new CursorPage<>(Arrays.asList(testBook, anotherBook), 2, "next-token");
+            given(bookService.scrollAllBooks(eq("prev-token"), any(Pageable.class))).willReturn(cursorPage);
+
+            // When & Then
+            mockMvc.perform(get("/api/v1/books")
+                            .param("after", "prev-token")
+                            .param("size", "2")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", hasSize(2)))
+                    .andExpect(jsonPath("$.nextCursor", is("next-token")))
+                    .andExpect(jsonPath("$.hasNext", is(true)))
+                    .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+            verify(bookService).scrollAllBooks(eq("prev-token"), any(Pageable.class));
+            verify(bookService, never()).getAllBooks(any(Pageable.class));
+        }
     }
 
     @Nested
@@ -175,6 +220,35 @@ class BookControllerTest {
             verify(bookService).getBookById(1L);
         }
 
+        @Test
+        @DisplayName("Should load the book once and tag it when the request is unconditional")
+        void shouldLoadBookOnceAndTagItWhenRequestIsUnconditional() throws Exception {
+            // Given
+            given(bookService.getBookById(1L)).willReturn(Optional.of(testBook));
+
+            // When & Then
+            mockMvc.perform(get("/api/v1/books/{id}", 1L))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", BookETags.of(testBook)))
+                    .andExpect(header().exists("Last-Modified"));
+
+            verify(bookService, never()).getBookLastModified(any(Long.class));
+        }
+
+        @Test
+        @DisplayName("Should answer a matching If-None-Match without loading the book")
+        void shouldAnswerMatchingIfNoneMatchWithoutLoadingBook() throws Exception {
+            // Given
+            given(bookService.getBookLastModified(1L)).willReturn(Optional.of(testBook.getUpdatedAt()));
+
+            // When & Then
+            mockMvc.perform(get("/api/v1/books/{id}", 1L)
+                            .header("If-None-Match", BookETags.of(testBook)))
+                    .andExpect(status().isNotModified());
+
+            verify(bookService, never()).getBookById(any(Long.class));
+        }
+
         @Test
         @DisplayName("Should return 404 when book does not exist")
         void shouldReturn404WhenBookDoesNotExist() throws Exception {
@@ -195,6 +269,29 @@ class BookControllerTest {
     @DisplayName("POST /api/v1/books - Create Book")
     class CreateBookTests {
 
+        @Test
+        @DisplayName("Should bulk create books and return per-item results")
+        void shouldBulkCreateBooksAndReturnPerItemResults() throws Exception {
+            // Given
+            BookBatchResponse response = new BookBatchResponse(Arrays.asList(
+                    BookBatchResponse.ItemResult.created(0, 10L, "978-0-000-00001-1"),
+                    BookBatchResponse.ItemResult.rejected(1, null, List.of("title: Title is required"))));
+            given(bookBatchService.createBooks(any())).willReturn(response);
+
+            // When & Then
+            mockMvc.perform(post("/api/v1/books/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(List.of(createRequest, createRequest))))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.created", is(1)))
+                    .andExpect(jsonPath("$.rejected", is(1)))
+                    .andExpect(jsonPath("$.results[0].id", is(10)))
+                    .andExpect(jsonPath("$.results[1].status", is("REJECTED")));
+
+            verify(bookBatchService).createBooks(argThat(requests -> requests.size() == 2));
+        }
+
         @Test
         @DisplayName("Should create book successfully with valid data")
         void shouldCreateBookSuccessfullyWithValidData() throws Exception {
@@ -462,7 +559,8 @@ class BookControllerTest {
             // Given
             List<Book> books = Arrays.asList(testBook);
             Page<Book> bookPage = new PageImpl<>(books, PageRequest.of(0, 10), books.size());
-            given(bookService.searchBooksByTitle(eq("Test"), any(Pageable.class))).willReturn(bookPage);
+            BookSearchCriteria criteria = BookSearchCriteria.text(null, "Test", null);
+            given(bookService.searchBooks(eq(criteria), any(Pageable.class))).willReturn(bookPage);
 
             // When & Then
             mockMvc.perform(get("/api/v1/books/search")
@@ -473,7 +571,29 @@ class BookControllerTest {
                     .andExpect(jsonPath("$.content", hasSize(1)))
                     .andExpect(jsonPath("$.content[0].title", is("Test Book")));
 
-            verify(bookService).searchBooksByTitle(eq("Test"), any(Pageable.class));
+            verify(bookService).searchBooks(eq(criteria), any(Pageable.class));
+        }
+
+        @Test
+        @DisplayName("Should pass full-text query together with other criteria")
+        void shouldPassFullTextQueryTogetherWithOtherCriteria() throws Exception {
+            // Given
+            List<Book> books = Arrays.asList(testBook);
+            Page<Book> bookPage = new PageImpl<>(books, PageRequest.of(0, 10), books.size());
+            BookSearchCriteria criteria = BookSearchCriteria.text("test fiction", "Test", null);
+            given(bookService.searchBooks(eq(criteria), any(Pageable.class))).willReturn(bookPage);
+
+            // When & Then
+            mockMvc.perform(get("/api/v1/books/search")
+                            .param("q", "test fiction")
+                            .param("title", "Test")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", hasSize(1)))
+                    .andExpect(jsonPath("$.content[0].title", is("Test Book")));
+
+            verify(bookService).searchBooks(eq(criteria), any(Pageable.class));
         }
 
         @Test
@@ -482,7 +602,8 @@ class BookControllerTest {
             // Given
             List<Book> books = Arrays.asList(testBook);
             Page<Book> bookPage = new PageImpl<>(books, PageRequest.of(0, 10), books.size());
-            given(bookService.searchBooksByAuthor(eq("Test"), any(Pageable.class))).willReturn(bookPage);
+            BookSearchCriteria criteria = BookSearchCriteria.text(null, null, "Test");
+            given(bookService.searchBooks(eq(criteria), any(Pageable.class))).willReturn(bookPage);
 
             // When & Then
             mockMvc.perform(get("/api/v1/books/search")
@@ -493,49 +614,112 @@ class BookControllerTest {
                     .andExpect(jsonPath("$.content", hasSize(1)))
                     .andExpect(jsonPath("$.content[0].author", is("Test Author")));
 
-            verify(bookService).searchBooksByAuthor(eq("Test"), any(Pageable.class));
+            verify(bookService).searchBooks(eq(criteria), any(Pageable.class));
         }
 
         @Test
-        @DisplayName("Should search books by category successfully")
-        void shouldSearchBooksByCategorySuccessfully() throws Exception {
+        @DisplayName("Should combine title, author and every filter into one search")
+        void shouldCombineTitleAuthorAndEveryFilterIntoOneSearch() throws Exception {
             // Given
             List<Book> books = Arrays.asList(testBook);
             Page<Book> bookPage = new PageImpl<>(books, PageRequest.of(0, 10), books.size());
-            given(bookService.searchBooksByCategory(eq("Fiction"), any(Pageable.class))).willReturn(bookPage);
+            BookSearchCriteria criteria = new BookSearchCriteria(null, "Test", "Author", "Fiction", "Scribner",
+                    new BigDecimal("10"), new BigDecimal("20.00"), LocalDate.of(1920, 1, 1),
+                    LocalDate.of(1929, 12, 31), true);
+            given(bookService.searchBooks(eq(criteria), any(Pageable.class))).willReturn(bookPage);
 
             // When & Then
             mockMvc.perform(get("/api/v1/books/search")
+                            .param("title", "Test")
+                            .param("author", "Author")
                             .param("category", "Fiction")
+                            .param("publisher", "Scribner")
+                            .param("minPrice", "10.00")
+                            .param("maxPrice", "20")
+                            .param("publishedFrom", "1920-01-01")
+                            .param("publishedTo", "1929-12-31")
+                            .param("inStock", "true")
                             .contentType(MediaType.APPLICATION_JSON))
                     .andDo(print())
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$.content", hasSize(1)))
-                    .andExpect(jsonPath("$.content[0].category", is("Fiction")));
+                    .andExpect(jsonPath("$.content[0].title", is("Test Book")));
 
-            verify(bookService).searchBooksByCategory(eq("Fiction"), any(Pageable.class));
+            verify(bookService).searchBooks(eq(criteria), any(Pageable.class));
         }
 
         @Test
-        @DisplayName("Should search books by title and author successfully")
-        void shouldSearchBooksByTitleAndAuthorSuccessfully() throws Exception {
+        @DisplayName("Should combine every criterion into one summary search")
+        void shouldCombineEveryCriterionIntoOneSummarySearch() throws Exception {
             // Given
-            List<Book> books = Arrays.asList(testBook);
-            Page<Book> bookPage = new PageImpl<>(books, PageRequest.of(0, 10), books.size());
-            given(bookService.searchBooks(eq("Test"), eq("Author"), any(Pageable.class))).willReturn(bookPage);
+            BookSearchCriteria criteria = new BookSearchCriteria(null, "Test", null, "Fiction", "Scribner",
+                    new BigDecimal("10"), null, null, LocalDate.of(1929, 12, 31), false);
+            Page<BookDTO> summaries = new PageImpl<>(List.of(new BookDTO(1L, "Test Book", "Test Author",
+                    new BigDecimal("19.99"), "Fiction", 0, null)), PageRequest.of(0, 10), 1);
+            given(bookService.searchBookSummaries(eq(criteria), any(Pageable.class))).willReturn(summaries);
 
             // When & Then
             mockMvc.perform(get("/api/v1/books/search")
+                            .param("view", "summary")
                             .param("title", "Test")
-                            .param("author", "Author")
+                            .param("category", "Fiction")
+                            .param("publisher", "Scribner")
+                            .param("minPrice", "10")
+                            .param("publishedTo", "1929-12-31")
+                            .param("inStock", "false")
                             .contentType(MediaType.APPLICATION_JSON))
-                    .andDo(print())
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$.content", hasSize(1)))
-                    .andExpect(jsonPath("$.content[0].title", is("Test Book")))
-                    .andExpect(jsonPath("$.content[0].author", is("Test Author")));
+                    .andExpect(jsonPath("$.content[0].title", is("Test Book")));
 
-            verify(bookService).searchBooks(eq("Test"), eq("Author"), any(Pageable.class));
+            verify(bookService).searchBookSummaries(eq(criteria), any(Pageable.class));
+            verify(bookService, never()).searchBooks(any(BookSearchCriteria.class), any(Pageable.class));
+        }
+
+        @Test
+        @DisplayName("Should combine every criterion into one field search")
+        void shouldCombineEveryCriterionIntoOneFieldSearch() throws Exception {
+            // Given
+            BookSearchCriteria criteria = new BookSearchCriteria("gatsby", null, null, null, "Scribner",
+                    null, new BigDecimal("20"), LocalDate.of(1920, 1, 1), null, true);
+            Page<Map<String, Object>> rows = new PageImpl<>(List.<Map<String, Object>>of(
+                    Map.of("id", 1L, "price", new BigDecimal("12.99"))), PageRequest.of(0, 10), 1);
+            given(bookService.searchBookFields(eq(criteria), eq(EnumSet.of(BookField.ID, BookField.PRICE)),
+                    any(Pageable.class))).willReturn(rows);
+
+            // When & Then
+            mockMvc.perform(get("/api/v1/books/search")
+                            .param("fields", "price")
+                            .param("q", "gatsby")
+                            .param("publisher", "Scribner")
+                            .param("maxPrice", "20")
+                            .param("publishedFrom", "1920-01-01")
+                            .param("inStock", "true")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", hasSize(1)))
+                    .andExpect(jsonPath("$.content[0].price", is(12.99)));
+
+            verify(bookService).searchBookFields(eq(criteria), eq(EnumSet.of(BookField.ID, BookField.PRICE)),
+                    any(Pageable.class));
+        }
+
+        @Test
+        @DisplayName("Should reject inverted ranges and malformed values")
+        void shouldRejectInvertedRangesAndMalformedValues() throws Exception {
+            mockMvc.perform(get("/api/v1/books/search")
+                            .param("minPrice", "20")
+                            .param("maxPrice", "10"))
+                    .andExpect(status().isBadRequest());
+            mockMvc.perform(get("/api/v1/books/search")
+                            .param("publishedFrom", "2000-01-01")
+                            .param("publishedTo", "1999-12-31"))
+                    .andExpect(status().isBadRequest());
+            mockMvc.perform(get("/api/v1/books/search")
+                            .param("publishedFrom", "1999"))
+                    .andExpect(status().isBadRequest());
+
+            verify(bookService, never()).searchBooks(any(BookSearchCriteria.class), any(Pageable.class));
         }
 
         @Test
@@ -544,7 +728,8 @@ class BookControllerTest {
             // Given
             List<Book> books = Arrays.asList(testBook, anotherBook);
             Page<Book> bookPage = new PageImpl<>(books, PageRequest.of(0, 10), books.size());
-            given(bookService.getAllBooks(any(Pageable.class))).willReturn(bookPage);
+            BookSearchCriteria criteria = BookSearchCriteria.text(null, null, null);
+            given(bookService.searchBooks(eq(criteria), any(Pageable.class))).willReturn(bookPage);
 
             // When & Then
             mockMvc.perform(get("/api/v1/books/search")
@@ -553,7 +738,48 @@ class BookControllerTest {
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$.content", hasSize(2)));
 
-            verify(bookService).getAllBooks(any(Pageable.class));
+            verify(bookService).searchBooks(eq(criteria), any(Pageable.class));
+        }
+
+        @Test
+        @DisplayName("Should return facet counts with filtered results")
+        void shouldReturnFacetCountsWithFilteredResults() throws Exception {
+            // Given
+            Page<Book> bookPage = new PageImpl<>(List.of(testBook), PageRequest.of(0, 10), 1);
+            FacetedPage<Book> faceted = new FacetedPage<>(bookPage,
+                    Map.of("category", List.of(new FacetCount("Fiction", 1), new FacetCount("Fantasy", 3))));
+            given(bookService.searchBooksFaceted(eq("test"), isNull(), isNull(),
+                    eq(Map.of(Facet.CATEGORY, "fiction", Facet.IN_STOCK, "true")),
+                    eq(EnumSet.of(Facet.CATEGORY)), any(Pageable.class))).willReturn(faceted);
+
+            // When & Then
+            mockMvc.perform(get("/api/v1/books/search")
+                            .param("q", "test")
+                            .param("category", "Fiction")
+                            .param("inStock", "true")
+                            .param("facets", "category")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", hasSize(1)))
+                    .andExpect(jsonPath("$.totalElements", is(1)))
+                    .andExpect(jsonPath("$.facets.category[1].value", is("Fantasy")))
+                    .andExpect(jsonPath("$.facets.category[1].count", is(3)));
+
+            verify(bookService, never()).searchBooks(any(BookSearchCriteria.class), any(Pageable.class));
+        }
+
+        @Test
+        @DisplayName("Should reject unknown facets and invalid facet values")
+        void shouldRejectUnknownFacetsAndInvalidFacetValues() throws Exception {
+            mockMvc.perform(get("/api/v1/books/search")
+                            .param("facets", "color"))
+                    .andExpect(status().isBadRequest());
+            mockMvc.perform(get("/api/v1/books/search")
+                            .param("facets", "")
+                            .param("price", "15-25"))
+                    .andExpect(status().isBadRequest());
+
+            verify(bookService, never()).searchBooksFaceted(any(), any(), any(), any(), any(), any(Pageable.class));
         }
     }
 
@@ -582,6 +808,52 @@ class BookControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("GET /api/v1/books/export - Export Books")
+    class ExportBooksTests {
+
+        @Test
+        @DisplayName("Should stream export with format and filters")
+        void shouldStreamExportWithFormatAndFilters() throws Exception {
+            // Given
+            given(bookExportService.export(eq(ExportFormat.CSV), eq("Fiction"), eq(true), any(OutputStream.class)))
+                    .willAnswer(invocation -> {
+                        OutputStream out = invocation.getArgument(3);
+                        out.write("id,title\r\n1,Test Book\r\n".getBytes(StandardCharsets.UTF_8));
+                        return 1L;
+                    });
+
+            // When
+            MvcResult result = mockMvc.perform(get("/api/v1/books/export")
+                            .param("format", "csv")
+                            .param("category", "Fiction")
+                            .param("inStock", "true"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            // Then
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                    .andExpect(header().string("Content-Disposition", containsString("books.csv")))
+                    .andExpect(content().string(containsString("1,Test Book")));
+
+            verify(bookExportService).export(eq(ExportFormat.CSV), eq("Fiction"), eq(true), any(OutputStream.class));
+        }
+
+        @Test
+        @DisplayName("Should return bad request for unsupported export format")
+        void shouldReturnBadRequestForUnsupportedExportFormat() throws Exception {
+            // When & Then
+            mockMvc.perform(get("/api/v1/books/export")
+                            .param("format", "xml"))
+                    .andDo(print())
+                    .andExpect(status().isBadRequest());
+
+            verifyNoInteractions(bookExportService);
+        }
+    }
+
     @Nested
     @DisplayName("GET /api/v1/books/isbn/{isbn} - Get Book By ISBN")
     class GetBookByIsbnTests {
@@ -0,0 +1,76 @@
+package com.example.bookstore.datasource;
+
+import com.example.bookstore.util.TestDataBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Full application with replica routing enabled. The primary and the replica are separate pools
+ * on the same in-memory H2 database, standing in for a replica with no lag.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routingdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "app.datasource.routing.enabled=true",
+        "app.datasource.replicas[0].name=replica-1",
+        "app.datasource.replicas[0].url=jdbc:h2:mem:routingdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("DataSource Routing Integration Tests")
+class DataSourceRoutingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Should read from the replica unless the client is inside its read-your-writes window")
+    void shouldReadFromReplicaUnlessInsideReadYourWritesWindow() throws Exception {
+        // Given - a write hands out the read-your-writes deadline
+        String readAfter = mockMvc.perform(post("/api/v1/books")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(TestDataBuilder.aBookCreateRequest()
+                                .withIsbn("978-0-route-0001")
+                                .build())))
+                .andExpect(status().isCreated())
+                .andExpect(header().exists("X-Read-After"))
+                .andReturn().getResponse().getHeader("X-Read-After");
+
+        // When & Then - a client that ignores the header reads from the replica
+        double replicaBefore = connections("replica-1");
+        mockMvc.perform(get("/api/v1/books").param("size", "3"))
+                .andExpect(status().isOk());
+        assertThat(connections("replica-1")).isGreaterThan(replicaBefore);
+
+        // A client that echoes it reads from the primary
+        double replicaAfter = connections("replica-1");
+        double primaryBefore = connections("primary");
+        mockMvc.perform(get("/api/v1/books").param("size", "4").header("X-Read-After", readAfter))
+                .andExpect(status().isOk());
+        assertThat(connections("replica-1")).isEqualTo(replicaAfter);
+        assertThat(connections("primary")).isGreaterThan(primaryBefore);
+    }
+
+    private double connections(String target) {
+        return meterRegistry.get("bookstore.datasource.connections").tag("target", target).counter().count();
+    }
+}
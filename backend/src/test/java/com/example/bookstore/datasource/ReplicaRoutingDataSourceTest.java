@@ -0,0 +1,136 @@
+package com.example.bookstore.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routes between separate in-memory H2 databases standing in for the primary and replicas;
+ * each holds a one-row table naming the database, so a query shows where it ran.
+ */
+@DisplayName("Replica Routing DataSource Tests")
+class ReplicaRoutingDataSourceTest {
+
+    private final AtomicBoolean replicaTwoDown = new AtomicBoolean();
+    private SimpleMeterRegistry meterRegistry;
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        DataSource replicaTwo = database("replica-2");
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", database("replica-1"));
+        replicas.put("replica-2", new DelegatingDataSource(replicaTwo) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                if (replicaTwoDown.get()) {
+                    throw new SQLException("Connection refused");
+                }
+                return super.getConnection();
+            }
+        });
+        routing = new ReplicaRoutingDataSource(database("primary"), replicas, 2, meterRegistry);
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RoutingContext.clear();
+    }
+
+    @Test
+    @DisplayName("Should send read-only transactions to replicas in turn and writes to the primary")
+    void shouldRouteReadOnlyToReplicasAndWritesToPrimary() {
+        assertThat(readOnlyOrigin()).isEqualTo("replica-1");
+        assertThat(readOnlyOrigin()).isEqualTo("replica-2");
+        assertThat(readOnlyOrigin()).isEqualTo("replica-1");
+        assertThat(readWriteOrigin()).isEqualTo("primary");
+        assertThat(origin()).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("Should read from the primary while primary reads are required")
+    void shouldReadFromPrimaryWhenRequired() {
+        String origin = RoutingContext.onPrimary(this::readOnlyOrigin);
+
+        assertThat(origin).isEqualTo("primary");
+        assertThat(readOnlyOrigin()).startsWith("replica");
+    }
+
+    @Test
+    @DisplayName("Should eject a failing replica and readmit it after a passing health check")
+    void shouldEjectFailingReplicaAndReadmitAfterHealthCheck() {
+        // Given
+        replicaTwoDown.set(true);
+
+        // When - a failed connection falls back to the primary until the replica is ejected
+        assertThat(readOnlyOrigin()).isEqualTo("replica-1");
+        assertThat(readOnlyOrigin()).isEqualTo("primary");
+        routing.checkReplicas(1);
+
+        // Then
+        assertThat(healthy("replica-2")).isZero();
+        for (int i = 0; i < 4; i++) {
+            assertThat(readOnlyOrigin()).isEqualTo("replica-1");
+        }
+
+        replicaTwoDown.set(false);
+        routing.checkReplicas(1);
+        assertThat(healthy("replica-2")).isEqualTo(1);
+        assertThat(readOnlyOrigin() + readOnlyOrigin())
+                .contains("replica-1").contains("replica-2");
+    }
+
+    private String readOnlyOrigin() {
+        return readOnly.execute(status -> origin());
+    }
+
+    private String readWriteOrigin() {
+        return readWrite.execute(status -> origin());
+    }
+
+    private String origin() {
+        return jdbcTemplate.queryForObject("SELECT name FROM origin", String.class);
+    }
+
+    private double healthy(String replica) {
+        return meterRegistry.get("bookstore.datasource.replica.healthy").tag("replica", replica).gauge().value();
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE origin (name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO origin VALUES (?)", name);
+        return dataSource;
+    }
+}
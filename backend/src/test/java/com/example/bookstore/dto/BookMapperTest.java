@@ -0,0 +1,61 @@
+package com.example.bookstore.dto;
+
+import com.example.bookstore.model.Book;
+import com.example.bookstore.util.TestDataBuilder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("BookMapper Tests")
+class BookMapperTest {
+
+    @Test
+    @DisplayName("Should copy every create request property onto a new book")
+    void shouldCopyEveryCreateRequestProperty() {
+        // Given
+        BookCreateRequest request = TestDataBuilder.aBookCreateRequest().build();
+
+        // When
+        Book book = BookMapper.toBook(request);
+
+        // Then
+        assertThat(book.getId()).isNull();
+        assertThat(book).usingRecursiveComparison().ignoringFields("id", "createdAt", "updatedAt").isEqualTo(request);
+    }
+
+    @Test
+    @DisplayName("Should copy every update request property, including nulls")
+    void shouldCopyEveryUpdateRequestProperty() {
+        // Given
+        BookUpdateRequest request = TestDataBuilder.aBookUpdateRequest()
+                .withDescription(null)
+                .withStockQuantity(null)
+                .build();
+
+        // When
+        Book book = BookMapper.toBook(request);
+
+        // Then
+        assertThat(book).usingRecursiveComparison().ignoringFields("id", "createdAt", "updatedAt").isEqualTo(request);
+        assertThat(book.getStockQuantity()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should copy every book property onto the DTO")
+    void shouldCopyEveryBookPropertyOntoDto() {
+        // Given
+        Book book = TestDataBuilder.aBook().withId(7L).build();
+        book.setCreatedAt(LocalDateTime.of(2024, 1, 1, 9, 30));
+        book.setUpdatedAt(LocalDateTime.of(2024, 2, 1, 10, 45));
+
+        // When
+        BookDTO dto = BookMapper.toDto(book);
+
+        // Then
+        assertThat(dto).usingRecursiveComparison().isEqualTo(book);
+        assertThat(book).usingRecursiveComparison().isEqualTo(dto);
+    }
+}
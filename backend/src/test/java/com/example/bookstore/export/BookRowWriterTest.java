@@ -0,0 +1,96 @@
+package com.example.bookstore.export;
+
+import com.example.bookstore.model.Book;
+import com.example.bookstore.util.TestDataBuilder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Export Row Writer Tests")
+class BookRowWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private String export(ExportFormat format, Book... books) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (BookRowWriter writer = format.newWriter(out, objectMapper)) {
+            for (Book book : books) {
+                writer.write(book);
+            }
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Nested
+    @DisplayName("NDJSON Tests")
+    class NdjsonTests {
+
+        @Test
+        @DisplayName("Should write one JSON document per line")
+        void shouldWriteOneJsonDocumentPerLine() throws Exception {
+            // Given
+            Book first = TestDataBuilder.aBook().withId(1L).withTitle("First").build();
+            Book second = TestDataBuilder.aBook().withId(2L).withTitle("Line\nBreak").build();
+
+            // When
+            String output = export(ExportFormat.NDJSON, first, second);
+
+            // Then
+            String[] lines = output.split("\n");
+            assertThat(output).endsWith("\n");
+            assertThat(lines).hasSize(2);
+            JsonNode secondNode = objectMapper.readTree(lines[1]);
+            assertThat(secondNode.get("id").asLong()).isEqualTo(2L);
+            assertThat(secondNode.get("title").asText()).isEqualTo("Line\nBreak");
+        }
+    }
+
+    @Nested
+    @DisplayName("CSV Tests")
+    class CsvTests {
+
+        @Test
+        @DisplayName("Should quote fields containing separators and quotes")
+        void shouldQuoteFieldsContainingSeparatorsAndQuotes() throws Exception {
+            // Given
+            Book book = TestDataBuilder.aBook()
+                    .withId(7L)
+                    .withTitle("Eats, Shoots & Leaves")
+                    .withAuthor("Lynne \"Punctuation\" Truss")
+                    .withPrice("9.99")
+                    .withDescription(null)
+                    .build();
+
+            // When
+            String output = export(ExportFormat.CSV, book);
+
+            // Then
+            String[] rows = output.split("\r\n");
+            assertThat(rows[0]).isEqualTo(CsvBookRowWriter.HEADER);
+            assertThat(rows[1]).startsWith("7,\"Eats, Shoots & Leaves\",\"Lynne \"\"Punctuation\"\" Truss\",9.99,");
+        }
+
+        @Test
+        @DisplayName("Should write header for empty export")
+        void shouldWriteHeaderForEmptyExport() throws Exception {
+            assertThat(export(ExportFormat.CSV)).isEqualTo(CsvBookRowWriter.HEADER + "\r\n");
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject unknown format")
+    void shouldRejectUnknownFormat() {
+        assertThat(ExportFormat.fromParameter("CSV")).isEqualTo(ExportFormat.CSV);
+        assertThatThrownBy(() -> ExportFormat.fromParameter("xml"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.bookstore.filter;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("HttpRequestMetricsFilter Tests")
+class HttpRequestMetricsFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private HttpRequestMetricsFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new HttpRequestMetricsFilter(meterRegistry, 3);
+    }
+
+    private void perform(String method, String uri, String pattern, int status) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+            if (pattern != null) {
+                req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+            }
+            ((MockHttpServletResponse) res).setStatus(status);
+        };
+        filter.doFilter(request, response, chain);
+    }
+
+    private Timer timer(String uri, String method, String status) {
+        return meterRegistry.find("http.server.requests.custom")
+                .tag("uri", uri).tag("method", method).tag("status", status).timer();
+    }
+
+    @Test
+    @DisplayName("Should tag requests by route template instead of raw path")
+    void shouldTagRequestsByRouteTemplateInsteadOfRawPath() throws Exception {
+        // When
+        perform("GET", "/api/v1/books/1", "/api/v1/books/{id}", 200);
+        perform("GET", "/api/v1/books/2", "/api/v1/books/{id}", 200);
+        perform("GET", "/api/v1/books/3", "/api/v1/books/{id}", 404);
+
+        // Then
+        assertThat(timer("/api/v1/books/{id}", "GET", "200").count()).isEqualTo(2);
+        assertThat(timer("/api/v1/books/{id}", "GET", "404").count()).isEqualTo(1);
+        assertThat(meterRegistry.find("bookstore.http.requests.total")
+                .tag("endpoint", "/api/v1/books/{id}").tag("status", "200").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.find("http.server.requests.custom").tag("uri", "/api/v1/books/1").timer()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should group unmatched requests and skip actuator routes")
+    void shouldGroupUnmatchedRequestsAndSkipActuatorRoutes() throws Exception {
+        // When
+        perform("GET", "/no/such/path/1", null, 404);
+        perform("GET", "/no/such/path/2", null, 404);
+        perform("GET", "/actuator/health", "/actuator/health", 200);
+
+        // Then
+        assertThat(timer("NOT_FOUND", "GET", "404").count()).isEqualTo(2);
+        assertThat(meterRegistry.find("http.server.requests.custom").tag("uri", "/actuator/health").timer()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should cap distinct routes with overflow bucket")
+    void shouldCapDistinctRoutesWithOverflowBucket() throws Exception {
+        // When
+        for (int i = 0; i < 10; i++) {
+            perform("GET", "/r" + i, "/r" + i, 200);
+        }
+
+        // Then
+        assertThat(meterRegistry.find("http.server.requests.custom").timers()
+                .stream().map(t -> t.getId().getTag("uri")).distinct()).hasSize(4);
+        assertThat(timer(HttpRequestMetricsFilter.OVERFLOW_ROUTE, "GET", "200").count()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("Should bucket unknown methods and status codes")
+    void shouldBucketUnknownMethodsAndStatusCodes() throws Exception {
+        // When
+        perform("PROPFIND", "/api/v1/books", "/api/v1/books", 200);
+        perform("GET", "/api/v1/books", "/api/v1/books", 999);
+
+        // Then
+        assertThat(timer("/api/v1/books", "OTHER", "200").count()).isEqualTo(1);
+        assertThat(timer("/api/v1/books", "GET", "UNKNOWN").count()).isEqualTo(1);
+    }
+}
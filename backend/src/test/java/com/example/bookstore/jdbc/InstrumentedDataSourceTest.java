@@ -0,0 +1,143 @@
+package com.example.bookstore.jdbc;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Counts the work done through an instrumented in-memory H2 database holding a ten-row table.
+ */
+@DisplayName("Instrumented DataSource Tests")
+class InstrumentedDataSourceTest {
+
+    private final List<String> executed = new ArrayList<>();
+    private InstrumentedDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:instrumented-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate setup = new JdbcTemplate(h2);
+        setup.execute("CREATE TABLE numbers (n INT)");
+        for (int n = 1; n <= 10; n++) {
+            setup.update("INSERT INTO numbers VALUES (?)", n);
+        }
+
+        StatementListener recording = new StatementListener() {
+            @Override
+            public void statementExecuted(String sql, long elapsedNanos) {
+                executed.add(sql);
+                SqlStats.listener().statementExecuted(sql, elapsedNanos);
+            }
+
+            @Override
+            public void resultSetAdvanced(String sql, boolean hasRow, long elapsedNanos) {
+                SqlStats.listener().resultSetAdvanced(sql, hasRow, elapsedNanos);
+            }
+        };
+        dataSource = new InstrumentedDataSource(h2, List.of(recording));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Test
+    @DisplayName("Should count statements, rows and database time within a scope")
+    void shouldCountStatementsRowsAndTimeWithinScope() {
+        // Given
+        jdbcTemplate.queryForList("SELECT n FROM numbers");
+
+        // When
+        try (SqlStats sql = SqlStats.open()) {
+            jdbcTemplate.queryForList("SELECT n FROM numbers WHERE n <= ?", Integer.class, 4);
+            jdbcTemplate.update("UPDATE numbers SET n = n WHERE n = 1");
+            jdbcTemplate.queryForObject("SELECT COUNT(*) FROM numbers", Integer.class);
+
+            // Then
+            assertThat(sql.getStatements()).isEqualTo(3);
+            assertThat(sql.getRows()).isEqualTo(5);
+            assertThat(sql.getTimeNanos()).isPositive();
+        }
+        assertThat(SqlStats.current()).isNull();
+        assertThat(executed).containsExactly("SELECT n FROM numbers", "SELECT n FROM numbers WHERE n <= ?",
+                "UPDATE numbers SET n = n WHERE n = 1", "SELECT COUNT(*) FROM numbers");
+    }
+
+    @Test
+    @DisplayName("Should add a nested scope's totals to the enclosing scope")
+    void shouldAddNestedScopeToEnclosingScope() {
+        try (SqlStats outer = SqlStats.open()) {
+            jdbcTemplate.queryForList("SELECT n FROM numbers");
+
+            try (SqlStats inner = SqlStats.open()) {
+                jdbcTemplate.queryForList("SELECT n FROM numbers WHERE n > 8");
+                assertThat(inner.getStatements()).isEqualTo(1);
+                assertThat(inner.getRows()).isEqualTo(2);
+            }
+
+            assertThat(SqlStats.current()).isSameAs(outer);
+            assertThat(outer.getStatements()).isEqualTo(2);
+            assertThat(outer.getRows()).isEqualTo(12);
+        }
+    }
+
+    @Test
+    @DisplayName("Should count a JDBC batch as one statement")
+    void shouldCountBatchAsOneStatement() {
+        try (SqlStats sql = SqlStats.open()) {
+            jdbcTemplate.batchUpdate("INSERT INTO numbers VALUES (?)",
+                    List.of(new Object[]{11}, new Object[]{12}, new Object[]{13}));
+
+            assertThat(sql.getStatements()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Should count failed statements and rethrow the driver's exception")
+    void shouldCountFailedStatements() {
+        try (SqlStats sql = SqlStats.open()) {
+            assertThatThrownBy(() -> jdbcTemplate.update("UPDATE numbers SET n = 1 / (n - n)"))
+                    .hasRootCauseInstanceOf(SQLException.class);
+
+            assertThat(sql.getStatements()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Should hand out proxies that lead back to each other and equal only themselves")
+    void shouldKeepProxiesConsistent() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT n FROM numbers");
+             ResultSet resultSet = statement.executeQuery()) {
+
+            assertThat(statement.getConnection()).isSameAs(connection);
+            assertThat(resultSet.getStatement()).isSameAs(statement);
+            assertThat(connection).isEqualTo(connection).isNotEqualTo(connection.unwrap(Connection.class));
+            assertThat(connection.isWrapperFor(org.h2.jdbc.JdbcConnection.class)).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Should record nothing outside a scope")
+    void shouldRecordNothingOutsideScope() {
+        new TransactionTemplate(new DataSourceTransactionManager(dataSource))
+                .executeWithoutResult(status -> jdbcTemplate.queryForList("SELECT n FROM numbers"));
+
+        assertThat(SqlStats.current()).isNull();
+        assertThat(executed).containsExactly("SELECT n FROM numbers");
+    }
+}
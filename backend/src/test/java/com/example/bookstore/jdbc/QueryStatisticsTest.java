@@ -0,0 +1,169 @@
+package com.example.bookstore.jdbc;
+
+import com.example.bookstore.jdbc.QueryStatistics.FingerprintStats;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Query Statistics Tests")
+class QueryStatisticsTest {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Nested
+    @DisplayName("Fingerprinting")
+    class FingerprintTests {
+
+        @Test
+        @DisplayName("Should replace string and numeric literals with placeholders")
+        void shouldReplaceLiterals() {
+            assertThat(SqlFingerprint.of("SELECT * FROM books WHERE title = 'It''s' AND price > 10.5 AND id = -3"))
+                    .isEqualTo("select * from books where title = ? and price > ? and id = -?");
+        }
+
+        @Test
+        @DisplayName("Should keep digits that are part of identifiers")
+        void shouldKeepDigitsInIdentifiers() {
+            assertThat(SqlFingerprint.of("select b1_0.id,b1_0.title from books b1_0 where b1_0.id=?"))
+                    .isEqualTo("select b1_0.id,b1_0.title from books b1_0 where b1_0.id=?");
+        }
+
+        @Test
+        @DisplayName("Should collapse whitespace, drop comments and lower-case keywords")
+        void shouldNormalizeLayout() {
+            String formatted = "/* <criteria> */ SELECT\n    b.id\nFROM\n    books b -- all of them\nWHERE b.\"Title\" = ?";
+
+            assertThat(SqlFingerprint.of(formatted)).isEqualTo("select b.id from books b where b.\"Title\" = ?");
+        }
+
+        @Test
+        @DisplayName("Should give IN lists of any length one fingerprint but keep subqueries")
+        void shouldCollapseInLists() {
+            assertThat(SqlFingerprint.of("select * from books where id in (?, ?, ?)"))
+                    .isEqualTo(SqlFingerprint.of("select * from books where id IN (1,2,3,4,5,6)"))
+                    .isEqualTo("select * from books where id in (?+)");
+            assertThat(SqlFingerprint.of("select * from books where id in (select id from books where pages > 100)"))
+                    .isEqualTo("select * from books where id in (select id from books where pages > ?)");
+        }
+    }
+
+    @Nested
+    @DisplayName("Aggregation")
+    class AggregationTests {
+
+        @Test
+        @DisplayName("Should aggregate statements differing in literals under one fingerprint")
+        void shouldAggregateByFingerprint() {
+            // Given
+            QueryStatistics statistics = new QueryStatistics(100, 1000);
+
+            // When
+            statistics.statementExecuted("SELECT * FROM books WHERE id = 1", 2 * MILLIS);
+            statistics.statementExecuted("SELECT * FROM books WHERE id = 2", 4 * MILLIS);
+            statistics.resultSetAdvanced("SELECT * FROM books WHERE id = 2", true, MILLIS);
+            statistics.resultSetAdvanced("SELECT * FROM books WHERE id = 2", false, 0);
+
+            // Then
+            List<FingerprintStats> top = statistics.top(10);
+            assertThat(top).hasSize(1);
+            FingerprintStats stats = top.get(0);
+            assertThat(stats.getFingerprint()).isEqualTo("select * from books where id = ?");
+            assertThat(stats.getCount()).isEqualTo(2);
+            assertThat(stats.getExecutionMs()).isEqualTo(6.0);
+            assertThat(stats.getFetchMs()).isEqualTo(1.0);
+            assertThat(stats.getTotalMs()).isEqualTo(7.0);
+            assertThat(stats.getMeanMs()).isEqualTo(3.0);
+            assertThat(stats.getMaxMs()).isEqualTo(4.0);
+            assertThat(stats.getRows()).isEqualTo(1);
+            assertThat(stats.getOrigins()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should order fingerprints by total time and honour the limit")
+        void shouldOrderByTotalTime() {
+            // Given
+            QueryStatistics statistics = new QueryStatistics(100, 1000);
+            for (int i = 0; i < 50; i++) {
+                statistics.statementExecuted("select count(*) from books", MILLIS);
+            }
+            statistics.statementExecuted("select * from books order by title", 80 * MILLIS);
+            statistics.statementExecuted("update books set stock_quantity = ? where id = ?", 10 * MILLIS);
+
+            // When
+            List<FingerprintStats> top = statistics.top(2);
+
+            // Then
+            assertThat(top).extracting(FingerprintStats::getFingerprint)
+                    .containsExactly("select * from books order by title", "select count(*) from books");
+        }
+
+        @Test
+        @DisplayName("Should track a bounded number of fingerprints and count the rest as OTHER")
+        void shouldBoundFingerprints() {
+            // Given
+            QueryStatistics statistics = new QueryStatistics(3, 1000);
+
+            // When
+            for (int i = 0; i < 10; i++) {
+                statistics.statementExecuted("select * from books_" + (char) ('a' + i), MILLIS);
+            }
+
+            // Then
+            assertThat(statistics.size()).isEqualTo(4);
+            assertThat(statistics.top(10))
+                    .filteredOn(stats -> stats.getFingerprint().equals(QueryStatistics.OTHER))
+                    .singleElement()
+                    .extracting(FingerprintStats::getCount)
+                    .isEqualTo(7L);
+        }
+
+        @Test
+        @DisplayName("Should estimate percentiles within the histogram's precision")
+        void shouldEstimatePercentiles() {
+            // Given - 1..100 ms
+            QueryStatistics statistics = new QueryStatistics(10, 1000);
+            for (int ms = 1; ms <= 100; ms++) {
+                statistics.statementExecuted("select * from books", ms * MILLIS);
+            }
+
+            // When
+            FingerprintStats stats = statistics.top(1).get(0);
+
+            // Then
+            assertThat(stats.getP50Ms()).isBetween(50.0, 50 * 1.13);
+            assertThat(stats.getP95Ms()).isBetween(95.0, 95 * 1.13);
+            assertThat(stats.getP99Ms()).isBetween(99.0, 100.0);
+            assertThat(stats.getMaxMs()).isEqualTo(100.0);
+        }
+
+        @Test
+        @DisplayName("Should start over after a reset")
+        void shouldStartOverAfterReset() {
+            QueryStatistics statistics = new QueryStatistics(10, 1000);
+            statistics.statementExecuted("select * from books", MILLIS);
+
+            statistics.reset();
+
+            assertThat(statistics.size()).isZero();
+            assertThat(statistics.top(10)).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("Should map every duration into a bucket whose upper bound covers it")
+    void shouldBucketDurations() {
+        long previousBound = -1;
+        for (int bucket = 0; bucket < QueryStatistics.BUCKETS; bucket++) {
+            long bound = QueryStatistics.bucketUpperBound(bucket);
+            assertThat(bound).isGreaterThan(previousBound);
+            assertThat(QueryStatistics.bucket(bound)).isEqualTo(bucket);
+            assertThat(QueryStatistics.bucket(previousBound + 1)).isEqualTo(bucket);
+            previousBound = bound;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.bookstore.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("DropCountingAsyncAppender Tests")
+class DropCountingAsyncAppenderTest {
+
+    private final LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+    private final CountDownLatch firstEventReceived = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<ILoggingEvent> delivered = Collections.synchronizedList(new ArrayList<>());
+    private DropCountingAsyncAppender appender;
+
+    @BeforeEach
+    void setUp() {
+        // Downstream appender that blocks on the first event so the queue can be filled
+        AppenderBase<ILoggingEvent> blocking = new AppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                firstEventReceived.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                delivered.add(event);
+            }
+        };
+        blocking.setContext(context);
+        blocking.start();
+
+        appender = new DropCountingAsyncAppender();
+        appender.setContext(context);
+        appender.setQueueSize(4);
+        appender.addAppender(blocking);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        appender.stop();
+    }
+
+    private LoggingEvent event(Level level, String message) {
+        return new LoggingEvent(getClass().getName(), context.getLogger("test"), level, message, null, null);
+    }
+
+    @Test
+    @DisplayName("Should count events dropped when the queue is full and never-block is set")
+    void shouldCountEventsDroppedWhenTheQueueIsFullAndNeverBlockIsSet() throws Exception {
+        // Given
+        appender.setDiscardingThreshold(0);
+        appender.setNeverBlock(true);
+        appender.start();
+        appender.doAppend(event(Level.INFO, "first"));
+        assertThat(firstEventReceived.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        for (int i = 0; i < 7; i++) {
+            appender.doAppend(event(Level.ERROR, "event " + i));
+        }
+        release.countDown();
+        appender.stop();
+
+        // Then
+        assertThat(appender.getDroppedCount()).isEqualTo(3);
+        assertThat(delivered).hasSize(5);
+    }
+
+    @Test
+    @DisplayName("Should count discarded low-level events but keep warnings")
+    void shouldCountDiscardedLowLevelEventsButKeepWarnings() throws Exception {
+        // Given
+        appender.setDiscardingThreshold(2);
+        appender.start();
+        appender.doAppend(event(Level.INFO, "first"));
+        assertThat(firstEventReceived.await(5, TimeUnit.SECONDS)).isTrue();
+        appender.doAppend(event(Level.INFO, "queued 1"));
+        appender.doAppend(event(Level.INFO, "queued 2"));
+        appender.doAppend(event(Level.INFO, "queued 3"));
+
+        // When
+        appender.doAppend(event(Level.DEBUG, "discarded"));
+        appender.doAppend(event(Level.WARN, "kept"));
+        release.countDown();
+        appender.stop();
+
+        // Then
+        assertThat(appender.getDroppedCount()).isEqualTo(1);
+        assertThat(delivered).extracting(ILoggingEvent::getMessage).contains("kept").doesNotContain("discarded");
+    }
+}
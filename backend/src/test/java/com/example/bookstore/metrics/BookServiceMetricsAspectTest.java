@@ -0,0 +1,140 @@
+package com.example.bookstore.metrics;
+
+import com.example.bookstore.event.BookChangedEvent;
+import com.example.bookstore.exception.BookNotFoundException;
+import com.example.bookstore.model.Book;
+import com.example.bookstore.repository.BookRepository;
+import com.example.bookstore.service.BookService;
+import com.example.bookstore.util.TestDataBuilder;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BookServiceMetricsAspect Tests")
+class BookServiceMetricsAspectTest {
+
+    @Mock
+    private BookService bookService;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private BookMetricsCollector metricsCollector;
+    private BookService instrumented;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        metricsCollector = new BookMetricsCollector(meterRegistry, bookRepository);
+        metricsCollector.initializeMetrics();
+
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(bookService);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new BookServiceMetricsAspect(metricsCollector));
+        instrumented = proxyFactory.getProxy();
+    }
+
+    private Timer timer(String name, String operation, String outcome) {
+        return meterRegistry.get(name).tag("operation", operation).tag("outcome", outcome).timer();
+    }
+
+    @Nested
+    @DisplayName("Timer Tests")
+    class TimerTests {
+
+        @Test
+        @DisplayName("Should register timers only for outcomes that occur")
+        void shouldRegisterTimersOnlyForOutcomesThatOccur() {
+            // Given
+            given(bookService.getBookById(1L)).willReturn(Optional.empty());
+            assertThat(meterRegistry.find("bookstore.books.fetch.duration").timers()).isEmpty();
+
+            // When
+            instrumented.getBookById(1L);
+            instrumented.getBookById(1L);
+
+            // Then
+            assertThat(meterRegistry.find("bookstore.books.fetch.duration").timers()).hasSize(1);
+            assertThat(timer("bookstore.books.fetch.duration", "getBookById", "not_found").count()).isEqualTo(2);
+            assertThat(meterRegistry.find("bookstore.books.create.duration").timers()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should tag fetch timers by outcome and count views")
+        void shouldTagFetchTimersByOutcomeAndCountViews() {
+            // Given
+            Book book = TestDataBuilder.aBook().withId(1L).build();
+            given(bookService.getBookById(1L)).willReturn(Optional.of(book));
+            given(bookService.getBookById(2L)).willReturn(Optional.empty());
+
+            // When
+            instrumented.getBookById(1L);
+            instrumented.getBookById(2L);
+
+            // Then
+            assertThat(timer("bookstore.books.fetch.duration", "getBookById", "success").count()).isEqualTo(1);
+            assertThat(timer("bookstore.books.fetch.duration", "getBookById", "not_found").count()).isEqualTo(1);
+            assertThat(meterRegistry.get("bookstore.books.viewed").counter().count()).isEqualTo(1);
+            assertThat(meterRegistry.get("bookstore.books.active.operations").gauge().value()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should classify exceptions by outcome")
+        void shouldClassifyExceptionsByOutcome() {
+            // Given
+            given(bookService.updateBook(any(), any())).willThrow(new BookNotFoundException(9L));
+            given(bookService.createBook(any())).willThrow(new IllegalArgumentException("duplicate"));
+            given(bookService.adjustStock(1L, -1)).willThrow(new IllegalStateException("boom"));
+
+            // When
+            assertThatThrownBy(() -> instrumented.updateBook(9L, new Book())).isInstanceOf(BookNotFoundException.class);
+            assertThatThrownBy(() -> instrumented.createBook(new Book())).isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> instrumented.adjustStock(1L, -1)).isInstanceOf(IllegalStateException.class);
+
+            // Then
+            assertThat(timer("bookstore.books.update.duration", "updateBook", "not_found").count()).isEqualTo(1);
+            assertThat(timer("bookstore.books.create.duration", "createBook", "rejected").count()).isEqualTo(1);
+            assertThat(timer("bookstore.books.update.duration", "adjustStock", "error").count()).isEqualTo(1);
+            assertThat(meterRegistry.get("bookstore.books.created").counter().count()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Total Count Tests")
+    class TotalCountTests {
+
+        @Test
+        @DisplayName("Should track total count from write events")
+        void shouldTrackTotalCountFromWriteEvents() {
+            // Given
+            given(bookRepository.count()).willReturn(10L);
+            metricsCollector.initializeTotalBooksCount();
+            Book book = TestDataBuilder.aBook().withId(11L).build();
+
+            // When
+            metricsCollector.onBookChanged(BookChangedEvent.created(book));
+            metricsCollector.onBookChanged(BookChangedEvent.created(book));
+            metricsCollector.onBookChanged(BookChangedEvent.deleted(3L, null));
+            metricsCollector.onBookChanged(BookChangedEvent.updated(null, book));
+
+            // Then
+            assertThat(meterRegistry.get("bookstore.books.total.count").gauge().value()).isEqualTo(11);
+        }
+    }
+}
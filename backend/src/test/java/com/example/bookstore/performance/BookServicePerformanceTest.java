@@ -1,7 +1,10 @@
 package com.example.bookstore.performance;
 
+import com.example.bookstore.dto.BookDTO;
 import com.example.bookstore.model.Book;
 import com.example.bookstore.repository.BookRepository;
+import com.example.bookstore.seed.CatalogGenerator;
+import com.example.bookstore.seed.CatalogLoader;
 import com.example.bookstore.service.BookService;
 import com.example.bookstore.util.TestDataBuilder;
 import org.junit.jupiter.api.BeforeEach;
@@ -33,6 +36,9 @@ class BookServicePerformanceTest {
     @Autowired
     private BookRepository bookRepository;
 
+    @Autowired
+    private CatalogLoader catalogLoader;
+
     @BeforeEach
     void setUp() {
         bookRepository.deleteAll();
@@ -320,4 +326,34 @@ class BookServicePerformanceTest {
         
         System.out.println("Processed " + totalProcessed + " books using pagination in " + duration + "ms");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should serve reads from a production-shaped catalog efficiently")
+    @Timeout(value = 60, unit = TimeUnit.SECONDS)
+    void shouldServeReadsFromProductionShapedCatalogEfficiently() {
+        // Given - A generated catalog with skewed authors and categories, in this test's transaction
+        int numberOfBooks = 50_000;
+        catalogLoader.load(new CatalogGenerator(42, numberOfBooks), numberOfBooks, 1000);
+
+        // When - Page through the head category, the in-stock summaries and a title search
+        long startTime = System.currentTimeMillis();
+
+        Page<Book> fiction = Page.empty();
+        Page<BookDTO> inStock = Page.empty();
+        for (int page = 0; page < 20; page++) {
+            fiction = bookService.searchBooksByCategory("Fiction", PageRequest.of(page, 20));
+            inStock = bookService.getBookSummariesInStock(PageRequest.of(page, 20));
+            bookService.searchBooksByTitle("garden", PageRequest.of(page, 20));
+        }
+
+        long endTime = System.currentTimeMillis();
+        long duration = endTime - startTime;
+
+        // Then - The head category holds a large share, and out-of-stock books are excluded
+        assertThat(fiction.getTotalElements()).isGreaterThan(numberOfBooks / 10);
+        assertThat(inStock.getTotalElements()).isBetween(numberOfBooks * 80L / 100, numberOfBooks * 90L / 100);
+        assertThat(duration).isLessThan(60000);
+
+        System.out.println("Loaded " + numberOfBooks + " generated books; 60 paged reads took " + duration + "ms");
+    }
+}
@@ -509,4 +509,38 @@ class BookRepositoryTest {
             assertThat(result.hasNext()).isTrue();
         }
     }
+
+    @Nested
+    @DisplayName("Specification Range Tests")
+    class SpecificationRangeTests {
+
+        @Test
+        @DisplayName("Should include both bounds of a search range")
+        void shouldIncludeBothBoundsOfSearchRange() {
+            // When
+            List<Book> byPrice = bookRepository.findAll(
+                    BookSpecifications.priceBetween(new BigDecimal("12.99"), new BigDecimal("14.99")));
+            List<Book> byDate = bookRepository.findAll(
+                    BookSpecifications.publishedWithin(null, LocalDate.of(1960, 7, 11)));
+
+            // Then
+            assertThat(byPrice).extracting(Book::getTitle)
+                    .containsExactlyInAnyOrder("The Great Gatsby", "To Kill a Mockingbird");
+            assertThat(byDate).extracting(Book::getTitle)
+                    .containsExactlyInAnyOrder("The Great Gatsby", "To Kill a Mockingbird");
+        }
+
+        @Test
+        @DisplayName("Should exclude the upper bound of a facet bucket")
+        void shouldExcludeUpperBoundOfFacetBucket() {
+            // When
+            List<Book> byPrice = bookRepository.findAll(
+                    BookSpecifications.priceInBucket(new BigDecimal("12.99"), new BigDecimal("14.99")));
+            List<Book> byDecade = bookRepository.findAll(BookSpecifications.publishedInDecade(1920));
+
+            // Then
+            assertThat(byPrice).extracting(Book::getTitle).containsExactly("The Great Gatsby");
+            assertThat(byDecade).extracting(Book::getTitle).containsExactly("The Great Gatsby");
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,274 @@
+package com.example.bookstore.search;
+
+import com.example.bookstore.event.BookChangedEvent;
+import com.example.bookstore.event.BookSnapshot;
+import com.example.bookstore.event.StockAdjustedEvent;
+import com.example.bookstore.model.Book;
+import com.example.bookstore.repository.BookRepository;
+import com.example.bookstore.util.TestDataBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BookFacetIndex Tests")
+class BookFacetIndexTest {
+
+    private static final Set<Facet> ALL_FACETS = EnumSet.allOf(Facet.class);
+
+    @Mock
+    private BookRepository bookRepository;
+
+    private BookFacetIndex index;
+    private Book gatsby;
+    private Book mockingbird;
+    private Book hobbit;
+
+    @BeforeEach
+    void setUp() {
+        gatsby = TestDataBuilder.aBook()
+                .withId(1L)
+                .withCategory("Fiction")
+                .withPublisher("Scribner")
+                .withPrice("12.99")
+                .withPublicationDate(LocalDate.of(1925, 4, 10))
+                .withStockQuantity(5)
+                .build();
+        mockingbird = TestDataBuilder.aBook()
+                .withId(2L)
+                .withCategory("fiction")
+                .withPublisher("Lippincott")
+                .withPrice("7.99")
+                .withPublicationDate(LocalDate.of(1960, 7, 11))
+                .withStockQuantity(0)
+                .build();
+        hobbit = TestDataBuilder.aBook()
+                .withId(3L)
+                .withCategory("Fantasy")
+                .withPublisher("Allen & Unwin")
+                .withPrice("55.00")
+                .withPublicationDate(LocalDate.of(1937, 9, 21))
+                .withStockQuantity(2)
+                .build();
+
+        index = new BookFacetIndex(bookRepository, true, 2, 20);
+        given(bookRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Pageable.class)))
+                .willAnswer(invocation -> {
+                    long after = invocation.getArgument(0);
+                    List<Book> batch = new ArrayList<>();
+                    for (Book book : Arrays.asList(gatsby, mockingbird, hobbit)) {
+                        if (book.getId() > after && batch.size() < 2) {
+                            batch.add(book);
+                        }
+                    }
+                    return batch;
+                });
+        index.rebuild();
+    }
+
+    private FacetedHits facet(SearchHits hits, Map<Facet, String> filters) {
+        return index.facet(hits, filters, ALL_FACETS).orElseThrow();
+    }
+
+    @Nested
+    @DisplayName("Count Tests")
+    class CountTests {
+
+        @Test
+        @DisplayName("Should count every facet over the whole catalog")
+        void shouldCountEveryFacetOverWholeCatalog() {
+            FacetedHits result = facet(null, Map.of());
+
+            assertThat(result.getHits().page(0, 10)).containsExactly(1L, 2L, 3L);
+            assertThat(result.getCounts().get(Facet.CATEGORY))
+                    .extracting(FacetCount::getValue, FacetCount::getCount)
+                    .containsExactly(tuple("Fiction", 2L), tuple("Fantasy", 1L));
+            assertThat(result.getCounts().get(Facet.IN_STOCK))
+                    .extracting(FacetCount::getValue, FacetCount::getCount)
+                    .containsExactly(tuple("false", 1L), tuple("true", 2L));
+            assertThat(result.getCounts().get(Facet.PRICE))
+                    .extracting(FacetCount::getValue)
+                    .containsExactly("0-10", "10-20", "50+");
+            assertThat(result.getCounts().get(Facet.DECADE))
+                    .extracting(FacetCount::getValue)
+                    .containsExactly("1920s", "1930s", "1960s");
+        }
+
+        @Test
+        @DisplayName("Should filter hits and keep their ranking")
+        void shouldFilterHitsAndKeepTheirRanking() {
+            SearchHits hits = SearchHits.of(Map.of(1L, 1.0f, 2L, 3.0f, 3L, 2.0f));
+
+            FacetedHits result = facet(hits, Map.of(Facet.CATEGORY, "fiction"));
+
+            assertThat(result.getHits().page(0, 10)).containsExactly(2L, 1L);
+        }
+
+        @Test
+        @DisplayName("Should not apply a facet's own filter to its counts")
+        void shouldNotApplyFacetsOwnFilterToItsCounts() {
+            FacetedHits result = facet(null, Map.of(Facet.CATEGORY, "fantasy", Facet.IN_STOCK, "true"));
+
+            assertThat(result.getHits().page(0, 10)).containsExactly(3L);
+            assertThat(result.getCounts().get(Facet.CATEGORY))
+                    .extracting(FacetCount::getValue, FacetCount::getCount)
+                    .containsExactly(tuple("Fantasy", 1L), tuple("Fiction", 1L));
+            assertThat(result.getCounts().get(Facet.IN_STOCK))
+                    .extracting(FacetCount::getValue, FacetCount::getCount)
+                    .containsExactly(tuple("true", 1L));
+        }
+
+        @Test
+        @DisplayName("Should return no hits for an unknown value")
+        void shouldReturnNoHitsForUnknownValue() {
+            FacetedHits result = facet(null, Map.of(Facet.PUBLISHER, "penguin"));
+
+            assertThat(result.getHits().getTotal()).isZero();
+            assertThat(result.getCounts().get(Facet.PRICE)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should reject filter values that can never match")
+        void shouldRejectFilterValuesThatCanNeverMatch() {
+            assertThat(Facet.PRICE.filterKey("50+")).isEqualTo("50+");
+            assertThatThrownBy(() -> Facet.PRICE.filterKey("15-25")).isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> Facet.IN_STOCK.filterKey("yes")).isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> Facet.fromParameter("colour")).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Incremental Update Tests")
+    class IncrementalUpdateTests {
+
+        @Test
+        @DisplayName("Should move book between values when updated")
+        void shouldMoveBookBetweenValuesWhenUpdated() {
+            BookSnapshot previous = BookSnapshot.of(hobbit);
+            hobbit.setCategory("Fiction");
+
+            index.onBookChanged(BookChangedEvent.updated(previous, hobbit));
+
+            assertThat(facet(null, Map.of()).getCounts().get(Facet.CATEGORY))
+                    .extracting(FacetCount::getValue, FacetCount::getCount)
+                    .containsExactly(tuple("Fiction", 3L));
+        }
+
+        @Test
+        @DisplayName("Should track stock adjustments")
+        void shouldTrackStockAdjustments() {
+            index.onStockAdjusted(new StockAdjustedEvent(2L, 4, 4, mockingbird.getCategory(), mockingbird.getPrice()));
+            index.onStockAdjusted(new StockAdjustedEvent(3L, -2, 0, hobbit.getCategory(), hobbit.getPrice()));
+
+            assertThat(facet(null, Map.of(Facet.IN_STOCK, "true")).getHits().page(0, 10))
+                    .containsExactly(1L, 2L);
+        }
+
+        @Test
+        @DisplayName("Should drop book when deleted")
+        void shouldDropBookWhenDeleted() {
+            index.onBookChanged(BookChangedEvent.deleted(3L, null));
+
+            FacetedHits result = facet(null, Map.of());
+            assertThat(result.getHits().getTotal()).isEqualTo(2);
+            assertThat(result.getCounts().get(Facet.CATEGORY))
+                    .extracting(FacetCount::getValue)
+                    .containsExactly("Fiction");
+        }
+
+        @Test
+        @DisplayName("Should apply stock adjustments to books the build has not read yet")
+        void shouldApplyStockAdjustmentsToBooksBuildHasNotReadYet() {
+            // Given - hobbit sells out while the first batch is read; its row is read afterwards, stale
+            BookFacetIndex building = new BookFacetIndex(bookRepository, true, 2, 20);
+            given(bookRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Pageable.class)))
+                    .willAnswer(invocation -> {
+                        long after = invocation.getArgument(0);
+                        if (after > 0) {
+                            return List.of(hobbit);
+                        }
+                        building.onStockAdjusted(new StockAdjustedEvent(3L, -2, 0, hobbit.getCategory(), hobbit.getPrice()));
+                        return List.of(gatsby, mockingbird);
+                    });
+
+            // When
+            building.rebuild();
+
+            // Then
+            assertThat(building.facet(null, Map.of(Facet.IN_STOCK, "true"), ALL_FACETS).orElseThrow()
+                    .getHits().page(0, 10)).containsExactly(1L);
+        }
+
+        @Test
+        @DisplayName("Should drop books no longer in the catalog when rebuilt")
+        void shouldDropBooksNoLongerInCatalogWhenRebuilt() {
+            given(bookRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Pageable.class)))
+                    .willReturn(List.of(gatsby));
+
+            index.rebuild();
+
+            assertThat(facet(null, Map.of()).getCounts().get(Facet.CATEGORY))
+                    .extracting(FacetCount::getValue, FacetCount::getCount)
+                    .containsExactly(tuple("Fiction", 1L));
+        }
+
+        @Test
+        @DisplayName("Should not serve facets when disabled")
+        void shouldNotServeFacetsWhenDisabled() {
+            BookFacetIndex disabled = new BookFacetIndex(bookRepository, false, 2, 20);
+
+            assertThat(disabled.facet(null, Map.of(), ALL_FACETS)).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("Bitmaps should agree with a sorted set across sparse and dense chunks")
+    void bitmapsShouldAgreeWithSortedSet() {
+        Random random = new Random(42);
+        BookIdBitmap left = new BookIdBitmap();
+        BookIdBitmap right = new BookIdBitmap();
+        TreeSet<Long> leftIds = new TreeSet<>();
+        TreeSet<Long> rightIds = new TreeSet<>();
+        for (int i = 0; i < 20_000; i++) {
+            // Dense below 65,536, sparse above
+            long id = i % 2 == 0 ? random.nextInt(20_000) : 65_536 + random.nextInt(1_000_000);
+            assertThat(left.add(id)).isEqualTo(leftIds.add(id));
+            long other = random.nextInt(70_000);
+            right.add(other);
+            rightIds.add(other);
+        }
+        for (int i = 0; i < 8_000; i++) {
+            long id = random.nextInt(20_000);
+            assertThat(left.remove(id)).isEqualTo(leftIds.remove(id));
+        }
+
+        TreeSet<Long> common = new TreeSet<>(leftIds);
+        common.retainAll(rightIds);
+        assertThat(left.toArray()).containsExactly(leftIds.stream().mapToLong(Long::longValue).toArray());
+        assertThat(left.and(right).toArray()).containsExactly(common.stream().mapToLong(Long::longValue).toArray());
+        assertThat(right.andCardinality(left)).isEqualTo(common.size());
+        assertThat(BookIdBitmap.ofSorted(right.toArray()).cardinality()).isEqualTo(rightIds.size());
+    }
+}
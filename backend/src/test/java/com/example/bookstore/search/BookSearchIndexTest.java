@@ -0,0 +1,218 @@
+package com.example.bookstore.search;
+
+import com.example.bookstore.event.BookChangedEvent;
+import com.example.bookstore.event.BookSnapshot;
+import com.example.bookstore.model.Book;
+import com.example.bookstore.repository.BookRepository;
+import com.example.bookstore.util.TestDataBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BookSearchIndex Tests")
+class BookSearchIndexTest {
+
+    private static final Set<SearchField> ALL_FIELDS = EnumSet.allOf(SearchField.class);
+
+    @Mock
+    private BookRepository bookRepository;
+
+    private BookSearchIndex index;
+    private Book gatsby;
+    private Book mockingbird;
+    private Book hobbit;
+
+    @BeforeEach
+    void setUp() {
+        gatsby = TestDataBuilder.aBook()
+                .withId(1L)
+                .withTitle("The Great Gatsby")
+                .withAuthor("F. Scott Fitzgerald")
+                .withCategory("Fiction")
+                .withPublisher("Scribner")
+                .withDescription("A classic American novel set in the Jazz Age")
+                .build();
+        mockingbird = TestDataBuilder.aBook()
+                .withId(2L)
+                .withTitle("To Kill a Mockingbird")
+                .withAuthor("Harper Lee")
+                .withCategory("Fiction")
+                .withPublisher("J. B. Lippincott & Co.")
+                .withDescription("A gripping, classic tale of justice")
+                .build();
+        hobbit = TestDataBuilder.aBook()
+                .withId(3L)
+                .withTitle("The Hobbit")
+                .withAuthor("J.R.R. Tolkien")
+                .withCategory("Fantasy")
+                .withPublisher("George Allen & Unwin")
+                .withDescription("A fantasy adventure")
+                .build();
+
+        index = new BookSearchIndex(bookRepository, true, 2, 64);
+        given(bookRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Pageable.class)))
+                .willAnswer(invocation -> {
+                    long after = invocation.getArgument(0);
+                    List<Book> batch = new ArrayList<>();
+                    for (Book book : Arrays.asList(gatsby, mockingbird, hobbit)) {
+                        if (book.getId() > after && batch.size() < 2) {
+                            batch.add(book);
+                        }
+                    }
+                    return batch;
+                });
+        index.rebuild();
+    }
+
+    private List<Long> search(String query, Set<SearchField> fields) {
+        return index.search(query, fields).orElseThrow().page(0, 10);
+    }
+
+    @Nested
+    @DisplayName("Query Tests")
+    class QueryTests {
+
+        @Test
+        @DisplayName("Should match terms case-insensitively across batches")
+        void shouldMatchTermsCaseInsensitivelyAcrossBatches() {
+            assertThat(search("HOBBIT", ALL_FIELDS)).containsExactly(3L);
+            assertThat(search("gatsby", ALL_FIELDS)).containsExactly(1L);
+        }
+
+        @Test
+        @DisplayName("Should require every query term to match")
+        void shouldRequireEveryQueryTermToMatch() {
+            assertThat(search("classic justice", ALL_FIELDS)).containsExactly(2L);
+            assertThat(search("classic hobbit", ALL_FIELDS)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should match final term as prefix")
+        void shouldMatchFinalTermAsPrefix() {
+            assertThat(search("mocking", ALL_FIELDS)).containsExactly(2L);
+            assertThat(search("tolk", EnumSet.of(SearchField.AUTHOR))).containsExactly(3L);
+        }
+
+        @Test
+        @DisplayName("Should restrict matches to requested fields")
+        void shouldRestrictMatchesToRequestedFields() {
+            assertThat(search("fiction", EnumSet.of(SearchField.TITLE))).isEmpty();
+            assertThat(search("fiction", EnumSet.of(SearchField.CATEGORY))).containsExactly(1L, 2L);
+        }
+
+        @Test
+        @DisplayName("Should rank title matches above description matches")
+        void shouldRankTitleMatchesAboveDescriptionMatches() {
+            Book guide = TestDataBuilder.aBook()
+                    .withId(4L)
+                    .withTitle("Reading Guide")
+                    .withDescription("Notes on the hobbit and its sequels")
+                    .build();
+            index.index(BookSnapshot.of(guide));
+
+            assertThat(search("hobbit", ALL_FIELDS)).containsExactly(3L, 4L);
+        }
+
+        @Test
+        @DisplayName("Should paginate ranked hits")
+        void shouldPaginateRankedHits() {
+            SearchHits hits = index.search("fiction", ALL_FIELDS).orElseThrow();
+
+            assertThat(hits.getTotal()).isEqualTo(2);
+            assertThat(hits.page(0, 1)).containsExactly(1L);
+            assertThat(hits.page(1, 1)).containsExactly(2L);
+            assertThat(hits.page(2, 1)).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Incremental Update Tests")
+    class IncrementalUpdateTests {
+
+        @Test
+        @DisplayName("Should replace terms when book is updated")
+        void shouldReplaceTermsWhenBookIsUpdated() {
+            BookSnapshot previous = BookSnapshot.of(hobbit);
+            hobbit.setTitle("There and Back Again");
+
+            index.onBookChanged(BookChangedEvent.updated(previous, hobbit));
+
+            assertThat(search("hobbit", EnumSet.of(SearchField.TITLE))).isEmpty();
+            assertThat(search("there back", EnumSet.of(SearchField.TITLE))).containsExactly(3L);
+        }
+
+        @Test
+        @DisplayName("Should drop book when deleted")
+        void shouldDropBookWhenDeleted() {
+            index.onBookChanged(BookChangedEvent.deleted(1L, null));
+
+            assertThat(search("gatsby", ALL_FIELDS)).isEmpty();
+            assertThat(search("fiction", ALL_FIELDS)).containsExactly(2L);
+        }
+
+        @Test
+        @DisplayName("Should replay changes committed while building over the rows read")
+        void shouldReplayChangesCommittedWhileBuilding() {
+            // Given - gatsby is renamed and mockingbird deleted after the first batch was read
+            BookSearchIndex building = new BookSearchIndex(bookRepository, true, 2, 64);
+            Book staleGatsby = TestDataBuilder.aBook().withId(1L).withTitle("The Great Gatsby").build();
+            given(bookRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Pageable.class)))
+                    .willAnswer(invocation -> {
+                        long after = invocation.getArgument(0);
+                        if (after > 0) {
+                            return List.of(hobbit);
+                        }
+                        BookSnapshot previous = BookSnapshot.of(gatsby);
+                        gatsby.setTitle("Trimalchio in West Egg");
+                        building.onBookChanged(BookChangedEvent.updated(previous, gatsby));
+                        building.onBookChanged(BookChangedEvent.deleted(2L, BookSnapshot.of(mockingbird)));
+                        return List.of(staleGatsby, mockingbird);
+                    });
+
+            // When
+            building.rebuild();
+
+            // Then
+            assertThat(building.search("gatsby", EnumSet.of(SearchField.TITLE)).orElseThrow().page(0, 10)).isEmpty();
+            assertThat(building.search("trimalchio", ALL_FIELDS).orElseThrow().page(0, 10)).containsExactly(1L);
+            assertThat(building.search("mockingbird", ALL_FIELDS).orElseThrow().page(0, 10)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should drop books no longer in the catalog when rebuilt")
+        void shouldDropBooksNoLongerInCatalogWhenRebuilt() {
+            given(bookRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Pageable.class)))
+                    .willReturn(List.of(gatsby));
+
+            index.rebuild();
+
+            assertThat(search("hobbit", ALL_FIELDS)).isEmpty();
+            assertThat(search("fiction", ALL_FIELDS)).containsExactly(1L);
+        }
+
+        @Test
+        @DisplayName("Should not serve searches when disabled")
+        void shouldNotServeSearchesWhenDisabled() {
+            BookSearchIndex disabled = new BookSearchIndex(bookRepository, false, 2, 64);
+
+            assertThat(disabled.search("gatsby", ALL_FIELDS)).isEmpty();
+        }
+    }
+}
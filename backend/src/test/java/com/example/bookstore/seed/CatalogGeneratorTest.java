@@ -0,0 +1,192 @@
+package com.example.bookstore.seed;
+
+import com.example.bookstore.model.Book;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("CatalogGenerator Tests")
+class CatalogGeneratorTest {
+
+    private static final int CATALOG_SIZE = 20_000;
+
+    private static List<Book> catalog;
+
+    @BeforeAll
+    static void generateCatalog() {
+        catalog = new CatalogGenerator(42, CATALOG_SIZE).next(CATALOG_SIZE);
+    }
+
+    @Nested
+    @DisplayName("Determinism")
+    class DeterminismTests {
+
+        @Test
+        @DisplayName("Should generate the same catalog for the same seed")
+        void shouldGenerateSameCatalogForSameSeed() {
+            // When
+            List<Book> again = new CatalogGenerator(42, CATALOG_SIZE).next(1_000);
+
+            // Then
+            assertThat(again).usingRecursiveFieldByFieldElementComparator().isEqualTo(catalog.subList(0, 1_000));
+        }
+
+        @Test
+        @DisplayName("Should generate a different catalog for a different seed")
+        void shouldGenerateDifferentCatalogForDifferentSeed() {
+            // When
+            List<Book> other = new CatalogGenerator(7, CATALOG_SIZE).next(100);
+
+            // Then
+            assertThat(other).extracting(Book::getTitle)
+                    .isNotEqualTo(catalog.subList(0, 100).stream().map(Book::getTitle).toList());
+        }
+    }
+
+    @Nested
+    @DisplayName("Validity")
+    class ValidityTests {
+
+        @Test
+        @DisplayName("Should generate books that pass entity validation")
+        void shouldGenerateValidBooks() {
+            // Given
+            Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+            // When / Then
+            for (Book book : catalog) {
+                assertThat(validator.validate(book)).as("violations of %s", book.getTitle()).isEmpty();
+            }
+        }
+
+        @Test
+        @DisplayName("Should generate unique ISBN-13s with valid check digits")
+        void shouldGenerateUniqueValidIsbns() {
+            // Given
+            Set<String> seen = new HashSet<>();
+
+            // When / Then
+            catalog.stream().map(Book::getIsbn).filter(Objects::nonNull).forEach(isbn -> {
+                assertThat(seen.add(isbn)).as("duplicate %s", isbn).isTrue();
+                String digits = isbn.replace("-", "");
+                int sum = 0;
+                for (int i = 0; i < digits.length(); i++) {
+                    sum += (digits.charAt(i) - '0') * (i % 2 == 0 ? 1 : 3);
+                }
+                assertThat(sum % 10).as("check digit of %s", isbn).isZero();
+            });
+        }
+
+        @Test
+        @DisplayName("Should give every author rank a distinct name")
+        void shouldGiveEveryAuthorRankDistinctName() {
+            // When
+            Set<String> names = new HashSet<>();
+            for (int rank = 0; rank < 200_000; rank++) {
+                names.add(CatalogGenerator.authorName(rank));
+            }
+
+            // Then
+            assertThat(names).hasSize(200_000);
+        }
+
+        @Test
+        @DisplayName("Should create books in timestamp order before the catalog end")
+        void shouldCreateBooksInTimestampOrder() {
+            // Then
+            for (int i = 1; i < catalog.size(); i++) {
+                assertThat(catalog.get(i).getCreatedAt()).isAfter(catalog.get(i - 1).getCreatedAt());
+            }
+            assertThat(catalog).allSatisfy(book -> {
+                assertThat(book.getUpdatedAt()).isAfterOrEqualTo(book.getCreatedAt());
+                assertThat(book.getUpdatedAt()).isBeforeOrEqualTo(CatalogGenerator.CATALOG_END);
+            });
+        }
+    }
+
+    @Nested
+    @DisplayName("Shape")
+    class ShapeTests {
+
+        @Test
+        @DisplayName("Should leave the configured shares of ISBNs, descriptions and stock empty")
+        void shouldLeaveConfiguredSharesEmpty() {
+            // Then
+            assertThat(share(book -> book.getIsbn() == null)).isCloseTo(CatalogGenerator.NULL_ISBN_SHARE, within(0.01));
+            assertThat(share(book -> book.getDescription() == null))
+                    .isCloseTo(CatalogGenerator.NULL_DESCRIPTION_SHARE, within(0.01));
+            assertThat(share(book -> book.getStockQuantity() == 0))
+                    .isCloseTo(CatalogGenerator.OUT_OF_STOCK_SHARE, within(0.01));
+            assertThat(share(book -> book.getImageUrl() == null))
+                    .isCloseTo(CatalogGenerator.NULL_IMAGE_SHARE, within(0.01));
+        }
+
+        @Test
+        @DisplayName("Should skew categories towards the most popular ones")
+        void shouldSkewCategories() {
+            // When
+            Map<String, Long> counts = counts(Book::getCategory);
+
+            // Then - Zipf with exponent 1.1 over 32 categories puts about a quarter in the first
+            long first = counts.get(CatalogGenerator.CATEGORIES[0]);
+            long last = counts.getOrDefault(CatalogGenerator.CATEGORIES[CatalogGenerator.CATEGORIES.length - 1], 0L);
+            assertThat(first / (double) CATALOG_SIZE).isBetween(0.2, 0.3);
+            assertThat(first).isGreaterThan(20 * last);
+        }
+
+        @Test
+        @DisplayName("Should give most books to a minority of authors")
+        void shouldSkewAuthors() {
+            // When
+            List<Long> perAuthor = counts(Book::getAuthor).values().stream()
+                    .sorted((a, b) -> Long.compare(b, a))
+                    .toList();
+
+            // Then - the top 10% of authors write at least half the catalog
+            long top = perAuthor.stream().limit(Math.max(1, perAuthor.size() / 10)).mapToLong(Long::longValue).sum();
+            assertThat(top / (double) CATALOG_SIZE).isGreaterThan(0.5);
+            assertThat(perAuthor.get(0)).isGreaterThan(100);
+        }
+
+        @Test
+        @DisplayName("Should produce a long tail of description lengths")
+        void shouldProduceLongTailOfDescriptionLengths() {
+            // When
+            int[] lengths = catalog.stream()
+                    .map(Book::getDescription)
+                    .filter(Objects::nonNull)
+                    .mapToInt(String::length)
+                    .sorted()
+                    .toArray();
+
+            // Then
+            int median = lengths[lengths.length / 2];
+            int p999 = lengths[(int) (lengths.length * 0.999)];
+            assertThat(median).isBetween(150, 500);
+            assertThat(p999).isGreaterThan(10 * median);
+        }
+    }
+
+    private static double share(Predicate<Book> predicate) {
+        return catalog.stream().filter(predicate).count() / (double) CATALOG_SIZE;
+    }
+
+    private static Map<String, Long> counts(Function<Book, String> key) {
+        return catalog.stream().collect(Collectors.groupingBy(key, Collectors.counting()));
+    }
+}
@@ -1,26 +1,62 @@
 package com.example.bookstore.service;
 
+import com.example.bookstore.cache.BookCache;
+import com.example.bookstore.datasource.RoutingContext;
+import com.example.bookstore.dto.BookDTO;
+import com.example.bookstore.dto.BookPatch;
+import com.example.bookstore.dto.BookSearchCriteria;
+import com.example.bookstore.dto.FacetedPage;
+import com.example.bookstore.dto.StockAdjustmentRequest;
+import com.example.bookstore.dto.StockAdjustmentResult;
+import com.example.bookstore.event.BookChangedEvent;
+import com.example.bookstore.event.StockAdjustedEvent;
+import com.example.bookstore.exception.BookModifiedException;
 import com.example.bookstore.exception.BookNotFoundException;
+import com.example.bookstore.exception.InsufficientStockException;
 import com.example.bookstore.model.Book;
+import com.example.bookstore.repository.BookField;
 import com.example.bookstore.repository.BookRepository;
+import com.example.bookstore.repository.StockLevel;
+import com.example.bookstore.search.BookFacetIndex;
+import com.example.bookstore.search.BookSearchIndex;
+import com.example.bookstore.search.Facet;
 import com.example.bookstore.util.TestDataBuilder;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -33,9 +69,23 @@ class BookServiceTest {
     @Mock
     private BookRepository bookRepository;
 
+    @Spy
+    private BookCache bookCache = new BookCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+
+    @Mock
+    private BookSearchIndex bookSearchIndex;
+
+    @Mock
+    private BookFacetIndex bookFacetIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private BookService bookService;
 
+    private static final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
     private Book testBook;
     private Book anotherBook;
     private Pageable pageable;
@@ -136,6 +186,134 @@ class BookServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Book Cache Tests")
+    class BookCacheTests {
+
+        @Test
+        @DisplayName("Should serve repeated ID lookups from cache")
+        void shouldServeRepeatedIdLookupsFromCache() {
+            // Given
+            given(bookRepository.findById(1L)).willReturn(Optional.of(testBook));
+
+            // When
+            bookService.getBookById(1L);
+            Optional<Book> result = bookService.getBookById(1L);
+
+            // Then
+            assertThat(result).contains(testBook);
+            verify(bookRepository, times(1)).findById(1L);
+        }
+
+        @Test
+        @DisplayName("Should serve ISBN lookup from entry cached by ID")
+        void shouldServeIsbnLookupFromEntryCachedById() {
+            // Given
+            given(bookRepository.findById(1L)).willReturn(Optional.of(testBook));
+
+            // When
+            bookService.getBookById(1L);
+            Optional<Book> result = bookService.getBookByIsbn(testBook.getIsbn());
+
+            // Then
+            assertThat(result).contains(testBook);
+            verify(bookRepository, never()).findByIsbn(any());
+        }
+
+        @Test
+        @DisplayName("Should not cache missing books")
+        void shouldNotCacheMissingBooks() {
+            // Given
+            given(bookRepository.findById(99L)).willReturn(Optional.empty());
+
+            // When
+            bookService.getBookById(99L);
+            bookService.getBookById(99L);
+
+            // Then
+            verify(bookRepository, times(2)).findById(99L);
+        }
+
+        @Test
+        @DisplayName("Should reload book after update")
+        void shouldReloadBookAfterUpdate() {
+            // Given
+            Book updateData = TestDataBuilder.aBook()
+                    .withTitle("Updated Title")
+                    .withIsbn(testBook.getIsbn())
+                    .build();
+            given(bookRepository.findById(1L)).willReturn(Optional.of(testBook));
+            given(bookRepository.findByIdForUpdate(1L)).willReturn(Optional.of(testBook));
+            given(bookRepository.saveAndFlush(any(Book.class))).willAnswer(invocation -> invocation.getArgument(0));
+            bookService.getBookById(1L);
+
+            // When
+            bookService.updateBook(1L, updateData);
+            Optional<Book> result = bookService.getBookById(1L);
+
+            // Then
+            assertThat(result).isPresent();
+            assertThat(result.get().getTitle()).isEqualTo("Updated Title");
+            verify(bookRepository, times(2)).findById(1L);
+        }
+
+        @Test
+        @DisplayName("Should not serve deleted book from cache")
+        @SuppressWarnings("unchecked")
+        void shouldNotServeDeletedBookFromCache() {
+            // Given
+            given(bookRepository.findById(1L)).willReturn(Optional.of(testBook), Optional.empty());
+            given(bookRepository.findByIdForUpdate(1L)).willReturn(Optional.of(testBook));
+            given(bookRepository.deleteBookById(1L)).willReturn(1);
+            bookService.getBookById(1L);
+
+            // When
+            bookService.deleteBook(1L);
+            Optional<Book> result = bookService.getBookById(1L);
+
+            // Then
+            assertThat(result).isEmpty();
+            verify(bookRepository, times(2)).findById(1L);
+        }
+
+        @Test
+        @DisplayName("Should read last-modified time from cache before querying the column")
+        void shouldReadLastModifiedFromCacheBeforeQueryingColumn() {
+            // Given
+            LocalDateTime updatedAt = LocalDateTime.of(2024, 1, 15, 10, 30);
+            testBook.setUpdatedAt(updatedAt);
+            given(bookRepository.findUpdatedAtById(2L)).willReturn(Optional.of(updatedAt));
+            given(bookRepository.findById(1L)).willReturn(Optional.of(testBook));
+            bookService.getBookById(1L);
+
+            // When
+            Optional<LocalDateTime> cached = bookService.getBookLastModified(1L);
+            Optional<LocalDateTime> uncached = bookService.getBookLastModified(2L);
+
+            // Then
+            assertThat(cached).contains(updatedAt);
+            assertThat(uncached).contains(updatedAt);
+            verify(bookRepository, never()).findUpdatedAtById(1L);
+            verify(bookRepository, never()).findById(2L);
+        }
+
+        @Test
+        @DisplayName("Should read an uncached last-modified time from the primary")
+        void shouldReadUncachedLastModifiedFromPrimary() {
+            // Given
+            LocalDateTime updatedAt = LocalDateTime.of(2024, 1, 15, 10, 30);
+            given(bookRepository.findUpdatedAtById(2L)).willAnswer(invocation ->
+                    RoutingContext.isPrimaryRequired() ? Optional.of(updatedAt) : Optional.empty());
+
+            // When
+            Optional<LocalDateTime> result = bookService.getBookLastModified(2L);
+
+            // Then
+            assertThat(result).contains(updatedAt);
+            assertThat(RoutingContext.isPrimaryRequired()).isFalse();
+        }
+    }
+
     @Nested
     @DisplayName("Get Book By ISBN Tests")
     class GetBookByIsbnTests {
@@ -190,8 +368,7 @@ class BookServiceTest {
                     .withIsbn("978-0-123-45678-1")
                     .build();
 
-            given(bookRepository.findByIsbn("978-0-123-45678-1")).willReturn(Optional.empty());
-            given(bookRepository.save(newBook)).willReturn(savedBook);
+            given(bookRepository.saveAndFlush(newBook)).willReturn(savedBook);
 
             // When
             Book result = bookService.createBook(newBook);
@@ -201,8 +378,8 @@ class BookServiceTest {
             assertThat(result.getId()).isEqualTo(3L);
             assertThat(result.getTitle()).isEqualTo("New Book");
             assertThat(result.getIsbn()).isEqualTo("978-0-123-45678-1");
-            verify(bookRepository).findByIsbn("978-0-123-45678-1");
-            verify(bookRepository).save(newBook);
+            verify(bookRepository).saveAndFlush(newBook);
+            verify(bookRepository, never()).findByIsbn(any());
         }
 
         @Test
@@ -214,15 +391,28 @@ class BookServiceTest {
                     .withIsbn("978-0-123-45678-9") // Existing ISBN
                     .build();
 
-            given(bookRepository.findByIsbn("978-0-123-45678-9")).willReturn(Optional.of(testBook));
+            given(bookRepository.saveAndFlush(newBook)).willThrow(isbnConflict("uk_books_isbn"));
 
             // When & Then
             assertThatThrownBy(() -> bookService.createBook(newBook))
                     .isInstanceOf(IllegalArgumentException.class)
                     .hasMessage("Book with ISBN " + newBook.getIsbn() + " already exists");
 
-            verify(bookRepository).findByIsbn("978-0-123-45678-9");
-            verify(bookRepository, never()).save(any(Book.class));
+            verify(bookRepository, never()).findByIsbn(any());
+            verifyNoInteractions(eventPublisher);
+        }
+
+        @Test
+        @DisplayName("Should rethrow integrity violations on other constraints")
+        void shouldRethrowIntegrityViolationsOnOtherConstraints() {
+            // Given
+            Book newBook = TestDataBuilder.aBook().withTitle("New Book").build();
+            DataIntegrityViolationException violation = isbnConflict(null);
+            given(bookRepository.saveAndFlush(newBook)).willThrow(violation);
+
+            // When & Then
+            assertThatThrownBy(() -> bookService.createBook(newBook)).isSameAs(violation);
+            verifyNoInteractions(eventPublisher);
         }
 
         @Test
@@ -239,7 +429,7 @@ class BookServiceTest {
                     .withIsbn(null)
                     .build();
 
-            given(bookRepository.save(newBook)).willReturn(savedBook);
+            given(bookRepository.saveAndFlush(newBook)).willReturn(savedBook);
 
             // When
             Book result = bookService.createBook(newBook);
@@ -249,8 +439,7 @@ class BookServiceTest {
             assertThat(result.getId()).isEqualTo(3L);
             assertThat(result.getTitle()).isEqualTo("New Book");
             assertThat(result.getIsbn()).isNull();
-            verify(bookRepository, never()).findByIsbn(any());
-            verify(bookRepository).save(newBook);
+            verify(bookRepository).saveAndFlush(newBook);
         }
     }
 
@@ -277,9 +466,8 @@ class BookServiceTest {
                     .withIsbn("978-0-123-45678-2")
                     .build();
 
-            given(bookRepository.findById(1L)).willReturn(Optional.of(testBook));
-            given(bookRepository.findByIsbn("978-0-123-45678-2")).willReturn(Optional.empty());
-            given(bookRepository.save(any(Book.class))).willReturn(updatedBook);
+            given(bookRepository.findByIdForUpdate(1L)).willReturn(Optional.of(testBook));
+            given(bookRepository.saveAndFlush(any(Book.class))).willReturn(updatedBook);
 
             // When
             Book result = bookService.updateBook(1L, updateData);
@@ -291,9 +479,9 @@ class BookServiceTest {
             assertThat(result.getAuthor()).isEqualTo("Updated Author");
             assertThat(result.getPrice()).isEqualByComparingTo(new BigDecimal("39.99"));
             assertThat(result.getIsbn()).isEqualTo("978-0-123-45678-2");
-            verify(bookRepository).findById(1L);
-            verify(bookRepository).findByIsbn("978-0-123-45678-2");
-            verify(bookRepository).save(any(Book.class));
+            verify(bookRepository).findByIdForUpdate(1L);
+            verify(bookRepository, never()).findByIsbn(any());
+            verify(bookRepository).saveAndFlush(any(Book.class));
         }
 
         @Test
@@ -301,14 +489,14 @@ class BookServiceTest {
         void shouldThrowBookNotFoundExceptionWhenBookDoesNotExist() {
             // Given
             Book updateData = TestDataBuilder.aBook().build();
-            given(bookRepository.findById(99L)).willReturn(Optional.empty());
+            given(bookRepository.findByIdForUpdate(99L)).willReturn(Optional.empty());
 
             // When & Then
             assertThatThrownBy(() -> bookService.updateBook(99L, updateData))
                     .isInstanceOf(BookNotFoundException.class);
 
-            verify(bookRepository).findById(99L);
-            verify(bookRepository, never()).save(any(Book.class));
+            verify(bookRepository).findByIdForUpdate(99L);
+            verify(bookRepository, never()).saveAndFlush(any(Book.class));
         }
 
         @Test
@@ -319,17 +507,17 @@ class BookServiceTest {
                     .withIsbn("978-0-123-45678-0") // Another book's ISBN
                     .build();
 
-            given(bookRepository.findById(1L)).willReturn(Optional.of(testBook));
-            given(bookRepository.findByIsbn("978-0-123-45678-0")).willReturn(Optional.of(anotherBook));
+            given(bookRepository.findByIdForUpdate(1L)).willReturn(Optional.of(testBook));
+            given(bookRepository.saveAndFlush(any(Book.class))).willThrow(isbnConflict("UK_BOOKS_ISBN"));
 
             // When & Then
             assertThatThrownBy(() -> bookService.updateBook(1L, updateData))
                     .isInstanceOf(IllegalArgumentException.class)
                     .hasMessage("Book with ISBN " + updateData.getIsbn() + " already exists");
 
-            verify(bookRepository).findById(1L);
-            verify(bookRepository).findByIsbn("978-0-123-45678-0");
-            verify(bookRepository, never()).save(any(Book.class));
+            verify(bookRepository).findByIdForUpdate(1L);
+            verify(bookRepository, never()).findByIsbn(any());
+            verifyNoInteractions(eventPublisher);
         }
 
         @Test
@@ -347,8 +535,8 @@ class BookServiceTest {
                     .withIsbn("978-0-123-45678-9")
                     .build();
 
-            given(bookRepository.findById(1L)).willReturn(Optional.of(testBook));
-            given(bookRepository.save(any(Book.class))).willReturn(updatedBook);
+            given(bookRepository.findByIdForUpdate(1L)).willReturn(Optional.of(testBook));
+            given(bookRepository.saveAndFlush(any(Book.class))).willReturn(updatedBook);
 
             // When
             Book result = bookService.updateBook(1L, updateData);
@@ -357,9 +545,90 @@ class BookServiceTest {
             assertThat(result).isNotNull();
             assertThat(result.getTitle()).isEqualTo("Updated Title");
             assertThat(result.getIsbn()).isEqualTo("978-0-123-45678-9");
-            verify(bookRepository).findById(1L);
+            verify(bookRepository).findByIdForUpdate(1L);
             verify(bookRepository, never()).findByIsbn(any());
-            verify(bookRepository).save(any(Book.class));
+            verify(bookRepository).saveAndFlush(any(Book.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("Patch Book Tests")
+    class PatchBookTests {
+
+        @Test
+        @DisplayName("Should write only the fields whose values change")
+        void shouldWriteOnlyChangedFields() {
+            // Given
+            LocalDateTime version = LocalDateTime.of(2024, 1, 1, 12, 0);
+            testBook.setUpdatedAt(version);
+            given(bookRepository.findByIdForUpdate(1L)).willReturn(Optional.of(testBook));
+            given(bookRepository.updateFields(eq(1L), anyMap(), any(LocalDateTime.class), eq(version))).willReturn(1);
+
+            // When
+            Book result = bookService.patchBook(1L, patch("{\"price\": 24.50, \"title\": \"Test Book\"}"), version);
+
+            // Then
+            assertThat(result.getPrice()).isEqualByComparingTo("24.50");
+            assertThat(result.getUpdatedAt()).isAfter(version);
+            verify(bookRepository).updateFields(eq(1L), eq(Map.of(BookField.PRICE, new BigDecimal("24.5"))),
+                    eq(result.getUpdatedAt()), eq(version));
+            verify(bookRepository, never()).saveAndFlush(any(Book.class));
+            verify(bookCache).invalidate(1L, "978-0-123-45678-9", "978-0-123-45678-9");
+            verify(eventPublisher).publishEvent(any(Object.class));
+        }
+
+        @Test
+        @DisplayName("Should not write, invalidate or publish when nothing changes")
+        void shouldSkipNoOpPatch() {
+            // Given
+            given(bookRepository.findByIdForUpdate(1L)).willReturn(Optional.of(testBook));
+
+            // When
+            Book result = bookService.patchBook(1L, patch("{\"price\": 19.990, \"isbn\": \"978-0-123-45678-9\"}"), null);
+
+            // Then
+            assertThat(result).isSameAs(testBook);
+            verify(bookRepository, never()).updateFields(any(), anyMap(), any(), any());
+            verify(bookCache, never()).invalidate(anyLong(), any(String[].class));
+            verifyNoInteractions(eventPublisher);
+        }
+
+        @Test
+        @DisplayName("Should reject a patch for a version that is no longer current")
+        void shouldRejectStaleVersion() {
+            // Given
+            testBook.setUpdatedAt(LocalDateTime.of(2024, 1, 2, 12, 0));
+            given(bookRepository.findByIdForUpdate(1L)).willReturn(Optional.of(testBook));
+
+            // When & Then
+            assertThatThrownBy(() -> bookService.patchBook(1L, patch("{\"pages\": 300}"),
+                    LocalDateTime.of(2024, 1, 1, 12, 0)))
+                    .isInstanceOf(BookModifiedException.class);
+            verify(bookRepository, never()).updateFields(any(), anyMap(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should reject a patch when the row changed between read and write")
+        void shouldRejectConcurrentModification() {
+            // Given
+            LocalDateTime version = LocalDateTime.of(2024, 1, 1, 12, 0);
+            testBook.setUpdatedAt(version);
+            given(bookRepository.findByIdForUpdate(1L)).willReturn(Optional.of(testBook));
+            given(bookRepository.updateFields(eq(1L), anyMap(), any(LocalDateTime.class), eq(version))).willReturn(0);
+
+            // When & Then
+            assertThatThrownBy(() -> bookService.patchBook(1L, patch("{\"pages\": 300}"), version))
+                    .isInstanceOf(BookModifiedException.class);
+            verifyNoInteractions(eventPublisher);
+        }
+
+        private BookPatch patch(String json) {
+            try {
+                ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+                return BookPatch.from(objectMapper.readTree(json), objectMapper, validator);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException(e);
+            }
         }
     }
 
@@ -371,29 +640,160 @@ class BookServiceTest {
         @DisplayName("Should delete book successfully when book exists")
         void shouldDeleteBookSuccessfullyWhenBookExists() {
             // Given
-            given(bookRepository.existsById(1L)).willReturn(true);
-            willDoNothing().given(bookRepository).deleteById(1L);
+            given(bookRepository.findByIdForUpdate(1L)).willReturn(Optional.of(testBook));
+            given(bookRepository.deleteBookById(1L)).willReturn(1);
+
+            // When
+            bookService.deleteBook(1L);
+
+            // Then
+            verify(bookRepository).deleteBookById(1L);
+            verify(bookRepository, never()).existsById(any());
+            verify(bookCache).invalidate(1L);
+        }
+
+        @Test
+        @DisplayName("Should publish the locked row as the state before the delete, cached or not")
+        void shouldPublishLockedRowAsStateBeforeDelete() {
+            // Given
+            given(bookRepository.findByIdForUpdate(1L)).willReturn(Optional.of(testBook));
+            given(bookRepository.deleteBookById(1L)).willReturn(1);
 
             // When
             bookService.deleteBook(1L);
 
             // Then
-            verify(bookRepository).existsById(1L);
-            verify(bookRepository).deleteById(1L);
+            verify(bookCache, never()).getIfPresent(any());
+            verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof BookChangedEvent changed
+                    && changed.getType() == BookChangedEvent.ChangeType.DELETED
+                    && changed.getPrevious() != null
+                    && "Test Book".equals(changed.getPrevious().getTitle())
+                    && Integer.valueOf(10).equals(changed.getPrevious().getStockQuantity())));
         }
 
         @Test
         @DisplayName("Should throw BookNotFoundException when book does not exist")
         void shouldThrowBookNotFoundExceptionWhenBookDoesNotExist() {
             // Given
-            given(bookRepository.existsById(99L)).willReturn(false);
+            given(bookRepository.findByIdForUpdate(99L)).willReturn(Optional.empty());
 
             // When & Then
             assertThatThrownBy(() -> bookService.deleteBook(99L))
                     .isInstanceOf(BookNotFoundException.class);
 
-            verify(bookRepository).existsById(99L);
-            verify(bookRepository, never()).deleteById(any());
+            verify(bookRepository, never()).deleteBookById(any());
+            verifyNoInteractions(eventPublisher);
+        }
+    }
+
+    @Nested
+    @DisplayName("Stock Adjustment Tests")
+    class StockAdjustmentTests {
+
+        @Test
+        @DisplayName("Should apply delta and publish stock event")
+        void shouldApplyDeltaAndPublishStockEvent() {
+            // Given
+            given(bookRepository.adjustStock(eq(1L), eq(-3), any(LocalDateTime.class))).willReturn(1);
+            given(bookRepository.findStockLevelById(1L)).willReturn(Optional.of(stockLevel(7)));
+
+            // When
+            int stockQuantity = bookService.adjustStock(1L, -3);
+
+            // Then
+            assertThat(stockQuantity).isEqualTo(7);
+            verify(bookCache).invalidate(1L);
+            verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof StockAdjustedEvent stock
+                    && stock.getBookId() == 1L && stock.getDelta() == -3 && stock.getStockQuantity() == 7
+                    && "Fiction".equals(stock.getCategory()) && stock.getPrice().compareTo(new BigDecimal("10.00")) == 0));
+            verify(bookRepository, never()).save(any(Book.class));
+        }
+
+        @Test
+        @DisplayName("Should reject decrement below zero")
+        void shouldRejectDecrementBelowZero() {
+            // Given
+            given(bookRepository.adjustStock(eq(1L), eq(-5), any(LocalDateTime.class))).willReturn(0);
+            given(bookRepository.findStockLevelById(1L)).willReturn(Optional.of(stockLevel(2)));
+
+            // When & Then
+            assertThatThrownBy(() -> bookService.adjustStock(1L, -5))
+                    .isInstanceOf(InsufficientStockException.class)
+                    .hasMessageContaining("available 2");
+            verifyNoInteractions(eventPublisher);
+        }
+
+        @Test
+        @DisplayName("Should throw BookNotFoundException when adjusting missing book")
+        void shouldThrowBookNotFoundExceptionWhenAdjustingMissingBook() {
+            // Given
+            given(bookRepository.adjustStock(eq(99L), eq(1), any(LocalDateTime.class))).willReturn(0);
+            given(bookRepository.findStockLevelById(99L)).willReturn(Optional.empty());
+
+            // When & Then
+            assertThatThrownBy(() -> bookService.adjustStock(99L, 1))
+                    .isInstanceOf(BookNotFoundException.class);
+        }
+
+        @Test
+        @DisplayName("Should apply batch in ID order and report per-item status")
+        void shouldApplyBatchInIdOrderAndReportPerItemStatus() {
+            // Given
+            given(bookRepository.adjustStock(eq(2L), eq(-1), any(LocalDateTime.class))).willReturn(1);
+            given(bookRepository.findStockLevelById(2L)).willReturn(Optional.of(stockLevel(4)));
+            given(bookRepository.adjustStock(eq(1L), eq(-9), any(LocalDateTime.class))).willReturn(0);
+            given(bookRepository.findStockLevelById(1L)).willReturn(Optional.of(stockLevel(3)));
+            List<StockAdjustmentRequest> requests = Arrays.asList(
+                    new StockAdjustmentRequest(2L, -1),
+                    new StockAdjustmentRequest(1L, -9),
+                    new StockAdjustmentRequest(3L, 0));
+
+            // When
+            List<StockAdjustmentResult> results = bookService.adjustStock(requests);
+
+            // Then
+            assertThat(results).extracting(StockAdjustmentResult::getStatus).containsExactly(
+                    StockAdjustmentResult.Status.APPLIED,
+                    StockAdjustmentResult.Status.INSUFFICIENT_STOCK,
+                    StockAdjustmentResult.Status.INVALID);
+            assertThat(results.get(0).getStockQuantity()).isEqualTo(4);
+            assertThat(results.get(1).getStockQuantity()).isEqualTo(3);
+
+            InOrder inOrder = inOrder(bookRepository);
+            inOrder.verify(bookRepository).adjustStock(eq(1L), eq(-9), any(LocalDateTime.class));
+            inOrder.verify(bookRepository).adjustStock(eq(2L), eq(-1), any(LocalDateTime.class));
+        }
+
+        @Test
+        @DisplayName("Should reject a batch that names a book more than once")
+        void shouldRejectBatchWithDuplicateIds() {
+            // Given
+            List<StockAdjustmentRequest> requests = List.of(
+                    new StockAdjustmentRequest(2L, -1),
+                    new StockAdjustmentRequest(1L, 4),
+                    new StockAdjustmentRequest(2L, -1));
+
+            // When & Then
+            assertThatThrownBy(() -> bookService.adjustStock(requests))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("Book ID 2 appears more than once");
+            verify(bookRepository, never()).adjustStock(any(), anyInt(), any());
+        }
+
+        @Test
+        @DisplayName("Should reject a batch larger than the maximum")
+        void shouldRejectOversizedBatch() {
+            // Given
+            List<StockAdjustmentRequest> requests = new ArrayList<>();
+            for (long id = 1; id <= BookService.MAX_STOCK_ADJUSTMENTS + 1; id++) {
+                requests.add(new StockAdjustmentRequest(id, 1));
+            }
+
+            // When & Then
+            assertThatThrownBy(() -> bookService.adjustStock(requests))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("exceeds the maximum of " + BookService.MAX_STOCK_ADJUSTMENTS);
+            verifyNoInteractions(bookRepository);
         }
     }
 
@@ -477,6 +877,230 @@ class BookServiceTest {
             assertThat(result.getContent()).contains(testBook);
             verify(bookRepository).findByTitleAndAuthor(title, author, pageable);
         }
+
+        @Test
+        @DisplayName("Should serve full-text search from index in rank order")
+        void shouldServeFullTextSearchFromIndexInRankOrder() {
+            // Given
+            Book gatsby = TestDataBuilder.aBook().withId(5L).withTitle("The Great Gatsby").build();
+            Book guide = TestDataBuilder.aBook().withId(6L).withTitle("Guide").withDescription("About Gatsby").build();
+            BookSearchIndex index = new BookSearchIndex(bookRepository, true, 100, 64);
+            given(bookRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class)))
+                    .willReturn(Arrays.asList(gatsby, guide));
+            index.rebuild();
+            given(bookSearchIndex.search(eq("gatsby"), any())).willAnswer(invocation ->
+                    index.search(invocation.getArgument(0), invocation.getArgument(1)));
+            given(bookRepository.findAllById(Arrays.asList(5L, 6L))).willReturn(Arrays.asList(guide, gatsby));
+
+            // When
+            Page<Book> result = bookService.searchBooksFullText("gatsby", pageable);
+
+            // Then
+            assertThat(result.getContent()).containsExactly(gatsby, guide);
+            assertThat(result.getTotalElements()).isEqualTo(2);
+            verify(bookRepository, never()).searchByTitleOrAuthorWithPagination(any(), any());
+        }
+
+        @Test
+        @DisplayName("Should fall back to database search when index is unavailable")
+        void shouldFallBackToDatabaseSearchWhenIndexIsUnavailable() {
+            // Given
+            Page<Book> bookPage = new PageImpl<>(Arrays.asList(testBook), pageable, 1);
+            given(bookSearchIndex.search(any(), any())).willReturn(Optional.empty());
+            given(bookRepository.searchByTitleOrAuthorWithPagination("Test", pageable)).willReturn(bookPage);
+
+            // When
+            Page<Book> result = bookService.searchBooksFullText("Test", pageable);
+
+            // Then
+            assertThat(result.getContent()).containsExactly(testBook);
+            verify(bookRepository).searchByTitleOrAuthorWithPagination("Test", pageable);
+        }
+
+        @Test
+        @DisplayName("Should load summaries for index hits in rank order")
+        void shouldLoadSummariesForIndexHitsInRankOrder() {
+            // Given
+            Book gatsby = TestDataBuilder.aBook().withId(5L).withTitle("The Great Gatsby").build();
+            Book guide = TestDataBuilder.aBook().withId(6L).withTitle("Guide").withDescription("About Gatsby").build();
+            BookSearchIndex index = new BookSearchIndex(bookRepository, true, 100, 64);
+            given(bookRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class)))
+                    .willReturn(Arrays.asList(gatsby, guide));
+            index.rebuild();
+            given(bookSearchIndex.search(eq("gatsby"), any())).willAnswer(invocation ->
+                    index.search(invocation.getArgument(0), invocation.getArgument(1)));
+            BookDTO gatsbySummary = new BookDTO(5L, "The Great Gatsby", "Author", null, null, 1, null);
+            BookDTO guideSummary = new BookDTO(6L, "Guide", "Author", null, null, 1, null);
+            given(bookRepository.findSummariesByIdIn(Arrays.asList(5L, 6L)))
+                    .willReturn(Arrays.asList(guideSummary, gatsbySummary));
+
+            // When
+            Page<BookDTO> result = bookService.searchBookSummaries(BookSearchCriteria.text("gatsby", null, null), pageable);
+
+            // Then
+            assertThat(result.getContent()).containsExactly(gatsbySummary, guideSummary);
+            assertThat(result.getTotalElements()).isEqualTo(2);
+            verify(bookRepository, never()).findAllById(any());
+        }
+
+        @Test
+        @DisplayName("Should fall back to summary query when index is unavailable")
+        void shouldFallBackToSummaryQueryWhenIndexIsUnavailable() {
+            // Given
+            Page<BookDTO> summaries = new PageImpl<>(List.of(new BookDTO(1L, "Test Book", "Test Author", null, null, 10, null)));
+            given(bookSearchIndex.search(any(), any())).willReturn(Optional.empty());
+            given(bookRepository.findSummaries(any(), eq(pageable))).willReturn(summaries);
+
+            // When
+            Page<BookDTO> result = bookService.searchBookSummaries(BookSearchCriteria.text(null, "Test", null), pageable);
+
+            // Then
+            assertThat(result).isSameAs(summaries);
+        }
+
+        @Test
+        @DisplayName("Should query summaries with every criterion when filters are combined")
+        void shouldQuerySummariesWithEveryCriterionWhenFiltersAreCombined() {
+            // Given
+            Page<BookDTO> summaries = new PageImpl<>(List.of(new BookDTO(1L, "Test Book", "Test Author", null, null, 10, null)));
+            given(bookRepository.findSummaries(any(), eq(pageable))).willReturn(summaries);
+            BookSearchCriteria criteria = new BookSearchCriteria("test", null, null, "Fiction", null,
+                    null, new BigDecimal("20"), null, null, true);
+
+            // When
+            Page<BookDTO> result = bookService.searchBookSummaries(criteria, pageable);
+
+            // Then
+            assertThat(result).isSameAs(summaries);
+            verifyNoInteractions(bookSearchIndex);
+        }
+
+        @Test
+        @DisplayName("Should query fields with every criterion when filters are combined")
+        void shouldQueryFieldsWithEveryCriterionWhenFiltersAreCombined() {
+            // Given
+            Set<BookField> fields = EnumSet.of(BookField.ID, BookField.PRICE);
+            Page<Map<String, Object>> rows = new PageImpl<>(List.<Map<String, Object>>of(Map.of("id", 1L)));
+            given(bookRepository.findFields(any(), eq(fields), eq(pageable))).willReturn(rows);
+            BookSearchCriteria criteria = new BookSearchCriteria(null, "Test", null, null, "Scribner",
+                    null, null, LocalDate.of(1920, 1, 1), null, null);
+
+            // When
+            Page<Map<String, Object>> result = bookService.searchBookFields(criteria, fields, pageable);
+
+            // Then
+            assertThat(result).isSameAs(rows);
+            verifyNoInteractions(bookSearchIndex);
+        }
+
+        @Test
+        @DisplayName("Should filter and count facets from the facet index")
+        @SuppressWarnings("unchecked")
+        void shouldFilterAndCountFacetsFromFacetIndex() {
+            // Given - testBook is Fiction and in stock, anotherBook Fantasy and sold out
+            anotherBook.setCategory("Fantasy");
+            anotherBook.setStockQuantity(0);
+            BookFacetIndex index = new BookFacetIndex(bookRepository, true, 100, 20);
+            given(bookRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class)))
+                    .willReturn(Arrays.asList(testBook, anotherBook));
+            index.rebuild();
+            given(bookFacetIndex.isReady()).willReturn(true);
+            given(bookFacetIndex.facet(any(), any(), any())).willAnswer(invocation ->
+                    index.facet(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2)));
+            given(bookRepository.findAllById(List.of(1L))).willReturn(List.of(testBook));
+
+            // When
+            FacetedPage<Book> result = bookService.searchBooksFaceted(null, null, null,
+                    Map.of(Facet.IN_STOCK, "true"), EnumSet.of(Facet.CATEGORY, Facet.IN_STOCK), pageable);
+
+            // Then - the in-stock counts ignore the in-stock filter itself
+            assertThat(result.getContent()).containsExactly(testBook);
+            assertThat(result.getTotalElements()).isEqualTo(1);
+            assertThat(result.getFacets().get("category"))
+                    .extracting("value", "count")
+                    .containsExactly(tuple("Fiction", 1L));
+            assertThat(result.getFacets().get("inStock"))
+                    .extracting("value", "count")
+                    .containsExactly(tuple("false", 1L), tuple("true", 1L));
+            verify(bookRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+        }
+
+        @Test
+        @DisplayName("Should apply facet filters in the database while the facet index is unavailable")
+        @SuppressWarnings("unchecked")
+        void shouldApplyFacetFiltersInDatabaseWhileFacetIndexIsUnavailable() {
+            // Given
+            Page<Book> bookPage = new PageImpl<>(List.of(testBook), pageable, 1);
+            given(bookFacetIndex.isReady()).willReturn(false);
+            given(bookRepository.findAll(any(Specification.class), eq(pageable))).willReturn(bookPage);
+
+            // When
+            FacetedPage<Book> result = bookService.searchBooksFaceted("Test", null, null,
+                    Map.of(Facet.PRICE, "10-20", Facet.DECADE, "2020s"), EnumSet.allOf(Facet.class), pageable);
+
+            // Then
+            assertThat(result.getContent()).containsExactly(testBook);
+            assertThat(result.getFacets()).isEmpty();
+            verify(bookFacetIndex, never()).facet(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should run combined criteria as one database query")
+        @SuppressWarnings("unchecked")
+        void shouldRunCombinedCriteriaAsOneDatabaseQuery() {
+            // Given
+            Page<Book> bookPage = new PageImpl<>(List.of(testBook), pageable, 1);
+            BookSearchCriteria criteria = new BookSearchCriteria(null, "Test", null, "Fiction", null,
+                    new BigDecimal("10"), new BigDecimal("20"), null, null, true);
+            given(bookRepository.findAll(any(Specification.class), eq(pageable))).willReturn(bookPage);
+
+            // When
+            Page<Book> result = bookService.searchBooks(criteria, pageable);
+
+            // Then - the category is applied, not dropped in favour of the title
+            assertThat(result).isSameAs(bookPage);
+            verify(bookRepository).findAll(any(Specification.class), eq(pageable));
+            verify(bookSearchIndex, never()).search(any(), any());
+        }
+
+        @Test
+        @DisplayName("Should rank text-only criteria from the search index")
+        @SuppressWarnings("unchecked")
+        void shouldRankTextOnlyCriteriaFromSearchIndex() {
+            // Given
+            Book gatsby = TestDataBuilder.aBook().withId(5L).withTitle("The Great Gatsby").build();
+            Book guide = TestDataBuilder.aBook().withId(6L).withTitle("Gatsby Guide").withAuthor("Someone Else").build();
+            BookSearchIndex index = new BookSearchIndex(bookRepository, true, 100, 64);
+            given(bookRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class)))
+                    .willReturn(Arrays.asList(gatsby, guide));
+            index.rebuild();
+            given(bookSearchIndex.search(any(), any())).willAnswer(invocation ->
+                    index.search(invocation.getArgument(0), invocation.getArgument(1)));
+            given(bookRepository.findAllById(List.of(5L))).willReturn(List.of(gatsby));
+
+            // When
+            Page<Book> result = bookService.searchBooks(
+                    BookSearchCriteria.text(null, "gatsby", gatsby.getAuthor()), pageable);
+
+            // Then
+            assertThat(result.getContent()).containsExactly(gatsby);
+            verify(bookRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+        }
+
+        @Test
+        @DisplayName("Should reject inverted search ranges")
+        void shouldRejectInvertedSearchRanges() {
+            assertThatThrownBy(() -> new BookSearchCriteria(null, null, null, null, null,
+                    new BigDecimal("20"), new BigDecimal("10"), null, null, null))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> new BookSearchCriteria(null, null, null, null, null, null, null,
+                    LocalDate.of(2000, 1, 1), LocalDate.of(1999, 12, 31), null))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThat(new BookSearchCriteria(" ", null, null, null, null,
+                    new BigDecimal("10.00"), null, null, null, null))
+                    .isEqualTo(new BookSearchCriteria(null, null, null, null, null,
+                            new BigDecimal("10"), null, null, null, null));
+        }
     }
 
     @Nested
@@ -518,4 +1142,23 @@ class BookServiceTest {
             verify(bookRepository).findByStockQuantityGreaterThan(0, pageable);
         }
     }
-}
\ No newline at end of file
+
+    private static StockLevel stockLevel(int stockQuantity) {
+        return new StockLevel() {
+            @Override
+            public Integer getStockQuantity() { return stockQuantity; }
+
+            @Override
+            public String getCategory() { return "Fiction"; }
+
+            @Override
+            public BigDecimal getPrice() { return new BigDecimal("10.00"); }
+        };
+    }
+
+    private static DataIntegrityViolationException isbnConflict(String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("Duplicate entry", new SQLException("Duplicate entry", "23000"),
+                        constraintName));
+    }
+}
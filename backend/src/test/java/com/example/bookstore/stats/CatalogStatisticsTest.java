@@ -0,0 +1,266 @@
+package com.example.bookstore.stats;
+
+import com.example.bookstore.event.BookChangedEvent;
+import com.example.bookstore.event.BookSnapshot;
+import com.example.bookstore.event.StockAdjustedEvent;
+import com.example.bookstore.model.Book;
+import com.example.bookstore.stats.CatalogStatsSnapshot.CategoryStats;
+import com.example.bookstore.util.TestDataBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CatalogStatistics Tests")
+class CatalogStatisticsTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CatalogStatistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = new CatalogStatistics(jdbcTemplate, transactionManager, 1000);
+    }
+
+    private static Object[] row(String category, String price, Integer stock) {
+        return new Object[] {category, new BigDecimal(price), stock};
+    }
+
+    private void givenScanReturns(Runnable duringScan, Object[]... rows) {
+        willAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (Object[] row : rows) {
+                ResultSet rs = mock(ResultSet.class);
+                given(rs.getString(1)).willReturn((String) row[0]);
+                given(rs.getBigDecimal(2)).willReturn((BigDecimal) row[1]);
+                given(rs.getObject(3, Integer.class)).willReturn((Integer) row[2]);
+                handler.processRow(rs);
+            }
+            duringScan.run();
+            return null;
+        }).given(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    /**
+     * Rows the scan's snapshot holds for the books changed while it ran: id, category, price, stock
+     */
+    private void givenChangedRowsReturn(Object[]... rows) {
+        willAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(2);
+            for (Object[] row : rows) {
+                ResultSet rs = mock(ResultSet.class);
+                given(rs.getString(2)).willReturn((String) row[1]);
+                given(rs.getBigDecimal(3)).willReturn((BigDecimal) row[2]);
+                given(rs.getObject(4, Integer.class)).willReturn((Integer) row[3]);
+                handler.processRow(rs);
+            }
+            return null;
+        }).given(jdbcTemplate).query(anyString(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
+    }
+
+    private static Object[] changedRow(long id, String category, String price, Integer stock) {
+        return new Object[] {id, category, new BigDecimal(price), stock};
+    }
+
+    private static Book book(long id, String category, String price, int stock) {
+        return TestDataBuilder.aBook()
+                .withId(id)
+                .withCategory(category)
+                .withPrice(price)
+                .withStockQuantity(stock)
+                .build();
+    }
+
+    @Nested
+    @DisplayName("Reconcile Tests")
+    class ReconcileTests {
+
+        @Test
+        @DisplayName("Should compute totals per category from the scan")
+        void shouldComputeTotalsPerCategoryFromTheScan() {
+            // Given
+            givenScanReturns(() -> { },
+                    row("Fiction", "10.00", 3),
+                    row("Fiction", "20.00", 0),
+                    row(null, "5.50", null),
+                    row("Science", "12.25", 4));
+
+            // When
+            statistics.reconcile();
+
+            // Then
+            CatalogStatsSnapshot snapshot = statistics.current();
+            assertThat(snapshot.getTotals().getTotalBooks()).isEqualTo(4);
+            assertThat(snapshot.getTotals().getBooksInStock()).isEqualTo(2);
+            assertThat(snapshot.getTotals().getBooksOutOfStock()).isEqualTo(2);
+            assertThat(snapshot.getTotals().getInventoryValue()).isEqualByComparingTo("79.00");
+            assertThat(snapshot.getCategories()).containsOnlyKeys("Fiction", "Science", CatalogStatistics.UNCATEGORIZED);
+            CategoryStats fiction = snapshot.getCategories().get("Fiction");
+            assertThat(fiction.getTotalBooks()).isEqualTo(2);
+            assertThat(fiction.getBooksOutOfStock()).isEqualTo(1);
+            assertThat(fiction.getInventoryValue()).isEqualByComparingTo("30.00");
+            assertThat(snapshot.toResponse())
+                    .containsEntry("totalBooks", 4L)
+                    .containsEntry("inStockPercentage", "50.00%")
+                    .containsEntry("status", "healthy");
+        }
+
+        @Test
+        @DisplayName("Should replay changes committed while scanning")
+        void shouldReplayChangesCommittedWhileScanning() {
+            // Given
+            givenScanReturns(() -> {
+                        statistics.onBookChanged(BookChangedEvent.created(book(2L, "Science", "8.00", 1)));
+                        statistics.onStockAdjusted(new StockAdjustedEvent(1L, -3, 0, "Fiction", new BigDecimal("10.00")));
+                    },
+                    row("Fiction", "10.00", 3));
+            givenChangedRowsReturn(changedRow(1L, "Fiction", "10.00", 3));
+
+            // When
+            statistics.reconcile();
+
+            // Then
+            CategoryStats totals = statistics.current().getTotals();
+            assertThat(totals.getTotalBooks()).isEqualTo(2);
+            assertThat(totals.getBooksInStock()).isEqualTo(1);
+            assertThat(totals.getInventoryValue()).isEqualByComparingTo("8.00");
+        }
+
+        @Test
+        @DisplayName("Should not count twice a change the scan already saw")
+        void shouldNotCountTwiceAChangeTheScanAlreadySaw() {
+            // Given: both writes committed before the scan's snapshot, their events arrive during it
+            givenScanReturns(() -> {
+                        statistics.onBookChanged(BookChangedEvent.created(book(2L, "Science", "8.00", 1)));
+                        statistics.onStockAdjusted(new StockAdjustedEvent(1L, -3, 0, "Fiction", new BigDecimal("10.00")));
+                        statistics.onBookChanged(BookChangedEvent.deleted(3L, BookSnapshot.of(book(3L, "Fiction", "4.00", 5))));
+                    },
+                    row("Fiction", "10.00", 0),
+                    row("Science", "8.00", 1));
+            givenChangedRowsReturn(changedRow(1L, "Fiction", "10.00", 0), changedRow(2L, "Science", "8.00", 1));
+
+            // When
+            statistics.reconcile();
+
+            // Then
+            CatalogStatsSnapshot snapshot = statistics.current();
+            assertThat(snapshot.getTotals().getTotalBooks()).isEqualTo(2);
+            assertThat(snapshot.getTotals().getBooksInStock()).isEqualTo(1);
+            assertThat(snapshot.getTotals().getInventoryValue()).isEqualByComparingTo("8.00");
+            assertThat(snapshot.getCategories().get("Fiction").getTotalBooks()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should keep incremental values when the scan fails")
+        void shouldKeepIncrementalValuesWhenTheScanFails() {
+            // Given
+            statistics.onBookChanged(BookChangedEvent.created(book(1L, "Fiction", "10.00", 2)));
+            willThrow(new DataAccessResourceFailureException("down"))
+                    .given(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+            // When
+            statistics.reconcile();
+
+            // Then
+            assertThat(statistics.current().getTotals().getTotalBooks()).isEqualTo(1);
+            assertThat(statistics.current().toResponse()).containsEntry("status", "initializing");
+        }
+    }
+
+    @Nested
+    @DisplayName("Incremental Update Tests")
+    class IncrementalUpdateTests {
+
+        @BeforeEach
+        void setUp() {
+            givenScanReturns(() -> { },
+                    row("Fiction", "10.00", 3),
+                    row("Science", "20.00", 1));
+            statistics.reconcile();
+        }
+
+        @Test
+        @DisplayName("Should move counts when a book is updated")
+        void shouldMoveCountsWhenABookIsUpdated() {
+            // Given
+            Book before = book(1L, "Fiction", "10.00", 3);
+            Book after = book(1L, "Science", "12.00", 0);
+
+            // When
+            statistics.onBookChanged(BookChangedEvent.updated(BookSnapshot.of(before), after));
+
+            // Then
+            CatalogStatsSnapshot snapshot = statistics.current();
+            assertThat(snapshot.getCategories()).containsOnlyKeys("Science");
+            assertThat(snapshot.getCategories().get("Science").getTotalBooks()).isEqualTo(2);
+            assertThat(snapshot.getTotals().getBooksOutOfStock()).isEqualTo(1);
+            assertThat(snapshot.getTotals().getInventoryValue()).isEqualByComparingTo("20.00");
+        }
+
+        @Test
+        @DisplayName("Should remove a deleted book by its previous state")
+        void shouldRemoveADeletedBookByItsPreviousState() {
+            // When
+            statistics.onBookChanged(BookChangedEvent.deleted(2L, BookSnapshot.of(book(2L, "Science", "20.00", 1))));
+
+            // Then
+            CatalogStatsSnapshot snapshot = statistics.current();
+            assertThat(snapshot.getCategories()).containsOnlyKeys("Fiction");
+            assertThat(snapshot.getTotals().getTotalBooks()).isEqualTo(1);
+            assertThat(snapshot.getTotals().getInventoryValue()).isEqualByComparingTo("30.00");
+        }
+
+        @Test
+        @DisplayName("Should leave a delete without previous state to the reconcile")
+        void shouldLeaveADeleteWithoutPreviousStateToTheReconcile() {
+            // When
+            statistics.onBookChanged(BookChangedEvent.deleted(2L, null));
+
+            // Then
+            CategoryStats totals = statistics.current().getTotals();
+            assertThat(totals.getTotalBooks()).isEqualTo(2);
+            assertThat(totals.getInventoryValue()).isEqualByComparingTo("50.00");
+        }
+
+        @Test
+        @DisplayName("Should apply stock adjustments from the event alone")
+        void shouldApplyStockAdjustmentsFromTheEventAlone() {
+            // When
+            statistics.onStockAdjusted(new StockAdjustedEvent(2L, 4, 5, "Science", new BigDecimal("20.00")));
+            statistics.onStockAdjusted(new StockAdjustedEvent(1L, -3, 0, "Fiction", new BigDecimal("10.00")));
+
+            // Then
+            CatalogStatsSnapshot snapshot = statistics.current();
+            assertThat(snapshot.getTotals().getTotalBooks()).isEqualTo(2);
+            assertThat(snapshot.getTotals().getBooksInStock()).isEqualTo(1);
+            assertThat(snapshot.getTotals().getInventoryValue()).isEqualByComparingTo("100.00");
+            assertThat(snapshot.getCategories().get("Fiction").getBooksOutOfStock()).isEqualTo(1);
+        }
+    }
+}